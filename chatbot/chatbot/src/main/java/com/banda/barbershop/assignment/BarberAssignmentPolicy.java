@@ -0,0 +1,25 @@
+package com.banda.barbershop.assignment;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.enums.BarberAssignmentStrategy;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Picks a barber for an "any available barber" booking
+ */
+public interface BarberAssignmentPolicy {
+
+    /**
+     * Choose one of the barbers free for the slot
+     *
+     * @param freeBarbers barbers free for the whole slot, in display order (never empty)
+     */
+    Barber assign(List<Barber> freeBarbers, String customerPhone, LocalDate date);
+
+    /**
+     * Get the strategy this policy implements
+     */
+    BarberAssignmentStrategy getStrategy();
+}
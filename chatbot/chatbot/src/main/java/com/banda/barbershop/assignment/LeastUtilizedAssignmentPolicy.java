@@ -0,0 +1,42 @@
+package com.banda.barbershop.assignment;
+
+import com.banda.barbershop.dto.BookedInterval;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.enums.BarberAssignmentStrategy;
+import com.banda.barbershop.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class LeastUtilizedAssignmentPolicy implements BarberAssignmentPolicy {
+
+    private final BookingRepository bookingRepository;
+
+    @Override
+    public Barber assign(List<Barber> freeBarbers, String customerPhone, LocalDate date) {
+        // Booked minutes per barber that day - ties go to display order
+        Map<Long, Long> bookedMinutes = new HashMap<>();
+        List<Long> barberIds = freeBarbers.stream().map(Barber::getId).toList();
+        for (BookedInterval booked : bookingRepository.findBookedIntervals(barberIds, date, date)) {
+            bookedMinutes.merge(booked.getBarberId(),
+                Duration.between(booked.getStartTime(), booked.getEndTime()).toMinutes(), Long::sum);
+        }
+
+        return freeBarbers.stream()
+            .min(Comparator.comparingLong(barber -> bookedMinutes.getOrDefault(barber.getId(), 0L)))
+            .orElseThrow();
+    }
+
+    @Override
+    public BarberAssignmentStrategy getStrategy() {
+        return BarberAssignmentStrategy.LEAST_UTILIZED;
+    }
+}
@@ -0,0 +1,33 @@
+package com.banda.barbershop.assignment;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.enums.BarberAssignmentStrategy;
+import com.banda.barbershop.service.CustomerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class PreferredBarberAssignmentPolicy implements BarberAssignmentPolicy {
+
+    private final CustomerService customerService;
+    private final LeastUtilizedAssignmentPolicy fallbackPolicy;
+
+    @Override
+    public Barber assign(List<Barber> freeBarbers, String customerPhone, LocalDate date) {
+        Long preferredBarberId = customerService.getProfile(customerPhone).getPreferredBarberId();
+
+        return freeBarbers.stream()
+            .filter(barber -> barber.getId().equals(preferredBarberId))
+            .findFirst()
+            .orElseGet(() -> fallbackPolicy.assign(freeBarbers, customerPhone, date));
+    }
+
+    @Override
+    public BarberAssignmentStrategy getStrategy() {
+        return BarberAssignmentStrategy.PREFERRED_FIRST;
+    }
+}
@@ -0,0 +1,26 @@
+package com.banda.barbershop.assignment;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.enums.BarberAssignmentStrategy;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class RoundRobinAssignmentPolicy implements BarberAssignmentPolicy {
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Override
+    public Barber assign(List<Barber> freeBarbers, String customerPhone, LocalDate date) {
+        int index = Math.floorMod(next.getAndIncrement(), freeBarbers.size());
+        return freeBarbers.get(index);
+    }
+
+    @Override
+    public BarberAssignmentStrategy getStrategy() {
+        return BarberAssignmentStrategy.ROUND_ROBIN;
+    }
+}
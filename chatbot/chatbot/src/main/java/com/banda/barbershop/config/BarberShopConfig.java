@@ -1,5 +1,6 @@
 package com.banda.barbershop.config;
 
+import com.banda.barbershop.enums.BarberAssignmentStrategy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +24,21 @@ public class BarberShopConfig {
     private Integer slotIntervalMinutes;
     private Integer minimumAdvanceBookingHours;
 
+    // "Earliest available" search
+    private Integer searchHorizonDays = 14;
+    private Integer earliestSlotsShown = 6;
+
+    // Who gets "any available barber" bookings
+    private BarberAssignmentStrategy barberAssignment = BarberAssignmentStrategy.LEAST_UTILIZED;
+
+    private Inventory inventory = new Inventory();
+    private MenuCache menuCache = new MenuCache();
+    private Archive archive = new Archive();
+    private ProfileCache profileCache = new ProfileCache();
+    private Intent intent = new Intent();
+    private Waitlist waitlist = new Waitlist();
+    private Events events = new Events();
+
     @Data
     public static class Hours {
         private LocalTime openingTime;
@@ -30,6 +46,51 @@ public class BarberShopConfig {
         private List<DayOfWeek> closedDays;
     }
 
+    @Data
+    public static class Inventory {
+        private boolean enabled = false;   // Serve availability from slot_inventory instead of booking overlaps
+        private int horizonDays = 21;      // Days of slots kept generated ahead (cover search-horizon-days)
+    }
+
+    @Data
+    public static class MenuCache {
+        private boolean enabled = true;    // Cache rendered slot menus per service/barber/date
+        private int maxEntries = 2000;
+    }
+
+    @Data
+    public static class Archive {
+        private boolean enabled = true;    // Move finished bookings to bookings_archive monthly
+        private int afterDays = 180;       // Age before a finished booking is archived (whole months move together)
+        private int batchSize = 500;       // Bookings moved per transaction
+    }
+
+    @Data
+    public static class ProfileCache {
+        private boolean enabled = true;    // Cache customer profile snapshots per phone
+        private int maxEntries = 10000;
+    }
+
+    @Data
+    public static class Intent {
+        private boolean enabled = true;    // Free-text bookings from the main menu ("skin fade tomorrow 3pm")
+        private int maxLength = 160;       // Longer messages are not parsed
+    }
+
+    @Data
+    public static class Waitlist {
+        private boolean enabled = true;    // Offer cancelled slots to customers waiting for that barber/day
+        private int holdMinutes = 10;      // How long each waiter has to accept before the next one is asked
+        private int candidatesPerSlot = 20; // Waiters checked per freed slot (services that do not fit are skipped)
+        private int batchSize = 200;       // Entries expired per transaction
+    }
+
+    @Data
+    public static class Events {
+        private boolean async = true;      // Run booking event listeners off the request thread (false: inline after commit)
+        private int lanes = 4;             // Delivery threads; one customer's events always share a lane
+    }
+
     public boolean isOpenOn(DayOfWeek day) {
         return operatingHours.closedDays == null ||
                !operatingHours.closedDays.contains(day);
@@ -0,0 +1,21 @@
+package com.banda.barbershop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversation")
+@Data
+public class ConversationConfig {
+
+    private Expiry expiry = new Expiry();
+
+    @Data
+    public static class Expiry {
+        private boolean enabled = true;
+        private int idleResetMinutes = 60;   // Mid-flow conversations idle this long restart at the main menu
+        private int purgeAfterDays = 90;     // Conversations idle this long are deleted
+        private int batchSize = 500;         // Rows per reset/delete transaction
+    }
+}
@@ -0,0 +1,35 @@
+package com.banda.barbershop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "datasource-routing")
+@Data
+public class DataSourceRoutingConfig {
+
+    private boolean enabled = false;
+
+    private Primary primary = new Primary();
+    private Replica replica = new Replica();
+
+    private long maxReplicaLagMs = 5000;                          // Reads stay on primary this long after a client's write
+    private List<String> replicaReadPaths = List.of("/api/admin/*"); // Requests whose read-only transactions may use the replica
+
+    @Data
+    public static class Primary {
+        private int poolSize = 20;         // Webhook writes and all non-admin traffic
+    }
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int poolSize = 10;         // Admin and reporting reads
+    }
+}
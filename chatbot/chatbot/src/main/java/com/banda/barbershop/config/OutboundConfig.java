@@ -0,0 +1,52 @@
+package com.banda.barbershop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "outbound")
+@Data
+public class OutboundConfig {
+
+    private int maxMessageLength = 1600;          // WhatsApp body limit; longer replies are split
+    private RateLimit rateLimit = new RateLimit();
+    private Retry retry = new Retry();
+    private Outbox outbox = new Outbox();
+    private Transport transport = new Transport();
+
+    @Data
+    public static class RateLimit {
+        private boolean enabled = true;
+        private double messagesPerSecond = 20.0;  // Twilio account/sender throughput
+        private int burst = 20;                   // Sends allowed back-to-back before pacing starts
+    }
+
+    @Data
+    public static class Retry {
+        private int maxAttempts = 3;              // Including the first attempt
+        private long initialBackoffMs = 250;
+        private long maxBackoffMs = 4000;
+    }
+
+    @Data
+    public static class Outbox {
+        private int batchSize = 20;               // Rows claimed per relay pass
+        private long pollIntervalMs = 1000;       // Fallback poll; commits wake the relay immediately
+        private int maxAttempts = 5;              // Relay passes before a message is dead-lettered
+        private long retryBackoffSeconds = 30;    // Doubled after each failed pass
+        private long claimTimeoutSeconds = 300;   // Claims older than this are returned to the queue
+        private int retentionDays = 7;            // Sent rows kept this long
+    }
+
+    @Data
+    public static class Transport {
+        private String type = "twilio";           // twilio, or in-memory for tests and load runs
+        private int maxConnections = 20;          // Pooled keep-alive connections to api.twilio.com
+        private long connectTimeoutMs = 2000;
+        private long socketTimeoutMs = 10000;     // Read timeout per request
+        private long connectionRequestTimeoutMs = 1000;  // Wait for a free pooled connection
+        private long keepAliveSeconds = 55;       // Idle pooled connections are closed after this
+        private long inMemoryLatencyMs = 0;       // Simulated per-send latency (in-memory only)
+    }
+}
@@ -0,0 +1,15 @@
+package com.banda.barbershop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "twilio")
+@Data
+public class TwilioConfig {
+
+    private String accountSid;
+    private String authToken;
+    private String phoneNumber;
+}
@@ -0,0 +1,32 @@
+package com.banda.barbershop.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "webhook")
+@Data
+public class WebhookConfig {
+
+    private Dedup dedup = new Dedup();
+    private Ordering ordering = new Ordering();
+    private Dispatch dispatch = new Dispatch();
+
+    @Data
+    public static class Dedup {
+        private boolean enabled = true;
+        private int windowSize = 10000;    // MessageSids kept in memory
+        private int retentionHours = 24;   // How long processed_messages rows are kept
+    }
+
+    @Data
+    public static class Ordering {
+        private int lockStripes = 256;     // Per-phone lock stripes for inbound processing
+    }
+
+    @Data
+    public static class Dispatch {
+        private int maxHops = 4;           // Follow-up handlers run for one inbound message
+    }
+}
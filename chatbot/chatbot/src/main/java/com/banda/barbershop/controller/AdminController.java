@@ -3,11 +3,15 @@ package com.banda.barbershop.controller;
 import com.banda.barbershop.dto.BarberDTO;
 import com.banda.barbershop.dto.BarberScheduleDTO;
 import com.banda.barbershop.dto.BarberStatsDTO;
+import com.banda.barbershop.dto.BookingCloseOutRequest;
+import com.banda.barbershop.dto.BookingCloseOutResult;
 import com.banda.barbershop.dto.BookingDTO;
 import com.banda.barbershop.dto.CustomerDTO;
 import com.banda.barbershop.dto.DashboardStatsDTO;
+import com.banda.barbershop.dto.DeadLetterDTO;
 import com.banda.barbershop.dto.ServiceDTO;
 import com.banda.barbershop.service.AdminService;
+import com.banda.barbershop.service.DeadLetterService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -25,6 +29,7 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final DeadLetterService deadLetterService;
 
     /**
      * Get comprehensive dashboard statistics
@@ -114,6 +119,20 @@ public class AdminController {
         }
     }
 
+    /**
+     * End-of-day close-out: mark a day's completions and no-shows in one transaction
+     * POST /api/admin/bookings/close-out
+     * {"noShows": ["BK1234"], "completed": ["BK5678"], "completeRemaining": true, "date": "2025-01-15"}
+     */
+    @PostMapping("/bookings/close-out")
+    public ResponseEntity<BookingCloseOutResult> closeOutBookings(@RequestBody BookingCloseOutRequest request) {
+        log.info("Closing out bookings: {} completed, {} no-shows, complete remaining: {}",
+                 request.getCompleted() != null ? request.getCompleted().size() : 0,
+                 request.getNoShows() != null ? request.getNoShows().size() : 0,
+                 request.isCompleteRemaining());
+        return ResponseEntity.ok(adminService.closeOut(request));
+    }
+
     /**
      * Get all services
      * GET /api/admin/services
@@ -282,6 +301,46 @@ public class AdminController {
         return ResponseEntity.ok(stats);
     }
 
+    // ==================== Dead Letters ====================
+
+    /**
+     * Get outbound messages that failed every retry
+     * GET /api/admin/dead-letters
+     */
+    @GetMapping("/dead-letters")
+    public ResponseEntity<List<DeadLetterDTO>> getDeadLetters() {
+        log.info("Fetching pending dead letters");
+        List<DeadLetterDTO> deadLetters = deadLetterService.getPending().stream()
+            .map(DeadLetterDTO::fromEntity)
+            .toList();
+        return ResponseEntity.ok(deadLetters);
+    }
+
+    /**
+     * Replay one dead letter
+     * POST /api/admin/dead-letters/{id}/replay
+     */
+    @PostMapping("/dead-letters/{id}/replay")
+    public ResponseEntity<DeadLetterDTO> replayDeadLetter(@PathVariable Long id) {
+        log.info("Replaying dead letter {}", id);
+        return deadLetterService.replay(id)
+            .map(DeadLetterDTO::fromEntity)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Replay every pending dead letter
+     * POST /api/admin/dead-letters/replay
+     */
+    @PostMapping("/dead-letters/replay")
+    public ResponseEntity<?> replayDeadLetters() {
+        log.info("Replaying all pending dead letters");
+        int delivered = deadLetterService.replayPending();
+        return ResponseEntity.ok()
+            .body(new StatusResponse(true, delivered + " dead letters delivered"));
+    }
+
     /**
      * Simple response wrapper for status messages
      */
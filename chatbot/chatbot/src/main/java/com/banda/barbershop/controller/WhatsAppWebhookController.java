@@ -1,11 +1,18 @@
 package com.banda.barbershop.controller;
 
+import com.banda.barbershop.config.OutboundConfig;
+import com.banda.barbershop.config.WebhookConfig;
 import com.banda.barbershop.dto.HandlerRequest;
 import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.entity.ConversationState;
 import com.banda.barbershop.handler.MessageHandlerDispatcher;
+import com.banda.barbershop.service.ConversationLockService;
 import com.banda.barbershop.service.ConversationStateService;
+import com.banda.barbershop.service.MessageDedupService;
 import com.banda.barbershop.service.WhatsAppService;
+import com.banda.barbershop.template.MessageSplitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -14,23 +21,90 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 @RestController
 @RequestMapping("/webhook")
 @RequiredArgsConstructor
 @Slf4j
 public class WhatsAppWebhookController {
+    private static final String EMPTY_RESPONSE = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Response></Response>";
+
     private final MessageHandlerDispatcher dispatcher;
     private final ConversationStateService stateService;
     private final WhatsAppService whatsAppService;
+    private final MessageDedupService dedupService;
+    private final ConversationLockService lockService;
+    private final WebhookConfig webhookConfig;
+    private final OutboundConfig outboundConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicBoolean firstServed = new AtomicBoolean();
 
     @PostMapping(value = "/whatsapp", produces = MediaType.APPLICATION_XML_VALUE)
     public String receiveMessage(
             @RequestParam("From") String from,
-            @RequestParam("Body") String body) {
+            @RequestParam("Body") String body,
+            @RequestParam(value = "MessageSid", required = false) String messageSid) {
+        String response = receiveOnce(from, body, messageSid);
+        recordFirstWebhook();
+        return response;
+    }
+
+    private String receiveOnce(String from, String body, String messageSid) {
+        if (messageSid == null || messageSid.isEmpty() || !webhookConfig.getDedup().isEnabled()) {
+            return processInOrder(from, body);
+        }
+
+        // Twilio retries on slow responses - answer retries without running handlers again
+        Optional<String> cachedResponse = dedupService.claim(messageSid, extractPhoneNumber(from), EMPTY_RESPONSE);
+        if (cachedResponse.isPresent()) {
+            return cachedResponse.get();
+        }
+
+        try {
+            String response = processInOrder(from, body);
+            dedupService.recordResponse(messageSid, response);
+            return response;
+        } catch (RuntimeException e) {
+            dedupService.release(messageSid);
+            throw e;
+        }
+    }
+
+    /**
+     * Time from JVM start to the first answered webhook, the figure that matters for rolling
+     * restarts and scale-out (barbershop.startup.first_webhook)
+     */
+    private void recordFirstWebhook() {
+        if (firstServed.compareAndSet(false, true)) {
+            Duration sinceStart = Duration.ofMillis(
+                System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime());
+            meterRegistry.timer("barbershop.startup.first_webhook").record(sinceStart);
+            log.info("First webhook served {} ms after JVM start", sinceStart.toMillis());
+        }
+    }
+
+    /**
+     * Messages from the same customer are processed one at a time so they never
+     * read and overwrite the same conversation state concurrently
+     */
+    private String processInOrder(String from, String body) {
+        if (from == null || from.isEmpty()) {
+            return processMessage(from, body);
+        }
+        return lockService.withLock(extractPhoneNumber(from), () -> processMessage(from, body));
+    }
+
+    private String processMessage(String from, String body) {
         log.info("Received message from {}: {}", from, body);
         if (from == null || from.isEmpty()) {
             log.error("Invalid webhook: 'From' parameter is missing");
-            return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Response></Response>";
+            return EMPTY_RESPONSE;
         }
 
         if (body == null) {
@@ -42,14 +116,14 @@ public class WhatsAppWebhookController {
 
         ConversationState state;
         try {
-            state = stateService.getOrCreate(phoneNumber);
+            state = phaseTimer("state_load").record(() -> stateService.getOrCreate(phoneNumber));
             log.debug("Current conversation state for {}: Step={}, Context={}",
                      phoneNumber, state.getCurrentStep(), state.getContextData());
         } catch (Exception e) {
             log.error("Failed to retrieve conversation state for {}: {}", phoneNumber, e.getMessage(), e);
             whatsAppService.sendMessage(phoneNumber,
                 "⚠️ We're experiencing technical difficulties. Please try again in a moment.");
-            return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Response></Response>";
+            return EMPTY_RESPONSE;
         }
 
         HandlerRequest request = HandlerRequest.builder()
@@ -62,7 +136,7 @@ public class WhatsAppWebhookController {
 
         HandlerResponse response;
         try {
-            response = dispatcher.dispatch(request);
+            response = phaseTimer("dispatch").record(() -> dispatcher.dispatchChain(request));
             log.debug("Handler response: NextStep={}, ClearContext={}",
                      response.getNextStep(), response.isClearContext());
         } catch (Exception e) {
@@ -70,58 +144,42 @@ public class WhatsAppWebhookController {
             whatsAppService.sendMessage(phoneNumber,
                 "⚠️ Something went wrong. Let's start over!\n\n0️⃣ Main Menu");
             stateService.resetToMainMenu(phoneNumber);
-            return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Response></Response>";
+            return EMPTY_RESPONSE;
         }
 
+        // One write for the whole chain, on the row loaded above
         try {
-            if (response.isClearContext()) {
-                stateService.updateStepAndContext(phoneNumber, response.getNextStep(), null);
-            } else if (response.getContextData() != null) {
-                stateService.updateStepAndContext(phoneNumber, response.getNextStep(), response.getContextData());
-            } else {
-                stateService.updateStep(phoneNumber, response.getNextStep());
-            }
+            ConversationState loadedState = state;
+            HandlerResponse finalResponse = response;
+            phaseTimer("state_save").record(() ->
+                stateService.saveTransition(loadedState, finalResponse.getNextStep(), finalResponse.getContextData()));
         } catch (Exception e) {
             log.error("Failed to update conversation state for {}: {}", phoneNumber, e.getMessage(), e);
         }
 
-        // Auto-dispatch: if handler returned empty message, call next handler to show content
-        if (response.getMessage().isEmpty() && response.getNextStep() != null) {
-            try {
-                ConversationState updatedState = stateService.getOrCreate(phoneNumber);
-                HandlerRequest followUpRequest = HandlerRequest.builder()
-                    .phoneNumber(phoneNumber)
-                    .userInput("")
-                    .parsedChoice(null)
-                    .currentStep(updatedState.getCurrentStep())
-                    .contextData(updatedState.getContextData())
-                    .build();
-
-                response = dispatcher.dispatch(followUpRequest);
-                log.debug("Auto-dispatch triggered - empty message from previous handler. NextStep={}", response.getNextStep());
-
-                if (response.isClearContext()) {
-                    stateService.updateStepAndContext(phoneNumber, response.getNextStep(), null);
-                } else if (response.getContextData() != null) {
-                    stateService.updateStepAndContext(phoneNumber, response.getNextStep(), response.getContextData());
-                } else {
-                    stateService.updateStep(phoneNumber, response.getNextStep());
-                }
-            } catch (Exception e) {
-                log.error("Error in auto-dispatch for {}: {}", phoneNumber, e.getMessage(), e);
-            }
+        // Nothing to say, or the reply was queued in the outbox (booking confirmed/cancelled)
+        if (response.isReplyQueued() || response.getMessage().isEmpty()) {
+            return EMPTY_RESPONSE;
         }
 
-        if (!response.getMessage().isEmpty()) {
-            try {
-                whatsAppService.sendMessage(phoneNumber, response.getMessage());
-                log.info("Message sent successfully to {}", phoneNumber);
-            } catch (Exception e) {
-                log.error("Failed to send message to {}: {}", phoneNumber, e.getMessage(), e);
-            }
+        // Normally one message; split only past WhatsApp's body limit. Parts that cannot be
+        // delivered are dead-lettered in order for replay.
+        try {
+            List<String> messages = MessageSplitter.split(response.getMessage(), outboundConfig.getMaxMessageLength());
+            phaseTimer("send").record(() -> whatsAppService.sendMessages(phoneNumber, messages));
+            log.info("Message sent successfully to {}", phoneNumber);
+        } catch (Exception e) {
+            log.error("Failed to send message to {}: {}", phoneNumber, e.getMessage(), e);
         }
 
-        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Response></Response>";
+        return EMPTY_RESPONSE;
+    }
+
+    /**
+     * Latency of one phase of webhook processing (state_load, dispatch, state_save, send)
+     */
+    private Timer phaseTimer(String phase) {
+        return meterRegistry.timer("barbershop.webhook.phase", "phase", phase);
     }
 
     private String extractPhoneNumber(String from) {
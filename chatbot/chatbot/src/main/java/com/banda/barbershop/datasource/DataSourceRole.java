@@ -0,0 +1,6 @@
+package com.banda.barbershop.datasource;
+
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,61 @@
+package com.banda.barbershop.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-your-writes for replica reads: once a client commits a write, its read-only
+ * transactions stay on the primary until the replica can be assumed to have caught up
+ */
+public class ReplicaLagGuard {
+
+    private static final Object TRACKED = new Object();
+
+    private final long maxLagNanos;
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+
+    public ReplicaLagGuard(long maxReplicaLagMs) {
+        this.maxLagNanos = TimeUnit.MILLISECONDS.toNanos(maxReplicaLagMs);
+    }
+
+    /**
+     * Record the client's write when the current read-write transaction commits (once per transaction)
+     */
+    public void trackWrite(String clientKey) {
+        if (clientKey == null
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(TRACKED)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(TRACKED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(clientKey);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRACKED);
+            }
+        });
+    }
+
+    public void recordWrite(String clientKey) {
+        long now = System.nanoTime();
+        lastWrite.put(clientKey, now);
+
+        // Clients past the lag window no longer need tracking
+        lastWrite.values().removeIf(writtenAt -> now - writtenAt > maxLagNanos);
+    }
+
+    public boolean recentlyWrote(String clientKey) {
+        Long writtenAt = lastWrite.get(clientKey);
+        return writtenAt != null && System.nanoTime() - writtenAt <= maxLagNanos;
+    }
+}
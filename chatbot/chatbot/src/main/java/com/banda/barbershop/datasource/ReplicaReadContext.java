@@ -0,0 +1,37 @@
+package com.banda.barbershop.datasource;
+
+/**
+ * Marks the current thread as admin/reporting work whose read-only transactions may use the replica.
+ * Anything not running inside an open scope (webhook, schedulers) always uses the primary.
+ */
+public final class ReplicaReadContext {
+
+    private static final ThreadLocal<String> CLIENT = new ThreadLocal<>();
+
+    private ReplicaReadContext() {
+    }
+
+    /**
+     * Start work on behalf of a client (e.g. the admin's address), used as the read-your-writes key
+     */
+    public static Scope open(String clientKey) {
+        String previous = CLIENT.get();
+        CLIENT.set(clientKey);
+        return () -> {
+            if (previous != null) {
+                CLIENT.set(previous);
+            } else {
+                CLIENT.remove();
+            }
+        };
+    }
+
+    public static String currentClient() {
+        return CLIENT.get();
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,23 @@
+package com.banda.barbershop.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Runs admin/reporting requests inside a {@link ReplicaReadContext}, keyed by the caller's address
+ */
+public class ReplicaReadFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (ReplicaReadContext.Scope ignored = ReplicaReadContext.open(request.getRemoteAddr())) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.banda.barbershop.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions of admin/reporting work to the replica and everything else to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is set before a connection is picked.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagGuard lagGuard;
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter lagFallbacks;
+
+    public ReplicaRoutingDataSource(ReplicaLagGuard lagGuard, MeterRegistry meterRegistry) {
+        this.lagGuard = lagGuard;
+        this.primaryRoutes = meterRegistry.counter("barbershop.datasource.route", "target", "primary");
+        this.replicaRoutes = meterRegistry.counter("barbershop.datasource.route", "target", "replica");
+        this.lagFallbacks = meterRegistry.counter("barbershop.datasource.route", "target", "primary_lag_fallback");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = ReplicaReadContext.currentClient();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            lagGuard.trackWrite(client);
+            primaryRoutes.increment();
+            return DataSourceRole.PRIMARY;
+        }
+
+        if (client == null) {
+            primaryRoutes.increment();
+            return DataSourceRole.PRIMARY;
+        }
+
+        if (lagGuard.recentlyWrote(client)) {
+            lagFallbacks.increment();
+            return DataSourceRole.PRIMARY;
+        }
+
+        replicaRoutes.increment();
+        return DataSourceRole.REPLICA;
+    }
+}
@@ -0,0 +1,95 @@
+package com.banda.barbershop.datasource;
+
+import com.banda.barbershop.config.DataSourceRoutingConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Primary and replica pools behind one routing DataSource, replacing Boot's single pool.
+ * The primary comes from spring.datasource.*, the replica from datasource-routing.replica.*.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource-routing", name = "enabled", havingValue = "true")
+@Slf4j
+public class RoutingDataSourceConfiguration {
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, DataSourceRoutingConfig routingConfig) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("primary");
+        dataSource.setMaximumPoolSize(routingConfig.getPrimary().getPoolSize());
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceRoutingConfig routingConfig) {
+        DataSourceRoutingConfig.Replica replica = routingConfig.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.getUrl())
+            .username(replica.getUsername())
+            .password(replica.getPassword())
+            .driverClassName(replica.getDriverClassName())
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getPoolSize());
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagGuard replicaLagGuard(DataSourceRoutingConfig routingConfig) {
+        return new ReplicaLagGuard(routingConfig.getMaxReplicaLagMs());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 ReplicaLagGuard replicaLagGuard,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicaLagGuard, meterRegistry);
+        routing.setTargetDataSources(Map.of(
+            DataSourceRole.PRIMARY, primaryDataSource,
+            DataSourceRole.REPLICA, replicaDataSource
+        ));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+
+        log.info("Datasource routing enabled: read-only admin/reporting transactions use the replica");
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaReadFilter> replicaReadFilter(DataSourceRoutingConfig routingConfig) {
+        FilterRegistrationBean<ReplicaReadFilter> registration = new FilterRegistrationBean<>(new ReplicaReadFilter());
+        registration.setUrlPatterns(routingConfig.getReplicaReadPaths());
+        return registration;
+    }
+
+    /**
+     * Open-in-view keeps one session per request; hand its connection back after each
+     * transaction so a later transaction in the same request is routed on its own
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
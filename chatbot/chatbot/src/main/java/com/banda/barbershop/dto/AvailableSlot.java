@@ -0,0 +1,21 @@
+package com.banda.barbershop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailableSlot {
+
+    private LocalDate date;
+    private LocalTime startTime;
+    private Long barberId;
+    private String barberName;
+}
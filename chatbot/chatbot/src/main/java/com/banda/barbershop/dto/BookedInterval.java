@@ -0,0 +1,20 @@
+package com.banda.barbershop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Time a barber is already booked - projection used by the availability search
+ */
+@Data
+@AllArgsConstructor
+public class BookedInterval {
+
+    private Long barberId;
+    private LocalDate date;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
@@ -0,0 +1,26 @@
+package com.banda.barbershop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * End-of-day close-out: booking codes to mark, and optionally every other confirmed booking
+ * that has already ended (on date, or on any day up to now when date is null)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCloseOutRequest {
+    private LocalDate date;
+
+    private List<String> completed;
+    private List<String> noShows;
+
+    private boolean completeRemaining;
+}
@@ -0,0 +1,17 @@
+package com.banda.barbershop.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingCloseOutResult {
+    private int completed;
+    private int noShows;
+    private int customersUpdated;
+    private int barbersUpdated;
+}
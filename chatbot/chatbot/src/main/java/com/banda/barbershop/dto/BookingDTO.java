@@ -1,6 +1,7 @@
 package com.banda.barbershop.dto;
 
 import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.BookingRecord;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -43,4 +44,21 @@ public class BookingDTO {
             .status(booking.getStatus().name())
             .build();
     }
+
+    public static BookingDTO fromRecord(BookingRecord booking) {
+        return BookingDTO.builder()
+            .id(booking.getId())
+            .bookingCode(booking.getBookingCode())
+            .customerPhone(booking.getCustomerPhone())
+            .serviceName(booking.getService().getName())
+            .serviceDuration(booking.getService().getDurationMinutes())
+            .servicePrice(booking.getService().getPrice().doubleValue())
+            .barberId(booking.getBarber() != null ? booking.getBarber().getId() : null)
+            .barberName(booking.getBarber() != null ? booking.getBarber().getName() : "Not Assigned")
+            .bookingDate(booking.getBookingDate())
+            .startTime(booking.getStartTime())
+            .endTime(booking.getEndTime())
+            .status(booking.getStatus().name())
+            .build();
+    }
 }
@@ -0,0 +1,35 @@
+package com.banda.barbershop.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable snapshot of a customer's profile for the conversation path,
+ * with the menu greeting already rendered. Valid for the day it was built on.
+ */
+@Value
+@Builder
+public class CustomerProfile {
+    String phoneNumber;
+    boolean known;              // false: no customers row yet
+    int totalBookings;
+    int completedBookings;
+    int loyaltyPoints;
+    Long preferredServiceId;
+    int preferredServiceCount;
+    Long preferredBarberId;
+    boolean birthdayToday;
+    boolean birthdayMessageSentThisYear;
+    String greeting;            // null when there is nothing personal to say
+    LocalDate builtOn;
+
+    public static CustomerProfile unknown(String phoneNumber) {
+        return CustomerProfile.builder()
+            .phoneNumber(phoneNumber)
+            .known(false)
+            .builtOn(LocalDate.now())
+            .build();
+    }
+}
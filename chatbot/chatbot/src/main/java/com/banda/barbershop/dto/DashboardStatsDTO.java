@@ -27,12 +27,12 @@ public class DashboardStatsDTO {
     private Integer monthBookings;
     private Double monthRevenue;
 
-    // Overall stats
+    // Overall stats (average booking value over the last 30 days)
     private Integer totalCustomers;
     private Integer activeCustomers;
     private Double averageBookingValue;
 
-    // Most popular services
+    // Most popular services over the last 30 days
     private List<ServiceStatsDTO> popularServices;
 
     // Upcoming bookings count
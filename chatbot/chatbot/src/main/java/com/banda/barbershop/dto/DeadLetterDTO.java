@@ -0,0 +1,39 @@
+package com.banda.barbershop.dto;
+
+import com.banda.barbershop.entity.DeadLetterMessage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterDTO {
+    private Long id;
+    private String toPhoneNumber;
+    private String body;
+    private Integer attempts;
+    private Integer errorCode;
+    private String lastError;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime replayedAt;
+
+    public static DeadLetterDTO fromEntity(DeadLetterMessage deadLetter) {
+        return DeadLetterDTO.builder()
+            .id(deadLetter.getId())
+            .toPhoneNumber(deadLetter.getToPhoneNumber())
+            .body(deadLetter.getBody())
+            .attempts(deadLetter.getAttempts())
+            .errorCode(deadLetter.getErrorCode())
+            .lastError(deadLetter.getLastError())
+            .status(deadLetter.getStatus().name())
+            .createdAt(deadLetter.getCreatedAt())
+            .replayedAt(deadLetter.getReplayedAt())
+            .build();
+    }
+}
@@ -11,4 +11,5 @@ public class HandlerResponse {
     private ConversationStep nextStep;
     private String contextData;
     private boolean clearContext;
+    private boolean replyQueued; // Reply was queued in the outbox with the state change - send nothing, no auto-dispatch
 }
@@ -0,0 +1,68 @@
+package com.banda.barbershop.entity;
+
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A finished booking moved out of the hot bookings table by the archival job.
+ * Keeps the original id; booking codes may be reused by later hot bookings, so they are not unique here.
+ */
+@Entity
+@Table(name = "bookings_archive",
+    indexes = {
+        @Index(name = "idx_archive_date", columnList = "bookingDate"),
+        @Index(name = "idx_archive_customer_phone", columnList = "customerPhone"),
+        @Index(name = "idx_archive_barber_date", columnList = "barber_id,bookingDate")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 10)
+    private String bookingCode;
+
+    @Column(nullable = false)
+    private String customerPhone;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barber_id")
+    private Barber barber;
+
+    @Column(nullable = false)
+    private LocalDate bookingDate;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BookingStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime cancelledAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -10,8 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "barbers", indexes = {
-    @Index(name = "idx_barber_active", columnList = "active"),
-    @Index(name = "idx_barber_phone", columnList = "phoneNumber")
+    @Index(name = "idx_barber_active", columnList = "active")
 })
 @Data
 @Builder
@@ -14,10 +14,10 @@ import java.time.LocalDateTime;
 @Table(name = "bookings",
     uniqueConstraints = @UniqueConstraint(columnNames = "bookingCode"),
     indexes = {
-        @Index(name = "idx_booking_date_status", columnList = "bookingDate,status"),
-        @Index(name = "idx_customer_phone", columnList = "customerPhone"),
-        @Index(name = "idx_booking_code", columnList = "bookingCode"),
-        @Index(name = "idx_barber_date", columnList = "barber_id,bookingDate")
+        @Index(name = "idx_booking_barber_slot", columnList = "barber_id,bookingDate,status,startTime,endTime"),
+        @Index(name = "idx_booking_day_slot", columnList = "bookingDate,status,startTime,endTime"),
+        @Index(name = "idx_booking_one_hour_reminder", columnList = "bookingDate,status,oneHourReminderSent,startTime"),
+        @Index(name = "idx_booking_customer_status", columnList = "customerPhone,status,bookingDate")
     })
 @Data
 @Builder
@@ -0,0 +1,51 @@
+package com.banda.barbershop.entity;
+
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Read-only union of hot and archived bookings, for reporting.
+ * Conversational paths use Booking, which only sees the hot table.
+ */
+@Entity
+@Immutable
+@Subselect("SELECT id, booking_code, customer_phone, service_id, barber_id, booking_date, " +
+           "start_time, end_time, status FROM bookings " +
+           "UNION ALL " +
+           "SELECT id, booking_code, customer_phone, service_id, barber_id, booking_date, " +
+           "start_time, end_time, status FROM bookings_archive")
+@Synchronize({"bookings", "bookings_archive"})
+@Getter
+public class BookingRecord {
+
+    @Id
+    private Long id;
+
+    private String bookingCode;
+
+    private String customerPhone;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id")
+    private Service service;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barber_id")
+    private Barber barber;
+
+    private LocalDate bookingDate;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    private BookingStatus status;
+}
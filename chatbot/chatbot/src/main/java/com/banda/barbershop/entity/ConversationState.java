@@ -10,7 +10,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "conversation_states")
+@Table(name = "conversation_states",
+    indexes = {
+        @Index(name = "idx_conversation_last_activity", columnList = "lastActivity")
+    })
 @Data
 @Builder
 @NoArgsConstructor
@@ -12,9 +12,10 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "customers",
     indexes = {
-        @Index(name = "idx_phone_number", columnList = "phoneNumber"),
-        @Index(name = "idx_birthday_month", columnList = "birthdayMonth"),
-        @Index(name = "idx_loyalty_points", columnList = "loyaltyPoints")
+        @Index(name = "idx_customer_birthday", columnList = "birthdayMonth,birthdayDay"),
+        @Index(name = "idx_loyalty_points", columnList = "loyaltyPoints"),
+        @Index(name = "idx_customer_completed", columnList = "completedBookings"),
+        @Index(name = "idx_customer_last_visit", columnList = "lastVisit")
     })
 @Data
 @Builder
@@ -0,0 +1,67 @@
+package com.banda.barbershop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbound message that could not be delivered after all retries, kept for replay
+ */
+@Entity
+@Table(name = "dead_letter_messages",
+    indexes = {
+        @Index(name = "idx_dead_letter_status", columnList = "status,createdAt")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String toPhoneNumber;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    private Integer errorCode; // HTTP status from Twilio, null for connection failures
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DeadLetterStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime replayedAt;
+
+    private LocalDateTime claimedAt; // When a replay took it; a REPLAYING row older than the claim timeout is free again
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = DeadLetterStatus.PENDING;
+        }
+    }
+
+    public enum DeadLetterStatus {
+        PENDING,
+        REPLAYING,
+        REPLAYED
+    }
+}
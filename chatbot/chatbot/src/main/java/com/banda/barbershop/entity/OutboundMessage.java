@@ -0,0 +1,90 @@
+package com.banda.barbershop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox row for a customer notification, written in the same transaction as the state
+ * change it announces and delivered by the relay
+ */
+@Entity
+@Table(name = "outbound_messages",
+    indexes = {
+        @Index(name = "idx_outbound_due", columnList = "status,nextAttemptAt"),
+        @Index(name = "idx_outbound_claim", columnList = "claimToken"),
+        @Index(name = "idx_outbound_sent", columnList = "status,sentAt")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboundMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String toPhoneNumber;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private MessageType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboundStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 36)
+    private String claimToken; // Set while a relay batch owns the row
+
+    private LocalDateTime claimedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = OutboundStatus.PENDING;
+        }
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+
+    public enum MessageType {
+        BOOKING_CONFIRMATION,
+        BOOKING_CANCELLATION,
+        DAY_BEFORE_REMINDER,
+        ONE_HOUR_REMINDER,
+        WAITLIST_OFFER
+    }
+
+    public enum OutboundStatus {
+        PENDING,
+        SENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -0,0 +1,49 @@
+package com.banda.barbershop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Inbound Twilio message that has already been accepted, keyed by MessageSid.
+ * Lets every node recognise webhook retries.
+ */
+@Entity
+@Table(name = "processed_messages",
+    uniqueConstraints = @UniqueConstraint(columnNames = "messageSid"),
+    indexes = {
+        @Index(name = "idx_processed_received_at", columnList = "receivedAt")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String messageSid;
+
+    @Column(nullable = false)
+    private String phoneNumber;
+
+    @Column(columnDefinition = "TEXT")
+    private String response; // Null while the first delivery is still being processed
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (this.receivedAt == null) {
+            this.receivedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.banda.barbershop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Pre-generated capacity of one barber's slot on the shop's slot grid.
+ * Booking decrements every slot the appointment covers; cancelling gives them back.
+ */
+@Entity
+@Table(name = "slot_inventory",
+    uniqueConstraints = @UniqueConstraint(name = "uk_slot_inventory_slot",
+        columnNames = {"barberId", "slotDate", "slotStart"}),
+    indexes = {
+        @Index(name = "idx_slot_inventory_date", columnList = "slotDate")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlotInventory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long barberId;
+
+    @Column(nullable = false)
+    private LocalDate slotDate;
+
+    @Column(nullable = false)
+    private LocalTime slotStart;
+
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(nullable = false)
+    private Integer remaining;
+}
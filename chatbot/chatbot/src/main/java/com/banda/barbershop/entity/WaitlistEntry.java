@@ -0,0 +1,87 @@
+package com.banda.barbershop.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A customer waiting for a chair to free up: a service with a barber (null for any) on any
+ * day in a date window. A cancelled slot is offered to matching entries in registration order,
+ * each holding the offer for a few minutes.
+ */
+@Entity
+@Table(name = "waitlist_entries",
+    indexes = {
+        @Index(name = "idx_waitlist_match", columnList = "barber_id,fromDate,status"),
+        @Index(name = "idx_waitlist_customer", columnList = "customerPhone,status"),
+        @Index(name = "idx_waitlist_offer_expiry", columnList = "status,offerExpiresAt"),
+        @Index(name = "idx_waitlist_window", columnList = "status,toDate")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String customerPhone;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "service_id", nullable = false)
+    private Service service;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "barber_id")
+    private Barber barber; // Null means any barber
+
+    @Column(nullable = false)
+    private LocalDate fromDate;
+
+    @Column(nullable = false)
+    private LocalDate toDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private WaitlistStatus status;
+
+    // The slot currently held for this customer (status OFFERED)
+    private Long offerBarberId;
+    private LocalDate offerDate;
+    private LocalTime offerTime;
+    private LocalDateTime offerExpiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = WaitlistStatus.WAITING;
+        }
+    }
+
+    public boolean isOfferOpen() {
+        return status == WaitlistStatus.OFFERED
+            && offerExpiresAt != null
+            && offerExpiresAt.isAfter(LocalDateTime.now());
+    }
+
+    public enum WaitlistStatus {
+        WAITING,
+        OFFERED,
+        BOOKED,
+        EXPIRED,
+        CANCELLED
+    }
+}
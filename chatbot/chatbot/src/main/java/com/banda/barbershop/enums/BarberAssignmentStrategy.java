@@ -0,0 +1,10 @@
+package com.banda.barbershop.enums;
+
+/**
+ * How a barber is chosen when the customer books "any available barber"
+ */
+public enum BarberAssignmentStrategy {
+    LEAST_UTILIZED,     // Barber with the fewest booked minutes that day
+    PREFERRED_FIRST,    // Customer's usual barber if free, otherwise least utilized
+    ROUND_ROBIN         // Rotate through free barbers
+}
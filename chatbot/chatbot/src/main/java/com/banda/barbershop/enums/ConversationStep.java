@@ -14,12 +14,18 @@ public enum ConversationStep {
 
     // Booking flow
     SELECT_SERVICE,             // Customer chooses haircut type
+    QUICK_REBOOK,               // Returning customer rebooks their usual service and barber
     SELECT_BARBER,              // Customer chooses their barber
     VIEW_TODAY_SLOTS,           // Show available times for today
     VIEW_TOMORROW_SLOTS,        // Show available times for tomorrow (if today is full)
+    VIEW_EARLIEST_SLOTS,        // Show the next free times across the search horizon
     CONFIRM_BOOKING,            // Confirm booking details before saving
     BOOKING_CONFIRMED,          // Booking created successfully
 
+    // Waitlist
+    JOIN_WAITLIST,              // Customer picks the days they could come in if a chair frees up
+    WAITLIST_OFFER,             // A cancelled slot is held for the customer to accept
+
     // Booking management
     VIEW_MY_BOOKINGS,           // List customer's active bookings
     CANCEL_BOOKING_INPUT,       // Customer enters booking code to cancel
@@ -33,10 +39,13 @@ public enum ConversationStep {
             case VIEW_SERVICES -> MAIN_MENU;
             case FAQ -> MAIN_MENU;
             case SELECT_SERVICE -> MAIN_MENU;
+            case QUICK_REBOOK -> MAIN_MENU;
             case SELECT_BARBER -> SELECT_SERVICE;
-            case VIEW_TODAY_SLOTS, VIEW_TOMORROW_SLOTS -> SELECT_BARBER;
+            case VIEW_TODAY_SLOTS, VIEW_TOMORROW_SLOTS, VIEW_EARLIEST_SLOTS -> SELECT_BARBER;
             case CONFIRM_BOOKING -> VIEW_TODAY_SLOTS;
             case BOOKING_CONFIRMED -> MAIN_MENU;
+            case JOIN_WAITLIST -> VIEW_EARLIEST_SLOTS;
+            case WAITLIST_OFFER -> MAIN_MENU;
             case VIEW_MY_BOOKINGS -> MAIN_MENU;
             case CANCEL_BOOKING_INPUT -> VIEW_MY_BOOKINGS;
             case CANCEL_BOOKING_CONFIRM -> CANCEL_BOOKING_INPUT;
@@ -51,8 +60,11 @@ public enum ConversationStep {
         return this == SELECT_BARBER
             || this == VIEW_TODAY_SLOTS
             || this == VIEW_TOMORROW_SLOTS
+            || this == VIEW_EARLIEST_SLOTS
             || this == CONFIRM_BOOKING
             || this == BOOKING_CONFIRMED
+            || this == JOIN_WAITLIST
+            || this == WAITLIST_OFFER
             || this == CANCEL_BOOKING_CONFIRM;
     }
 }
@@ -0,0 +1,32 @@
+package com.banda.barbershop.event;
+
+import com.banda.barbershop.event.BookingEvent.BookingCompleted;
+import com.banda.barbershop.event.BookingEvent.BookingCreated;
+import com.banda.barbershop.repository.BarberRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Barber booking counters. Lanes are per customer, so one barber's events can run on several
+ * lanes at once: the counters are incremented in place rather than read and saved.
+ */
+@Component
+@RequiredArgsConstructor
+public class BarberStatsListener implements BookingEventListener {
+
+    private final BarberRepository barberRepository;
+
+    @Override
+    public void onEvent(BookingEvent event) {
+        if (event.barberId() == null) {
+            return;
+        }
+        switch (event) {
+            case BookingCreated created -> barberRepository.incrementTotalBookings(created.barberId(), LocalDateTime.now());
+            case BookingCompleted completed -> barberRepository.incrementCompletedBookings(completed.barberId(), LocalDateTime.now());
+            default -> { }
+        }
+    }
+}
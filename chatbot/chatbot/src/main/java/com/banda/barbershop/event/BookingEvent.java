@@ -0,0 +1,30 @@
+package com.banda.barbershop.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Something that happened to a booking, published once its transaction commits.
+ * Events for the same customer are delivered in publish order.
+ */
+public sealed interface BookingEvent {
+
+    Long bookingId();
+
+    String customerPhone();
+
+    Long barberId();
+
+    record BookingCreated(Long bookingId, String customerPhone, Long serviceId, Long barberId,
+                          LocalDate date, LocalTime startTime) implements BookingEvent {
+    }
+
+    record BookingCancelled(Long bookingId, String customerPhone, Long barberId) implements BookingEvent {
+    }
+
+    record BookingCompleted(Long bookingId, String customerPhone, Long barberId) implements BookingEvent {
+    }
+
+    record BookingNoShow(Long bookingId, String customerPhone, Long barberId) implements BookingEvent {
+    }
+}
@@ -0,0 +1,138 @@
+package com.banda.barbershop.event;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process bus for booking lifecycle events.
+ *
+ * An event published inside a transaction is handed over once it has committed (a rolled back
+ * booking publishes nothing). Each listener call gets a transaction of its own: the publisher's
+ * connection may still be bound when delivery runs inline, and listener writes must neither join
+ * that finished transaction nor undo each other.
+ *
+ * Delivery runs on a fixed set of single-thread lanes; the lane is picked from the customer's
+ * phone, so one customer's events reach every listener in order while different customers
+ * proceed in parallel. Events live only in memory: ones still queued when the process dies are
+ * lost, so listeners keep derived data only (counters, profiles), never anything the booking
+ * itself depends on.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingEventBus {
+
+    private final List<BookingEventListener> listeners;
+    private final BarberShopConfig shopConfig;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private ExecutorService[] lanes;
+    private TransactionTemplate listenerTransaction;
+
+    @PostConstruct
+    void start() {
+        int laneCount = Math.max(1, shopConfig.getEvents().getLanes());
+        lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("booking-events-" + i).daemon().factory());
+        }
+        meterRegistry.gauge("barbershop.events.pending", pending);
+
+        listenerTransaction = new TransactionTemplate(transactionManager);
+        listenerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Deliver the event after the current transaction commits, or now if there is none
+     */
+    public void publish(BookingEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        dispatch(event);
+                    }
+                }
+            });
+        } else {
+            dispatch(event);
+        }
+    }
+
+    private void dispatch(BookingEvent event) {
+        if (!shopConfig.getEvents().isAsync()) {
+            deliver(event);
+            return;
+        }
+
+        pending.incrementAndGet();
+        try {
+            lanes[lane(event.customerPhone())].execute(() -> {
+                try {
+                    deliver(event);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            log.warn("Booking event bus is shut down, {} for booking {} dropped",
+                     event.getClass().getSimpleName(), event.bookingId());
+        }
+    }
+
+    private void deliver(BookingEvent event) {
+        String type = event.getClass().getSimpleName();
+        for (BookingEventListener listener : listeners) {
+            String name = listener.getClass().getSimpleName();
+            try {
+                listenerTransaction.executeWithoutResult(tx -> listener.onEvent(event));
+                meterRegistry.counter("barbershop.events", "event", type, "listener", name, "outcome", "ok").increment();
+            } catch (Exception e) {
+                meterRegistry.counter("barbershop.events", "event", type, "listener", name, "outcome", "failed").increment();
+                log.error("{} failed on {} for booking {}: {}", name, type, event.bookingId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private int lane(String customerPhone) {
+        int hash = customerPhone.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    /**
+     * Let queued events finish before the context (and the data source) goes away
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+        for (ExecutorService lane : lanes) {
+            if (!lane.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Booking event lane did not drain in time, {} event(s) dropped", lane.shutdownNow().size());
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.banda.barbershop.event;
+
+/**
+ * Side effect of the booking lifecycle, run off the request thread by the BookingEventBus.
+ * A failure is logged and counted; it does not affect the booking or other listeners.
+ */
+public interface BookingEventListener {
+
+    void onEvent(BookingEvent event);
+}
@@ -0,0 +1,33 @@
+package com.banda.barbershop.event;
+
+import com.banda.barbershop.event.BookingEvent.BookingCancelled;
+import com.banda.barbershop.event.BookingEvent.BookingCompleted;
+import com.banda.barbershop.event.BookingEvent.BookingCreated;
+import com.banda.barbershop.event.BookingEvent.BookingNoShow;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.CustomerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Customer counters, preferences and loyalty points
+ */
+@Component
+@RequiredArgsConstructor
+public class CustomerHistoryListener implements BookingEventListener {
+
+    private final CustomerService customerService;
+    private final ServiceRepository serviceRepository;
+
+    @Override
+    public void onEvent(BookingEvent event) {
+        switch (event) {
+            case BookingCreated created -> serviceRepository.findById(created.serviceId())
+                .ifPresent(service -> customerService.recordBooking(
+                    created.customerPhone(), service, created.barberId()));
+            case BookingCancelled cancelled -> customerService.recordCancelledBooking(cancelled.customerPhone());
+            case BookingCompleted completed -> customerService.recordCompletedBooking(completed.customerPhone());
+            case BookingNoShow noShow -> customerService.recordNoShow(noShow.customerPhone());
+        }
+    }
+}
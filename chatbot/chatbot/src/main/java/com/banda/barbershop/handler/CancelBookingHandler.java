@@ -5,12 +5,13 @@ import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.entity.Booking;
 import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.service.BookingService;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -20,6 +21,32 @@ import java.util.Optional;
 @Slf4j
 public class CancelBookingHandler implements MessageHandler {
 
+    private static final MessageTemplate BOOKING_NOT_FOUND = MessageTemplate.compile("""
+        ❌ Booking *#{0}* not found.
+
+        Please check your booking code and try again.
+
+        0️⃣ Main Menu
+        """);
+
+    private static final MessageTemplate ALREADY_CANCELLED = MessageTemplate.compile("""
+        ℹ️ Booking *#{0}* is already cancelled.
+
+        0️⃣ Main Menu
+        """);
+
+    private static final MessageTemplate CANCELLATION_PROMPT = MessageTemplate.compile("""
+        ⚠️ *Confirm Cancellation*
+
+        Booking Code: *#{0}*
+        🪒 {1}
+        📅 {2} ({3}) at {4}
+
+        Are you sure you want to cancel this booking?
+
+        Reply *YES* to cancel or *NO* to keep it
+        """);
+
     private final BookingService bookingService;
     private final ObjectMapper objectMapper;
 
@@ -102,13 +129,7 @@ public class CancelBookingHandler implements MessageHandler {
 
         if (bookingOpt.isEmpty()) {
             return HandlerResponse.builder()
-                .message(String.format("""
-                    ❌ Booking *#%s* not found.
-
-                    Please check your booking code and try again.
-
-                    0️⃣ Main Menu
-                    """, bookingCode))
+                .message(BOOKING_NOT_FOUND.render(bookingCode))
                 .nextStep(ConversationStep.CANCEL_BOOKING_INPUT)
                 .clearContext(true)
                 .build();
@@ -132,11 +153,7 @@ public class CancelBookingHandler implements MessageHandler {
         // Check if already cancelled
         if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
             return HandlerResponse.builder()
-                .message(String.format("""
-                    ℹ️ Booking *#%s* is already cancelled.
-
-                    0️⃣ Main Menu
-                    """, bookingCode))
+                .message(ALREADY_CANCELLED.render(bookingCode))
                 .nextStep(ConversationStep.MAIN_MENU)
                 .clearContext(true)
                 .build();
@@ -172,21 +189,15 @@ public class CancelBookingHandler implements MessageHandler {
         String bookingCode = (String) context.get("booking_code");
 
         if ("YES".equals(userInput)) {
+            // The cancellation message is queued in the cancel transaction and sent by the outbox relay
             boolean cancelled = bookingService.cancelBooking(bookingCode, request.getPhoneNumber());
 
             if (cancelled) {
                 return HandlerResponse.builder()
-                    .message(String.format("""
-                        ✅ *Booking Cancelled*
-
-                        Booking *#%s* has been cancelled successfully.
-
-                        Hope to see you again soon! 👍
-
-                        0️⃣ Main Menu
-                        """, bookingCode))
+                    .message("")
                     .nextStep(ConversationStep.MAIN_MENU)
                     .clearContext(true)
+                    .replyQueued(true)
                     .build();
             } else {
                 return HandlerResponse.builder()
@@ -223,28 +234,12 @@ public class CancelBookingHandler implements MessageHandler {
     }
 
     private String buildCancellationPrompt(Booking booking) {
-        String dayLabel = booking.getBookingDate().equals(java.time.LocalDate.now()) ? "TODAY" : "TOMORROW";
-        String formattedDate = booking.getBookingDate()
-            .format(DateTimeFormatter.ofPattern("EEE dd MMM"));
-        String formattedTime = booking.getStartTime()
-            .format(DateTimeFormatter.ofPattern("h:mm a"));
-
-        return String.format("""
-            ⚠️ *Confirm Cancellation*
-
-            Booking Code: *#%s*
-            🪒 %s
-            📅 %s (%s) at %s
-
-            Are you sure you want to cancel this booking?
-
-            Reply *YES* to cancel or *NO* to keep it
-            """,
+        return CANCELLATION_PROMPT.render(
             booking.getBookingCode(),
             booking.getService().getName(),
-            dayLabel,
-            formattedDate,
-            formattedTime
+            MessageFormats.dayLabel(booking.getBookingDate()),
+            MessageFormats.DAY_DATE.format(booking.getBookingDate()),
+            MessageFormats.TIME.format(booking.getStartTime())
         );
     }
 }
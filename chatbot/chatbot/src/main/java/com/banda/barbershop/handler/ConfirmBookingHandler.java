@@ -10,6 +10,8 @@ import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.repository.BarberRepository;
 import com.banda.barbershop.repository.ServiceRepository;
 import com.banda.barbershop.service.BookingService;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -18,7 +20,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,6 +28,19 @@ import java.util.Map;
 @Slf4j
 public class ConfirmBookingHandler implements MessageHandler {
 
+    private static final MessageTemplate CONFIRMATION_PROMPT = MessageTemplate.compile("""
+        ✅ *Confirm Your Booking*
+
+        🪒 {0}
+        👨‍🦲 With {1}
+        📅 {2} ({3}) at {4}
+        ⏱️ {5} minutes
+        💰 €{6}
+        📍 {7}
+
+        Reply *YES* to confirm or *CANCEL* to restart
+        """);
+
     private final BookingService bookingService;
     private final ServiceRepository serviceRepository;
     private final BarberRepository barberRepository;
@@ -42,26 +56,10 @@ public class ConfirmBookingHandler implements MessageHandler {
     @Override
     public HandlerResponse handle(HandlerRequest request) {
         try {
-            // Handle BOOKING_CONFIRMED state (just show confirmation)
+            // BOOKING_CONFIRMED is only left over from before confirmations went through the outbox
             if (request.getCurrentStep() == ConversationStep.BOOKING_CONFIRMED) {
-                Map<String, Object> context = parseContext(request.getContextData());
-                String bookingCode = (String) context.get("booking_code");
-                LocalDate bookingDate = LocalDate.parse((String) context.get("booking_date"));
-                LocalTime bookingTime = LocalTime.parse((String) context.get("booking_time"));
-                Long serviceId = ((Number) context.get("service_id")).longValue();
-                Long barberId = ((Number) context.get("barber_id")).longValue();
-
-                Service service = serviceRepository.findById(serviceId)
-                    .orElseThrow(() -> new IllegalStateException("Service not found"));
-
-                Barber barber = barberRepository.findById(barberId)
-                    .orElseThrow(() -> new IllegalStateException("Barber not found"));
-
-                String confirmationMessage = buildConfirmationMessage(
-                    bookingCode, service, barber, bookingDate, bookingTime);
-
                 return HandlerResponse.builder()
-                    .message(confirmationMessage)
+                    .message("")
                     .nextStep(ConversationStep.MAIN_MENU)
                     .clearContext(true)
                     .build();
@@ -70,23 +68,28 @@ public class ConfirmBookingHandler implements MessageHandler {
             // Handle CONFIRM_BOOKING state
             Map<String, Object> context = parseContext(request.getContextData());
             Long serviceId = ((Number) context.get("service_id")).longValue();
-            Long barberId = ((Number) context.get("barber_id")).longValue();
+            // No barber in context means "any available barber" - assigned when the booking is created
+            Long barberId = context.get("barber_id") != null
+                ? ((Number) context.get("barber_id")).longValue()
+                : null;
             LocalDate bookingDate = LocalDate.parse((String) context.get("booking_date"));
             LocalTime bookingTime = LocalTime.parse((String) context.get("booking_time"));
 
             Service service = serviceRepository.findById(serviceId)
                 .orElseThrow(() -> new IllegalStateException("Service not found"));
 
-            Barber barber = barberRepository.findById(barberId)
-                .orElseThrow(() -> new IllegalStateException("Barber not found"));
+            Barber barber = barberId != null
+                ? barberRepository.findById(barberId)
+                    .orElseThrow(() -> new IllegalStateException("Barber not found"))
+                : null;
 
             // Show confirmation prompt on first entry
             String userInput = request.getUserInput().toUpperCase().trim();
 
             if (userInput.equals("YES")) {
-                // Create the booking
+                // Create the booking - the confirmation is queued with it and sent by the outbox relay
                 try {
-                    Booking booking = bookingService.createBooking(
+                    bookingService.createBooking(
                         request.getPhoneNumber(),
                         service,
                         barberId,
@@ -94,14 +97,11 @@ public class ConfirmBookingHandler implements MessageHandler {
                         bookingTime
                     );
 
-                    // Store booking code in context
-                    context.put("booking_code", booking.getBookingCode());
-                    String contextJson = objectMapper.writeValueAsString(context);
-
                     return HandlerResponse.builder()
                         .message("")
-                        .nextStep(ConversationStep.BOOKING_CONFIRMED)
-                        .contextData(contextJson)
+                        .nextStep(ConversationStep.MAIN_MENU)
+                        .clearContext(true)
+                        .replyQueued(true)
                         .build();
 
                 } catch (IllegalStateException e) {
@@ -153,61 +153,14 @@ public class ConfirmBookingHandler implements MessageHandler {
     }
 
     private String buildConfirmationPrompt(Service service, Barber barber, LocalDate date, LocalTime time) {
-        String dayLabel = date.equals(LocalDate.now()) ? "TODAY" : "TOMORROW";
-        String formattedDate = date.format(DateTimeFormatter.ofPattern("EEE dd MMM"));
-        String formattedTime = time.format(DateTimeFormatter.ofPattern("h:mm a"));
-
-        return String.format("""
-            ✅ *Confirm Your Booking*
-
-            🪒 %s
-            👨‍🦲 With %s
-            📅 %s (%s) at %s
-            ⏱️ %d minutes
-            💰 €%.0f
-            📍 %s
-
-            Reply *YES* to confirm or *CANCEL* to restart
-            """,
+        return CONFIRMATION_PROMPT.render(
             service.getName(),
-            barber.getName(),
-            dayLabel,
-            formattedDate,
-            formattedTime,
+            barber != null ? barber.getName() : "Any available barber",
+            MessageFormats.dayLabel(date),
+            MessageFormats.DAY_DATE.format(date),
+            MessageFormats.TIME.format(time),
             service.getDurationMinutes(),
-            service.getPrice(),
-            shopConfig.getAddress()
-        );
-    }
-
-    private String buildConfirmationMessage(String bookingCode, Service service, Barber barber,
-                                           LocalDate date, LocalTime time) {
-        String dayLabel = date.equals(LocalDate.now()) ? "TODAY" : "TOMORROW";
-        String formattedDate = date.format(DateTimeFormatter.ofPattern("EEE dd MMM"));
-        String formattedTime = time.format(DateTimeFormatter.ofPattern("h:mm a"));
-
-        return String.format("""
-            ✅ *BOOKING CONFIRMED!*
-
-            Booking Code: *#%s*
-
-            🪒 %s
-            👨‍🦲 With %s
-            📅 %s (%s) at %s
-            📍 %s
-
-            See you soon! 👍
-
-            To cancel: Reply *4* from main menu
-
-            0️⃣ Main Menu
-            """,
-            bookingCode,
-            service.getName(),
-            barber.getName(),
-            dayLabel,
-            formattedDate,
-            formattedTime,
+            MessageFormats.price(service.getPrice()),
             shopConfig.getAddress()
         );
     }
@@ -3,11 +3,36 @@ package com.banda.barbershop.handler;
 import com.banda.barbershop.dto.HandlerRequest;
 import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.service.CustomerService;
+import com.banda.barbershop.template.MessageTemplate;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 @Component
+@RequiredArgsConstructor
 public class MainMenuHandler implements MessageHandler {
 
+    private static final MessageTemplate MENU_TEMPLATE = MessageTemplate.compile("""
+        👋 *Welcome to Fade Factory Barbershop!*
+
+        What would you like to do?
+
+        1️⃣ View Services & Prices
+        2️⃣ Book an Appointment
+        3️⃣ View My Bookings
+        4️⃣ Cancel a Booking
+        5️⃣ FAQ / Help
+        {0}
+        Reply with a number (1-{1}) or type MENU anytime
+        💬 Or just ask, e.g. *skin fade tomorrow 3pm*
+        """);
+
+    // Rendered once: returning customers with a usual service also get option 6 (quick rebook)
+    private static final String MENU = MENU_TEMPLATE.render("", 5);
+    private static final String MENU_WITH_USUAL = MENU_TEMPLATE.render("6️⃣ Rebook My Usual\n", 6);
+
+    private final CustomerService customerService;
+
     @Override
     public boolean canHandle(ConversationStep step) {
         return step == ConversationStep.MAIN_MENU;
@@ -15,7 +40,8 @@ public class MainMenuHandler implements MessageHandler {
 
     @Override
     public HandlerResponse handle(HandlerRequest request) {
-        String message = buildMainMenu();
+        boolean hasUsual = customerService.getPreferredServiceId(request.getPhoneNumber()).isPresent();
+        String message = buildMainMenu(hasUsual);
 
         // If context is "show_initial" OR null/empty, show menu and ignore user input
         // This ensures first message after joining stream always shows menu
@@ -37,7 +63,7 @@ public class MainMenuHandler implements MessageHandler {
                 .build();
         }
 
-        ConversationStep nextStep = getNextStepFromChoice(choice);
+        ConversationStep nextStep = getNextStepFromChoice(choice, hasUsual);
 
         if (nextStep == ConversationStep.MAIN_MENU) {
             return HandlerResponse.builder()
@@ -59,29 +85,18 @@ public class MainMenuHandler implements MessageHandler {
         return ConversationStep.MAIN_MENU;
     }
 
-    private String buildMainMenu() {
-        return """
-            👋 *Welcome to Fade Factory Barbershop!*
-
-            What would you like to do?
-
-            1️⃣ View Services & Prices
-            2️⃣ Book an Appointment
-            3️⃣ View My Bookings
-            4️⃣ Cancel a Booking
-            5️⃣ FAQ / Help
-
-            Reply with a number (1-5) or type MENU anytime
-            """;
+    private String buildMainMenu(boolean hasUsual) {
+        return hasUsual ? MENU_WITH_USUAL : MENU;
     }
 
-    private ConversationStep getNextStepFromChoice(Integer choice) {
+    private ConversationStep getNextStepFromChoice(Integer choice, boolean hasUsual) {
         return switch (choice) {
             case 1 -> ConversationStep.VIEW_SERVICES;
             case 2 -> ConversationStep.SELECT_SERVICE;
             case 3 -> ConversationStep.VIEW_MY_BOOKINGS;
             case 4 -> ConversationStep.CANCEL_BOOKING_INPUT;
             case 5 -> ConversationStep.FAQ;
+            case 6 -> hasUsual ? ConversationStep.QUICK_REBOOK : ConversationStep.MAIN_MENU;
             default -> ConversationStep.MAIN_MENU;
         };
     }
@@ -1,28 +1,178 @@
 package com.banda.barbershop.handler;
 
+import com.banda.barbershop.config.WebhookConfig;
 import com.banda.barbershop.dto.HandlerRequest;
 import com.banda.barbershop.dto.HandlerResponse;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.intent.BookingIntentResolver;
+import com.banda.barbershop.service.WaitlistService;
+import com.banda.barbershop.template.MessageSplitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
+@Slf4j
 public class MessageHandlerDispatcher {
 
+    private static final Set<String> OFFER_ANSWERS = Set.of("YES", "NO");
+
+    // Steps where YES/NO answers the customer's own booking or cancellation, not a waitlist offer
+    private static final Set<ConversationStep> CONFIRMATION_STEPS =
+        Set.of(ConversationStep.CONFIRM_BOOKING, ConversationStep.CANCEL_BOOKING_CONFIRM);
+
     private final List<MessageHandler> handlers;
     private final MessageHandler fallbackHandler;
+    private final BookingIntentResolver intentResolver;
+    private final WaitlistService waitlistService;
+    private final WebhookConfig webhookConfig;
+    private final MeterRegistry meterRegistry;
 
     public MessageHandlerDispatcher(List<MessageHandler> handlers,
-                                   FallbackMessageHandler fallbackHandler) {
+                                   FallbackMessageHandler fallbackHandler,
+                                   BookingIntentResolver intentResolver,
+                                   WaitlistService waitlistService,
+                                   WebhookConfig webhookConfig,
+                                   MeterRegistry meterRegistry) {
         this.handlers = handlers;
         this.fallbackHandler = fallbackHandler;
+        this.intentResolver = intentResolver;
+        this.waitlistService = waitlistService;
+        this.webhookConfig = webhookConfig;
+        this.meterRegistry = meterRegistry;
     }
 
     public HandlerResponse dispatch(HandlerRequest request) {
-        return handlers.stream()
-            .filter(handler -> handler.canHandle(request.getCurrentStep()))
+        MessageHandler handler = handlers.stream()
+            .filter(candidate -> candidate.canHandle(request.getCurrentStep()))
             .findFirst()
-            .orElse(fallbackHandler)
-            .handle(request);
+            .orElse(fallbackHandler);
+
+        // Handler latency per conversation step
+        return Timer.builder("barbershop.handler")
+            .tag("step", String.valueOf(request.getCurrentStep()))
+            .tag("handler", handler.getClass().getSimpleName())
+            .register(meterRegistry)
+            .record(() -> handler.handle(request));
+    }
+
+    /**
+     * Dispatch the inbound message, then keep following transitions that produced no text
+     * (a handler returning an empty message hands over to the next step's handler to render it),
+     * up to the configured number of hops.
+     *
+     * The chain runs on the state loaded once by the caller and tracks step and context in
+     * memory. The returned response carries the final step, the effective context
+     * (clearContext set when it is null) and all text produced along the way, so the caller
+     * makes one state write and one send.
+     *
+     * Free text at the main menu that reads as a booking request ("skin fade tomorrow 3pm")
+     * starts the chain at the step it resolves to, usually CONFIRM_BOOKING. A YES or NO from a
+     * customer holding a waitlist offer answers the offer, outside the booking confirmation steps.
+     */
+    public HandlerResponse dispatchChain(HandlerRequest request) {
+        int maxHops = webhookConfig.getDispatch().getMaxHops();
+        List<String> messages = new ArrayList<>();
+
+        ConversationStep step = request.getCurrentStep();
+        String context = request.getContextData();
+        HandlerRequest current = request;
+        HandlerResponse response;
+        int hops = 0;
+
+        Optional<Long> offer = resolveOfferAnswer(request);
+        Optional<BookingIntentResolver.Resolution> intent = offer.isEmpty()
+            ? resolveIntent(request)
+            : Optional.empty();
+        if (offer.isPresent()) {
+            step = ConversationStep.WAITLIST_OFFER;
+            context = "{\"waitlist_id\":" + offer.get() + "}";
+            current = HandlerRequest.builder()
+                .phoneNumber(request.getPhoneNumber())
+                .userInput(request.getUserInput())
+                .currentStep(step)
+                .contextData(context)
+                .build();
+        } else if (intent.isPresent()) {
+            BookingIntentResolver.Resolution resolution = intent.get();
+            if (resolution.note() != null) {
+                messages.add(resolution.note());
+            }
+            step = resolution.step();
+            context = resolution.contextData();
+            current = followUp(request, step, context);
+        }
+
+        while (true) {
+            response = dispatch(current);
+            if (response.getNextStep() != null) {
+                step = response.getNextStep();
+            }
+            if (response.isClearContext()) {
+                context = null;
+            } else if (response.getContextData() != null) {
+                context = response.getContextData();
+            }
+
+            boolean silent = response.getMessage() == null || response.getMessage().isEmpty();
+            if (!silent) {
+                messages.add(response.getMessage());
+            }
+            if (!silent || response.isReplyQueued() || response.getNextStep() == null) {
+                break;
+            }
+            if (hops == maxHops) {
+                log.warn("Dispatch chain for {} stopped at {} after {} hops without a reply",
+                         request.getPhoneNumber(), step, hops);
+                break;
+            }
+
+            hops++;
+            current = followUp(request, step, context);
+        }
+
+        meterRegistry.summary("barbershop.dispatch.hops").record(hops);
+        return HandlerResponse.builder()
+            .message(MessageSplitter.join(messages))
+            .nextStep(step)
+            .contextData(context)
+            .clearContext(context == null)
+            .replyQueued(response.isReplyQueued())
+            .build();
+    }
+
+    /**
+     * The waitlist entry a YES/NO answers, found by the entry's status so an offer made while the
+     * customer was mid-flow is still answerable
+     */
+    private Optional<Long> resolveOfferAnswer(HandlerRequest request) {
+        if (CONFIRMATION_STEPS.contains(request.getCurrentStep())
+            || !OFFER_ANSWERS.contains(request.getUserInput().toUpperCase())) {
+            return Optional.empty();
+        }
+        return waitlistService.findOpenOffer(request.getPhoneNumber());
+    }
+
+    private Optional<BookingIntentResolver.Resolution> resolveIntent(HandlerRequest request) {
+        if (request.getCurrentStep() != ConversationStep.MAIN_MENU || request.getParsedChoice() != null) {
+            return Optional.empty();
+        }
+        return intentResolver.resolve(request.getPhoneNumber(), request.getUserInput());
+    }
+
+    private HandlerRequest followUp(HandlerRequest request, ConversationStep step, String context) {
+        return HandlerRequest.builder()
+            .phoneNumber(request.getPhoneNumber())
+            .userInput("")
+            .parsedChoice(null)
+            .currentStep(step)
+            .contextData(context)
+            .build();
     }
 }
@@ -0,0 +1,93 @@
+package com.banda.barbershop.handler;
+
+import com.banda.barbershop.dto.CustomerProfile;
+import com.banda.barbershop.dto.HandlerRequest;
+import com.banda.barbershop.dto.HandlerResponse;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.CustomerService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Rebooks a returning customer's usual service and barber: skips the service and barber
+ * menus and hands over to the earliest-slots view, which offers that barber's next free
+ * times from one availability query.
+ *
+ * No usual service (or one no longer offered) falls back to the service menu; a usual
+ * barber who has left falls back to any available barber.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QuickRebookHandler implements MessageHandler {
+
+    private final CustomerService customerService;
+    private final ServiceRepository serviceRepository;
+    private final BarberRepository barberRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean canHandle(ConversationStep step) {
+        return step == ConversationStep.QUICK_REBOOK;
+    }
+
+    @Override
+    public HandlerResponse handle(HandlerRequest request) {
+        CustomerProfile profile = customerService.getProfile(request.getPhoneNumber());
+
+        Optional<Service> service = Optional.ofNullable(profile.getPreferredServiceId())
+            .flatMap(serviceRepository::findById)
+            .filter(Service::isActive);
+        if (service.isEmpty()) {
+            return HandlerResponse.builder()
+                .message("")
+                .nextStep(ConversationStep.SELECT_SERVICE)
+                .contextData("show_initial")
+                .build();
+        }
+
+        Long barberId = Optional.ofNullable(profile.getPreferredBarberId())
+            .flatMap(barberRepository::findById)
+            .filter(barber -> Boolean.TRUE.equals(barber.getActive()))
+            .map(Barber::getId)
+            .orElse(null);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("service_id", service.get().getId());
+        if (barberId != null) {
+            context.put("barber_id", barberId);
+        }
+
+        try {
+            log.debug("Quick rebook for {}: {} with barber {}", request.getPhoneNumber(), service.get().getName(), barberId);
+            return HandlerResponse.builder()
+                .message("")
+                .nextStep(ConversationStep.VIEW_EARLIEST_SLOTS)
+                .contextData(objectMapper.writeValueAsString(context))
+                .build();
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize context", e);
+            return HandlerResponse.builder()
+                .message("⚠️ Something went wrong. Please try again.\n\n0️⃣ Main Menu")
+                .nextStep(ConversationStep.MAIN_MENU)
+                .clearContext(true)
+                .build();
+        }
+    }
+
+    @Override
+    public ConversationStep getHandledStep() {
+        return ConversationStep.QUICK_REBOOK;
+    }
+}
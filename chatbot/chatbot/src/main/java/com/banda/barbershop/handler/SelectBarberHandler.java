@@ -3,10 +3,10 @@ package com.banda.barbershop.handler;
 import com.banda.barbershop.dto.HandlerRequest;
 import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.entity.Barber;
-import com.banda.barbershop.entity.Customer;
 import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.repository.BarberRepository;
 import com.banda.barbershop.service.CustomerService;
+import com.banda.barbershop.template.MessageFormats;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -50,10 +50,9 @@ public class SelectBarberHandler implements MessageHandler {
             // Check if we need to show the initial menu
             if (context.containsKey("service_id") && !context.containsKey("barbers_shown")) {
                 // Get customer's preferred barber for personalized menu
-                Customer customer = customerService.getOrCreateCustomer(request.getPhoneNumber());
-                Barber preferredBarber = customer.getPreferredBarber();
+                Long preferredBarberId = customerService.getProfile(request.getPhoneNumber()).getPreferredBarberId();
 
-                String menuMessage = buildBarberMenu(barbers, preferredBarber);
+                String menuMessage = buildBarberMenu(barbers, preferredBarberId);
 
                 // Mark that we've shown the barbers menu
                 context.put("barbers_shown", true);
@@ -80,29 +79,34 @@ public class SelectBarberHandler implements MessageHandler {
         }
 
         // Process barber selection
+        // Last option is "any available barber"
+        int anyBarberChoice = barbers.size() + 1;
         Integer choice = request.getParsedChoice();
-        if (choice == null || choice < 1 || choice > barbers.size()) {
-            Customer customer = customerService.getOrCreateCustomer(request.getPhoneNumber());
-            Barber preferredBarber = customer.getPreferredBarber();
+        if (choice == null || choice < 1 || choice > anyBarberChoice) {
+            Long preferredBarberId = customerService.getProfile(request.getPhoneNumber()).getPreferredBarberId();
 
             return HandlerResponse.builder()
-                .message(buildBarberMenu(barbers, preferredBarber) +
-                        "\n\n⚠️ Please enter a valid number (1-" + barbers.size() + ")")
+                .message(buildBarberMenu(barbers, preferredBarberId) +
+                        "\n\n⚠️ Please enter a valid number (1-" + anyBarberChoice + ")")
                 .nextStep(ConversationStep.SELECT_BARBER)
                 .contextData(request.getContextData())
                 .build();
         }
 
-        Barber selectedBarber = barbers.get(choice - 1);
-
         try {
-            // Parse existing context and add barber_id
+            // Parse existing context and add barber_id (none for any barber - assigned at booking)
             Map<String, Object> context = parseContext(request.getContextData());
-            context.put("barber_id", selectedBarber.getId());
             context.remove("barbers_shown"); // Clean up
-            String contextJson = objectMapper.writeValueAsString(context);
 
-            log.info("Customer {} selected barber: {}", request.getPhoneNumber(), selectedBarber.getName());
+            if (choice == anyBarberChoice) {
+                context.remove("barber_id");
+                log.info("Customer {} selected any available barber", request.getPhoneNumber());
+            } else {
+                Barber selectedBarber = barbers.get(choice - 1);
+                context.put("barber_id", selectedBarber.getId());
+                log.info("Customer {} selected barber: {}", request.getPhoneNumber(), selectedBarber.getName());
+            }
+            String contextJson = objectMapper.writeValueAsString(context);
 
             return HandlerResponse.builder()
                 .message("") // ViewSlotsHandler will show slots
@@ -125,7 +129,7 @@ public class SelectBarberHandler implements MessageHandler {
         return ConversationStep.SELECT_BARBER;
     }
 
-    private String buildBarberMenu(List<Barber> barbers, Barber preferredBarber) {
+    private String buildBarberMenu(List<Barber> barbers, Long preferredBarberId) {
         StringBuilder menu = new StringBuilder();
         menu.append("👨‍🦲 *Select Your Barber*\n\n");
 
@@ -133,15 +137,15 @@ public class SelectBarberHandler implements MessageHandler {
             Barber barber = barbers.get(i);
 
             // Number and name
-            menu.append(String.format("%d️⃣ %s", i + 1, barber.getName()));
+            menu.append(MessageFormats.option(i + 1)).append(' ').append(barber.getName());
 
             // Show rating if available
             if (barber.getRating() != null && barber.getRating() > 0) {
-                menu.append(String.format(" ⭐ %.1f", barber.getRating()));
+                menu.append(" ⭐ ").append(MessageFormats.rating(barber.getRating()));
             }
 
             // Mark preferred barber
-            if (preferredBarber != null && barber.getId().equals(preferredBarber.getId())) {
+            if (barber.getId().equals(preferredBarberId)) {
                 menu.append(" (Your Usual)");
             }
 
@@ -153,11 +157,11 @@ public class SelectBarberHandler implements MessageHandler {
             }
 
             // Add spacing between barbers
-            if (i < barbers.size() - 1) {
-                menu.append("\n");
-            }
+            menu.append("\n");
         }
 
+        menu.append(MessageFormats.option(barbers.size() + 1)).append(" Any available barber\n");
+
         menu.append("\nReply with a number to continue");
         menu.append("\n0️⃣ Main Menu");
 
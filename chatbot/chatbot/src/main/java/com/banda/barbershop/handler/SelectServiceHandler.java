@@ -5,6 +5,8 @@ import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.entity.Service;
 import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +21,8 @@ import java.util.Map;
 @Slf4j
 public class SelectServiceHandler implements MessageHandler {
 
+    private static final MessageTemplate SERVICE_LINE = MessageTemplate.compile("{0} {1} - €{2} ({3} min)\n");
+
     private final ServiceRepository serviceRepository;
     private final com.banda.barbershop.service.CustomerService customerService;
     private final ObjectMapper objectMapper;
@@ -65,6 +69,15 @@ public class SelectServiceHandler implements MessageHandler {
                 .build();
         }
 
+        // Quick book the usual service offered in the greeting
+        if ("USUAL".equals(userInput)) {
+            return HandlerResponse.builder()
+                .message("")
+                .nextStep(ConversationStep.QUICK_REBOOK)
+                .clearContext(true)
+                .build();
+        }
+
         // Process user's service selection
         Integer choice = request.getParsedChoice();
         if (choice == null || choice < 1 || choice > services.size()) {
@@ -110,12 +123,12 @@ public class SelectServiceHandler implements MessageHandler {
 
         for (int i = 0; i < services.size(); i++) {
             Service service = services.get(i);
-            menu.append(String.format("%d️⃣ %s - €%.0f (%d min)\n",
-                i + 1,
+            SERVICE_LINE.renderTo(menu,
+                MessageFormats.option(i + 1),
                 service.getName(),
-                service.getPrice(),
+                MessageFormats.price(service.getPrice()),
                 service.getDurationMinutes()
-            ));
+            );
         }
 
         menu.append("\nReply with a number to continue");
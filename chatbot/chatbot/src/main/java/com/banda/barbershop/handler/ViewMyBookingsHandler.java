@@ -5,12 +5,13 @@ import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.entity.Booking;
 import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.service.BookingService;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Component
@@ -18,6 +19,13 @@ import java.util.List;
 @Slf4j
 public class ViewMyBookingsHandler implements MessageHandler {
 
+    private static final MessageTemplate BOOKING_ENTRY = MessageTemplate.compile("""
+        *#{0}*
+        🪒 {1}
+        📅 {2} ({3}) at {4}
+
+        """);
+
     private final BookingService bookingService;
 
     @Override
@@ -57,28 +65,16 @@ public class ViewMyBookingsHandler implements MessageHandler {
     }
 
     private String buildBookingsMessage(List<Booking> bookings) {
-        StringBuilder message = new StringBuilder();
+        StringBuilder message = new StringBuilder(64 + bookings.size() * BOOKING_ENTRY.estimatedLength());
         message.append("📋 *Your Active Bookings*\n\n");
 
         for (Booking booking : bookings) {
-            String dayLabel = getDayLabel(booking.getBookingDate());
-            String formattedDate = booking.getBookingDate()
-                .format(DateTimeFormatter.ofPattern("EEE dd MMM"));
-            String formattedTime = booking.getStartTime()
-                .format(DateTimeFormatter.ofPattern("h:mm a"));
-
-            message.append(String.format("""
-                *#%s*
-                🪒 %s
-                📅 %s (%s) at %s
-
-                """,
+            BOOKING_ENTRY.renderTo(message,
                 booking.getBookingCode(),
                 booking.getService().getName(),
-                dayLabel,
-                formattedDate,
-                formattedTime
-            ));
+                getDayLabel(booking.getBookingDate()),
+                MessageFormats.DAY_DATE.format(booking.getBookingDate()),
+                MessageFormats.TIME.format(booking.getStartTime()));
         }
 
         message.append("To cancel a booking, reply *3* from main menu\n\n");
@@ -94,7 +90,7 @@ public class ViewMyBookingsHandler implements MessageHandler {
         } else if (date.equals(today.plusDays(1))) {
             return "TOMORROW";
         } else {
-            return date.format(DateTimeFormatter.ofPattern("EEE"));
+            return MessageFormats.WEEKDAY.format(date);
         }
     }
 }
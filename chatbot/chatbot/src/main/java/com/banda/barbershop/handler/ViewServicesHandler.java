@@ -6,6 +6,7 @@ import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.entity.Service;
 import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.template.MessageFormats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -80,7 +81,7 @@ public class ViewServicesHandler implements MessageHandler {
             if (service.getDescription() != null && !service.getDescription().isEmpty()) {
                 message.append("   ").append(service.getDescription()).append("\n");
             }
-            message.append("   💰 €").append(String.format("%.0f", service.getPrice()));
+            message.append("   💰 €").append(MessageFormats.price(service.getPrice()));
             message.append(" • ⏱️ ").append(service.getDurationMinutes()).append(" min\n\n");
         }
 
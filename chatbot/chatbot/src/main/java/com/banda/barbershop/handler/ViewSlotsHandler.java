@@ -1,5 +1,7 @@
 package com.banda.barbershop.handler;
 
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.dto.AvailableSlot;
 import com.banda.barbershop.dto.HandlerRequest;
 import com.banda.barbershop.dto.HandlerResponse;
 import com.banda.barbershop.entity.Barber;
@@ -8,6 +10,10 @@ import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.repository.BarberRepository;
 import com.banda.barbershop.repository.ServiceRepository;
 import com.banda.barbershop.service.AvailabilityService;
+import com.banda.barbershop.service.SlotMenuCache;
+import com.banda.barbershop.service.SlotMenuCache.SlotMenu;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +22,6 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,15 +31,31 @@ import java.util.Map;
 @Slf4j
 public class ViewSlotsHandler implements MessageHandler {
 
+    private static final String ANY_BARBER = "Any available barber";
+
+    private static final MessageTemplate HEADER = MessageTemplate.compile("🪒 *{0}* with *{1}*\n\n");
+    private static final MessageTemplate DAY_HEADER = MessageTemplate.compile("📅 *{0} ({1})*:\n");
+    private static final MessageTemplate FULLY_BOOKED_DAY = MessageTemplate.compile(
+        "❌ Sorry, we're fully booked {0}\n\nType MORE to see tomorrow's availability");
+    private static final MessageTemplate FULLY_BOOKED_HORIZON = MessageTemplate.compile(
+        "❌ Sorry, {0} fully booked for the next {1} days.\n\nPlease call us on {2}.\n\n0️⃣ Main Menu");
+    private static final MessageTemplate FULLY_BOOKED_WAITLIST = MessageTemplate.compile(
+        "❌ Sorry, {0} fully booked for the next {1} days.\n\nType WAIT to join the waitlist and we'll message you if a chair frees up, or call us on {2}.\n\n0️⃣ Main Menu");
+    private static final MessageTemplate SLOT_LINE = MessageTemplate.compile("{0} {1}\n");
+    private static final MessageTemplate EARLIEST_LINE = MessageTemplate.compile("{0} {1} {2} - {3}\n");
+
     private final AvailabilityService availabilityService;
+    private final SlotMenuCache slotMenuCache;
     private final ServiceRepository serviceRepository;
     private final BarberRepository barberRepository;
+    private final BarberShopConfig shopConfig;
     private final ObjectMapper objectMapper;
 
     @Override
     public boolean canHandle(ConversationStep step) {
         return step == ConversationStep.VIEW_TODAY_SLOTS ||
-               step == ConversationStep.VIEW_TOMORROW_SLOTS;
+               step == ConversationStep.VIEW_TOMORROW_SLOTS ||
+               step == ConversationStep.VIEW_EARLIEST_SLOTS;
     }
 
     @Override
@@ -42,19 +63,21 @@ public class ViewSlotsHandler implements MessageHandler {
         try {
             Map<String, Object> context = parseContext(request.getContextData());
             Long serviceId = ((Number) context.get("service_id")).longValue();
-            Long barberId = ((Number) context.get("barber_id")).longValue();
+            Long barberId = context.get("barber_id") != null
+                ? ((Number) context.get("barber_id")).longValue()
+                : null;
 
-            Service service = serviceRepository.findById(serviceId)
-                .orElseThrow(() -> new IllegalStateException("Service not found"));
-
-            Barber barber = barberRepository.findById(barberId)
-                .orElseThrow(() -> new IllegalStateException("Barber not found"));
+            if (request.getCurrentStep() == ConversationStep.VIEW_EARLIEST_SLOTS) {
+                return handleEarliestSlots(request, context, loadService(serviceId), loadBarber(barberId));
+            }
 
             boolean isToday = request.getCurrentStep() == ConversationStep.VIEW_TODAY_SLOTS;
 
+            // Repeat views of the same barber-day are served from the menu cache
             LocalDate targetDate = isToday ? LocalDate.now() : LocalDate.now().plusDays(1);
-            List<LocalTime> availableSlots = availabilityService.getAvailableSlotsForBarber(
-                service, barberId, targetDate);
+            SlotMenu slotMenu = slotMenuCache.get(serviceId, barberId, targetDate,
+                () -> buildSlotMenu(serviceId, barberId, targetDate, isToday));
+            List<LocalTime> availableSlots = slotMenu.slots();
 
             // If no slots available for today, automatically show tomorrow
             if (isToday && availableSlots.isEmpty()) {
@@ -66,14 +89,13 @@ public class ViewSlotsHandler implements MessageHandler {
                     .build();
             }
 
-            // If no slots for tomorrow either
+            // If no slots for tomorrow either, search the following days
             if (!isToday && availableSlots.isEmpty()) {
+                log.info("No slots available tomorrow, showing earliest available slots");
                 return HandlerResponse.builder()
-                    .message("❌ Sorry, we're fully booked for today and tomorrow.\n\n" +
-                            "Please call us or try again tomorrow for next-day bookings.\n\n" +
-                            "0️⃣ Main Menu")
-                    .nextStep(ConversationStep.MAIN_MENU)
-                    .clearContext(true)
+                    .message("")
+                    .nextStep(ConversationStep.VIEW_EARLIEST_SLOTS)
+                    .contextData(request.getContextData())
                     .build();
             }
 
@@ -97,6 +119,14 @@ public class ViewSlotsHandler implements MessageHandler {
                     .build();
             }
 
+            if ("NEXT".equals(userInput)) {
+                return HandlerResponse.builder()
+                    .message("")
+                    .nextStep(ConversationStep.VIEW_EARLIEST_SLOTS)
+                    .contextData(request.getContextData())
+                    .build();
+            }
+
             Integer choice = request.getParsedChoice();
             if (choice != null && choice >= 1 && choice <= availableSlots.size()) {
                 LocalTime selectedTime = availableSlots.get(choice - 1);
@@ -114,9 +144,8 @@ public class ViewSlotsHandler implements MessageHandler {
             }
 
             // Show slots menu
-            String message = buildSlotsMessage(service, barber, availableSlots, targetDate, isToday);
             return HandlerResponse.builder()
-                .message(message)
+                .message(slotMenu.message())
                 .nextStep(request.getCurrentStep())
                 .contextData(request.getContextData())
                 .build();
@@ -136,6 +165,113 @@ public class ViewSlotsHandler implements MessageHandler {
         return ConversationStep.VIEW_TODAY_SLOTS;
     }
 
+    /**
+     * Next free slots for the chosen barber across the search horizon
+     */
+    private HandlerResponse handleEarliestSlots(HandlerRequest request, Map<String, Object> context,
+                                                Service service, Barber barber) throws Exception {
+        String userInput = request.getUserInput().toUpperCase().trim();
+        if ("MENU".equals(userInput) || "0".equals(userInput)) {
+            return HandlerResponse.builder()
+                .message("")
+                .nextStep(ConversationStep.MAIN_MENU)
+                .clearContext(true)
+                .build();
+        }
+
+        boolean waitlist = shopConfig.getWaitlist().isEnabled();
+        if (waitlist && "WAIT".equals(userInput)) {
+            return HandlerResponse.builder()
+                .message("")
+                .nextStep(ConversationStep.JOIN_WAITLIST)
+                .contextData(request.getContextData())
+                .build();
+        }
+
+        List<AvailableSlot> slots = availabilityService.findNextAvailableSlots(
+            service, barber != null ? barber.getId() : null, shopConfig.getEarliestSlotsShown());
+
+        if (slots.isEmpty()) {
+            // Stay on this step with the waitlist on, so WAIT can be answered
+            String who = barber != null ? barber.getName() + " is" : "we're";
+            return HandlerResponse.builder()
+                .message((waitlist ? FULLY_BOOKED_WAITLIST : FULLY_BOOKED_HORIZON)
+                    .render(who, shopConfig.getSearchHorizonDays(), shopConfig.getPhone()))
+                .nextStep(waitlist ? ConversationStep.VIEW_EARLIEST_SLOTS : ConversationStep.MAIN_MENU)
+                .contextData(waitlist ? request.getContextData() : null)
+                .clearContext(!waitlist)
+                .build();
+        }
+
+        Integer choice = request.getParsedChoice();
+        if (choice != null && choice >= 1 && choice <= slots.size()) {
+            AvailableSlot selected = slots.get(choice - 1);
+
+            context.put("booking_date", selected.getDate().toString());
+            context.put("booking_time", selected.getStartTime().toString());
+
+            return HandlerResponse.builder()
+                .message("")
+                .nextStep(ConversationStep.CONFIRM_BOOKING)
+                .contextData(objectMapper.writeValueAsString(context))
+                .build();
+        }
+
+        StringBuilder message = new StringBuilder(256);
+        HEADER.renderTo(message, service.getName(), barberName(barber));
+        message.append("📅 *Earliest available*:\n");
+
+        for (int i = 0; i < slots.size(); i++) {
+            AvailableSlot slot = slots.get(i);
+            EARLIEST_LINE.renderTo(message,
+                MessageFormats.option(i + 1),
+                MessageFormats.dayLabel(slot.getDate()),
+                MessageFormats.SHORT_DATE.format(slot.getDate()),
+                MessageFormats.TIME.format(slot.getStartTime()));
+        }
+
+        message.append("\nType number to book");
+        if (waitlist) {
+            message.append("\nType WAIT to be told if an earlier time frees up");
+        }
+        message.append("\n0️⃣ Main Menu");
+
+        return HandlerResponse.builder()
+            .message(message.toString())
+            .nextStep(ConversationStep.VIEW_EARLIEST_SLOTS)
+            .contextData(request.getContextData())
+            .build();
+    }
+
+    private SlotMenu buildSlotMenu(Long serviceId, Long barberId, LocalDate date, boolean isToday) {
+        Service service = loadService(serviceId);
+        Barber barber = loadBarber(barberId);
+
+        List<LocalTime> slots = barber != null
+            ? availabilityService.getAvailableSlotsForBarber(service, barberId, date)
+            : availabilityService.getAvailableSlotsForAnyBarber(service, date);
+        return new SlotMenu(slots, buildSlotsMessage(service, barber, slots, date, isToday));
+    }
+
+    private Service loadService(Long serviceId) {
+        return serviceRepository.findById(serviceId)
+            .orElseThrow(() -> new IllegalStateException("Service not found"));
+    }
+
+    /**
+     * No barber in context means "any available barber"
+     */
+    private Barber loadBarber(Long barberId) {
+        return barberId != null
+            ? barberRepository.findById(barberId)
+                .orElseThrow(() -> new IllegalStateException("Barber not found"))
+            : null;
+    }
+
+    private String barberName(Barber barber) {
+        return barber != null ? barber.getName() : ANY_BARBER;
+    }
+
     private Map<String, Object> parseContext(String contextData) throws Exception {
         if (contextData == null || contextData.isEmpty()) {
             return new HashMap<>();
@@ -145,31 +281,26 @@ public class ViewSlotsHandler implements MessageHandler {
 
     private String buildSlotsMessage(Service service, Barber barber, List<LocalTime> slots,
                                      LocalDate date, boolean isToday) {
-        StringBuilder message = new StringBuilder();
-
-        message.append(String.format("🪒 *%s* with *%s*\n\n", service.getName(), barber.getName()));
+        StringBuilder message = new StringBuilder(512);
+        HEADER.renderTo(message, service.getName(), barberName(barber));
 
-        String dayLabel = isToday ? "TODAY" : "TOMORROW";
-        String formattedDate = date.format(DateTimeFormatter.ofPattern("EEE dd MMM"));
+        String dayLabel = MessageFormats.dayLabel(date);
 
         if (isToday && slots.isEmpty()) {
-            message.append(String.format("❌ Sorry, we're fully booked %s\n\n", dayLabel));
-            message.append("Type MORE to see tomorrow's availability");
-            return message.toString();
+            return FULLY_BOOKED_DAY.renderTo(message, dayLabel).toString();
         }
 
-        message.append(String.format("📅 *%s (%s)*:\n", dayLabel, formattedDate));
+        DAY_HEADER.renderTo(message, dayLabel, MessageFormats.DAY_DATE.format(date));
 
         for (int i = 0; i < slots.size(); i++) {
-            LocalTime slot = slots.get(i);
-            String formattedTime = slot.format(DateTimeFormatter.ofPattern("h:mm a"));
-            message.append(String.format("%d️⃣ %s\n", i + 1, formattedTime));
+            SLOT_LINE.renderTo(message, MessageFormats.option(i + 1), MessageFormats.TIME.format(slots.get(i)));
         }
 
         message.append("\nType number to book");
         if (isToday) {
             message.append(" or MORE for tomorrow");
         }
+        message.append("\nType NEXT for the earliest available times");
         message.append("\n0️⃣ Main Menu");
 
         return message.toString();
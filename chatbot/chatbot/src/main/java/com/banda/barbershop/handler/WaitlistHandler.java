@@ -0,0 +1,195 @@
+package com.banda.barbershop.handler;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.dto.HandlerRequest;
+import com.banda.barbershop.dto.HandlerResponse;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.BookingService;
+import com.banda.barbershop.service.WaitlistService;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Joining the waitlist from a fully booked slot search, and answering a slot offered
+ * from it after a cancellation
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistHandler implements MessageHandler {
+
+    private static final MessageTemplate JOIN_PROMPT = MessageTemplate.compile("""
+        ⏳ *Join the Waitlist*
+
+        🪒 {0} with *{1}*
+
+        If a chair frees up we'll message you straight away. When could you come in?
+
+        1️⃣ Today or tomorrow
+        2️⃣ In the next 7 days
+        3️⃣ Any time in the next {2} days
+
+        0️⃣ Main Menu
+        """);
+    private static final MessageTemplate JOINED = MessageTemplate.compile(
+        "✅ You're on the waitlist for *{0}* until {1}. We'll message you as soon as a chair frees up.\n\n0️⃣ Main Menu");
+
+    private final WaitlistService waitlistService;
+    private final BookingService bookingService;
+    private final ServiceRepository serviceRepository;
+    private final BarberRepository barberRepository;
+    private final BarberShopConfig shopConfig;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean canHandle(ConversationStep step) {
+        return step == ConversationStep.JOIN_WAITLIST ||
+               step == ConversationStep.WAITLIST_OFFER;
+    }
+
+    @Override
+    public HandlerResponse handle(HandlerRequest request) {
+        try {
+            Map<String, Object> context = parseContext(request.getContextData());
+            String userInput = request.getUserInput().toUpperCase().trim();
+
+            if (request.getCurrentStep() == ConversationStep.WAITLIST_OFFER) {
+                return handleOffer(request, ((Number) context.get("waitlist_id")).longValue(), userInput);
+            }
+
+            if ("MENU".equals(userInput) || "0".equals(userInput)) {
+                return HandlerResponse.builder()
+                    .message("")
+                    .nextStep(ConversationStep.MAIN_MENU)
+                    .clearContext(true)
+                    .build();
+            }
+
+            Service service = serviceRepository.findById(((Number) context.get("service_id")).longValue())
+                .orElseThrow(() -> new IllegalStateException("Service not found"));
+            Long barberId = context.get("barber_id") != null
+                ? ((Number) context.get("barber_id")).longValue()
+                : null;
+
+            LocalDate toDate = windowEnd(request.getParsedChoice());
+            if (toDate == null) {
+                String barberName = Optional.ofNullable(barberId)
+                    .flatMap(barberRepository::findById)
+                    .map(Barber::getName)
+                    .orElse("any barber");
+                return HandlerResponse.builder()
+                    .message(JOIN_PROMPT.render(service.getName(), barberName, shopConfig.getSearchHorizonDays()))
+                    .nextStep(ConversationStep.JOIN_WAITLIST)
+                    .contextData(request.getContextData())
+                    .build();
+            }
+
+            waitlistService.register(request.getPhoneNumber(), service, barberId, LocalDate.now(), toDate);
+            return HandlerResponse.builder()
+                .message(JOINED.render(service.getName(), toDate.equals(LocalDate.now().plusDays(1))
+                    ? "tomorrow"
+                    : MessageFormats.DAY_DATE.format(toDate)))
+                .nextStep(ConversationStep.MAIN_MENU)
+                .clearContext(true)
+                .build();
+
+        } catch (Exception e) {
+            log.error("Error in WaitlistHandler", e);
+            return HandlerResponse.builder()
+                .message("⚠️ Something went wrong. Let's start over.\n\n0️⃣ Main Menu")
+                .nextStep(ConversationStep.MAIN_MENU)
+                .clearContext(true)
+                .build();
+        }
+    }
+
+    @Override
+    public ConversationStep getHandledStep() {
+        return ConversationStep.JOIN_WAITLIST;
+    }
+
+    private HandlerResponse handleOffer(HandlerRequest request, Long entryId, String userInput) {
+        switch (userInput) {
+            case "YES" -> {
+                try {
+                    // The confirmation is queued with the booking, as from the booking flow
+                    Optional<Booking> booking = bookingService.bookWaitlistOffer(entryId, request.getPhoneNumber());
+                    if (booking.isPresent()) {
+                        return HandlerResponse.builder()
+                            .message("")
+                            .nextStep(ConversationStep.MAIN_MENU)
+                            .clearContext(true)
+                            .replyQueued(true)
+                            .build();
+                    }
+                    return toMainMenu("⌛ Sorry, that offer has run out.\n\n0️⃣ Main Menu");
+                } catch (IllegalStateException e) {
+                    log.info("Waitlist offer {} was booked by someone else: {}", entryId, e.getMessage());
+                    waitlistService.decline(entryId);
+                    return toMainMenu("❌ Sorry, that time was just taken. You're still on the waitlist.\n\n0️⃣ Main Menu");
+                }
+            }
+            case "NO" -> {
+                waitlistService.decline(entryId);
+                return toMainMenu("👍 No problem, you're still on the waitlist.\n\n0️⃣ Main Menu");
+            }
+            case "MENU", "0" -> {
+                // The offer stays open until the hold runs out
+                return toMainMenu("");
+            }
+            default -> {
+                return HandlerResponse.builder()
+                    .message("Reply *YES* to book the time we offered, or *NO* to pass\n\n0️⃣ Main Menu")
+                    .nextStep(ConversationStep.WAITLIST_OFFER)
+                    .contextData(request.getContextData())
+                    .build();
+            }
+        }
+    }
+
+    /**
+     * Last day of the window picked from the join menu, null for anything else
+     */
+    private LocalDate windowEnd(Integer choice) {
+        if (choice == null) {
+            return null;
+        }
+        LocalDate today = LocalDate.now();
+        return switch (choice) {
+            case 1 -> today.plusDays(1);
+            case 2 -> today.plusDays(6);
+            case 3 -> today.plusDays(shopConfig.getSearchHorizonDays() - 1L);
+            default -> null;
+        };
+    }
+
+    private HandlerResponse toMainMenu(String message) {
+        return HandlerResponse.builder()
+            .message(message)
+            .nextStep(ConversationStep.MAIN_MENU)
+            .clearContext(true)
+            .build();
+    }
+
+    private Map<String, Object> parseContext(String contextData) throws Exception {
+        if (contextData == null || contextData.isEmpty()) {
+            return new HashMap<>();
+        }
+        return objectMapper.readValue(contextData, new TypeReference<>() {});
+    }
+}
@@ -0,0 +1,11 @@
+package com.banda.barbershop.intent;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * What a free-text message asked for. Any part may be missing; usual means the customer
+ * referred to their usual service/barber ("book my usual").
+ */
+public record BookingIntent(Long serviceId, Long barberId, LocalDate date, LocalTime time, boolean usual) {
+}
@@ -0,0 +1,275 @@
+package com.banda.barbershop.intent;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Recognizes booking requests typed as free text, e.g. "skin fade with Mike tomorrow 3pm"
+ * or "book my usual saturday".
+ *
+ * Service and barber names are matched against a phrase index keyed by first token: the full
+ * name ("skin fade") and every name token that belongs to only one service or barber
+ * ("fade"). The longest phrase wins, so "cut and beard" is not read as "cut". The index is
+ * built from the active services and barbers, dropped when the admin API changes one and
+ * rebuilt after a few minutes in any case.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntentParser {
+
+    private static final Duration INDEX_TTL = Duration.ofMinutes(5);
+
+    // Dropped from names and messages alike, so "Cut & Beard" matches "cut and beard"
+    private static final Set<String> CONNECTORS = Set.of("and", "n", "plus", "with", "&", "+");
+    private static final Set<String> USUAL_WORDS = Set.of("usual", "regular", "same");
+    // A message about an existing booking names a service and a day too ("cancel my fade tomorrow")
+    private static final Set<String> NOT_BOOKING_WORDS = Set.of(
+        "cancel", "cancelled", "canceled", "cancelling", "canceling", "cancellation",
+        "reschedule", "postpone", "move", "change");
+
+    private static final Pattern TWELVE_HOUR = Pattern.compile("\\b(\\d{1,2})(?:[:.](\\d{2}))?\\s*(am|pm)\\b");
+    private static final Pattern TWENTY_FOUR_HOUR = Pattern.compile("\\b([01]?\\d|2[0-3])[:.]([0-5]\\d)\\b");
+    private static final Pattern AT_HOUR = Pattern.compile("\\bat\\s+(\\d{1,2})\\b");
+    private static final Pattern NOON = Pattern.compile("\\b(?:noon|midday)\\b");
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9&+]+");
+
+    private static final Map<String, DayOfWeek> WEEKDAYS = weekdayNames();
+
+    private final ServiceRepository serviceRepository;
+    private final BarberRepository barberRepository;
+
+    private volatile PhraseIndex index;
+
+    /**
+     * @return the recognized parts, empty if the message names no service and is not "my usual",
+     *         or asks to cancel or move a booking rather than make one
+     */
+    public Optional<BookingIntent> parse(String text) {
+        String normalized = text.toLowerCase(Locale.ENGLISH).trim();
+        List<String> tokens = tokenize(normalized);
+        if (tokens.isEmpty() || tokens.stream().anyMatch(NOT_BOOKING_WORDS::contains)) {
+            return Optional.empty();
+        }
+
+        PhraseIndex phrases = currentIndex();
+        Long serviceId = null;
+        Long barberId = null;
+        for (Phrase phrase : phrases.match(tokens)) {
+            if (phrase.kind() == Kind.SERVICE && serviceId == null) {
+                serviceId = phrase.id();
+            } else if (phrase.kind() == Kind.BARBER && barberId == null) {
+                barberId = phrase.id();
+            }
+        }
+
+        boolean usual = tokens.stream().anyMatch(USUAL_WORDS::contains);
+        if (serviceId == null && !usual) {
+            return Optional.empty();
+        }
+        return Optional.of(new BookingIntent(serviceId, barberId, parseDate(tokens), parseTime(normalized), usual));
+    }
+
+    /**
+     * Drop the index so the next message rebuilds it. Called by the admin service and barber
+     * changes; inside a transaction the index is dropped once it commits, so a rebuild cannot
+     * read the old names back.
+     */
+    public void refresh() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index = null;
+                }
+            });
+        } else {
+            index = null;
+        }
+    }
+
+    private PhraseIndex currentIndex() {
+        PhraseIndex current = index;
+        if (current == null || current.builtAt().plus(INDEX_TTL).isBefore(Instant.now())) {
+            current = buildIndex();
+            index = current;
+        }
+        return current;
+    }
+
+    private PhraseIndex buildIndex() {
+        List<Phrase> phrases = new ArrayList<>();
+        for (Service service : serviceRepository.findByActiveOrderByDisplayOrder(true)) {
+            phrases.add(new Phrase(tokenize(service.getName().toLowerCase(Locale.ENGLISH)), Kind.SERVICE, service.getId()));
+        }
+        for (Barber barber : barberRepository.findByActiveOrderByDisplayOrder(true)) {
+            phrases.add(new Phrase(tokenize(barber.getName().toLowerCase(Locale.ENGLISH)), Kind.BARBER, barber.getId()));
+        }
+
+        // Single tokens that point at exactly one service or barber are keywords too
+        Map<String, List<Phrase>> owners = phrases.stream()
+            .flatMap(phrase -> phrase.tokens().stream().distinct().map(token -> Map.entry(token, phrase)))
+            .collect(Collectors.groupingBy(Map.Entry::getKey,
+                Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        List<Phrase> keywords = owners.entrySet().stream()
+            .filter(entry -> entry.getValue().size() == 1 && entry.getValue().get(0).tokens().size() > 1)
+            .map(entry -> new Phrase(List.of(entry.getKey()), entry.getValue().get(0).kind(), entry.getValue().get(0).id()))
+            .toList();
+        phrases.addAll(keywords);
+
+        Map<String, List<Phrase>> byFirstToken = new HashMap<>();
+        for (Phrase phrase : phrases) {
+            if (!phrase.tokens().isEmpty()) {
+                byFirstToken.computeIfAbsent(phrase.tokens().get(0), token -> new ArrayList<>()).add(phrase);
+            }
+        }
+        log.debug("Built intent index: {} phrases", phrases.size());
+        return new PhraseIndex(Map.copyOf(byFirstToken), Instant.now());
+    }
+
+    private static List<String> tokenize(String text) {
+        return Arrays.stream(NON_WORD.split(text))
+            .filter(token -> !token.isEmpty() && !CONNECTORS.contains(token))
+            .toList();
+    }
+
+    /**
+     * today / tomorrow / weekday name (the next one, today included)
+     */
+    private static LocalDate parseDate(List<String> tokens) {
+        LocalDate today = LocalDate.now();
+        for (String token : tokens) {
+            switch (token) {
+                case "today", "tonight" -> {
+                    return today;
+                }
+                case "tomorrow", "tmrw", "tmr", "tomoz" -> {
+                    return today.plusDays(1);
+                }
+                default -> {
+                    DayOfWeek day = WEEKDAYS.get(token);
+                    if (day != null) {
+                        int ahead = (day.getValue() - today.getDayOfWeek().getValue() + 7) % 7;
+                        return today.plusDays(ahead);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 3pm, 3:30 pm, 15:00, at 3, noon. Hours 1-7 without am/pm are afternoon (the shop is closed at 3 AM).
+     * "noon" must be a word of its own, "afternoon" is not a time.
+     */
+    private static LocalTime parseTime(String text) {
+        if (NOON.matcher(text).find()) {
+            return LocalTime.NOON;
+        }
+
+        Matcher matcher = TWELVE_HOUR.matcher(text);
+        if (matcher.find()) {
+            int hour = Integer.parseInt(matcher.group(1));
+            int minute = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : 0;
+            if (hour < 1 || hour > 12 || minute > 59) {
+                return null;
+            }
+            hour = hour % 12 + ("pm".equals(matcher.group(3)) ? 12 : 0);
+            return LocalTime.of(hour, minute);
+        }
+
+        matcher = TWENTY_FOUR_HOUR.matcher(text);
+        if (matcher.find()) {
+            return afternoonIfEarly(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+        }
+
+        matcher = AT_HOUR.matcher(text);
+        if (matcher.find()) {
+            int hour = Integer.parseInt(matcher.group(1));
+            return hour >= 1 && hour <= 23 ? afternoonIfEarly(hour, 0) : null;
+        }
+        return null;
+    }
+
+    private static LocalTime afternoonIfEarly(int hour, int minute) {
+        return LocalTime.of(hour >= 1 && hour <= 7 ? hour + 12 : hour, minute);
+    }
+
+    private static Map<String, DayOfWeek> weekdayNames() {
+        Map<String, DayOfWeek> names = new HashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.name().toLowerCase(Locale.ENGLISH);
+            names.put(name, day);
+            names.put(name.substring(0, 3), day);
+        }
+        names.put("tues", DayOfWeek.TUESDAY);
+        names.put("thur", DayOfWeek.THURSDAY);
+        names.put("thurs", DayOfWeek.THURSDAY);
+        names.put("weds", DayOfWeek.WEDNESDAY);
+        return Map.copyOf(names);
+    }
+
+    private enum Kind {
+        SERVICE,
+        BARBER
+    }
+
+    private record Phrase(List<String> tokens, Kind kind, Long id) {
+    }
+
+    private record PhraseIndex(Map<String, List<Phrase>> byFirstToken, Instant builtAt) {
+
+        /**
+         * Left-to-right scan taking the longest phrase at each position
+         */
+        List<Phrase> match(List<String> tokens) {
+            List<Phrase> matches = new ArrayList<>();
+            int position = 0;
+            while (position < tokens.size()) {
+                Phrase best = null;
+                for (Phrase candidate : byFirstToken.getOrDefault(tokens.get(position), List.of())) {
+                    if (matchesAt(candidate, tokens, position)
+                        && (best == null || candidate.tokens().size() > best.tokens().size())) {
+                        best = candidate;
+                    }
+                }
+                if (best != null) {
+                    matches.add(best);
+                    position += best.tokens().size();
+                } else {
+                    position++;
+                }
+            }
+            return matches;
+        }
+
+        private static boolean matchesAt(Phrase phrase, List<String> tokens, int position) {
+            return position + phrase.tokens().size() <= tokens.size()
+                && tokens.subList(position, position + phrase.tokens().size()).equals(phrase.tokens());
+        }
+    }
+}
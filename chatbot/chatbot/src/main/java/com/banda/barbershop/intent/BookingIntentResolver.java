@@ -0,0 +1,177 @@
+package com.banda.barbershop.intent;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.dto.CustomerProfile;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.AvailabilityService;
+import com.banda.barbershop.service.CustomerService;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Turns a free-text booking request into a jump straight to the booking confirmation,
+ * skipping the service, barber and slot menus.
+ *
+ * The requested time is checked against the same slot lists the menus show. A taken time is
+ * swapped for the closest free one that day (with a note saying so); a day with nothing free
+ * goes to the earliest-slots view instead. A date without a time offers the first free slot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntentResolver {
+
+    private static final MessageTemplate NEAREST_TIME = MessageTemplate.compile(
+        "⚠️ {0} isn't free {1}, the closest time is {2}.");
+    private static final MessageTemplate NO_TIMES = MessageTemplate.compile(
+        "❌ No free times {0}. Here are the earliest ones:");
+
+    private final BookingIntentParser parser;
+    private final ServiceRepository serviceRepository;
+    private final BarberRepository barberRepository;
+    private final AvailabilityService availabilityService;
+    private final CustomerService customerService;
+    private final BarberShopConfig shopConfig;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Where the conversation should continue for a free-text booking request
+     *
+     * @param note text to send before the next step's own message, null if none
+     */
+    public record Resolution(ConversationStep step, String contextData, String note) {
+    }
+
+    /**
+     * @return empty when the message is not a complete enough booking request
+     */
+    public Optional<Resolution> resolve(String phoneNumber, String text) {
+        BarberShopConfig.Intent config = shopConfig.getIntent();
+        if (!config.isEnabled() || text == null || text.isBlank() || text.length() > config.getMaxLength()) {
+            return Optional.empty();
+        }
+
+        Optional<BookingIntent> parsed = parser.parse(text);
+        if (parsed.isEmpty()) {
+            return Optional.empty();
+        }
+        BookingIntent intent = parsed.get();
+
+        // A bare service name ("how much is a skin fade") is not a booking
+        if (intent.date() == null && intent.time() == null) {
+            return Optional.empty();
+        }
+
+        Long serviceId = intent.serviceId();
+        Long barberId = intent.barberId();
+        if (intent.usual()) {
+            CustomerProfile profile = customerService.getProfile(phoneNumber);
+            serviceId = serviceId != null ? serviceId : profile.getPreferredServiceId();
+            barberId = barberId != null ? barberId : profile.getPreferredBarberId();
+        }
+
+        Optional<Service> service = Optional.ofNullable(serviceId)
+            .flatMap(serviceRepository::findById)
+            .filter(Service::isActive);
+        if (service.isEmpty()) {
+            return Optional.empty();
+        }
+        // A preferred barber who has left falls back to any available barber
+        Long activeBarberId = Optional.ofNullable(barberId)
+            .flatMap(barberRepository::findById)
+            .filter(barber -> Boolean.TRUE.equals(barber.getActive()))
+            .map(Barber::getId)
+            .orElse(null);
+
+        return Optional.of(resolve(intent, service.get(), activeBarberId));
+    }
+
+    private Resolution resolve(BookingIntent intent, Service service, Long barberId) {
+        LocalDate date = intent.date() != null ? intent.date() : dateFor(intent.time());
+        List<LocalTime> slots = barberId != null
+            ? availabilityService.getAvailableSlotsForBarber(service, barberId, date)
+            : availabilityService.getAvailableSlotsForAnyBarber(service, date);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("service_id", service.getId());
+        if (barberId != null) {
+            context.put("barber_id", barberId);
+        }
+
+        String dayLabel = onDay(date);
+        if (slots.isEmpty()) {
+            count("earliest");
+            return new Resolution(ConversationStep.VIEW_EARLIEST_SLOTS, toJson(context), NO_TIMES.render(dayLabel));
+        }
+
+        LocalTime time = intent.time() != null ? closest(slots, intent.time()) : slots.get(0);
+        String note = null;
+        if (intent.time() != null && !time.equals(intent.time())) {
+            note = NEAREST_TIME.render(MessageFormats.TIME.format(intent.time()), dayLabel, MessageFormats.TIME.format(time));
+            count("nearest");
+        } else {
+            count("confirm");
+        }
+
+        context.put("booking_date", date.toString());
+        context.put("booking_time", time.toString());
+        log.debug("Free-text booking resolved to {} on {} at {} (barber {})", service.getName(), date, time, barberId);
+        return new Resolution(ConversationStep.CONFIRM_BOOKING, toJson(context), note);
+    }
+
+    /**
+     * A time with no day means today if it is still ahead, otherwise tomorrow
+     */
+    private LocalDate dateFor(LocalTime time) {
+        LocalDate today = LocalDate.now();
+        return time.isAfter(LocalTime.now()) ? today : today.plusDays(1);
+    }
+
+    private LocalTime closest(List<LocalTime> slots, LocalTime requested) {
+        return slots.stream()
+            .min(Comparator.comparing((LocalTime slot) -> Duration.between(slot, requested).abs())
+                .thenComparing(Comparator.naturalOrder()))
+            .orElseThrow();
+    }
+
+    private String onDay(LocalDate date) {
+        String label = MessageFormats.dayLabel(date);
+        return switch (label) {
+            case "TODAY", "TOMORROW" -> label.toLowerCase(Locale.ENGLISH);
+            default -> "on " + MessageFormats.DAY_DATE.format(date);
+        };
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("barbershop.intent", "outcome", outcome).increment();
+    }
+
+    private String toJson(Map<String, Object> context) {
+        try {
+            return objectMapper.writeValueAsString(context);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize context", e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long> {
+
+    /**
+     * Copy a batch of hot bookings into the archive in one statement
+     */
+    @Modifying
+    @Query("INSERT INTO ArchivedBooking (id, bookingCode, customerPhone, service, barber, bookingDate, " +
+           "startTime, endTime, status, createdAt, cancelledAt, archivedAt) " +
+           "SELECT b.id, b.bookingCode, b.customerPhone, b.service, b.barber, b.bookingDate, " +
+           "b.startTime, b.endTime, b.status, b.createdAt, b.cancelledAt, :archivedAt " +
+           "FROM Booking b WHERE b.id IN :ids")
+    int copyFromBookings(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -2,9 +2,13 @@ package com.banda.barbershop.repository;
 
 import com.banda.barbershop.entity.Barber;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,4 +30,23 @@ public interface BarberRepository extends JpaRepository<Barber, Long> {
      */
     @Query("SELECT b FROM Barber b WHERE b.active = true ORDER BY b.displayOrder, b.name")
     List<Barber> findAllActiveBarbers();
+
+    /**
+     * Add the given bookings to their barbers' completed counts in one statement (only those now COMPLETED)
+     */
+    @Modifying
+    @Query("UPDATE Barber br SET " +
+           "br.completedBookings = br.completedBookings + " +
+           "(SELECT COUNT(b) FROM Booking b WHERE b.id IN :ids AND b.status = 'COMPLETED' AND b.barber.id = br.id), " +
+           "br.updatedAt = :now " +
+           "WHERE br.id IN (SELECT b.barber.id FROM Booking b WHERE b.id IN :ids AND b.status = 'COMPLETED')")
+    int addCompletedBookings(@Param("ids") Collection<Long> bookingIds, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Barber b SET b.totalBookings = b.totalBookings + 1, b.updatedAt = :now WHERE b.id = :id")
+    int incrementTotalBookings(@Param("id") Long barberId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Barber b SET b.completedBookings = b.completedBookings + 1, b.updatedAt = :now WHERE b.id = :id")
+    int incrementCompletedBookings(@Param("id") Long barberId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,22 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.BookingRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Reporting reads across hot and archived bookings
+ */
+@Repository
+public interface BookingRecordRepository extends JpaRepository<BookingRecord, Long> {
+
+    List<BookingRecord> findByBookingDateOrderByStartTime(LocalDate bookingDate);
+
+    /**
+     * Bookings dated on or after the given day (the dashboard's 30-day window)
+     */
+    List<BookingRecord> findByBookingDateGreaterThanEqual(LocalDate fromDate);
+}
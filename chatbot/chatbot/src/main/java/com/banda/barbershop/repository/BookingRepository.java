@@ -1,14 +1,20 @@
 package com.banda.barbershop.repository;
 
+import com.banda.barbershop.dto.BookedInterval;
 import com.banda.barbershop.entity.Booking;
 import com.banda.barbershop.entity.Booking.BookingStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,6 +55,25 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
 
     List<Booking> findByBookingDateAndStatus(LocalDate date, BookingStatus status);
 
+    /**
+     * Confirmed bookings on the date still waiting for their day-before reminder
+     */
+    @Query("SELECT b FROM Booking b WHERE b.bookingDate = :date AND b.status = 'CONFIRMED' " +
+           "AND b.dayBeforeReminderSent = false")
+    List<Booking> findDayBeforeReminderDue(@Param("date") LocalDate date);
+
+    /**
+     * Confirmed bookings on the date starting inside the window still waiting for their
+     * one-hour reminder (one-hour reminder index range scan)
+     */
+    @Query("SELECT b FROM Booking b WHERE b.bookingDate = :date AND b.status = 'CONFIRMED' " +
+           "AND b.oneHourReminderSent = false AND b.startTime BETWEEN :fromTime AND :toTime")
+    List<Booking> findOneHourReminderDue(
+        @Param("date") LocalDate date,
+        @Param("fromTime") LocalTime fromTime,
+        @Param("toTime") LocalTime toTime
+    );
+
     /**
      * Count bookings for specific barber at time slot (overlapping)
      */
@@ -77,4 +102,73 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * Get all bookings for barber
      */
     List<Booking> findByBarberIdOrderByBookingDateDesc(Long barberId);
+
+    /**
+     * Confirmed booking intervals for the given barbers across a date range (availability search)
+     */
+    @Query("SELECT new com.banda.barbershop.dto.BookedInterval(b.barber.id, b.bookingDate, b.startTime, b.endTime) " +
+           "FROM Booking b WHERE b.barber.id IN :barberIds " +
+           "AND b.bookingDate BETWEEN :fromDate AND :toDate AND b.status = 'CONFIRMED' " +
+           "ORDER BY b.barber.id, b.bookingDate, b.startTime")
+    List<BookedInterval> findBookedIntervals(
+        @Param("barberIds") Collection<Long> barberIds,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate
+    );
+
+    /**
+     * Oldest finished bookings dated before the cutoff (archival batches)
+     */
+    @Query("SELECT b.id FROM Booking b WHERE b.bookingDate < :cutoff AND b.status IN :statuses " +
+           "ORDER BY b.bookingDate, b.id")
+    List<Long> findArchivableIds(
+        @Param("cutoff") LocalDate cutoff,
+        @Param("statuses") Collection<BookingStatus> statuses,
+        Limit limit
+    );
+
+    @Modifying
+    @Query("DELETE FROM Booking b WHERE b.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Bookings among the codes still in the given status (close-out). The rows stay locked until
+     * the close-out commits, so nobody else moves them out of that status in between.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.bookingCode IN :codes AND b.status = :status")
+    List<Long> findIdsByCodesAndStatus(
+        @Param("codes") Collection<String> codes,
+        @Param("status") BookingStatus status
+    );
+
+    /**
+     * Bookings in the given status between the dates that have already ended by today/now
+     * (close-out, range scan on the date/status index; locked like findIdsByCodesAndStatus)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Booking b WHERE b.bookingDate BETWEEN :fromDate AND :toDate " +
+           "AND b.status = :status AND (b.bookingDate < :today OR b.endTime <= :now) ORDER BY b.id")
+    List<Long> findEndedIds(
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate,
+        @Param("status") BookingStatus status,
+        @Param("today") LocalDate today,
+        @Param("now") LocalTime now
+    );
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :to WHERE b.id IN :ids AND b.status = :from")
+    int updateStatus(
+        @Param("ids") Collection<Long> ids,
+        @Param("from") BookingStatus from,
+        @Param("to") BookingStatus to
+    );
+
+    @Query("SELECT DISTINCT b.customerPhone FROM Booking b WHERE b.id IN :ids")
+    List<String> findCustomerPhonesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.banda.barbershop.dto.BookedInterval(b.barber.id, b.bookingDate, b.startTime, b.endTime) " +
+           "FROM Booking b WHERE b.id IN :ids AND b.barber IS NOT NULL")
+    List<BookedInterval> findIntervalsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -1,12 +1,65 @@
 package com.banda.barbershop.repository;
 
 import com.banda.barbershop.entity.ConversationState;
+import com.banda.barbershop.enums.ConversationStep;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ConversationStateRepository extends JpaRepository<ConversationState, Long> {
     Optional<ConversationState> findByPhoneNumber(String phoneNumber);
+
+    /**
+     * Oldest conversations idle since before the cutoff (range scan on the lastActivity index)
+     */
+    @Query("SELECT c.id FROM ConversationState c WHERE c.lastActivity < :cutoff ORDER BY c.lastActivity")
+    List<Long> findIdleIds(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Oldest conversations idle since before the cutoff that are not at the given step
+     */
+    @Query("SELECT c.id FROM ConversationState c WHERE c.lastActivity < :cutoff AND c.currentStep <> :step " +
+           "ORDER BY c.lastActivity")
+    List<Long> findIdleIdsNotAt(@Param("cutoff") LocalDateTime cutoff,
+                                @Param("step") ConversationStep step,
+                                Limit limit);
+
+    /**
+     * Move a batch back to the given step and context. lastActivity is left alone (bulk
+     * updates skip @PreUpdate), and rows touched since the cutoff are skipped.
+     */
+    @Modifying
+    @Query("UPDATE ConversationState c SET c.currentStep = :step, c.contextData = :contextData " +
+           "WHERE c.id IN :ids AND c.lastActivity < :cutoff")
+    int resetIdle(@Param("ids") Collection<Long> ids,
+                  @Param("cutoff") LocalDateTime cutoff,
+                  @Param("step") ConversationStep step,
+                  @Param("contextData") String contextData);
+
+    /**
+     * Delete a batch, skipping rows touched since the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM ConversationState c WHERE c.id IN :ids AND c.lastActivity < :cutoff")
+    int deleteIdle(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Write step and context in one statement, without loading the row first
+     */
+    @Modifying
+    @Query("UPDATE ConversationState c SET c.currentStep = :step, c.contextData = :contextData, " +
+           "c.lastActivity = :now WHERE c.id = :id")
+    int updateTransition(@Param("id") Long id,
+                         @Param("step") ConversationStep step,
+                         @Param("contextData") String contextData,
+                         @Param("now") LocalDateTime now);
 }
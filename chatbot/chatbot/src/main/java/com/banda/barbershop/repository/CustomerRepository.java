@@ -1,12 +1,18 @@
 package com.banda.barbershop.repository;
 
+import com.banda.barbershop.entity.Barber;
 import com.banda.barbershop.entity.Customer;
+import com.banda.barbershop.entity.Service;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +21,12 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     Optional<Customer> findByPhoneNumber(String phoneNumber);
 
+    /**
+     * Customer with the preferred service loaded, for building profile snapshots in one query
+     */
+    @EntityGraph(attributePaths = "preferredService")
+    Optional<Customer> findWithPreferredServiceByPhoneNumber(String phoneNumber);
+
     /**
      * Find customers with birthdays today who haven't received message this year
      */
@@ -44,4 +56,93 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("SELECT c FROM Customer c WHERE c.lastVisit < :cutoffDate " +
            "AND c.completedBookings > 0 ORDER BY c.lastVisit DESC")
     List<Customer> findInactiveCustomers(@Param("cutoffDate") LocalDate cutoffDate);
+
+    /**
+     * Count a new booking and award its points in place; the first booking also earns the bonus.
+     * totalBookings is assigned last because MySQL evaluates SET assignments left to right.
+     */
+    @Modifying
+    @Query("UPDATE Customer c SET " +
+           "c.loyaltyPoints = c.loyaltyPoints + :points + " +
+           "CASE WHEN c.totalBookings = 0 THEN :firstBookingBonus ELSE 0 END, " +
+           "c.lifetimeLoyaltyPoints = COALESCE(c.lifetimeLoyaltyPoints, 0) + :points + " +
+           "CASE WHEN c.totalBookings = 0 THEN :firstBookingBonus ELSE 0 END, " +
+           "c.firstVisit = COALESCE(c.firstVisit, :today), " +
+           "c.updatedAt = :now, " +
+           "c.totalBookings = c.totalBookings + 1 " +
+           "WHERE c.phoneNumber = :phone")
+    int addBooking(@Param("phone") String phoneNumber,
+                   @Param("points") int points,
+                   @Param("firstBookingBonus") int firstBookingBonus,
+                   @Param("today") LocalDate today,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.completedBookings = c.completedBookings + 1, " +
+           "c.lastVisit = :today, c.updatedAt = :now WHERE c.phoneNumber = :phone")
+    int incrementCompletedBookings(@Param("phone") String phoneNumber,
+                                   @Param("today") LocalDate today,
+                                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.cancelledBookings = c.cancelledBookings + 1, " +
+           "c.updatedAt = :now WHERE c.phoneNumber = :phone")
+    int incrementCancelledBookings(@Param("phone") String phoneNumber, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.noShowBookings = c.noShowBookings + 1, " +
+           "c.updatedAt = :now WHERE c.phoneNumber = :phone")
+    int incrementNoShowBookings(@Param("phone") String phoneNumber, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.loyaltyPoints = c.loyaltyPoints + :points, " +
+           "c.lifetimeLoyaltyPoints = COALESCE(c.lifetimeLoyaltyPoints, 0) + :points, " +
+           "c.updatedAt = :now WHERE c.phoneNumber = :phone")
+    int addLoyaltyPoints(@Param("phone") String phoneNumber, @Param("points") int points, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.preferredService = :service, c.preferredServiceCount = :count " +
+           "WHERE c.phoneNumber = :phone")
+    int setPreferredService(@Param("phone") String phoneNumber, @Param("service") Service service, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.preferredBarber = :barber, c.preferredBarberCount = :count " +
+           "WHERE c.phoneNumber = :phone")
+    int setPreferredBarber(@Param("phone") String phoneNumber, @Param("barber") Barber barber, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE Customer c SET c.lastBirthdayMessageSent = :today WHERE c.phoneNumber = :phone")
+    int markBirthdayMessageSent(@Param("phone") String phoneNumber, @Param("today") LocalDate today);
+
+    /**
+     * Add the given bookings to their customers' completed counts in one statement,
+     * moving lastVisit forward to the latest of them. Only bookings now COMPLETED count, so
+     * ids whose status change did not apply are left out.
+     */
+    @Modifying
+    @Query("UPDATE Customer c SET " +
+           "c.completedBookings = c.completedBookings + " +
+           "(SELECT COUNT(b) FROM Booking b WHERE b.id IN :ids AND b.status = 'COMPLETED' " +
+           "AND b.customerPhone = c.phoneNumber), " +
+           "c.lastVisit = CASE WHEN c.lastVisit IS NULL OR c.lastVisit < " +
+           "(SELECT MAX(b.bookingDate) FROM Booking b WHERE b.id IN :ids AND b.status = 'COMPLETED' " +
+           "AND b.customerPhone = c.phoneNumber) " +
+           "THEN (SELECT MAX(b.bookingDate) FROM Booking b WHERE b.id IN :ids AND b.status = 'COMPLETED' " +
+           "AND b.customerPhone = c.phoneNumber) " +
+           "ELSE c.lastVisit END, " +
+           "c.updatedAt = :now " +
+           "WHERE c.phoneNumber IN (SELECT b.customerPhone FROM Booking b WHERE b.id IN :ids AND b.status = 'COMPLETED')")
+    int addCompletedBookings(@Param("ids") Collection<Long> bookingIds, @Param("now") LocalDateTime now);
+
+    /**
+     * Add the given bookings to their customers' no-show counts in one statement (only those now NO_SHOW)
+     */
+    @Modifying
+    @Query("UPDATE Customer c SET " +
+           "c.noShowBookings = c.noShowBookings + " +
+           "(SELECT COUNT(b) FROM Booking b WHERE b.id IN :ids AND b.status = 'NO_SHOW' " +
+           "AND b.customerPhone = c.phoneNumber), " +
+           "c.updatedAt = :now " +
+           "WHERE c.phoneNumber IN (SELECT b.customerPhone FROM Booking b WHERE b.id IN :ids AND b.status = 'NO_SHOW')")
+    int addNoShowBookings(@Param("ids") Collection<Long> bookingIds, @Param("now") LocalDateTime now);
 }
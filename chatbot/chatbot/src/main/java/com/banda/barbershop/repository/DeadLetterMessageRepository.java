@@ -0,0 +1,41 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.DeadLetterMessage;
+import com.banda.barbershop.entity.DeadLetterMessage.DeadLetterStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeadLetterMessageRepository extends JpaRepository<DeadLetterMessage, Long> {
+
+    /**
+     * Pending dead letters, plus those whose replay claim went stale (the replaying process died)
+     */
+    @Query("SELECT d FROM DeadLetterMessage d WHERE d.status IN (:pending, :replaying) " +
+           "AND (d.status = :pending OR d.claimedAt < :staleBefore) ORDER BY d.createdAt, d.id")
+    List<DeadLetterMessage> findReplayable(
+        @Param("pending") DeadLetterStatus pending,
+        @Param("replaying") DeadLetterStatus replaying,
+        @Param("staleBefore") LocalDateTime staleBefore
+    );
+
+    /**
+     * Take a dead letter for one replay; 0 when it is already replayed or another replay holds it
+     */
+    @Modifying
+    @Query("UPDATE DeadLetterMessage d SET d.status = :replaying, d.claimedAt = :now " +
+           "WHERE d.id = :id AND (d.status = :pending OR (d.status = :replaying AND d.claimedAt < :staleBefore))")
+    int claim(
+        @Param("id") Long id,
+        @Param("now") LocalDateTime now,
+        @Param("staleBefore") LocalDateTime staleBefore,
+        @Param("pending") DeadLetterStatus pending,
+        @Param("replaying") DeadLetterStatus replaying
+    );
+}
@@ -0,0 +1,80 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.OutboundMessage;
+import com.banda.barbershop.entity.OutboundMessage.OutboundStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundMessageRepository extends JpaRepository<OutboundMessage, Long> {
+
+    /**
+     * Oldest messages with the given status that are due (range scan on the status/nextAttemptAt index)
+     */
+    @Query("SELECT m.id FROM OutboundMessage m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<Long> findDueIds(@Param("status") OutboundStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    /**
+     * Claim a batch for one relay pass. Rows another relay claimed first are skipped by the
+     * status check, so each row is owned by at most one claim token.
+     */
+    @Modifying
+    @Query("UPDATE OutboundMessage m SET m.status = :sending, m.claimToken = :token, m.claimedAt = :now, " +
+           "m.attempts = m.attempts + 1 WHERE m.id IN :ids AND m.status = :pending")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("token") String token,
+              @Param("now") LocalDateTime now,
+              @Param("sending") OutboundStatus sending,
+              @Param("pending") OutboundStatus pending);
+
+    List<OutboundMessage> findByClaimTokenOrderById(String claimToken);
+
+    @Modifying
+    @Query("UPDATE OutboundMessage m SET m.status = :sent, m.sentAt = :now, m.claimToken = null, m.lastError = null " +
+           "WHERE m.id = :id AND m.claimToken = :token")
+    int markSent(@Param("id") Long id,
+                 @Param("token") String token,
+                 @Param("now") LocalDateTime now,
+                 @Param("sent") OutboundStatus sent);
+
+    /**
+     * Release a claimed row with a new status (PENDING to retry later, FAILED to give up)
+     */
+    @Modifying
+    @Query("UPDATE OutboundMessage m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, " +
+           "m.lastError = :error, m.claimToken = null WHERE m.id = :id AND m.claimToken = :token")
+    int release(@Param("id") Long id,
+                @Param("token") String token,
+                @Param("status") OutboundStatus status,
+                @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                @Param("error") String error);
+
+    /**
+     * Return rows claimed before the cutoff to the queue (their relay died or stalled mid-batch)
+     */
+    @Modifying
+    @Query("UPDATE OutboundMessage m SET m.status = :pending, m.claimToken = null " +
+           "WHERE m.status = :sending AND m.claimedAt < :cutoff")
+    int releaseStale(@Param("cutoff") LocalDateTime cutoff,
+                     @Param("sending") OutboundStatus sending,
+                     @Param("pending") OutboundStatus pending);
+
+    @Query("SELECT m.id FROM OutboundMessage m WHERE m.status = :status AND m.sentAt < :cutoff ORDER BY m.id")
+    List<Long> findSentBefore(@Param("status") OutboundStatus status,
+                              @Param("cutoff") LocalDateTime cutoff,
+                              Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboundMessage m WHERE m.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    long countByStatus(OutboundStatus status);
+}
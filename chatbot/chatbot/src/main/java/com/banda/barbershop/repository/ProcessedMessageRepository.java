@@ -0,0 +1,32 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.ProcessedMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface ProcessedMessageRepository extends JpaRepository<ProcessedMessage, Long> {
+
+    Optional<ProcessedMessage> findByMessageSid(String messageSid);
+
+    @Modifying
+    @Query("UPDATE ProcessedMessage p SET p.response = :response WHERE p.messageSid = :messageSid")
+    int updateResponse(@Param("messageSid") String messageSid, @Param("response") String response);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedMessage p WHERE p.messageSid = :messageSid")
+    int deleteByMessageSid(@Param("messageSid") String messageSid);
+
+    /**
+     * Purge rows older than the retry window
+     */
+    @Modifying
+    @Query("DELETE FROM ProcessedMessage p WHERE p.receivedAt < :cutoff")
+    int deleteReceivedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,96 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.SlotInventory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SlotInventoryRepository extends JpaRepository<SlotInventory, Long> {
+
+    /**
+     * Confirmed bookings covering a slot; same rule as decrement: a booking covers the grid
+     * slots that start inside it
+     */
+    String TAKEN = "(SELECT COUNT(b) FROM Booking b WHERE b.barber.id = s.barberId " +
+                   "AND b.bookingDate = s.slotDate AND b.status = 'CONFIRMED' " +
+                   "AND b.startTime <= s.slotStart AND b.endTime > s.slotStart)";
+
+    String EXPECTED_REMAINING = "CASE WHEN s.capacity > " + TAKEN + " THEN s.capacity - " + TAKEN + " ELSE 0 END";
+
+    /**
+     * Slots with capacity left for the given barbers across a date range
+     */
+    @Query("SELECT s FROM SlotInventory s WHERE s.barberId IN :barberIds " +
+           "AND s.slotDate BETWEEN :fromDate AND :toDate AND s.remaining > 0 " +
+           "ORDER BY s.barberId, s.slotDate, s.slotStart")
+    List<SlotInventory> findAvailable(
+        @Param("barberIds") Collection<Long> barberIds,
+        @Param("fromDate") LocalDate fromDate,
+        @Param("toDate") LocalDate toDate
+    );
+
+    /**
+     * Count grid slots with capacity left inside [startTime, endTime)
+     */
+    @Query("SELECT COUNT(s) FROM SlotInventory s WHERE s.barberId = :barberId " +
+           "AND s.slotDate = :date AND s.slotStart >= :startTime AND s.slotStart < :endTime " +
+           "AND s.remaining > 0")
+    long countAvailable(
+        @Param("barberId") Long barberId,
+        @Param("date") LocalDate date,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
+
+    /**
+     * Take one unit from every grid slot inside [startTime, endTime) that still has capacity
+     */
+    @Modifying
+    @Query("UPDATE SlotInventory s SET s.remaining = s.remaining - 1 " +
+           "WHERE s.barberId = :barberId AND s.slotDate = :date " +
+           "AND s.slotStart >= :startTime AND s.slotStart < :endTime AND s.remaining > 0")
+    int decrement(
+        @Param("barberId") Long barberId,
+        @Param("date") LocalDate date,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
+
+    /**
+     * Give one unit back to every grid slot inside [startTime, endTime)
+     */
+    @Modifying
+    @Query("UPDATE SlotInventory s SET s.remaining = s.remaining + 1 " +
+           "WHERE s.barberId = :barberId AND s.slotDate = :date " +
+           "AND s.slotStart >= :startTime AND s.slotStart < :endTime AND s.remaining < s.capacity")
+    int increment(
+        @Param("barberId") Long barberId,
+        @Param("date") LocalDate date,
+        @Param("startTime") LocalTime startTime,
+        @Param("endTime") LocalTime endTime
+    );
+
+    /**
+     * Recompute remaining capacity from confirmed bookings in one statement, touching only rows
+     * that drifted. Each row is read and written under its own row lock, so a decrement or
+     * increment committed meanwhile is never overwritten with a stale count.
+     */
+    @Modifying
+    @Query("UPDATE SlotInventory s SET s.remaining = " + EXPECTED_REMAINING + " " +
+           "WHERE s.slotDate BETWEEN :fromDate AND :toDate AND s.remaining <> " + EXPECTED_REMAINING)
+    int reconcile(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    boolean existsByBarberIdAndSlotDate(Long barberId, LocalDate slotDate);
+
+    @Modifying
+    @Query("DELETE FROM SlotInventory s WHERE s.slotDate < :date")
+    int deleteBefore(@Param("date") LocalDate date);
+}
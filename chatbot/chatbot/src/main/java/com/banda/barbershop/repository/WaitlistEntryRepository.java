@@ -0,0 +1,60 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.WaitlistEntry;
+import com.banda.barbershop.entity.WaitlistEntry.WaitlistStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    /**
+     * Waiters for a freed slot, in registration order after the given id: entries for that
+     * barber or any barber whose window covers the date (barber/fromDate index lookup)
+     */
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE (w.barber.id = :barberId OR w.barber IS NULL) " +
+           "AND w.fromDate <= :date AND w.toDate >= :date AND w.status = :status AND w.id > :afterId " +
+           "ORDER BY w.id")
+    List<Long> findMatchingIds(@Param("barberId") Long barberId,
+                               @Param("date") LocalDate date,
+                               @Param("status") WaitlistStatus status,
+                               @Param("afterId") Long afterId,
+                               Limit limit);
+
+    Optional<WaitlistEntry> findFirstByCustomerPhoneAndServiceIdAndStatus(
+        String customerPhone, Long serviceId, WaitlistStatus status);
+
+    /**
+     * The customer's offer still within its hold (customer index lookup)
+     */
+    Optional<WaitlistEntry> findFirstByCustomerPhoneAndStatusAndOfferExpiresAtAfterOrderById(
+        String customerPhone, WaitlistStatus status, LocalDateTime now);
+
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.status = :status AND w.offerExpiresAt < :now ORDER BY w.id")
+    List<Long> findExpiredOfferIds(@Param("status") WaitlistStatus status,
+                                   @Param("now") LocalDateTime now,
+                                   Limit limit);
+
+    @Query("SELECT w.id FROM WaitlistEntry w WHERE w.status = :status AND w.toDate < :today ORDER BY w.id")
+    List<Long> findPastWindowIds(@Param("status") WaitlistStatus status,
+                                 @Param("today") LocalDate today,
+                                 Limit limit);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = :expired WHERE w.id IN :ids AND w.status = :waiting")
+    int expireWaiting(@Param("ids") Collection<Long> ids,
+                      @Param("waiting") WaitlistStatus waiting,
+                      @Param("expired") WaitlistStatus expired);
+
+    long countByStatus(WaitlistStatus status);
+}
@@ -4,6 +4,9 @@ import com.banda.barbershop.config.LoyaltyConfig;
 import com.banda.barbershop.entity.Customer;
 import com.banda.barbershop.service.CustomerService;
 import com.banda.barbershop.service.WhatsAppService;
+import com.banda.barbershop.template.MessageTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -19,9 +22,27 @@ import java.util.List;
 @Slf4j
 public class BirthdayScheduler {
 
+    private static final MessageTemplate BIRTHDAY_MESSAGE = MessageTemplate.compile("""
+        🎉 *HAPPY BIRTHDAY {0}!* 🎂
+
+        The whole team at Fade Factory wishes you an amazing day!
+
+        🎁 *Your Birthday Gift:*
+        • {1} Loyalty Points added
+        • {2}% OFF your next booking
+        • Use code: *{3}*
+
+        Book today to redeem your special birthday reward! 🎈
+
+        Thank you for being part of our family! ❤️
+
+        Reply 1 to book now!
+        """);
+
     private final CustomerService customerService;
     private final WhatsAppService whatsAppService;
     private final LoyaltyConfig loyaltyConfig;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Send birthday messages to customers
@@ -36,6 +57,7 @@ public class BirthdayScheduler {
 
         log.info("Running birthday message job");
 
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             List<Customer> birthdayCustomers = customerService.getTodaysBirthdays();
 
@@ -66,6 +88,8 @@ public class BirthdayScheduler {
             log.info("Birthday message job completed: {} messages sent", sentCount);
         } catch (Exception e) {
             log.error("Error in birthday message job: {}", e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("barbershop.job", "job", "birthday"));
         }
     }
 
@@ -76,22 +100,7 @@ public class BirthdayScheduler {
 
         String name = customer.getName() != null ? customer.getName() : "there";
 
-        String message = String.format("""
-            🎉 *HAPPY BIRTHDAY %s!* 🎂
-
-            The whole team at Fade Factory wishes you an amazing day!
-
-            🎁 *Your Birthday Gift:*
-            • %d Loyalty Points added
-            • %d%% OFF your next booking
-            • Use code: *%s*
-
-            Book today to redeem your special birthday reward! 🎈
-
-            Thank you for being part of our family! ❤️
-
-            Reply 1 to book now!
-            """,
+        String message = BIRTHDAY_MESSAGE.render(
             name.toUpperCase(),
             bonusPoints,
             discount,
@@ -103,8 +112,7 @@ public class BirthdayScheduler {
 
     private void awardBirthdayBonus(Customer customer) {
         int bonusPoints = loyaltyConfig.getBirthday().getBonusPoints();
-        customer.setLoyaltyPoints(customer.getLoyaltyPoints() + bonusPoints);
-        customer.setLifetimeLoyaltyPoints(customer.getLifetimeLoyaltyPoints() + bonusPoints);
+        customerService.awardLoyaltyPoints(customer.getPhoneNumber(), bonusPoints);
         log.info("Awarded {} birthday bonus points to customer {}",
                  bonusPoints, customer.getPhoneNumber());
     }
@@ -0,0 +1,53 @@
+package com.banda.barbershop.scheduler;
+
+import com.banda.barbershop.service.BookingArchiveService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled job for moving finished bookings to the archive table
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingArchiveScheduler {
+
+    private final BookingArchiveService archiveService;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Archive finished bookings older than the configured age, one batch per transaction
+     * Runs at 3:00 AM on the 1st of every month
+     */
+    @Scheduled(cron = "0 0 3 1 * *") // Monthly on the 1st at 3 AM
+    public void archiveBookings() {
+        if (!archiveService.isEnabled()) {
+            return;
+        }
+
+        LocalDate cutoff = archiveService.cutoff();
+        log.info("Running booking archive job for bookings before {}", cutoff);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int archived = 0;
+        try {
+            int moved;
+            do {
+                moved = archiveService.archiveBatch(cutoff);
+                archived += moved;
+            } while (moved == archiveService.getBatchSize());
+        } catch (Exception e) {
+            log.error("Error in booking archive job after {} bookings: {}", archived, e.getMessage(), e);
+        } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(
+                sample.stop(meterRegistry.timer("barbershop.job", "job", "booking_archive")));
+            log.info("Booking archive job completed in {} ms: {} bookings archived", elapsedMs, archived);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.banda.barbershop.scheduler;
+
+import com.banda.barbershop.config.ConversationConfig;
+import com.banda.barbershop.service.ConversationStateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled job that keeps conversation_states small: restarts conversations
+ * abandoned mid-flow and deletes long-idle ones
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConversationExpiryScheduler {
+
+    private final ConversationStateService stateService;
+    private final ConversationConfig conversationConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Reset idle mid-flow conversations and purge long-idle ones
+     * Runs every 15 minutes
+     */
+    @Scheduled(fixedRate = 900000) // Every 15 minutes (900,000 ms)
+    public void expireConversations() {
+        if (!conversationConfig.getExpiry().isEnabled()) {
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            int reset = stateService.resetIdleConversations();
+            int purged = stateService.purgeIdleConversations();
+            meterRegistry.counter("barbershop.conversation.expiry", "action", "reset").increment(reset);
+            meterRegistry.counter("barbershop.conversation.expiry", "action", "purge").increment(purged);
+
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(
+                sample.stop(meterRegistry.timer("barbershop.job", "job", "conversation_expiry")));
+            if (reset > 0 || purged > 0) {
+                log.info("Conversation expiry job completed in {} ms: {} reset, {} purged",
+                         elapsedMs, reset, purged);
+            }
+        } catch (Exception e) {
+            sample.stop(meterRegistry.timer("barbershop.job", "job", "conversation_expiry"));
+            log.error("Error in conversation expiry job: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.banda.barbershop.scheduler;
+
+import com.banda.barbershop.config.WebhookConfig;
+import com.banda.barbershop.service.MessageDedupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled job for trimming the webhook dedup table
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DedupCleanupScheduler {
+
+    private final MessageDedupService dedupService;
+    private final WebhookConfig webhookConfig;
+
+    /**
+     * Purge processed message records past the retention window
+     * Runs every hour
+     */
+    @Scheduled(fixedRate = 3600000) // Every hour (3,600,000 ms)
+    public void purgeProcessedMessages() {
+        if (!webhookConfig.getDedup().isEnabled()) {
+            return;
+        }
+
+        try {
+            int purged = dedupService.purgeExpired();
+            if (purged > 0) {
+                log.info("Dedup cleanup job completed: {} records purged", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error in dedup cleanup job: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.banda.barbershop.scheduler;
+
+import com.banda.barbershop.service.OutboxRelay;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled jobs for the outbox relay: the fallback poll (retries that came due, messages
+ * committed on another instance), stale claim recovery and cleanup of sent rows
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelayScheduler {
+
+    private final OutboxRelay relay;
+
+    @Scheduled(fixedDelayString = "${outbound.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        relay.wakeUp();
+    }
+
+    /**
+     * Runs every minute
+     */
+    @Scheduled(fixedRate = 60000)
+    public void releaseStaleClaims() {
+        try {
+            relay.releaseStaleClaims();
+        } catch (Exception e) {
+            log.error("Error releasing stale outbox claims: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs every hour
+     */
+    @Scheduled(fixedRate = 3600000)
+    public void purgeSent() {
+        try {
+            int purged = relay.purgeSent();
+            if (purged > 0) {
+                log.info("Outbox cleanup job completed: {} sent messages purged", purged);
+            }
+        } catch (Exception e) {
+            log.error("Error in outbox cleanup job: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.banda.barbershop.scheduler;
 
 import com.banda.barbershop.service.ReminderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 public class ReminderScheduler {
 
     private final ReminderService reminderService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Send one-hour reminders
@@ -23,6 +26,7 @@ public class ReminderScheduler {
     @Scheduled(fixedRate = 600000) // Every 10 minutes (600,000 ms)
     public void sendOneHourReminders() {
         log.debug("Running one-hour reminder job");
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             int sent = reminderService.sendOneHourReminders();
             if (sent > 0) {
@@ -30,6 +34,8 @@ public class ReminderScheduler {
             }
         } catch (Exception e) {
             log.error("Error in one-hour reminder job: {}", e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("barbershop.job", "job", "one_hour_reminder"));
         }
     }
 
@@ -40,11 +46,14 @@ public class ReminderScheduler {
     @Scheduled(cron = "0 0 18 * * *") // Daily at 6 PM
     public void sendDayBeforeReminders() {
         log.info("Running day-before reminder job");
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             int sent = reminderService.sendDayBeforeReminders();
             log.info("Day-before reminder job completed: {} reminders sent", sent);
         } catch (Exception e) {
             log.error("Error in day-before reminder job: {}", e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("barbershop.job", "job", "day_before_reminder"));
         }
     }
 }
@@ -0,0 +1,61 @@
+package com.banda.barbershop.scheduler;
+
+import com.banda.barbershop.service.SlotInventoryService;
+import com.banda.barbershop.service.SlotMenuCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the slot inventory table rolling forward and in line with bookings
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotInventoryScheduler {
+
+    private final SlotInventoryService inventoryService;
+    private final SlotMenuCache slotMenuCache;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Build the inventory as soon as the app is up, so listings work before the first nightly run
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeInventory() {
+        maintainInventory();
+    }
+
+    /**
+     * Extend the horizon, reconcile drift and drop past days
+     * Runs daily at 2:00 AM
+     */
+    @Scheduled(cron = "0 0 2 * * *") // Daily at 2 AM
+    public void maintainInventory() {
+        if (!inventoryService.isEnabled()) {
+            return;
+        }
+
+        log.info("Running slot inventory job");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            int purged = inventoryService.purgePast();
+            int created = inventoryService.extendHorizon();
+            int corrected = inventoryService.reconcile();
+            if (corrected > 0) {
+                slotMenuCache.clear();
+            }
+            log.info("Slot inventory job completed: {} slots created, {} corrected, {} purged",
+                     created, corrected, purged);
+        } catch (Exception e) {
+            log.error("Error in slot inventory job: {}", e.getMessage(), e);
+        } finally {
+            sample.stop(meterRegistry.timer("barbershop.job", "job", "slot_inventory"));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.banda.barbershop.scheduler;
+
+import com.banda.barbershop.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scheduled jobs for the waitlist: passing unanswered offers to the next waiter and
+ * dropping entries whose dates have gone by
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistScheduler {
+
+    private final WaitlistService waitlistService;
+
+    /**
+     * Runs every minute
+     */
+    @Scheduled(fixedRate = 60000)
+    public void expireOffers() {
+        if (!waitlistService.isEnabled()) {
+            return;
+        }
+
+        try {
+            int expired = waitlistService.expireOffers();
+            if (expired > 0) {
+                log.info("Waitlist job completed: {} unanswered offers passed on", expired);
+            }
+        } catch (Exception e) {
+            log.error("Error expiring waitlist offers: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Runs daily just after midnight
+     */
+    @Scheduled(cron = "0 5 0 * * *") // Daily at 00:05
+    public void expirePastWindows() {
+        try {
+            int expired = waitlistService.expirePastWindows();
+            if (expired > 0) {
+                log.info("Waitlist cleanup job completed: {} entries past their dates", expired);
+            }
+        } catch (Exception e) {
+            log.error("Error in waitlist cleanup job: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -4,7 +4,13 @@ import com.banda.barbershop.dto.*;
 import com.banda.barbershop.entity.Barber;
 import com.banda.barbershop.entity.Booking;
 import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.BookingRecord;
+import com.banda.barbershop.event.BookingEvent.BookingCompleted;
+import com.banda.barbershop.event.BookingEvent.BookingNoShow;
+import com.banda.barbershop.event.BookingEventBus;
+import com.banda.barbershop.intent.BookingIntentParser;
 import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.BookingRecordRepository;
 import com.banda.barbershop.repository.BookingRepository;
 import com.banda.barbershop.repository.CustomerRepository;
 import com.banda.barbershop.repository.ServiceRepository;
@@ -14,9 +20,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,14 +36,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AdminService {
 
+    private static final int CLOSE_OUT_BATCH_SIZE = 500;
+
     private final BookingRepository bookingRepository;
+    private final BookingRecordRepository bookingRecordRepository;
     private final CustomerRepository customerRepository;
     private final ServiceRepository serviceRepository;
     private final BarberRepository barberRepository;
+    private final SlotMenuCache slotMenuCache;
+    private final CustomerService customerService;
+    private final BookingEventBus eventBus;
+    private final BookingIntentParser intentParser;
 
     /**
      * Get dashboard statistics
      */
+    @Transactional(readOnly = true)
     public DashboardStatsDTO getDashboardStats() {
         LocalDate today = LocalDate.now();
         LocalDate weekAgo = today.minus(7, ChronoUnit.DAYS);
@@ -60,26 +80,27 @@ public class AdminService {
             .mapToDouble(b -> b.getService().getPrice().doubleValue())
             .sum();
 
-        // Get all bookings for week/month calculations
-        List<Booking> allBookings = bookingRepository.findAll();
+        // Bookings (hot and archived) dated from a month ago on; the average value and the
+        // popular services cover the same window instead of the whole history
+        List<BookingRecord> recentBookings = bookingRecordRepository.findByBookingDateGreaterThanEqual(monthAgo);
 
-        int weekBookings = (int) allBookings.stream()
+        int weekBookings = (int) recentBookings.stream()
             .filter(b -> !b.getBookingDate().isBefore(weekAgo))
             .filter(b -> b.getStatus() == BookingStatus.CONFIRMED || b.getStatus() == BookingStatus.COMPLETED)
             .count();
 
-        double weekRevenue = allBookings.stream()
+        double weekRevenue = recentBookings.stream()
             .filter(b -> !b.getBookingDate().isBefore(weekAgo))
             .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
             .mapToDouble(b -> b.getService().getPrice().doubleValue())
             .sum();
 
-        int monthBookings = (int) allBookings.stream()
+        int monthBookings = (int) recentBookings.stream()
             .filter(b -> !b.getBookingDate().isBefore(monthAgo))
             .filter(b -> b.getStatus() == BookingStatus.CONFIRMED || b.getStatus() == BookingStatus.COMPLETED)
             .count();
 
-        double monthRevenue = allBookings.stream()
+        double monthRevenue = recentBookings.stream()
             .filter(b -> !b.getBookingDate().isBefore(monthAgo))
             .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
             .mapToDouble(b -> b.getService().getPrice().doubleValue())
@@ -92,21 +113,21 @@ public class AdminService {
             .filter(c -> !c.getLastVisit().isBefore(monthAgo))
             .count();
 
-        double avgBookingValue = allBookings.stream()
+        double avgBookingValue = recentBookings.stream()
             .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
             .mapToDouble(b -> b.getService().getPrice().doubleValue())
             .average()
             .orElse(0.0);
 
         // Popular services
-        Map<String, Long> serviceCount = allBookings.stream()
+        Map<String, Long> serviceCount = recentBookings.stream()
             .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
             .collect(Collectors.groupingBy(
                 b -> b.getService().getName(),
                 Collectors.counting()
             ));
 
-        Map<String, Double> serviceRevenue = allBookings.stream()
+        Map<String, Double> serviceRevenue = recentBookings.stream()
             .filter(b -> b.getStatus() == BookingStatus.COMPLETED)
             .collect(Collectors.groupingBy(
                 b -> b.getService().getName(),
@@ -124,12 +145,12 @@ public class AdminService {
             .collect(Collectors.toList());
 
         // Upcoming bookings
-        int upcomingToday = (int) allBookings.stream()
+        int upcomingToday = (int) recentBookings.stream()
             .filter(b -> b.getBookingDate().equals(today))
             .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
             .count();
 
-        int upcomingTomorrow = (int) allBookings.stream()
+        int upcomingTomorrow = (int) recentBookings.stream()
             .filter(b -> b.getBookingDate().equals(today.plusDays(1)))
             .filter(b -> b.getStatus() == BookingStatus.CONFIRMED)
             .count();
@@ -156,50 +177,158 @@ public class AdminService {
     /**
      * Get bookings for a specific date
      */
+    @Transactional(readOnly = true)
     public List<BookingDTO> getBookingsByDate(LocalDate date) {
-        List<Booking> bookings = bookingRepository.findAll().stream()
-            .filter(b -> b.getBookingDate().equals(date))
-            .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
-            .toList();
-
-        return bookings.stream()
-            .map(BookingDTO::fromEntity)
+        return bookingRecordRepository.findByBookingDateOrderByStartTime(date).stream()
+            .map(BookingDTO::fromRecord)
             .collect(Collectors.toList());
     }
 
     /**
-     * Mark booking as completed
+     * A confirmed booking leaving CONFIRMED frees its slot
+     */
+    private void invalidateMenus(Booking booking) {
+        if (booking.getBarber() != null) {
+            slotMenuCache.invalidate(booking.getBarber().getId(), booking.getBookingDate());
+        }
+    }
+
+    private Long barberId(Booking booking) {
+        return booking.getBarber() != null ? booking.getBarber().getId() : null;
+    }
+
+    /**
+     * Mark a confirmed booking as completed; customer and barber counters follow from the
+     * event. A booking in any other status is left alone, so a repeated call counts nothing.
+     *
+     * @return false if there is no booking with this code
      */
     @Transactional
     public boolean markAsCompleted(String bookingCode) {
         return bookingRepository.findByBookingCode(bookingCode)
             .map(booking -> {
-                booking.setStatus(BookingStatus.COMPLETED);
-                bookingRepository.save(booking);
-                log.info("Marked booking {} as completed", bookingCode);
+                if (moveConfirmed(booking, BookingStatus.COMPLETED)) {
+                    eventBus.publish(new BookingCompleted(booking.getId(), booking.getCustomerPhone(), barberId(booking)));
+                    log.info("Marked booking {} as completed", bookingCode);
+                }
                 return true;
             })
             .orElse(false);
     }
 
     /**
-     * Mark booking as no-show
+     * Mark a confirmed booking as a no-show, on the same terms as {@link #markAsCompleted}
      */
     @Transactional
     public boolean markAsNoShow(String bookingCode) {
         return bookingRepository.findByBookingCode(bookingCode)
             .map(booking -> {
-                booking.setStatus(BookingStatus.NO_SHOW);
-                bookingRepository.save(booking);
-                log.info("Marked booking {} as no-show", bookingCode);
+                if (moveConfirmed(booking, BookingStatus.NO_SHOW)) {
+                    eventBus.publish(new BookingNoShow(booking.getId(), booking.getCustomerPhone(), barberId(booking)));
+                    log.info("Marked booking {} as no-show", bookingCode);
+                }
                 return true;
             })
             .orElse(false);
     }
 
+    /**
+     * Conditional CONFIRMED to target update, so two concurrent marks cannot both count
+     *
+     * @return whether this call moved the booking
+     */
+    private boolean moveConfirmed(Booking booking, BookingStatus target) {
+        if (bookingRepository.updateStatus(List.of(booking.getId()), BookingStatus.CONFIRMED, target) == 0) {
+            log.debug("Booking {} is {}, not marked {}", booking.getBookingCode(), booking.getStatus(), target);
+            return false;
+        }
+        invalidateMenus(booking);
+        return true;
+    }
+
+    /**
+     * End-of-day close-out in one transaction: the listed no-shows and completions, then
+     * (if asked) every other confirmed booking that has already ended. Only CONFIRMED bookings
+     * change: they are locked as they are selected, and the counters only count bookings that
+     * ended up in the new status. Status changes and the customer and barber counters are one
+     * set-based statement each per batch of bookings; a code listed as both counts as a no-show.
+     */
+    @Transactional
+    public BookingCloseOutResult closeOut(BookingCloseOutRequest request) {
+        Set<Long> noShowIds = new LinkedHashSet<>(confirmedIds(request.getNoShows()));
+        Set<Long> completedIds = new LinkedHashSet<>(confirmedIds(request.getCompleted()));
+        completedIds.removeAll(noShowIds);
+
+        if (request.isCompleteRemaining()) {
+            LocalDate today = LocalDate.now();
+            LocalDate date = request.getDate();
+            LocalDate fromDate = date != null ? date : LocalDate.EPOCH;
+            LocalDate toDate = date != null && date.isBefore(today) ? date : today;
+            bookingRepository.findEndedIds(fromDate, toDate, BookingStatus.CONFIRMED, today, LocalTime.now()).stream()
+                .filter(id -> !noShowIds.contains(id))
+                .forEach(completedIds::add);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int noShows = 0;
+        int completed = 0;
+        int customersUpdated = 0;
+        int barbersUpdated = 0;
+
+        for (List<Long> batch : batches(noShowIds)) {
+            noShows += bookingRepository.updateStatus(batch, BookingStatus.CONFIRMED, BookingStatus.NO_SHOW);
+            customersUpdated += customerService.recordNoShows(batch);
+        }
+        for (List<Long> batch : batches(completedIds)) {
+            completed += bookingRepository.updateStatus(batch, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+            customersUpdated += customerService.recordCompletedBookings(batch);
+            barbersUpdated += barberRepository.addCompletedBookings(batch, now);
+        }
+
+        // Bookings leaving CONFIRMED free their slots
+        List<Long> closed = new ArrayList<>(noShowIds);
+        closed.addAll(completedIds);
+        for (List<Long> batch : batches(closed)) {
+            bookingRepository.findIntervalsByIds(batch).stream()
+                .map(interval -> Map.entry(interval.getBarberId(), interval.getDate()))
+                .distinct()
+                .forEach(barberDay -> slotMenuCache.invalidate(barberDay.getKey(), barberDay.getValue()));
+        }
+
+        log.info("Closed out {} completed and {} no-show bookings ({} customer, {} barber counter updates)",
+                 completed, noShows, customersUpdated, barbersUpdated);
+        return BookingCloseOutResult.builder()
+            .completed(completed)
+            .noShows(noShows)
+            .customersUpdated(customersUpdated)
+            .barbersUpdated(barbersUpdated)
+            .build();
+    }
+
+    private List<Long> confirmedIds(List<String> bookingCodes) {
+        if (bookingCodes == null || bookingCodes.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        for (List<String> batch : batches(bookingCodes)) {
+            ids.addAll(bookingRepository.findIdsByCodesAndStatus(batch, BookingStatus.CONFIRMED));
+        }
+        return ids;
+    }
+
+    private static <T> List<List<T>> batches(Collection<T> items) {
+        List<T> all = List.copyOf(items);
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += CLOSE_OUT_BATCH_SIZE) {
+            batches.add(all.subList(from, Math.min(from + CLOSE_OUT_BATCH_SIZE, all.size())));
+        }
+        return batches;
+    }
+
     /**
      * Get all customers
      */
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getAllCustomers() {
         return customerRepository.findAll().stream()
             .sorted((a, b) -> {
@@ -214,6 +343,7 @@ public class AdminService {
     /**
      * Get top customers by loyalty points
      */
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getTopCustomers(int limit) {
         return customerRepository.findAll().stream()
             .sorted((a, b) -> Integer.compare(b.getLoyaltyPoints(), a.getLoyaltyPoints()))
@@ -225,6 +355,7 @@ public class AdminService {
     /**
      * Get all services
      */
+    @Transactional(readOnly = true)
     public List<ServiceDTO> getAllServices() {
         return serviceRepository.findAll().stream()
             .sorted((a, b) -> Integer.compare(a.getDisplayOrder(), b.getDisplayOrder()))
@@ -235,6 +366,7 @@ public class AdminService {
     /**
      * Get service by ID
      */
+    @Transactional(readOnly = true)
     public ServiceDTO getServiceById(Long id) {
         return serviceRepository.findById(id)
             .map(ServiceDTO::fromEntity)
@@ -248,6 +380,7 @@ public class AdminService {
     public ServiceDTO createService(ServiceDTO serviceDTO) {
         com.banda.barbershop.entity.Service service = serviceDTO.toEntity();
         com.banda.barbershop.entity.Service saved = serviceRepository.save(service);
+        intentParser.refresh();
         log.info("Created new service: {}", saved.getName());
         return ServiceDTO.fromEntity(saved);
     }
@@ -266,6 +399,7 @@ public class AdminService {
                 existing.setActive(serviceDTO.getActive());
                 existing.setDisplayOrder(serviceDTO.getDisplayOrder());
                 com.banda.barbershop.entity.Service updated = serviceRepository.save(existing);
+                intentParser.refresh();
                 log.info("Updated service: {}", updated.getName());
                 return ServiceDTO.fromEntity(updated);
             })
@@ -279,6 +413,7 @@ public class AdminService {
     public boolean deleteService(Long id) {
         if (serviceRepository.existsById(id)) {
             serviceRepository.deleteById(id);
+            intentParser.refresh();
             log.info("Deleted service with ID: {}", id);
             return true;
         }
@@ -290,6 +425,7 @@ public class AdminService {
     /**
      * Get all barbers
      */
+    @Transactional(readOnly = true)
     public List<BarberDTO> getAllBarbers() {
         return barberRepository.findAll().stream()
             .sorted((a, b) -> Integer.compare(a.getDisplayOrder(), b.getDisplayOrder()))
@@ -300,6 +436,7 @@ public class AdminService {
     /**
      * Get barber by ID
      */
+    @Transactional(readOnly = true)
     public BarberDTO getBarberById(Long id) {
         return barberRepository.findById(id)
             .map(BarberDTO::fromEntity)
@@ -313,6 +450,7 @@ public class AdminService {
     public BarberDTO createBarber(BarberDTO barberDTO) {
         Barber barber = barberDTO.toEntity();
         Barber saved = barberRepository.save(barber);
+        intentParser.refresh();
         log.info("Created new barber: {}", saved.getName());
         return BarberDTO.fromEntity(saved);
     }
@@ -330,6 +468,7 @@ public class AdminService {
                 existing.setDisplayOrder(barberDTO.getDisplayOrder());
                 existing.setBio(barberDTO.getBio());
                 Barber updated = barberRepository.save(existing);
+                intentParser.refresh();
                 log.info("Updated barber: {}", updated.getName());
                 return BarberDTO.fromEntity(updated);
             })
@@ -345,6 +484,7 @@ public class AdminService {
             .map(barber -> {
                 barber.setActive(false);
                 barberRepository.save(barber);
+                intentParser.refresh();
                 log.info("Deactivated barber: {}", barber.getName());
                 return true;
             })
@@ -354,6 +494,7 @@ public class AdminService {
     /**
      * Get barber schedule for specific date
      */
+    @Transactional(readOnly = true)
     public BarberScheduleDTO getBarberSchedule(Long barberId, LocalDate date) {
         Barber barber = barberRepository.findById(barberId).orElse(null);
         if (barber == null) {
@@ -393,6 +534,7 @@ public class AdminService {
     /**
      * Get barber statistics (performance metrics)
      */
+    @Transactional(readOnly = true)
     public List<BarberStatsDTO> getBarberStats() {
         List<Barber> barbers = barberRepository.findAll();
         LocalDate monthAgo = LocalDate.now().minus(30, ChronoUnit.DAYS);
@@ -1,8 +1,14 @@
 package com.banda.barbershop.service;
 
 import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.dto.AvailableSlot;
+import com.banda.barbershop.dto.BookedInterval;
+import com.banda.barbershop.entity.Barber;
 import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.BarberRepository;
 import com.banda.barbershop.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -10,7 +16,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @org.springframework.stereotype.Service
 @RequiredArgsConstructor
@@ -19,6 +29,9 @@ public class AvailabilityService {
 
     private final BarberShopConfig shopConfig;
     private final BookingRepository bookingRepository;
+    private final BarberRepository barberRepository;
+    private final SlotInventoryService inventoryService;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Get available time slots for specific barber on specific date
@@ -29,59 +42,219 @@ public class AvailabilityService {
             return List.of();
         }
 
-        LocalTime fromTime;
-        if (date.equals(LocalDate.now())) {
-            // For today, check minimum advance booking
-            LocalTime now = LocalTime.now();
-            fromTime = now.plusHours(shopConfig.getMinimumAdvanceBookingHours());
-
-            // If earliest slot wraps past midnight or is after closing, no slots available
-            if (fromTime.isBefore(now) ||
-                fromTime.isAfter(shopConfig.getClosingTime()) ||
-                fromTime.equals(shopConfig.getClosingTime())) {
-                log.debug("No more slots available today for barber {}", barberId);
-                return List.of();
-            }
-        } else {
-            // For future dates, start from opening time
-            fromTime = shopConfig.getOpeningTime();
+        LocalTime fromTime = earliestStartOn(date);
+        if (fromTime == null) {
+            log.debug("No more slots available today for barber {}", barberId);
+            return List.of();
         }
 
-        return getAvailableSlotsForBarber(date, service, barberId, fromTime);
+        return slotTimer("barber").record(() -> getAvailableSlotsForBarber(date, service, barberId, fromTime));
     }
 
     /**
      * Core logic to calculate available slots for specific barber
+     * One query for the barber's bookings that day, then checked in memory
      */
     private List<LocalTime> getAvailableSlotsForBarber(LocalDate date, Service service,
                                                         Long barberId, LocalTime fromTime) {
+        List<Interval> busy = loadBusyIntervals(List.of(barberId), date, date)
+            .getOrDefault(barberId, Map.of())
+            .getOrDefault(date, List.of());
+
         List<LocalTime> availableSlots = new ArrayList<>();
+        for (LocalTime slot : candidateSlots(service, fromTime)) {
+            if (isFree(busy, slot, slot.plusMinutes(service.getDurationMinutes()))) {
+                availableSlots.add(slot);
+            }
+        }
+
+        log.debug("Found {} available slots for barber {} on {} starting from {}",
+                  availableSlots.size(), barberId, date, fromTime);
+        return availableSlots;
+    }
+
+    /**
+     * Find the next free slots for a service across the search horizon.
+     * With barberId null all active barbers are searched and each time is offered once,
+     * with the first free barber in display order. Uses one range query for all bookings
+     * in the horizon and merges them into busy intervals in memory.
+     */
+    public List<AvailableSlot> findNextAvailableSlots(Service service, Long barberId, int limit) {
+        return slotTimer("search").record(() -> searchNextAvailableSlots(service, barberId, limit));
+    }
+
+    private List<AvailableSlot> searchNextAvailableSlots(Service service, Long barberId, int limit) {
+        List<Barber> barbers = barberId != null
+            ? barberRepository.findById(barberId).filter(barber -> Boolean.TRUE.equals(barber.getActive()))
+                .map(List::of).orElse(List.of())
+            : barberRepository.findByActiveOrderByDisplayOrder(true);
+        if (barbers.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        LocalDate firstDay = LocalDate.now();
+        LocalDate lastDay = firstDay.plusDays(shopConfig.getSearchHorizonDays() - 1L);
+        List<Long> barberIds = barbers.stream().map(Barber::getId).toList();
+        Map<Long, Map<LocalDate, List<Interval>>> busy = loadBusyIntervals(barberIds, firstDay, lastDay);
+
+        List<AvailableSlot> found = new ArrayList<>();
+        for (LocalDate date = firstDay; !date.isAfter(lastDay) && found.size() < limit; date = date.plusDays(1)) {
+            if (!shopConfig.isOpenOn(date.getDayOfWeek())) {
+                continue;
+            }
+
+            LocalTime fromTime = earliestStartOn(date);
+            if (fromTime == null) {
+                continue;
+            }
+
+            for (LocalTime slot : candidateSlots(service, fromTime)) {
+                LocalTime slotEnd = slot.plusMinutes(service.getDurationMinutes());
+
+                for (Barber barber : barbers) {
+                    List<Interval> barberBusy = busy.getOrDefault(barber.getId(), Map.of())
+                        .getOrDefault(date, List.of());
+                    if (isFree(barberBusy, slot, slotEnd)) {
+                        found.add(AvailableSlot.builder()
+                            .date(date)
+                            .startTime(slot)
+                            .barberId(barber.getId())
+                            .barberName(barber.getName())
+                            .build());
+                        break;
+                    }
+                }
+
+                if (found.size() >= limit) {
+                    break;
+                }
+            }
+        }
+
+        log.debug("Found {} of {} requested slots for {} within {} days",
+                  found.size(), limit, service.getName(), shopConfig.getSearchHorizonDays());
+        return found;
+    }
+
+    /**
+     * Earliest bookable start time on a date, or null if nothing is left that day
+     */
+    private LocalTime earliestStartOn(LocalDate date) {
+        if (!date.equals(LocalDate.now())) {
+            return shopConfig.getOpeningTime();
+        }
+
+        // For today, check minimum advance booking
+        LocalTime now = LocalTime.now();
+        LocalTime fromTime = now.plusHours(shopConfig.getMinimumAdvanceBookingHours());
+
+        // If earliest slot wraps past midnight or is after closing, no slots available
+        if (fromTime.isBefore(now) || !fromTime.isBefore(shopConfig.getClosingTime())) {
+            return null;
+        }
+        return fromTime;
+    }
+
+    /**
+     * Slot start times on the shop grid where the service fits before closing
+     */
+    private List<LocalTime> candidateSlots(Service service, LocalTime fromTime) {
+        List<LocalTime> slots = new ArrayList<>();
 
         LocalTime currentSlot = shopConfig.getOpeningTime();
         LocalTime closingTime = shopConfig.getClosingTime();
         Integer slotInterval = shopConfig.getSlotIntervalMinutes();
         Integer serviceDuration = service.getDurationMinutes();
 
-        while (currentSlot.plusMinutes(serviceDuration).isBefore(closingTime) ||
-               currentSlot.plusMinutes(serviceDuration).equals(closingTime)) {
+        while (!currentSlot.plusMinutes(serviceDuration).isAfter(closingTime)) {
+            if (!currentSlot.isBefore(fromTime)) {
+                slots.add(currentSlot);
+            }
 
-            // Only consider slots after the minimum time
-            if (currentSlot.isBefore(fromTime)) {
-                currentSlot = currentSlot.plusMinutes(slotInterval);
-                continue;
+            LocalTime next = currentSlot.plusMinutes(slotInterval);
+            if (next.isBefore(currentSlot)) {
+                break; // wrapped past midnight
             }
+            currentSlot = next;
+        }
+        return slots;
+    }
+
+    /**
+     * Confirmed bookings per barber per date, merged into sorted non-overlapping intervals
+     */
+    private Map<Long, Map<LocalDate, List<Interval>>> loadBusyIntervals(Collection<Long> barberIds,
+                                                                        LocalDate fromDate, LocalDate toDate) {
+        if (inventoryService.isEnabled()) {
+            return inventoryBusyIntervals(barberIds, fromDate, toDate);
+        }
 
-            // Check if this barber is available at this slot
-            if (isBarberAvailable(date, currentSlot, serviceDuration, barberId)) {
-                availableSlots.add(currentSlot);
+        Map<Long, Map<LocalDate, List<Interval>>> busy = new HashMap<>();
+
+        // Rows arrive ordered by barber, date, start time
+        for (BookedInterval booked : bookingRepository.findBookedIntervals(barberIds, fromDate, toDate)) {
+            List<Interval> intervals = busy
+                .computeIfAbsent(booked.getBarberId(), id -> new HashMap<>())
+                .computeIfAbsent(booked.getDate(), d -> new ArrayList<>());
+
+            Interval last = intervals.isEmpty() ? null : intervals.get(intervals.size() - 1);
+            if (last != null && !booked.getStartTime().isAfter(last.end())) {
+                if (booked.getEndTime().isAfter(last.end())) {
+                    intervals.set(intervals.size() - 1, new Interval(last.start(), booked.getEndTime()));
+                }
+            } else {
+                intervals.add(new Interval(booked.getStartTime(), booked.getEndTime()));
             }
+        }
+        return busy;
+    }
 
-            currentSlot = currentSlot.plusMinutes(slotInterval);
+    /**
+     * Inventory mode: every grid slot without capacity left (or not generated) is busy
+     */
+    private Map<Long, Map<LocalDate, List<Interval>>> inventoryBusyIntervals(Collection<Long> barberIds,
+                                                                             LocalDate fromDate, LocalDate toDate) {
+        Map<Long, Map<LocalDate, Set<LocalTime>>> free = inventoryService.findFreeSlots(barberIds, fromDate, toDate);
+        List<LocalTime> daySlots = inventoryService.gridSlots(shopConfig.getOpeningTime(), shopConfig.getClosingTime());
+        int slotInterval = shopConfig.getSlotIntervalMinutes();
+
+        Map<Long, Map<LocalDate, List<Interval>>> busy = new HashMap<>();
+        for (Long barberId : barberIds) {
+            for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+                Set<LocalTime> freeSlots = free.getOrDefault(barberId, Map.of()).getOrDefault(date, Set.of());
+                List<Interval> intervals = new ArrayList<>();
+
+                for (LocalTime slot : daySlots) {
+                    if (freeSlots.contains(slot)) {
+                        continue;
+                    }
+                    LocalTime slotEnd = slot.plusMinutes(slotInterval);
+                    Interval last = intervals.isEmpty() ? null : intervals.get(intervals.size() - 1);
+                    if (last != null && last.end().equals(slot)) {
+                        intervals.set(intervals.size() - 1, new Interval(last.start(), slotEnd));
+                    } else {
+                        intervals.add(new Interval(slot, slotEnd));
+                    }
+                }
+                busy.computeIfAbsent(barberId, id -> new HashMap<>()).put(date, intervals);
+            }
         }
+        return busy;
+    }
 
-        log.debug("Found {} available slots for barber {} on {} starting from {}",
-                  availableSlots.size(), barberId, date, fromTime);
-        return availableSlots;
+    private boolean isFree(List<Interval> busy, LocalTime start, LocalTime end) {
+        for (Interval interval : busy) {
+            if (!interval.start().isBefore(end)) {
+                return true;
+            }
+            if (interval.end().isAfter(start)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Interval(LocalTime start, LocalTime end) {
     }
 
     /**
@@ -91,11 +264,15 @@ public class AvailabilityService {
                                        Integer serviceDuration, Long barberId) {
         LocalTime serviceEndTime = slotTime.plusMinutes(serviceDuration);
 
-        // Check if barber has any overlapping bookings
-        Long overlappingBookings = bookingRepository.countBarberBookingsAtSlot(
-            barberId, date, slotTime, serviceEndTime);
-
-        boolean available = overlappingBookings == 0;
+        boolean available;
+        if (inventoryService.isEnabled()) {
+            available = inventoryService.isAvailable(barberId, date, slotTime, serviceEndTime);
+        } else {
+            // Check if barber has any overlapping bookings
+            Long overlappingBookings = bookingRepository.countBarberBookingsAtSlot(
+                barberId, date, slotTime, serviceEndTime);
+            available = overlappingBookings == 0;
+        }
 
         if (!available) {
             log.debug("Barber {} is busy at {} on {}", barberId, slotTime, date);
@@ -109,6 +286,37 @@ public class AvailabilityService {
      */
     public boolean validateBarberSlotAvailability(LocalDate date, LocalTime time,
                                                    Service service, Long barberId) {
+        if (!isBookableTime(date, time, service)) {
+            return false;
+        }
+
+        // Check barber availability
+        return isBarberAvailable(date, time, service.getDurationMinutes(), barberId);
+    }
+
+    /**
+     * Active barbers free for the whole slot, in display order (empty if the time is not bookable)
+     */
+    public List<Barber> getFreeBarbersAt(LocalDate date, LocalTime time, Service service) {
+        if (!isBookableTime(date, time, service)) {
+            return List.of();
+        }
+
+        List<Barber> barbers = barberRepository.findByActiveOrderByDisplayOrder(true);
+        Map<Long, Map<LocalDate, List<Interval>>> busy = loadBusyIntervals(
+            barbers.stream().map(Barber::getId).toList(), date, date);
+        LocalTime endTime = time.plusMinutes(service.getDurationMinutes());
+
+        return barbers.stream()
+            .filter(barber -> isFree(busy.getOrDefault(barber.getId(), Map.of())
+                .getOrDefault(date, List.of()), time, endTime))
+            .toList();
+    }
+
+    /**
+     * Shop rules for a booking time: open day, business hours, not in the past, minimum advance
+     */
+    private boolean isBookableTime(LocalDate date, LocalTime time, Service service) {
         // Check if shop is open
         if (!shopConfig.isOpenOn(date.getDayOfWeek())) {
             log.warn("Attempted to book on closed day: {}", date.getDayOfWeek());
@@ -140,84 +348,45 @@ public class AvailabilityService {
                 return false;
             }
         }
-
-        // Check barber availability
-        return isBarberAvailable(date, time, service.getDurationMinutes(), barberId);
+        return true;
     }
 
     /**
-     * Get available time slots for today
-     * Only shows slots that are at least minimumAdvanceBookingHours from now
+     * Get available time slots for any barber on a date: the union of all active
+     * barbers' free slots, computed from one query of that day's bookings
      */
-    public List<LocalTime> getAvailableSlotsForToday(Service service) {
-        LocalDate today = LocalDate.now();
-
-        if (!shopConfig.isOpenOn(today.getDayOfWeek())) {
-            log.debug("Shop is closed on {}", today.getDayOfWeek());
-            return List.of();
-        }
-
-        LocalTime now = LocalTime.now();
-        LocalTime earliestSlot = now.plusHours(shopConfig.getMinimumAdvanceBookingHours());
-
-        // If earliest available slot wraps to next day (past midnight), show no slots for today
-        if (earliestSlot.isBefore(now)) {
-            log.debug("Earliest slot ({}) has wrapped to next day. No more slots today.", earliestSlot);
+    public List<LocalTime> getAvailableSlotsForAnyBarber(Service service, LocalDate date) {
+        if (!shopConfig.isOpenOn(date.getDayOfWeek())) {
+            log.debug("Shop is closed on {}", date.getDayOfWeek());
             return List.of();
         }
 
-        // If earliest slot is after closing time, no slots available today
-        if (earliestSlot.isAfter(shopConfig.getClosingTime()) ||
-            earliestSlot.equals(shopConfig.getClosingTime())) {
-            log.debug("Earliest slot ({}) is after closing time ({}). No more slots today.",
-                     earliestSlot, shopConfig.getClosingTime());
+        LocalTime fromTime = earliestStartOn(date);
+        if (fromTime == null) {
+            log.debug("No more slots available today");
             return List.of();
         }
 
-        return getAvailableSlots(today, service, earliestSlot);
+        return slotTimer("shop").record(() -> getAvailableSlotsForAnyBarber(date, service, fromTime));
     }
 
-    /**
-     * Get available time slots for tomorrow
-     * Shows all slots from opening time
-     */
-    public List<LocalTime> getAvailableSlotsForTomorrow(Service service) {
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-
-        if (!shopConfig.isOpenOn(tomorrow.getDayOfWeek())) {
-            log.debug("Shop is closed on {}", tomorrow.getDayOfWeek());
+    private List<LocalTime> getAvailableSlotsForAnyBarber(LocalDate date, Service service, LocalTime fromTime) {
+        List<Long> barberIds = barberRepository.findByActiveOrderByDisplayOrder(true).stream()
+            .map(Barber::getId)
+            .toList();
+        if (barberIds.isEmpty()) {
             return List.of();
         }
+        Map<Long, Map<LocalDate, List<Interval>>> busy = loadBusyIntervals(barberIds, date, date);
 
-        return getAvailableSlots(tomorrow, service, shopConfig.getOpeningTime());
-    }
-
-    /**
-     * Core logic to calculate available slots
-     */
-    private List<LocalTime> getAvailableSlots(LocalDate date, Service service, LocalTime fromTime) {
         List<LocalTime> availableSlots = new ArrayList<>();
-
-        LocalTime currentSlot = shopConfig.getOpeningTime();
-        LocalTime closingTime = shopConfig.getClosingTime();
-        Integer slotInterval = shopConfig.getSlotIntervalMinutes();
-        Integer serviceDuration = service.getDurationMinutes();
-
-        while (currentSlot.plusMinutes(serviceDuration).isBefore(closingTime) ||
-               currentSlot.plusMinutes(serviceDuration).equals(closingTime)) {
-
-            // Only consider slots after the minimum time
-            if (currentSlot.isBefore(fromTime)) {
-                currentSlot = currentSlot.plusMinutes(slotInterval);
-                continue;
-            }
-
-            // Check if this slot has capacity
-            if (isSlotAvailable(date, currentSlot, serviceDuration)) {
-                availableSlots.add(currentSlot);
+        for (LocalTime slot : candidateSlots(service, fromTime)) {
+            LocalTime slotEnd = slot.plusMinutes(service.getDurationMinutes());
+            boolean anyFree = barberIds.stream().anyMatch(barberId ->
+                isFree(busy.getOrDefault(barberId, Map.of()).getOrDefault(date, List.of()), slot, slotEnd));
+            if (anyFree) {
+                availableSlots.add(slot);
             }
-
-            currentSlot = currentSlot.plusMinutes(slotInterval);
         }
 
         log.debug("Found {} available slots for {} on {} starting from {}",
@@ -226,61 +395,32 @@ public class AvailabilityService {
     }
 
     /**
-     * Check if a specific time slot has capacity
-     * A slot is available if current bookings < number of barbers
+     * Get available time slots for today (any barber)
+     * Only shows slots that are at least minimumAdvanceBookingHours from now
      */
-    private boolean isSlotAvailable(LocalDate date, LocalTime slotTime, Integer serviceDuration) {
-        LocalTime serviceEndTime = slotTime.plusMinutes(serviceDuration);
-
-        // Count bookings that overlap with this time window
-        Long overlappingBookings = bookingRepository.countBookingsAtSlot(date, slotTime, serviceEndTime);
-
-        boolean hasCapacity = overlappingBookings < shopConfig.getNumberOfBarbers();
-
-        if (!hasCapacity) {
-            log.debug("Slot {} on {} is full ({}/{} barbers booked)",
-                      slotTime, date, overlappingBookings, shopConfig.getNumberOfBarbers());
-        }
+    public List<LocalTime> getAvailableSlotsForToday(Service service) {
+        return getAvailableSlotsForAnyBarber(service, LocalDate.now());
+    }
 
-        return hasCapacity;
+    /**
+     * Get available time slots for tomorrow (any barber)
+     * Shows all slots from opening time
+     */
+    public List<LocalTime> getAvailableSlotsForTomorrow(Service service) {
+        return getAvailableSlotsForAnyBarber(service, LocalDate.now().plusDays(1));
     }
 
     /**
-     * Check if a specific slot is available for booking
+     * Check if a specific slot is available for booking with any barber
      */
     public boolean validateSlotAvailability(LocalDate date, LocalTime time, Service service) {
-        // Check if shop is open that day
-        if (!shopConfig.isOpenOn(date.getDayOfWeek())) {
-            log.warn("Attempted to book on closed day: {}", date.getDayOfWeek());
-            return false;
-        }
-
-        // Check if time is within business hours
-        LocalTime serviceEndTime = time.plusMinutes(service.getDurationMinutes());
-        if (time.isBefore(shopConfig.getOpeningTime()) ||
-            serviceEndTime.isAfter(shopConfig.getClosingTime())) {
-            log.warn("Booking time {} is outside business hours", time);
-            return false;
-        }
-
-        // Check if slot is in the past
-        LocalDateTime bookingDateTime = LocalDateTime.of(date, time);
-        if (bookingDateTime.isBefore(LocalDateTime.now())) {
-            log.warn("Cannot book in the past: {}", bookingDateTime);
-            return false;
-        }
-
-        // For today, enforce minimum advance booking
-        if (date.equals(LocalDate.now())) {
-            LocalTime minimumTime = LocalTime.now().plusHours(shopConfig.getMinimumAdvanceBookingHours());
-            if (time.isBefore(minimumTime)) {
-                log.warn("Booking time {} is less than {} hours from now",
-                         time, shopConfig.getMinimumAdvanceBookingHours());
-                return false;
-            }
-        }
+        return !getFreeBarbersAt(date, time, service).isEmpty();
+    }
 
-        // Check capacity
-        return isSlotAvailable(date, time, service.getDurationMinutes());
+    /**
+     * Cost of computing one day's slot list (scope: barber, shop or multi-day search)
+     */
+    private Timer slotTimer(String scope) {
+        return meterRegistry.timer("barbershop.slots.compute", "scope", scope);
     }
 }
@@ -0,0 +1,72 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.repository.ArchivedBookingRepository;
+import com.banda.barbershop.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves finished bookings from the hot bookings table to bookings_archive,
+ * so conversational queries and their indexes only cover recent and upcoming bookings
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingArchiveService {
+
+    private static final List<BookingStatus> ARCHIVABLE =
+        List.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED, BookingStatus.NO_SHOW);
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final BarberShopConfig shopConfig;
+
+    public boolean isEnabled() {
+        return shopConfig.getArchive().isEnabled();
+    }
+
+    public int getBatchSize() {
+        return shopConfig.getArchive().getBatchSize();
+    }
+
+    /**
+     * Bookings dated before this are archived: the first day of the month
+     * containing today minus the configured age, so whole months move together
+     */
+    public LocalDate cutoff() {
+        return LocalDate.now().minusDays(shopConfig.getArchive().getAfterDays()).withDayOfMonth(1);
+    }
+
+    /**
+     * Copy and delete one batch in a single transaction
+     *
+     * @return bookings moved; fewer than the batch size means nothing is left
+     */
+    @Transactional
+    public int archiveBatch(LocalDate cutoff) {
+        List<Long> ids = bookingRepository.findArchivableIds(
+            cutoff, ARCHIVABLE, Limit.of(shopConfig.getArchive().getBatchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int copied = archivedBookingRepository.copyFromBookings(ids, LocalDateTime.now());
+        int deleted = bookingRepository.deleteByIds(ids);
+        if (copied != deleted) {
+            throw new IllegalStateException(
+                "Archive batch mismatch: copied " + copied + " but deleted " + deleted);
+        }
+
+        log.debug("Archived {} bookings dated before {}", deleted, cutoff);
+        return deleted;
+    }
+}
@@ -0,0 +1,61 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Texts sent to the customer when a booking is made or cancelled (queued through the outbox)
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingNotifications {
+
+    private static final MessageTemplate BOOKING_CONFIRMED = MessageTemplate.compile("""
+        ✅ *BOOKING CONFIRMED!*
+
+        Booking Code: *#{0}*
+
+        🪒 {1}
+        👨‍🦲 With {2}
+        📅 {3} ({4}) at {5}
+        📍 {6}
+
+        See you soon! 👍
+
+        To cancel: Reply *4* from main menu
+
+        0️⃣ Main Menu
+        """);
+
+    private static final MessageTemplate BOOKING_CANCELLED = MessageTemplate.compile("""
+        ✅ *Booking Cancelled*
+
+        Booking *#{0}* has been cancelled successfully.
+
+        Hope to see you again soon! 👍
+
+        0️⃣ Main Menu
+        """);
+
+    private final BarberShopConfig shopConfig;
+
+    public String confirmation(Booking booking) {
+        return BOOKING_CONFIRMED.render(
+            booking.getBookingCode(),
+            booking.getService().getName(),
+            booking.getBarber().getName(),
+            MessageFormats.dayLabel(booking.getBookingDate()),
+            MessageFormats.DAY_DATE.format(booking.getBookingDate()),
+            MessageFormats.TIME.format(booking.getStartTime()),
+            shopConfig.getAddress()
+        );
+    }
+
+    public String cancellation(Booking booking) {
+        return BOOKING_CANCELLED.render(booking.getBookingCode());
+    }
+}
@@ -1,9 +1,15 @@
 package com.banda.barbershop.service;
 
+import com.banda.barbershop.assignment.BarberAssignmentPolicy;
+import com.banda.barbershop.config.BarberShopConfig;
 import com.banda.barbershop.entity.Barber;
 import com.banda.barbershop.entity.Booking;
 import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.OutboundMessage.MessageType;
 import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.event.BookingEvent.BookingCancelled;
+import com.banda.barbershop.event.BookingEvent.BookingCreated;
+import com.banda.barbershop.event.BookingEventBus;
 import com.banda.barbershop.repository.BarberRepository;
 import com.banda.barbershop.repository.BookingRepository;
 import lombok.RequiredArgsConstructor;
@@ -25,28 +31,47 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private final BarberRepository barberRepository;
     private final AvailabilityService availabilityService;
-    private final CustomerService customerService;
+    private final SlotInventoryService inventoryService;
+    private final SlotMenuCache slotMenuCache;
+    private final OutboxService outboxService;
+    private final BookingNotifications notifications;
+    private final WaitlistService waitlistService;
+    private final BookingEventBus eventBus;
+    private final BarberShopConfig shopConfig;
+    private final List<BarberAssignmentPolicy> assignmentPolicies;
     private static final Random RANDOM = new Random();
 
     /**
      * Create a new booking with specific barber
+     * A null barberId books "any available barber", assigned by the configured policy.
+     * The confirmation message is queued in the same transaction; customer and barber
+     * stats follow from the BookingCreated event after commit.
      */
     @Transactional
     public Booking createBooking(String customerPhone, Service service, Long barberId,
                                   LocalDate bookingDate, LocalTime startTime) {
 
-        // Fetch barber entity
-        Barber barber = barberRepository.findById(barberId)
-            .orElseThrow(() -> new IllegalStateException("Barber not found"));
-
-        // Validate barber-specific slot availability
-        if (!availabilityService.validateBarberSlotAvailability(bookingDate, startTime, service, barberId)) {
-            throw new IllegalStateException("Selected time slot is no longer available for this barber");
+        Barber barber;
+        if (barberId == null) {
+            barber = assignBarber(customerPhone, service, bookingDate, startTime);
+            barberId = barber.getId();
+        } else {
+            // Fetch barber entity
+            barber = barberRepository.findById(barberId)
+                .orElseThrow(() -> new IllegalStateException("Barber not found"));
+
+            // Validate barber-specific slot availability
+            if (!availabilityService.validateBarberSlotAvailability(bookingDate, startTime, service, barberId)) {
+                throw new IllegalStateException("Selected time slot is no longer available for this barber");
+            }
         }
 
         // Calculate end time
         LocalTime endTime = startTime.plusMinutes(service.getDurationMinutes());
 
+        // Take the slots from the inventory (no-op unless inventory mode is on)
+        inventoryService.reserve(barberId, bookingDate, startTime, endTime);
+
         // Generate unique booking code
         String bookingCode = generateUniqueBookingCode();
 
@@ -65,26 +90,45 @@ public class BookingService {
         Booking savedBooking = bookingRepository.save(booking);
         log.info("Created booking {} for customer {} with barber {} on {} at {}",
                  bookingCode, customerPhone, barber.getName(), bookingDate, startTime);
+        slotMenuCache.invalidate(barber.getId(), bookingDate);
 
-        // Update barber statistics
-        updateBarberStats(barberId);
+        outboxService.enqueue(customerPhone, notifications.confirmation(savedBooking), MessageType.BOOKING_CONFIRMATION);
 
-        // Update customer profile and award loyalty points
-        customerService.recordBooking(customerPhone, service, barberId);
+        eventBus.publish(new BookingCreated(savedBooking.getId(), customerPhone, service.getId(), barberId,
+            bookingDate, startTime));
 
         return savedBooking;
     }
 
     /**
-     * Update barber statistics after successful booking
+     * Book the slot held for a waitlist entry. Empty if the hold ran out; throws
+     * IllegalStateException like createBooking if the slot was booked meanwhile.
      */
-    private void updateBarberStats(Long barberId) {
-        barberRepository.findById(barberId).ifPresent(barber -> {
-            barber.setTotalBookings(barber.getTotalBookings() + 1);
-            barberRepository.save(barber);
-            log.debug("Updated stats for barber {}: {} total bookings",
-                     barber.getName(), barber.getTotalBookings());
-        });
+    @Transactional
+    public Optional<Booking> bookWaitlistOffer(Long entryId, String customerPhone) {
+        return waitlistService.claimOffer(entryId, customerPhone)
+            .map(entry -> createBooking(customerPhone, entry.getService(), entry.getOfferBarberId(),
+                entry.getOfferDate(), entry.getOfferTime()));
+    }
+
+    /**
+     * Pick a barber free for the whole slot using the configured assignment policy
+     */
+    private Barber assignBarber(String customerPhone, Service service, LocalDate bookingDate, LocalTime startTime) {
+        List<Barber> freeBarbers = availabilityService.getFreeBarbersAt(bookingDate, startTime, service);
+        if (freeBarbers.isEmpty()) {
+            throw new IllegalStateException("Selected time slot is no longer available");
+        }
+
+        BarberAssignmentPolicy policy = assignmentPolicies.stream()
+            .filter(candidate -> candidate.getStrategy() == shopConfig.getBarberAssignment())
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                "No assignment policy for " + shopConfig.getBarberAssignment()));
+
+        Barber barber = policy.assign(freeBarbers, customerPhone, bookingDate);
+        log.debug("Assigned barber {} by {} out of {} free", barber.getName(), policy.getStrategy(), freeBarbers.size());
+        return barber;
     }
 
     /**
@@ -100,7 +144,7 @@ public class BookingService {
     }
 
     /**
-     * Cancel a booking by booking code
+     * Cancel a booking by booking code, queueing the cancellation message in the same transaction
      */
     @Transactional
     public boolean cancelBooking(String bookingCode, String customerPhone) {
@@ -131,8 +175,19 @@ public class BookingService {
         booking.setCancelledAt(LocalDateTime.now());
         bookingRepository.save(booking);
 
-        // Update customer cancellation stats
-        customerService.recordCancelledBooking(customerPhone);
+        if (booking.getBarber() != null) {
+            inventoryService.release(booking.getBarber().getId(), booking.getBookingDate(),
+                booking.getStartTime(), booking.getEndTime());
+            slotMenuCache.invalidate(booking.getBarber().getId(), booking.getBookingDate());
+        }
+
+        outboxService.enqueue(customerPhone, notifications.cancellation(booking), MessageType.BOOKING_CANCELLATION);
+
+        // Offer the freed chair to the next customer waiting for it
+        waitlistService.offerFreedSlot(booking);
+
+        eventBus.publish(new BookingCancelled(booking.getId(), customerPhone,
+            booking.getBarber() != null ? booking.getBarber().getId() : null));
 
         log.info("Cancelled booking {} for customer {}", bookingCode, customerPhone);
         return true;
@@ -0,0 +1,45 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.WebhookConfig;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes inbound processing per customer.
+ * Each phone number hashes onto one of a fixed set of fair lock stripes, so two messages
+ * from the same customer run one after the other in arrival order while different
+ * customers (almost always on different stripes) run in parallel.
+ */
+@Service
+public class ConversationLockService {
+
+    private final ReentrantLock[] stripes;
+
+    public ConversationLockService(WebhookConfig webhookConfig) {
+        int stripeCount = Math.max(1, webhookConfig.getOrdering().getLockStripes());
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+    }
+
+    /**
+     * Run an action while holding the lock stripe for a phone number
+     */
+    public <T> T withLock(String phoneNumber, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeFor(phoneNumber)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int stripeFor(String phoneNumber) {
+        int hash = phoneNumber.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+}
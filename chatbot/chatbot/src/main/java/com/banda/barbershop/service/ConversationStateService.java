@@ -1,22 +1,108 @@
 package com.banda.barbershop.service;
 
+import com.banda.barbershop.config.ConversationConfig;
 import com.banda.barbershop.entity.ConversationState;
 import com.banda.barbershop.enums.ConversationStep;
 import com.banda.barbershop.repository.ConversationStateRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class ConversationStateService {
 
+    private static final String SHOW_INITIAL = "show_initial";
+
     private final ConversationStateRepository repository;
+    private final ConversationConfig conversationConfig;
+    private final TransactionTemplate transactionTemplate;
 
+    /**
+     * Load the conversation, restarting it at the main menu if it went idle mid-flow
+     */
     @Transactional
     public ConversationState getOrCreate(String phoneNumber) {
-        return repository.findByPhoneNumber(phoneNumber)
+        ConversationState state = repository.findByPhoneNumber(phoneNumber)
             .orElseGet(() -> createNewConversation(phoneNumber));
+
+        if (isStale(state)) {
+            log.debug("Conversation for {} idle at {} since {}, restarting at main menu",
+                      phoneNumber, state.getCurrentStep(), state.getLastActivity());
+            state.setCurrentStep(ConversationStep.MAIN_MENU);
+            state.setContextData(SHOW_INITIAL);
+        }
+        return state;
+    }
+
+    /**
+     * Restart every conversation left mid-flow past the idle window, one batch per transaction
+     */
+    public int resetIdleConversations() {
+        ConversationConfig.Expiry expiry = conversationConfig.getExpiry();
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(expiry.getIdleResetMinutes());
+
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = repository.findIdleIdsNotAt(cutoff, ConversationStep.MAIN_MENU, Limit.of(expiry.getBatchSize()));
+            if (!ids.isEmpty()) {
+                total += resetBatch(ids, cutoff);
+            }
+        } while (ids.size() == expiry.getBatchSize());
+
+        log.debug("Reset {} conversations idle since before {}", total, cutoff);
+        return total;
+    }
+
+    /**
+     * Delete conversations idle past the purge window, one batch per transaction so
+     * locks stay short. A returning customer simply starts a new conversation.
+     */
+    public int purgeIdleConversations() {
+        ConversationConfig.Expiry expiry = conversationConfig.getExpiry();
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(expiry.getPurgeAfterDays());
+
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = repository.findIdleIds(cutoff, Limit.of(expiry.getBatchSize()));
+            if (!ids.isEmpty()) {
+                total += deleteBatch(ids, cutoff);
+            }
+        } while (ids.size() == expiry.getBatchSize());
+
+        log.debug("Purged {} conversations idle since before {}", total, cutoff);
+        return total;
+    }
+
+    private int resetBatch(List<Long> ids, LocalDateTime cutoff) {
+        Integer reset = transactionTemplate.execute(tx ->
+            repository.resetIdle(ids, cutoff, ConversationStep.MAIN_MENU, SHOW_INITIAL));
+        return reset != null ? reset : 0;
+    }
+
+    private int deleteBatch(List<Long> ids, LocalDateTime cutoff) {
+        Integer deleted = transactionTemplate.execute(tx -> repository.deleteIdle(ids, cutoff));
+        return deleted != null ? deleted : 0;
+    }
+
+    /**
+     * Persist the outcome of a dispatch chain on the state loaded at its start
+     */
+    @Transactional
+    public void saveTransition(ConversationState state, ConversationStep step, String contextData) {
+        if (repository.updateTransition(state.getId(), step, contextData, LocalDateTime.now()) == 0) {
+            // Purged while the message was processed
+            updateStepAndContext(state.getPhoneNumber(), step, contextData);
+        }
     }
 
     @Transactional
@@ -56,11 +142,19 @@ public class ConversationStateService {
         repository.save(state);
     }
 
+    private boolean isStale(ConversationState state) {
+        return conversationConfig.getExpiry().isEnabled()
+            && state.getCurrentStep() != ConversationStep.MAIN_MENU
+            && state.getLastActivity() != null
+            && state.getLastActivity().isBefore(
+                LocalDateTime.now().minusMinutes(conversationConfig.getExpiry().getIdleResetMinutes()));
+    }
+
     private ConversationState createNewConversation(String phoneNumber) {
         ConversationState newState = ConversationState.builder()
             .phoneNumber(phoneNumber)
             .currentStep(ConversationStep.MAIN_MENU)
-            .contextData("show_initial")
+            .contextData(SHOW_INITIAL)
             .build();
         return repository.save(newState);
     }
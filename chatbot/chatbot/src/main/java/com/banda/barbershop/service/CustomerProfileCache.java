@@ -0,0 +1,113 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.dto.CustomerProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-phone cache of customer profile snapshots, including phones with no
+ * customer row yet. Entries are evicted after a profile change commits and are
+ * rebuilt once a day, since birthday greetings depend on the date.
+ */
+@Service
+public class CustomerProfileCache {
+
+    private final BarberShopConfig shopConfig;
+
+    private final Map<String, CustomerProfile> profiles;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public CustomerProfileCache(BarberShopConfig shopConfig, MeterRegistry meterRegistry) {
+        this.shopConfig = shopConfig;
+
+        int maxEntries = shopConfig.getProfileCache().getMaxEntries();
+        this.profiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CustomerProfile> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.hits = meterRegistry.counter("barbershop.customer_profile.cache", "result", "hit");
+        this.misses = meterRegistry.counter("barbershop.customer_profile.cache", "result", "miss");
+        Gauge.builder("barbershop.customer_profile.cache.size", profiles, Map::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cached profile for the phone, built by the loader on a miss or on a new day
+     */
+    public CustomerProfile get(String phoneNumber, Supplier<CustomerProfile> loader) {
+        if (!shopConfig.getProfileCache().isEnabled()) {
+            return loader.get();
+        }
+
+        lock.lock();
+        try {
+            CustomerProfile profile = profiles.get(phoneNumber);
+            if (profile != null && LocalDate.now().equals(profile.getBuiltOn())) {
+                hits.increment();
+                return profile;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        long evictionsBefore = evictions.get();
+        CustomerProfile profile = loader.get();
+
+        lock.lock();
+        try {
+            // Skip caching if an eviction raced the load, it may have read pre-commit data
+            if (evictions.get() == evictionsBefore) {
+                profiles.put(phoneNumber, profile);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return profile;
+    }
+
+    /**
+     * Drop the phone's snapshot once the current transaction commits (immediately when there is none)
+     */
+    public void evict(String phoneNumber) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(phoneNumber);
+                }
+            });
+        } else {
+            remove(phoneNumber);
+        }
+    }
+
+    private void remove(String phoneNumber) {
+        lock.lock();
+        try {
+            evictions.incrementAndGet();
+            profiles.remove(phoneNumber);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package com.banda.barbershop.service;
 
 import com.banda.barbershop.config.LoyaltyConfig;
+import com.banda.barbershop.dto.CustomerProfile;
 import com.banda.barbershop.entity.Booking;
 import com.banda.barbershop.entity.Customer;
 import com.banda.barbershop.entity.Service;
 import com.banda.barbershop.repository.BarberRepository;
 import com.banda.barbershop.repository.BookingRepository;
 import com.banda.barbershop.repository.CustomerRepository;
+import com.banda.barbershop.template.MessageTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,10 +26,47 @@ import java.util.Optional;
 @Slf4j
 public class CustomerService {
 
+    private static final MessageTemplate BIRTHDAY_GREETING = MessageTemplate.compile("""
+        🎉 *HAPPY BIRTHDAY* 🎂
+
+        We're celebrating YOU today!
+
+        🎁 Birthday Gift:
+        • {0} Loyalty Points
+        • {1}% OFF your next booking
+        • Use code: *{2}*
+
+        Book today to redeem your birthday reward! 🎈
+        """);
+
+    private static final MessageTemplate MILESTONE_GREETING = MessageTemplate.compile("""
+        {0}
+
+        💎 You have {1} loyalty points
+        📊 Total visits: {2}
+
+        Thank you for being an amazing customer!
+        """);
+
+    private static final MessageTemplate PREFERRED_SERVICE_SUGGESTION = MessageTemplate.compile("""
+        Welcome back! 👋
+
+        🪒 Quick book your usual? *{0}* - reply *USUAL*
+
+        Or browse all services below:
+        """);
+
+    private static final MessageTemplate WELCOME_BACK = MessageTemplate.compile("""
+        Welcome back! 👋
+
+        Visit #{0} • {1} Loyalty Points 💎
+        """);
+
     private final CustomerRepository customerRepository;
     private final BookingRepository bookingRepository;
     private final BarberRepository barberRepository;
     private final LoyaltyConfig loyaltyConfig;
+    private final CustomerProfileCache profileCache;
 
     /**
      * Get or create customer profile
@@ -37,40 +78,30 @@ public class CustomerService {
     }
 
     /**
-     * Update customer profile after booking is created
+     * Update customer profile after booking is created. Counters and points are updated in
+     * place so a concurrent birthday award or bulk close-out on the same row is not overwritten.
      */
     @Transactional
     public void recordBooking(String phoneNumber, Service service, Long barberId) {
-        Customer customer = getOrCreateCustomer(phoneNumber);
+        getOrCreateCustomer(phoneNumber);
 
-        customer.setTotalBookings(customer.getTotalBookings() + 1);
+        int points = loyaltyConfig.isEnabled() ? loyaltyConfig.getPointsPerBooking() : 0;
+        int firstBookingBonus = loyaltyConfig.isEnabled() ? loyaltyConfig.getBonusPointsForFirstBooking() : 0;
+        customerRepository.addBooking(phoneNumber, points, firstBookingBonus, LocalDate.now(), LocalDateTime.now());
+
+        List<Booking> activeBookings = bookingRepository.findByCustomerPhoneAndStatusIn(
+            phoneNumber,
+            List.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED)
+        );
 
         // Track preferred service (most booked service)
-        updatePreferredService(customer, service);
+        updatePreferredService(phoneNumber, activeBookings, service);
 
         // Track preferred barber (most booked barber)
-        updatePreferredBarber(customer, barberId);
-
-        // Award points for booking (if first booking, give bonus)
-        if (customer.getTotalBookings() == 1 && loyaltyConfig.isEnabled()) {
-            int points = loyaltyConfig.getPointsPerBooking() + loyaltyConfig.getBonusPointsForFirstBooking();
-            customer.setLoyaltyPoints(customer.getLoyaltyPoints() + points);
-            customer.setLifetimeLoyaltyPoints(customer.getLifetimeLoyaltyPoints() + points);
-            log.info("First booking bonus! Customer {} earned {} points", phoneNumber, points);
-        } else if (loyaltyConfig.isEnabled()) {
-            int points = loyaltyConfig.getPointsPerBooking();
-            customer.setLoyaltyPoints(customer.getLoyaltyPoints() + points);
-            customer.setLifetimeLoyaltyPoints(customer.getLifetimeLoyaltyPoints() + points);
-        }
-
-        // Set first visit date
-        if (customer.getFirstVisit() == null) {
-            customer.setFirstVisit(LocalDate.now());
-        }
+        updatePreferredBarber(phoneNumber, activeBookings, barberId);
 
-        customerRepository.save(customer);
-        log.info("Recorded booking for customer {}: total bookings = {}",
-                 phoneNumber, customer.getTotalBookings());
+        profileCache.evict(phoneNumber);
+        log.info("Recorded booking for customer {}", phoneNumber);
     }
 
     /**
@@ -78,12 +109,11 @@ public class CustomerService {
      */
     @Transactional
     public void recordCompletedBooking(String phoneNumber) {
-        Customer customer = getOrCreateCustomer(phoneNumber);
-        customer.setCompletedBookings(customer.getCompletedBookings() + 1);
-        customer.setLastVisit(LocalDate.now());
-        customerRepository.save(customer);
+        getOrCreateCustomer(phoneNumber);
+        customerRepository.incrementCompletedBookings(phoneNumber, LocalDate.now(), LocalDateTime.now());
+        profileCache.evict(phoneNumber);
 
-        log.info("Customer {} completed booking #{}", phoneNumber, customer.getCompletedBookings());
+        log.info("Customer {} completed a booking", phoneNumber);
     }
 
     /**
@@ -91,9 +121,9 @@ public class CustomerService {
      */
     @Transactional
     public void recordCancelledBooking(String phoneNumber) {
-        Customer customer = getOrCreateCustomer(phoneNumber);
-        customer.setCancelledBookings(customer.getCancelledBookings() + 1);
-        customerRepository.save(customer);
+        getOrCreateCustomer(phoneNumber);
+        customerRepository.incrementCancelledBookings(phoneNumber, LocalDateTime.now());
+        profileCache.evict(phoneNumber);
     }
 
     /**
@@ -101,64 +131,69 @@ public class CustomerService {
      */
     @Transactional
     public void recordNoShow(String phoneNumber) {
-        Customer customer = getOrCreateCustomer(phoneNumber);
-        customer.setNoShowBookings(customer.getNoShowBookings() + 1);
-        customerRepository.save(customer);
+        getOrCreateCustomer(phoneNumber);
+        customerRepository.incrementNoShowBookings(phoneNumber, LocalDateTime.now());
+        profileCache.evict(phoneNumber);
     }
 
     /**
-     * Get personalized greeting/suggestion for customer
+     * Add points outside a booking (birthday gifts)
      */
-    public String getPersonalizedGreeting(String phoneNumber) {
-        Optional<Customer> customerOpt = customerRepository.findByPhoneNumber(phoneNumber);
-
-        if (customerOpt.isEmpty()) {
-            return null; // New customer, no personalization
-        }
-
-        Customer customer = customerOpt.get();
-
-        // Check if it's their birthday
-        if (customer.isBirthdayToday() &&
-            !customer.birthdayMessageSentThisYear() &&
-            loyaltyConfig.getBirthday().isEnabled()) {
-            return buildBirthdayGreeting(customer);
-        }
+    @Transactional
+    public void awardLoyaltyPoints(String phoneNumber, int points) {
+        customerRepository.addLoyaltyPoints(phoneNumber, points, LocalDateTime.now());
+        profileCache.evict(phoneNumber);
+    }
 
-        // Check for milestone
-        if (loyaltyConfig.isEnabled() && loyaltyConfig.isMilestone(customer.getCompletedBookings())) {
-            return buildMilestoneGreeting(customer);
-        }
+    /**
+     * Bulk close-out: add the bookings to their customers' completed counts in one statement
+     */
+    @Transactional
+    public int recordCompletedBookings(Collection<Long> bookingIds) {
+        int updated = customerRepository.addCompletedBookings(bookingIds, LocalDateTime.now());
+        bookingRepository.findCustomerPhonesByIds(bookingIds).forEach(profileCache::evict);
+        return updated;
+    }
 
-        // Suggest usual service
-        if (customer.getPreferredService() != null && customer.getPreferredServiceCount() >= 3) {
-            return buildPreferredServiceSuggestion(customer);
-        }
+    /**
+     * Bulk close-out: add the bookings to their customers' no-show counts in one statement
+     */
+    @Transactional
+    public int recordNoShows(Collection<Long> bookingIds) {
+        int updated = customerRepository.addNoShowBookings(bookingIds, LocalDateTime.now());
+        bookingRepository.findCustomerPhonesByIds(bookingIds).forEach(profileCache::evict);
+        return updated;
+    }
 
-        // Welcome back returning customer
-        if (customer.getTotalBookings() > 0) {
-            return buildWelcomeBackMessage(customer);
-        }
+    /**
+     * Cached profile snapshot; unknown phones get a profile with known = false and no row is created
+     */
+    public CustomerProfile getProfile(String phoneNumber) {
+        return profileCache.get(phoneNumber, () -> loadProfile(phoneNumber));
+    }
 
-        return null;
+    /**
+     * Get personalized greeting/suggestion for customer
+     */
+    public String getPersonalizedGreeting(String phoneNumber) {
+        return getProfile(phoneNumber).getGreeting();
     }
 
     /**
      * Get customer's preferred service for quick booking
      */
-    public Optional<Service> getPreferredService(String phoneNumber) {
-        return customerRepository.findByPhoneNumber(phoneNumber)
-            .map(Customer::getPreferredService)
-            .filter(service -> service != null);
+    public Optional<Long> getPreferredServiceId(String phoneNumber) {
+        return Optional.ofNullable(getProfile(phoneNumber).getPreferredServiceId());
     }
 
     /**
      * Check if customer qualifies for loyalty milestone message
      */
     public Optional<String> checkLoyaltyMilestone(String phoneNumber) {
-        return customerRepository.findByPhoneNumber(phoneNumber)
-            .filter(c -> loyaltyConfig.isMilestone(c.getCompletedBookings()))
-            .map(c -> loyaltyConfig.getMilestoneMessage(c.getCompletedBookings()));
+        return Optional.of(getProfile(phoneNumber))
+            .filter(CustomerProfile::isKnown)
+            .filter(profile -> loyaltyConfig.isMilestone(profile.getCompletedBookings()))
+            .map(profile -> loyaltyConfig.getMilestoneMessage(profile.getCompletedBookings()));
     }
 
     /**
@@ -179,9 +214,8 @@ public class CustomerService {
      */
     @Transactional
     public void markBirthdayMessageSent(String phoneNumber) {
-        Customer customer = getOrCreateCustomer(phoneNumber);
-        customer.setLastBirthdayMessageSent(LocalDate.now());
-        customerRepository.save(customer);
+        customerRepository.markBirthdayMessageSent(phoneNumber, LocalDate.now());
+        profileCache.evict(phoneNumber);
     }
 
     // ==================== Private Helper Methods ====================
@@ -198,19 +232,15 @@ public class CustomerService {
             .build();
 
         Customer saved = customerRepository.save(customer);
+        profileCache.evict(phoneNumber);
         log.info("Created new customer profile for {}", phoneNumber);
         return saved;
     }
 
-    private void updatePreferredService(Customer customer, Service service) {
+    private void updatePreferredService(String phoneNumber, List<Booking> bookings, Service service) {
         // Count how many times customer booked each service
-        List<Booking> completedBookings = bookingRepository.findByCustomerPhoneAndStatusIn(
-            customer.getPhoneNumber(),
-            List.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED)
-        );
-
         Map<Long, Integer> serviceCounts = new HashMap<>();
-        for (Booking booking : completedBookings) {
+        for (Booking booking : bookings) {
             Long serviceId = booking.getService().getId();
             serviceCounts.put(serviceId, serviceCounts.getOrDefault(serviceId, 0) + 1);
         }
@@ -218,23 +248,14 @@ public class CustomerService {
         // Find most booked service
         serviceCounts.entrySet().stream()
             .max(Map.Entry.comparingByValue())
-            .ifPresent(entry -> {
-                if (entry.getKey().equals(service.getId())) {
-                    customer.setPreferredService(service);
-                    customer.setPreferredServiceCount(entry.getValue());
-                }
-            });
+            .filter(entry -> entry.getKey().equals(service.getId()))
+            .ifPresent(entry -> customerRepository.setPreferredService(phoneNumber, service, entry.getValue()));
     }
 
-    private void updatePreferredBarber(Customer customer, Long barberId) {
+    private void updatePreferredBarber(String phoneNumber, List<Booking> bookings, Long barberId) {
         // Count how many times customer booked each barber
-        List<Booking> completedBookings = bookingRepository.findByCustomerPhoneAndStatusIn(
-            customer.getPhoneNumber(),
-            List.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.COMPLETED)
-        );
-
         Map<Long, Integer> barberCounts = new HashMap<>();
-        for (Booking booking : completedBookings) {
+        for (Booking booking : bookings) {
             // Only count bookings that have a barber assigned
             if (booking.getBarber() != null) {
                 Long bookingBarberId = booking.getBarber().getId();
@@ -245,16 +266,61 @@ public class CustomerService {
         // Find most booked barber
         barberCounts.entrySet().stream()
             .max(Map.Entry.comparingByValue())
-            .ifPresent(entry -> {
-                if (entry.getKey().equals(barberId)) {
-                    barberRepository.findById(barberId).ifPresent(barber -> {
-                        customer.setPreferredBarber(barber);
-                        customer.setPreferredBarberCount(entry.getValue());
-                        log.debug("Updated preferred barber for customer {} to {} ({} bookings)",
-                                 customer.getPhoneNumber(), barber.getName(), entry.getValue());
-                    });
-                }
-            });
+            .filter(entry -> entry.getKey().equals(barberId))
+            .ifPresent(entry -> barberRepository.findById(barberId).ifPresent(barber -> {
+                customerRepository.setPreferredBarber(phoneNumber, barber, entry.getValue());
+                log.debug("Updated preferred barber for customer {} to {} ({} bookings)",
+                         phoneNumber, barber.getName(), entry.getValue());
+            }));
+    }
+
+    private CustomerProfile loadProfile(String phoneNumber) {
+        return customerRepository.findWithPreferredServiceByPhoneNumber(phoneNumber)
+            .map(this::toProfile)
+            .orElseGet(() -> CustomerProfile.unknown(phoneNumber));
+    }
+
+    private CustomerProfile toProfile(Customer customer) {
+        return CustomerProfile.builder()
+            .phoneNumber(customer.getPhoneNumber())
+            .known(true)
+            .totalBookings(customer.getTotalBookings())
+            .completedBookings(customer.getCompletedBookings())
+            .loyaltyPoints(customer.getLoyaltyPoints())
+            .preferredServiceId(customer.getPreferredService() != null ? customer.getPreferredService().getId() : null)
+            .preferredServiceCount(customer.getPreferredServiceCount() != null ? customer.getPreferredServiceCount() : 0)
+            .preferredBarberId(customer.getPreferredBarber() != null ? customer.getPreferredBarber().getId() : null)
+            .birthdayToday(customer.isBirthdayToday())
+            .birthdayMessageSentThisYear(customer.birthdayMessageSentThisYear())
+            .greeting(buildGreeting(customer))
+            .builtOn(LocalDate.now())
+            .build();
+    }
+
+    private String buildGreeting(Customer customer) {
+        // Check if it's their birthday
+        if (customer.isBirthdayToday() &&
+            !customer.birthdayMessageSentThisYear() &&
+            loyaltyConfig.getBirthday().isEnabled()) {
+            return buildBirthdayGreeting(customer);
+        }
+
+        // Check for milestone
+        if (loyaltyConfig.isEnabled() && loyaltyConfig.isMilestone(customer.getCompletedBookings())) {
+            return buildMilestoneGreeting(customer);
+        }
+
+        // Suggest usual service
+        if (customer.getPreferredService() != null && customer.getPreferredServiceCount() >= 3) {
+            return buildPreferredServiceSuggestion(customer);
+        }
+
+        // Welcome back returning customer
+        if (customer.getTotalBookings() > 0) {
+            return buildWelcomeBackMessage(customer);
+        }
+
+        return null;
     }
 
     private String buildBirthdayGreeting(Customer customer) {
@@ -266,18 +332,7 @@ public class CustomerService {
         String discountCode = loyaltyConfig.getBirthday().getDiscountCode();
         int discount = loyaltyConfig.getBirthday().getDiscountPercent();
 
-        return String.format("""
-            🎉 *HAPPY BIRTHDAY* 🎂
-
-            We're celebrating YOU today!
-
-            🎁 Birthday Gift:
-            • %d Loyalty Points
-            • %d%% OFF your next booking
-            • Use code: *%s*
-
-            Book today to redeem your birthday reward! 🎈
-            """,
+        return BIRTHDAY_GREETING.render(
             bonusPoints,
             discount,
             discountCode
@@ -287,14 +342,7 @@ public class CustomerService {
     private String buildMilestoneGreeting(Customer customer) {
         String milestoneMsg = loyaltyConfig.getMilestoneMessage(customer.getCompletedBookings());
 
-        return String.format("""
-            %s
-
-            💎 You have %d loyalty points
-            📊 Total visits: %d
-
-            Thank you for being an amazing customer!
-            """,
+        return MILESTONE_GREETING.render(
             milestoneMsg,
             customer.getLoyaltyPoints(),
             customer.getCompletedBookings()
@@ -302,13 +350,7 @@ public class CustomerService {
     }
 
     private String buildPreferredServiceSuggestion(Customer customer) {
-        return String.format("""
-            Welcome back! 👋
-
-            🪒 Quick book your usual? *%s*
-
-            Or browse all services below:
-            """,
+        return PREFERRED_SERVICE_SUGGESTION.render(
             customer.getPreferredService().getName()
         );
     }
@@ -324,11 +366,7 @@ public class CustomerService {
             return "Welcome back! 👋 Great to see you again!";
         }
 
-        return String.format("""
-            Welcome back! 👋
-
-            Visit #%d • %d Loyalty Points 💎
-            """,
+        return WELCOME_BACK.render(
             visits + 1,
             customer.getLoyaltyPoints()
         );
@@ -0,0 +1,95 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.OutboundConfig;
+import com.banda.barbershop.entity.DeadLetterMessage;
+import com.banda.barbershop.entity.DeadLetterMessage.DeadLetterStatus;
+import com.banda.barbershop.repository.DeadLetterMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lists and replays outbound messages that exhausted their retries.
+ *
+ * A replay first claims its dead letter with a conditional UPDATE (PENDING to REPLAYING) and
+ * sends only if that changed the row, so two admins replaying at once, or a single replay
+ * racing replay-all, deliver the message once. A claim left behind by a process that died
+ * mid-send is free again after the outbox claim timeout.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterService {
+
+    private final DeadLetterMessageRepository repository;
+    private final WhatsAppService whatsAppService;
+    private final OutboundConfig outboundConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    public List<DeadLetterMessage> getPending() {
+        return repository.findReplayable(DeadLetterStatus.PENDING, DeadLetterStatus.REPLAYING, staleBefore());
+    }
+
+    /**
+     * Try to deliver one dead letter again
+     *
+     * @return the updated dead letter, empty if the id is unknown
+     */
+    public Optional<DeadLetterMessage> replay(Long id) {
+        return repository.findById(id).map(this::replay);
+    }
+
+    /**
+     * Replay every pending dead letter, oldest first
+     *
+     * @return how many were delivered
+     */
+    public int replayPending() {
+        int delivered = 0;
+        for (DeadLetterMessage deadLetter : getPending()) {
+            if (replay(deadLetter).getStatus() == DeadLetterStatus.REPLAYED) {
+                delivered++;
+            }
+        }
+        log.info("Replayed dead letters: {} delivered", delivered);
+        return delivered;
+    }
+
+    private DeadLetterMessage replay(DeadLetterMessage deadLetter) {
+        if (!claim(deadLetter.getId())) {
+            log.debug("Dead letter {} is replayed or being replayed already", deadLetter.getId());
+            return repository.findById(deadLetter.getId()).orElse(deadLetter);
+        }
+
+        try {
+            whatsAppService.sendWithRetry(deadLetter.getToPhoneNumber(), deadLetter.getBody());
+            deadLetter.setStatus(DeadLetterStatus.REPLAYED);
+            deadLetter.setReplayedAt(LocalDateTime.now());
+            log.info("Replayed dead letter {} to {}", deadLetter.getId(), deadLetter.getToPhoneNumber());
+        } catch (WhatsAppService.SendFailedException e) {
+            deadLetter.setStatus(DeadLetterStatus.PENDING);
+            deadLetter.setAttempts(deadLetter.getAttempts() + e.getAttempts());
+            deadLetter.setErrorCode(e.getStatusCode());
+            deadLetter.setLastError(WhatsAppService.truncate(
+                e.getCause() != null ? e.getCause().getMessage() : e.getMessage()));
+            log.warn("Replay of dead letter {} failed again: {}", deadLetter.getId(), deadLetter.getLastError());
+        }
+        deadLetter.setClaimedAt(null);
+        return repository.save(deadLetter);
+    }
+
+    private boolean claim(Long id) {
+        Integer claimed = transactionTemplate.execute(tx -> repository.claim(id, LocalDateTime.now(), staleBefore(),
+            DeadLetterStatus.PENDING, DeadLetterStatus.REPLAYING));
+        return claimed != null && claimed == 1;
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minusSeconds(outboundConfig.getOutbox().getClaimTimeoutSeconds());
+    }
+}
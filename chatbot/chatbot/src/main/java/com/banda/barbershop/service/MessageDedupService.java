@@ -0,0 +1,140 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.WebhookConfig;
+import com.banda.barbershop.entity.ProcessedMessage;
+import com.banda.barbershop.repository.ProcessedMessageRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Detects Twilio webhook retries by MessageSid.
+ * A bounded in-memory window answers most retries; the processed_messages table
+ * catches retries that land on another node or arrive after the window rolled over.
+ */
+@Service
+@Slf4j
+public class MessageDedupService {
+
+    private final ProcessedMessageRepository repository;
+    private final WebhookConfig webhookConfig;
+
+    private final Map<String, String> recentResponses;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public MessageDedupService(ProcessedMessageRepository repository,
+                               WebhookConfig webhookConfig,
+                               MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.webhookConfig = webhookConfig;
+
+        int windowSize = webhookConfig.getDedup().getWindowSize();
+        this.recentResponses = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > windowSize;
+            }
+        };
+
+        this.memoryHits = meterRegistry.counter("barbershop.webhook.dedup", "result", "hit_memory");
+        this.databaseHits = meterRegistry.counter("barbershop.webhook.dedup", "result", "hit_database");
+        this.misses = meterRegistry.counter("barbershop.webhook.dedup", "result", "miss");
+    }
+
+    /**
+     * Claim a MessageSid for processing.
+     * Returns empty if this is the first delivery, otherwise the response cached for it
+     * (the provisional response while the first delivery is still in flight).
+     */
+    public Optional<String> claim(String messageSid, String phoneNumber, String provisionalResponse) {
+        lock.lock();
+        try {
+            String cached = recentResponses.get(messageSid);
+            if (cached != null) {
+                memoryHits.increment();
+                log.info("Duplicate webhook {} from {} answered from memory", messageSid, phoneNumber);
+                return Optional.of(cached);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Remembered only once the row exists: a claim that fails here leaves no trace, so
+        // Twilio's retry is processed rather than answered as a duplicate
+        try {
+            repository.saveAndFlush(ProcessedMessage.builder()
+                .messageSid(messageSid)
+                .phoneNumber(phoneNumber)
+                .response(provisionalResponse)
+                .build());
+            remember(messageSid, provisionalResponse);
+            misses.increment();
+            return Optional.empty();
+        } catch (DataIntegrityViolationException e) {
+            // Another node (or an evicted entry) already accepted this MessageSid
+            String stored = repository.findByMessageSid(messageSid)
+                .map(ProcessedMessage::getResponse)
+                .orElse(provisionalResponse);
+            remember(messageSid, stored);
+            databaseHits.increment();
+            log.info("Duplicate webhook {} from {} answered from database", messageSid, phoneNumber);
+            return Optional.of(stored);
+        }
+    }
+
+    /**
+     * Store the final response for a processed MessageSid
+     */
+    @Transactional
+    public void recordResponse(String messageSid, String response) {
+        remember(messageSid, response);
+        repository.updateResponse(messageSid, response);
+    }
+
+    /**
+     * Forget a claim whose processing failed, so Twilio's retry is handled normally
+     */
+    @Transactional
+    public void release(String messageSid) {
+        lock.lock();
+        try {
+            recentResponses.remove(messageSid);
+        } finally {
+            lock.unlock();
+        }
+        repository.deleteByMessageSid(messageSid);
+    }
+
+    /**
+     * Delete processed_messages rows older than the retention window
+     */
+    @Transactional
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(webhookConfig.getDedup().getRetentionHours());
+        int deleted = repository.deleteReceivedBefore(cutoff);
+        log.debug("Purged {} processed message records older than {}", deleted, cutoff);
+        return deleted;
+    }
+
+    private void remember(String messageSid, String response) {
+        lock.lock();
+        try {
+            recentResponses.put(messageSid, response);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
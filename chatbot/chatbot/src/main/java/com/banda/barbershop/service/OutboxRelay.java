@@ -0,0 +1,218 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.OutboundConfig;
+import com.banda.barbershop.entity.OutboundMessage;
+import com.banda.barbershop.entity.OutboundMessage.OutboundStatus;
+import com.banda.barbershop.repository.OutboundMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntSupplier;
+
+/**
+ * Delivers outbox messages.
+ *
+ * Each pass claims a batch of due rows with a single conditional UPDATE (PENDING to SENDING
+ * under a fresh claim token), then sends them one by one outside any transaction; every
+ * status change commits in a short transaction of its own. A row is
+ * marked SENT only after Twilio accepts it, so a crash mid-batch leaves it SENDING until the
+ * claim times out and it is sent again: delivery is at-least-once.
+ *
+ * Passes run on one background thread, started by a commit that queued a message or by the
+ * fallback poll; wake-ups during a pass trigger another pass rather than a second thread.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboundMessageRepository repository;
+    private final WhatsAppService whatsAppService;
+    private final OutboundConfig outboundConfig;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+        Thread.ofPlatform().name("outbox-relay").daemon().factory());
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+
+    /**
+     * Ask for a pass; returns immediately
+     */
+    public void wakeUp() {
+        wakeRequested.set(true);
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drainLoop);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                log.debug("Outbox relay is shut down, wake-up ignored");
+            }
+        }
+    }
+
+    private void drainLoop() {
+        try {
+            while (wakeRequested.getAndSet(false)) {
+                drain();
+            }
+        } catch (Exception e) {
+            log.error("Outbox relay pass failed: {}", e.getMessage(), e);
+        } finally {
+            draining.set(false);
+        }
+
+        // A wake-up can land between the last check and clearing the flag
+        if (wakeRequested.get()) {
+            wakeUp();
+        }
+    }
+
+    /**
+     * Claim and deliver due messages until none are left
+     *
+     * @return how many were delivered
+     */
+    int drain() {
+        int delivered = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<OutboundMessage> batch = claimBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (OutboundMessage message : batch) {
+                if (deliver(message)) {
+                    delivered++;
+                }
+            }
+        }
+        if (delivered > 0) {
+            log.info("Outbox relay delivered {} message(s)", delivered);
+        }
+        return delivered;
+    }
+
+    private List<OutboundMessage> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = repository.findDueIds(OutboundStatus.PENDING, now,
+            Limit.of(outboundConfig.getOutbox().getBatchSize()));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        String token = UUID.randomUUID().toString();
+        int claimed = update(() -> repository.claim(ids, token, now, OutboundStatus.SENDING, OutboundStatus.PENDING));
+        if (claimed < ids.size()) {
+            log.debug("Claimed {} of {} due outbox messages, the rest went to another relay", claimed, ids.size());
+        }
+        return claimed > 0 ? repository.findByClaimTokenOrderById(token) : List.of();
+    }
+
+    private boolean deliver(OutboundMessage message) {
+        try {
+            whatsAppService.sendWithRetry(message.getToPhoneNumber(), message.getBody());
+        } catch (WhatsAppService.SendFailedException e) {
+            handleFailure(message, e);
+            return false;
+        }
+
+        LocalDateTime sentAt = LocalDateTime.now();
+        update(() -> repository.markSent(message.getId(), message.getClaimToken(), sentAt, OutboundStatus.SENT));
+        meterRegistry.counter("barbershop.outbox.relay", "outcome", "sent").increment();
+        meterRegistry.timer("barbershop.outbox.delivery_lag", "type", message.getType().name())
+            .record(Duration.between(message.getCreatedAt(), sentAt));
+        log.debug("Delivered outbox message {} ({}) to {}", message.getId(), message.getType(), message.getToPhoneNumber());
+        return true;
+    }
+
+    /**
+     * Retryable failures go back to the queue with a doubling delay until the attempt budget is
+     * spent; everything else is dead-lettered for replay from the admin API
+     */
+    private void handleFailure(OutboundMessage message, WhatsAppService.SendFailedException failure) {
+        OutboundConfig.Outbox outbox = outboundConfig.getOutbox();
+        String error = WhatsAppService.truncate(
+            failure.getCause() != null ? failure.getCause().getMessage() : failure.getMessage());
+
+        if (failure.isRetryable() && message.getAttempts() < outbox.getMaxAttempts()) {
+            long delaySeconds = outbox.getRetryBackoffSeconds() << Math.min(message.getAttempts() - 1, 10);
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plusSeconds(delaySeconds);
+            update(() -> repository.release(message.getId(), message.getClaimToken(), OutboundStatus.PENDING,
+                nextAttemptAt, error));
+            meterRegistry.counter("barbershop.outbox.relay", "outcome", "retry").increment();
+            log.warn("Outbox message {} to {} failed (pass {}/{}), retrying in {}s",
+                     message.getId(), message.getToPhoneNumber(), message.getAttempts(),
+                     outbox.getMaxAttempts(), delaySeconds);
+            return;
+        }
+
+        update(() -> repository.release(message.getId(), message.getClaimToken(), OutboundStatus.FAILED,
+            message.getNextAttemptAt(), error));
+        whatsAppService.deadLetter(message.getToPhoneNumber(), message.getBody(), failure);
+        meterRegistry.counter("barbershop.outbox.relay", "outcome", "failed").increment();
+        log.error("Outbox message {} to {} failed after {} pass(es), dead-lettered",
+                  message.getId(), message.getToPhoneNumber(), message.getAttempts());
+    }
+
+    /**
+     * Return claims older than the claim timeout to the queue
+     *
+     * @return how many rows were released
+     */
+    public int releaseStaleClaims() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(outboundConfig.getOutbox().getClaimTimeoutSeconds());
+        int released = update(() -> repository.releaseStale(cutoff, OutboundStatus.SENDING, OutboundStatus.PENDING));
+        if (released > 0) {
+            log.warn("Released {} stale outbox claim(s), they will be sent again", released);
+            wakeUp();
+        }
+        return released;
+    }
+
+    /**
+     * Delete sent rows past the retention window, one batch per transaction
+     *
+     * @return how many rows were deleted
+     */
+    public int purgeSent() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(outboundConfig.getOutbox().getRetentionDays());
+        Limit batch = Limit.of(outboundConfig.getOutbox().getBatchSize() * 25);
+
+        int purged = 0;
+        List<Long> ids;
+        while (!(ids = repository.findSentBefore(OutboundStatus.SENT, cutoff, batch)).isEmpty()) {
+            List<Long> sent = ids;
+            purged += update(() -> repository.deleteByIds(sent));
+        }
+        return purged;
+    }
+
+    /**
+     * Run one bulk statement in its own transaction
+     *
+     * @return rows affected
+     */
+    private int update(IntSupplier statement) {
+        Integer rows = transactionTemplate.execute(tx -> statement.getAsInt());
+        return rows != null ? rows : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
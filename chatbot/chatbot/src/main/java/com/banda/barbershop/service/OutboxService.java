@@ -0,0 +1,46 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.entity.OutboundMessage;
+import com.banda.barbershop.entity.OutboundMessage.MessageType;
+import com.banda.barbershop.repository.OutboundMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writes customer notifications to the outbound_messages outbox.
+ *
+ * Must be called inside the transaction that makes the change being announced, so the
+ * message is stored if and only if that change commits. Delivery is left to the relay,
+ * which is woken once the transaction commits.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboundMessageRepository repository;
+    private final OutboxRelay relay;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboundMessage enqueue(String toPhoneNumber, String body, MessageType type) {
+        OutboundMessage message = repository.save(OutboundMessage.builder()
+            .toPhoneNumber(toPhoneNumber)
+            .body(body)
+            .type(type)
+            .build());
+        log.debug("Queued {} message {} for {}", type, message.getId(), toPhoneNumber);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                relay.wakeUp();
+            }
+        });
+        return message;
+    }
+}
@@ -2,9 +2,12 @@ package com.banda.barbershop.service;
 
 import com.banda.barbershop.config.BarberShopConfig;
 import com.banda.barbershop.config.ReminderConfig;
-import com.banda.barbershop.entity.Booking;
 import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.OutboundMessage.MessageType;
 import com.banda.barbershop.repository.BookingRepository;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 @Service
@@ -21,8 +23,40 @@ import java.util.List;
 @Slf4j
 public class ReminderService {
 
+    private static final MessageTemplate DAY_BEFORE_REMINDER = MessageTemplate.compile("""
+        📅 *Reminder: Appointment Tomorrow*
+
+        You have a booking tomorrow!
+
+        🪒 {0}
+        📅 Tomorrow ({1}) at {2}
+        ⏱️ {3} minutes
+        📍 {4}
+
+        Booking Code: *#{5}*
+
+        To cancel, reply MENU and select option 3
+
+        See you tomorrow! 👍
+        """);
+
+    private static final MessageTemplate ONE_HOUR_REMINDER = MessageTemplate.compile("""
+        ⏰ *Reminder: Appointment in {0} minutes*
+
+        🪒 {1}
+        📅 TODAY at {2}
+        📍 {3}
+
+        Booking Code: *#{4}*
+
+        To cancel, reply MENU and select option 3
+
+        See you soon! 👍
+        """);
+
     private final BookingRepository bookingRepository;
     private final WhatsAppService whatsAppService;
+    private final OutboxService outboxService;
     private final ReminderConfig reminderConfig;
     private final BarberShopConfig shopConfig;
 
@@ -40,29 +74,26 @@ public class ReminderService {
         LocalDate tomorrow = LocalDate.now().plusDays(1);
 
         // Find all confirmed bookings for tomorrow that haven't received day-before reminder
-        List<Booking> bookings = bookingRepository.findByBookingDateAndStatus(tomorrow, BookingStatus.CONFIRMED)
-            .stream()
-            .filter(b -> !b.isDayBeforeReminderSent())
-            .toList();
+        List<Booking> bookings = bookingRepository.findDayBeforeReminderDue(tomorrow);
 
         log.info("Found {} bookings for tomorrow requiring day-before reminders", bookings.size());
 
         int sentCount = 0;
         for (Booking booking : bookings) {
             try {
-                sendDayBeforeReminder(booking);
+                queueDayBeforeReminder(booking);
                 booking.setDayBeforeReminderSent(true);
                 booking.setDayBeforeReminderSentAt(LocalDateTime.now());
                 bookingRepository.save(booking);
                 sentCount++;
-                log.info("Sent day-before reminder for booking {}", booking.getBookingCode());
+                log.info("Queued day-before reminder for booking {}", booking.getBookingCode());
             } catch (Exception e) {
-                log.error("Failed to send day-before reminder for booking {}: {}",
+                log.error("Failed to queue day-before reminder for booking {}: {}",
                          booking.getBookingCode(), e.getMessage(), e);
             }
         }
 
-        log.info("Sent {} day-before reminders", sentCount);
+        log.info("Queued {} day-before reminders", sentCount);
         return sentCount;
     }
 
@@ -86,36 +117,41 @@ public class ReminderService {
         LocalTime startWindow = targetTime.toLocalTime().minusMinutes(10);
         LocalTime endWindow = targetTime.toLocalTime().plusMinutes(10);
 
-        List<Booking> bookings = bookingRepository.findByBookingDateAndStatus(today, BookingStatus.CONFIRMED)
-            .stream()
-            .filter(b -> !b.isOneHourReminderSent())
-            .filter(b -> isWithinTimeWindow(b.getStartTime(), startWindow, endWindow))
-            .toList();
+        List<Booking> bookings = bookingRepository.findOneHourReminderDue(today, startWindow, endWindow);
 
         log.info("Found {} bookings requiring one-hour reminders", bookings.size());
 
         int sentCount = 0;
         for (Booking booking : bookings) {
             try {
-                sendOneHourReminder(booking);
+                queueOneHourReminder(booking);
                 booking.setOneHourReminderSent(true);
                 booking.setOneHourReminderSentAt(LocalDateTime.now());
                 bookingRepository.save(booking);
                 sentCount++;
-                log.info("Sent one-hour reminder for booking {}", booking.getBookingCode());
+                log.info("Queued one-hour reminder for booking {}", booking.getBookingCode());
             } catch (Exception e) {
-                log.error("Failed to send one-hour reminder for booking {}: {}",
+                log.error("Failed to queue one-hour reminder for booking {}: {}",
                          booking.getBookingCode(), e.getMessage(), e);
             }
         }
 
-        log.info("Sent {} one-hour reminders", sentCount);
+        log.info("Queued {} one-hour reminders", sentCount);
         return sentCount;
     }
 
-    private void sendDayBeforeReminder(Booking booking) {
-        String message = buildDayBeforeReminderMessage(booking);
-        whatsAppService.sendMessage(booking.getCustomerPhone(), message);
+    /**
+     * Queued in the transaction that sets the reminder flag, so a reminder is sent exactly when
+     * the flag is committed
+     */
+    private void queueDayBeforeReminder(Booking booking) {
+        outboxService.enqueue(booking.getCustomerPhone(), buildDayBeforeReminderMessage(booking),
+            MessageType.DAY_BEFORE_REMINDER);
+    }
+
+    private void queueOneHourReminder(Booking booking) {
+        outboxService.enqueue(booking.getCustomerPhone(), buildOneHourReminderMessage(booking),
+            MessageType.ONE_HOUR_REMINDER);
     }
 
     private void sendOneHourReminder(Booking booking) {
@@ -124,30 +160,10 @@ public class ReminderService {
     }
 
     private String buildDayBeforeReminderMessage(Booking booking) {
-        String formattedDate = booking.getBookingDate()
-            .format(DateTimeFormatter.ofPattern("EEE dd MMM"));
-        String formattedTime = booking.getStartTime()
-            .format(DateTimeFormatter.ofPattern("h:mm a"));
-
-        return String.format("""
-            📅 *Reminder: Appointment Tomorrow*
-
-            You have a booking tomorrow!
-
-            🪒 %s
-            📅 Tomorrow (%s) at %s
-            ⏱️ %d minutes
-            📍 %s
-
-            Booking Code: *#%s*
-
-            To cancel, reply MENU and select option 3
-
-            See you tomorrow! 👍
-            """,
+        return DAY_BEFORE_REMINDER.render(
             booking.getService().getName(),
-            formattedDate,
-            formattedTime,
+            MessageFormats.DAY_DATE.format(booking.getBookingDate()),
+            MessageFormats.TIME.format(booking.getStartTime()),
             booking.getService().getDurationMinutes(),
             shopConfig.getAddress(),
             booking.getBookingCode()
@@ -155,39 +171,20 @@ public class ReminderService {
     }
 
     private String buildOneHourReminderMessage(Booking booking) {
-        String formattedTime = booking.getStartTime()
-            .format(DateTimeFormatter.ofPattern("h:mm a"));
-
         LocalDateTime appointmentTime = LocalDateTime.of(booking.getBookingDate(), booking.getStartTime());
         long minutesUntil = java.time.Duration.between(LocalDateTime.now(), appointmentTime).toMinutes();
 
-        return String.format("""
-            ⏰ *Reminder: Appointment in %d minutes*
-
-            🪒 %s
-            📅 TODAY at %s
-            📍 %s
-
-            Booking Code: *#%s*
-
-            To cancel, reply MENU and select option 3
-
-            See you soon! 👍
-            """,
+        return ONE_HOUR_REMINDER.render(
             minutesUntil,
             booking.getService().getName(),
-            formattedTime,
+            MessageFormats.TIME.format(booking.getStartTime()),
             shopConfig.getAddress(),
             booking.getBookingCode()
         );
     }
 
-    private boolean isWithinTimeWindow(LocalTime bookingTime, LocalTime startWindow, LocalTime endWindow) {
-        return !bookingTime.isBefore(startWindow) && !bookingTime.isAfter(endWindow);
-    }
-
     /**
-     * Manual trigger for testing reminders
+     * Manual trigger for testing reminders (sent directly, reminder flag untouched)
      */
     public void sendTestReminder(String bookingCode) {
         Booking booking = bookingRepository.findByBookingCode(bookingCode)
@@ -0,0 +1,61 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.OutboundConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token bucket pacing outbound sends to the Twilio account's throughput.
+ *
+ * Callers reserve a token under the lock and sleep outside it, so waiting senders
+ * (virtual threads included) never hold the lock and are served in arrival order.
+ */
+@Component
+public class SendRateLimiter {
+
+    private final OutboundConfig.RateLimit config;
+    private final Timer waitTimer;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+
+    public SendRateLimiter(OutboundConfig outboundConfig, MeterRegistry meterRegistry) {
+        this.config = outboundConfig.getRateLimit();
+        this.tokens = config.getBurst();
+        this.waitTimer = meterRegistry.timer("barbershop.twilio.rate_limit.wait");
+    }
+
+    /**
+     * Block until the caller may send one message
+     */
+    public void acquire() throws InterruptedException {
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            double refill = (now - lastRefillNanos) / 1e9 * config.getMessagesPerSecond();
+            tokens = Math.min(config.getBurst(), tokens + refill);
+            lastRefillNanos = now;
+
+            // Going below zero reserves a future token for this caller
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) (-tokens / config.getMessagesPerSecond() * 1e9);
+        } finally {
+            lock.unlock();
+        }
+
+        waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
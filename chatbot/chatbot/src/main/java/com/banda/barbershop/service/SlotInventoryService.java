@@ -0,0 +1,168 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.SlotInventory;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.SlotInventoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Optional materialized slot inventory (barbershop.inventory.enabled).
+ * Every barber has one row per grid slot for a rolling horizon; booking takes one unit
+ * from each slot the appointment covers with a conditional UPDATE, so a slot can never
+ * be sold twice even when two customers confirm at the same moment.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class SlotInventoryService {
+
+    private static final int CAPACITY_PER_BARBER = 1;
+
+    private final SlotInventoryRepository inventoryRepository;
+    private final BarberRepository barberRepository;
+    private final BarberShopConfig shopConfig;
+
+    public boolean isEnabled() {
+        return shopConfig.getInventory().isEnabled();
+    }
+
+    /**
+     * Reserve the slots covered by [startTime, endTime) for a barber
+     * Throws if any of them is already taken - the caller's transaction rolls back
+     */
+    @Transactional
+    public void reserve(Long barberId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        int expected = gridSlots(startTime, endTime).size();
+        int reserved = inventoryRepository.decrement(barberId, date, startTime, endTime);
+        if (reserved != expected) {
+            throw new IllegalStateException("Selected time slot is no longer available for this barber");
+        }
+    }
+
+    /**
+     * Give back the slots covered by a cancelled booking
+     */
+    @Transactional
+    public void release(Long barberId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        int released = inventoryRepository.increment(barberId, date, startTime, endTime);
+        log.debug("Released {} inventory slots for barber {} on {} at {}", released, barberId, date, startTime);
+    }
+
+    /**
+     * Check every slot covered by [startTime, endTime) still has capacity
+     */
+    public boolean isAvailable(Long barberId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        int expected = gridSlots(startTime, endTime).size();
+        return expected > 0 && inventoryRepository.countAvailable(barberId, date, startTime, endTime) == expected;
+    }
+
+    /**
+     * Grid slots with capacity left, per barber per date
+     */
+    public Map<Long, Map<LocalDate, Set<LocalTime>>> findFreeSlots(Collection<Long> barberIds,
+                                                                   LocalDate fromDate, LocalDate toDate) {
+        Map<Long, Map<LocalDate, Set<LocalTime>>> free = new HashMap<>();
+        for (SlotInventory slot : inventoryRepository.findAvailable(barberIds, fromDate, toDate)) {
+            free.computeIfAbsent(slot.getBarberId(), id -> new HashMap<>())
+                .computeIfAbsent(slot.getSlotDate(), d -> new HashSet<>())
+                .add(slot.getSlotStart());
+        }
+        return free;
+    }
+
+    /**
+     * Generate inventory rows for active barbers on open days up to the horizon
+     * Days that already have rows for a barber are left alone
+     */
+    @Transactional
+    public int extendHorizon() {
+        LocalDate today = LocalDate.now();
+        LocalTime opening = shopConfig.getOpeningTime();
+        LocalTime closing = shopConfig.getClosingTime();
+        List<LocalTime> daySlots = gridSlots(opening, closing);
+
+        List<SlotInventory> created = new ArrayList<>();
+        for (Barber barber : barberRepository.findByActiveOrderByDisplayOrder(true)) {
+            for (int day = 0; day < shopConfig.getInventory().getHorizonDays(); day++) {
+                LocalDate date = today.plusDays(day);
+                if (!shopConfig.isOpenOn(date.getDayOfWeek())
+                        || inventoryRepository.existsByBarberIdAndSlotDate(barber.getId(), date)) {
+                    continue;
+                }
+
+                for (LocalTime slotStart : daySlots) {
+                    created.add(SlotInventory.builder()
+                        .barberId(barber.getId())
+                        .slotDate(date)
+                        .slotStart(slotStart)
+                        .capacity(CAPACITY_PER_BARBER)
+                        .remaining(CAPACITY_PER_BARBER)
+                        .build());
+                }
+            }
+        }
+
+        inventoryRepository.saveAll(created);
+        return created.size();
+    }
+
+    /**
+     * Recompute remaining capacity from confirmed bookings and fix rows that drifted
+     */
+    @Transactional
+    public int reconcile() {
+        LocalDate fromDate = LocalDate.now();
+        LocalDate toDate = fromDate.plusDays(shopConfig.getInventory().getHorizonDays() - 1L);
+        return inventoryRepository.reconcile(fromDate, toDate);
+    }
+
+    /**
+     * Drop rows for past dates
+     */
+    @Transactional
+    public int purgePast() {
+        return inventoryRepository.deleteBefore(LocalDate.now());
+    }
+
+    /**
+     * Grid slot starts inside [startTime, endTime), aligned to opening time
+     */
+    public List<LocalTime> gridSlots(LocalTime startTime, LocalTime endTime) {
+        List<LocalTime> slots = new ArrayList<>();
+        LocalTime slot = shopConfig.getOpeningTime();
+        while (slot.isBefore(endTime) && slot.isBefore(shopConfig.getClosingTime())) {
+            if (!slot.isBefore(startTime)) {
+                slots.add(slot);
+            }
+
+            LocalTime next = slot.plusMinutes(shopConfig.getSlotIntervalMinutes());
+            if (next.isBefore(slot)) {
+                break; // wrapped past midnight
+            }
+            slot = next;
+        }
+        return slots;
+    }
+}
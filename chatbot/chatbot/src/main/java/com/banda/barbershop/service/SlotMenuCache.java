@@ -0,0 +1,176 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Rendered slot menus keyed by (service, barber, date, availability version).
+ *
+ * Each barber-day has a version that is bumped after a booking for it is created,
+ * cancelled or changes status, so stale menus are simply never looked up again and
+ * age out of the bounded LRU. "Any barber" menus use the day's version, which every
+ * barber-day bump also moves. Today's menus also expire once their earliest slot falls
+ * inside the minimum-advance window, since that is when it drops off the menu.
+ */
+@Service
+@Slf4j
+public class SlotMenuCache {
+
+    private final BarberShopConfig shopConfig;
+
+    private final Map<VersionKey, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<MenuKey, Entry> menus;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public SlotMenuCache(BarberShopConfig shopConfig, MeterRegistry meterRegistry) {
+        this.shopConfig = shopConfig;
+
+        int maxEntries = shopConfig.getMenuCache().getMaxEntries();
+        this.menus = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MenuKey, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+
+        this.hits = meterRegistry.counter("barbershop.slot_menu.cache", "result", "hit");
+        this.misses = meterRegistry.counter("barbershop.slot_menu.cache", "result", "miss");
+        Gauge.builder("barbershop.slot_menu.cache.hit_ratio", this, SlotMenuCache::hitRatio)
+            .register(meterRegistry);
+        Gauge.builder("barbershop.slot_menu.cache.size", menus, Map::size)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Cached menu for the barber-day (barberId null = any barber), computed on a miss
+     */
+    public SlotMenu get(Long serviceId, Long barberId, LocalDate date, Supplier<SlotMenu> loader) {
+        if (!shopConfig.getMenuCache().isEnabled()) {
+            return loader.get();
+        }
+
+        MenuKey key = new MenuKey(serviceId, barberId, date, currentVersion(barberId, date));
+        LocalDateTime now = LocalDateTime.now();
+
+        lock.lock();
+        try {
+            Entry entry = menus.get(key);
+            if (entry != null && now.isBefore(entry.expiresAt())) {
+                hits.increment();
+                return entry.menu();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+        SlotMenu menu = loader.get();
+
+        lock.lock();
+        try {
+            menus.put(key, new Entry(menu, expiryFor(date, menu, now)));
+        } finally {
+            lock.unlock();
+        }
+        return menu;
+    }
+
+    /**
+     * Retire cached menus for a barber-day once the current transaction commits
+     * (immediately when there is none), so a concurrent reader cannot cache
+     * pre-commit availability under the new version
+     */
+    public void invalidate(Long barberId, LocalDate date) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpVersion(barberId, date);
+                }
+            });
+        } else {
+            bumpVersion(barberId, date);
+        }
+    }
+
+    /**
+     * Drop every cached menu (e.g. after availability was corrected in bulk)
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            menus.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+
+    private void bumpVersion(Long barberId, LocalDate date) {
+        versions.computeIfAbsent(new VersionKey(barberId, date), k -> new AtomicLong()).incrementAndGet();
+        versions.computeIfAbsent(new VersionKey(null, date), k -> new AtomicLong()).incrementAndGet();
+
+        // Versions for past days are never read again
+        versions.keySet().removeIf(key -> key.date().isBefore(LocalDate.now()));
+    }
+
+    private long currentVersion(Long barberId, LocalDate date) {
+        AtomicLong version = versions.get(new VersionKey(barberId, date));
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Other days' menus live until midnight. Today's live until their earliest slot is less
+     * than the minimum advance away (which before opening may still be hours off); menus
+     * with nothing left can only change through a version bump.
+     */
+    LocalDateTime expiryFor(LocalDate date, SlotMenu menu, LocalDateTime now) {
+        LocalDateTime endOfDay = now.toLocalDate().plusDays(1).atStartOfDay();
+        if (!date.equals(now.toLocalDate()) || menu.slots().isEmpty()) {
+            return endOfDay;
+        }
+
+        LocalDateTime firstSlotDrops = date.atTime(menu.slots().getFirst())
+            .minusHours(shopConfig.getMinimumAdvanceBookingHours());
+        return firstSlotDrops.isBefore(endOfDay) ? firstSlotDrops : endOfDay;
+    }
+
+    /**
+     * Free slot times and the rendered menu for them
+     */
+    public record SlotMenu(List<LocalTime> slots, String message) {
+    }
+
+    private record VersionKey(Long barberId, LocalDate date) {
+    }
+
+    private record MenuKey(Long serviceId, Long barberId, LocalDate date, long version) {
+    }
+
+    private record Entry(SlotMenu menu, LocalDateTime expiresAt) {
+    }
+}
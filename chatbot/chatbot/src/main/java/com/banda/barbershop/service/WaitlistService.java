@@ -0,0 +1,257 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.OutboundMessage.MessageType;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.entity.WaitlistEntry;
+import com.banda.barbershop.entity.WaitlistEntry.WaitlistStatus;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.WaitlistEntryRepository;
+import com.banda.barbershop.template.MessageFormats;
+import com.banda.barbershop.template.MessageTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Refills cancelled chairs from the waitlist.
+ *
+ * A cancellation looks up the waiters for that barber (or any barber) whose date window covers
+ * the day, in registration order, and offers the slot to the first one whose service still fits
+ * there. The waiter's YES or NO is routed to the offer by the entry's status, whatever step their
+ * conversation is at, so the offer never writes to a conversation another thread may be
+ * processing. A NO, or no answer within the hold, passes the slot to the next waiter. The slot
+ * stays bookable through the menus meanwhile, and accepting re-checks it like any other booking.
+ */
+@org.springframework.stereotype.Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistService {
+
+    private static final MessageTemplate OFFER = MessageTemplate.compile("""
+        🎉 *A chair just opened up!*
+
+        🪒 {0}
+        👨‍🦲 With {1}
+        📅 {2} ({3}) at {4}
+
+        Reply *YES* within {5} minutes to book it, or *NO* to pass
+        """);
+
+    private final WaitlistEntryRepository repository;
+    private final BarberRepository barberRepository;
+    private final AvailabilityService availabilityService;
+    private final OutboxService outboxService;
+    private final BarberShopConfig shopConfig;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    public boolean isEnabled() {
+        return shopConfig.getWaitlist().isEnabled();
+    }
+
+    /**
+     * Add the customer to the waitlist, replacing the window of an entry they already have
+     * for the same service
+     */
+    @Transactional
+    public WaitlistEntry register(String customerPhone, Service service, Long barberId,
+                                  LocalDate fromDate, LocalDate toDate) {
+        Barber barber = barberId != null ? barberRepository.getReferenceById(barberId) : null;
+
+        WaitlistEntry entry = repository
+            .findFirstByCustomerPhoneAndServiceIdAndStatus(customerPhone, service.getId(), WaitlistStatus.WAITING)
+            .orElseGet(() -> WaitlistEntry.builder()
+                .customerPhone(customerPhone)
+                .service(service)
+                .build());
+        entry.setBarber(barber);
+        entry.setFromDate(fromDate);
+        entry.setToDate(toDate);
+
+        WaitlistEntry saved = repository.save(entry);
+        count("registered");
+        log.info("Customer {} waiting for {} with barber {} from {} to {}",
+                 customerPhone, service.getName(), barberId, fromDate, toDate);
+        return saved;
+    }
+
+    /**
+     * Offer a just-cancelled booking's slot, in the cancelling transaction so the offer and
+     * its message are only made if the cancellation commits
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void offerFreedSlot(Booking cancelled) {
+        if (!isEnabled() || cancelled.getBarber() == null) {
+            return;
+        }
+        offerSlot(cancelled.getBarber().getId(), cancelled.getBookingDate(), cancelled.getStartTime(), 0L);
+    }
+
+    /**
+     * The customer's offer that is still within its hold, if any
+     */
+    public Optional<Long> findOpenOffer(String customerPhone) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        return repository.findFirstByCustomerPhoneAndStatusAndOfferExpiresAtAfterOrderById(
+                customerPhone, WaitlistStatus.OFFERED, LocalDateTime.now())
+            .map(WaitlistEntry::getId);
+    }
+
+    /**
+     * Take the customer's open offer for booking, in the booking's transaction (a failed
+     * booking rolls this back too)
+     *
+     * @return empty if the entry is not the customer's or the hold has run out
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<WaitlistEntry> claimOffer(Long entryId, String customerPhone) {
+        return repository.findById(entryId)
+            .filter(entry -> entry.getCustomerPhone().equals(customerPhone))
+            .filter(WaitlistEntry::isOfferOpen)
+            .map(entry -> {
+                entry.setStatus(WaitlistStatus.BOOKED);
+                count("booked");
+                return repository.save(entry);
+            });
+    }
+
+    /**
+     * The customer passed (or the slot was gone when they said yes): they keep waiting for
+     * another slot and this one goes to the next waiter
+     */
+    @Transactional
+    public void decline(Long entryId) {
+        repository.findById(entryId)
+            .filter(entry -> entry.getStatus() == WaitlistStatus.OFFERED)
+            .ifPresent(entry -> {
+                count("declined");
+                passOn(entry, WaitlistStatus.WAITING);
+            });
+    }
+
+    /**
+     * Offers nobody answered within the hold: the waiter is dropped from the list and the slot
+     * goes to the next one
+     */
+    @Transactional
+    public int expireOffers() {
+        List<Long> ids = repository.findExpiredOfferIds(WaitlistStatus.OFFERED, LocalDateTime.now(),
+            Limit.of(shopConfig.getWaitlist().getBatchSize()));
+        for (WaitlistEntry entry : repository.findAllById(ids)) {
+            count("expired");
+            passOn(entry, WaitlistStatus.EXPIRED);
+        }
+        return ids.size();
+    }
+
+    /**
+     * Drop entries whose date window has passed, one batch per transaction
+     */
+    public int expirePastWindows() {
+        int batchSize = shopConfig.getWaitlist().getBatchSize();
+        LocalDate today = LocalDate.now();
+
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = repository.findPastWindowIds(WaitlistStatus.WAITING, today, Limit.of(batchSize));
+            if (!ids.isEmpty()) {
+                total += expireBatch(ids);
+            }
+        } while (ids.size() == batchSize);
+
+        log.debug("Expired {} waitlist entries with windows before {}", total, today);
+        return total;
+    }
+
+    private int expireBatch(List<Long> ids) {
+        Integer expired = transactionTemplate.execute(tx ->
+            repository.expireWaiting(ids, WaitlistStatus.WAITING, WaitlistStatus.EXPIRED));
+        return expired != null ? expired : 0;
+    }
+
+    private void passOn(WaitlistEntry entry, WaitlistStatus status) {
+        Long barberId = entry.getOfferBarberId();
+        LocalDate date = entry.getOfferDate();
+        LocalTime time = entry.getOfferTime();
+
+        entry.setStatus(status);
+        entry.setOfferBarberId(null);
+        entry.setOfferDate(null);
+        entry.setOfferTime(null);
+        entry.setOfferExpiresAt(null);
+        repository.save(entry);
+
+        offerSlot(barberId, date, time, entry.getId());
+    }
+
+    /**
+     * Offer the slot to the first matching waiter registered after afterId
+     */
+    private boolean offerSlot(Long barberId, LocalDate date, LocalTime time, Long afterId) {
+        if (LocalDateTime.of(date, time).isBefore(LocalDateTime.now())) {
+            return false;
+        }
+
+        List<Long> ids = repository.findMatchingIds(barberId, date, WaitlistStatus.WAITING, afterId,
+            Limit.of(shopConfig.getWaitlist().getCandidatesPerSlot()));
+        List<WaitlistEntry> candidates = repository.findAllById(ids).stream()
+            .sorted(Comparator.comparing(WaitlistEntry::getId))
+            .toList();
+
+        for (WaitlistEntry entry : candidates) {
+            // A longer service may not fit in the freed gap
+            if (availabilityService.validateBarberSlotAvailability(date, time, entry.getService(), barberId)) {
+                hold(entry, barberId, date, time);
+                return true;
+            }
+        }
+
+        log.debug("No waiter for barber {} on {} at {} ({} checked)", barberId, date, time, candidates.size());
+        return false;
+    }
+
+    private void hold(WaitlistEntry entry, Long barberId, LocalDate date, LocalTime time) {
+        int holdMinutes = shopConfig.getWaitlist().getHoldMinutes();
+        entry.setStatus(WaitlistStatus.OFFERED);
+        entry.setOfferBarberId(barberId);
+        entry.setOfferDate(date);
+        entry.setOfferTime(time);
+        entry.setOfferExpiresAt(LocalDateTime.now().plusMinutes(holdMinutes));
+        repository.save(entry);
+
+        String barberName = barberRepository.findById(barberId).map(Barber::getName).orElse("your barber");
+        outboxService.enqueue(entry.getCustomerPhone(), OFFER.render(
+            entry.getService().getName(),
+            barberName,
+            MessageFormats.dayLabel(date),
+            MessageFormats.DAY_DATE.format(date),
+            MessageFormats.TIME.format(time),
+            holdMinutes
+        ), MessageType.WAITLIST_OFFER);
+
+        count("offered");
+        log.info("Offered barber {} on {} at {} to waitlist entry {} ({})",
+                 barberId, date, time, entry.getId(), entry.getCustomerPhone());
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("barbershop.waitlist", "outcome", outcome).increment();
+    }
+}
@@ -1,39 +1,199 @@
 package com.banda.barbershop.service;
 
-import com.banda.barbershop.config.TwilioConfig;
-import com.twilio.Twilio;
-import com.twilio.rest.api.v2010.account.Message;
-import com.twilio.type.PhoneNumber;
-import jakarta.annotation.PostConstruct;
+import com.banda.barbershop.config.OutboundConfig;
+import com.banda.barbershop.entity.DeadLetterMessage;
+import com.banda.barbershop.repository.DeadLetterMessageRepository;
+import com.banda.barbershop.transport.MessageTransport;
+import com.banda.barbershop.transport.TransportException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends outbound WhatsApp messages through the configured MessageTransport.
+ *
+ * Every attempt is paced by the account's token bucket. Throttling (429), server errors
+ * and failures to connect are retried with jittered exponential backoff; a request that may
+ * have reached the provider without an answer (read timeout) is not, since retrying it could
+ * deliver the message twice. Messages that still fail are stored as dead letters for replay
+ * from the admin API.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class WhatsAppService {
 
-    private final TwilioConfig twilioConfig;
+    private final MessageTransport transport;
+    private final OutboundConfig outboundConfig;
+    private final SendRateLimiter rateLimiter;
+    private final DeadLetterMessageRepository deadLetterRepository;
+    private final MeterRegistry meterRegistry;
 
-    @PostConstruct
-    public void init() {
-        Twilio.init(twilioConfig.getAccountSid(), twilioConfig.getAuthToken());
-        log.info("Twilio initialized successfully");
+    /**
+     * Send with rate limiting and retries; dead-letters the message if every attempt fails
+     */
+    public void sendMessage(String toPhoneNumber, String messageBody) {
+        try {
+            sendWithRetry(toPhoneNumber, messageBody);
+        } catch (SendFailedException e) {
+            deadLetter(toPhoneNumber, messageBody, e);
+            throw e;
+        }
     }
 
-    public void sendMessage(String toPhoneNumber, String messageBody) {
+    /**
+     * Send the parts of one reply in order. The first part that fails is dead-lettered along
+     * with every part after it, which is not sent out of order, and the failure is rethrown.
+     */
+    public void sendMessages(String toPhoneNumber, List<String> parts) {
+        for (int i = 0; i < parts.size(); i++) {
+            try {
+                sendWithRetry(toPhoneNumber, parts.get(i));
+            } catch (SendFailedException e) {
+                parts.subList(i, parts.size()).forEach(part -> deadLetter(toPhoneNumber, part, e));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Send with rate limiting and retries, without dead-lettering (used by replay)
+     */
+    public void sendWithRetry(String toPhoneNumber, String messageBody) {
+        OutboundConfig.Retry retry = outboundConfig.getRetry();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                rateLimiter.acquire();
+                attemptSend(toPhoneNumber, messageBody);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SendFailedException("Interrupted while sending WhatsApp message", null, false, attempt, e);
+            } catch (Exception e) {
+                Integer statusCode = statusCode(e);
+                boolean connectFailure = isConnectFailure(e);
+                if (!isRetryable(statusCode, connectFailure) || attempt >= retry.getMaxAttempts()) {
+                    log.error("Failed to send WhatsApp message to {} after {} attempt(s): {}",
+                              toPhoneNumber, attempt, e.getMessage(), e);
+                    throw new SendFailedException("Failed to send WhatsApp message", statusCode, connectFailure, attempt, e);
+                }
+
+                long backoffMs = backoff(retry, attempt);
+                log.warn("Send to {} failed (attempt {}/{}, status {}), retrying in {} ms: {}",
+                         toPhoneNumber, attempt, retry.getMaxAttempts(), statusCode, backoffMs, e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw new SendFailedException("Interrupted while sending WhatsApp message", statusCode, connectFailure,
+                        attempt, ie);
+                }
+            }
+        }
+    }
+
+    private void attemptSend(String toPhoneNumber, String messageBody) {
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
-            Message message = Message.creator(
-                new PhoneNumber("whatsapp:" + toPhoneNumber),
-                new PhoneNumber("whatsapp:" + twilioConfig.getPhoneNumber()),
-                messageBody
-            ).create();
+            String sid = transport.send(toPhoneNumber, messageBody);
+            sample.stop(sendTimer("success"));
+            log.info("Message sent successfully. SID: {}", sid);
+        } catch (RuntimeException e) {
+            sample.stop(sendTimer("failure"));
+            throw e;
+        }
+    }
 
-            log.info("Message sent successfully. SID: {}", message.getSid());
+    /**
+     * Latency of one transport call
+     */
+    private Timer sendTimer(String outcome) {
+        return meterRegistry.timer("barbershop.transport.send", "transport", transport.getName(), "outcome", outcome);
+    }
+
+    /**
+     * Throttling and server-side errors are worth retrying; other client errors (bad number,
+     * unsubscribed user) are not. Without a status only a request that never left is retried.
+     */
+    private static boolean isRetryable(Integer statusCode, boolean connectFailure) {
+        if (statusCode != null) {
+            return statusCode == 429 || statusCode >= 500;
+        }
+        return connectFailure;
+    }
+
+    private boolean isConnectFailure(Exception e) {
+        return e instanceof TransportException transportException && transportException.isConnectFailure();
+    }
+
+    private Integer statusCode(Exception e) {
+        return e instanceof TransportException transportException ? transportException.getStatusCode() : null;
+    }
+
+    /**
+     * Full jitter: uniform in [0, min(max, initial * 2^(attempt-1))]
+     */
+    private long backoff(OutboundConfig.Retry retry, int attempt) {
+        long ceiling = Math.min(retry.getMaxBackoffMs(), retry.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    void deadLetter(String toPhoneNumber, String messageBody, SendFailedException failure) {
+        try {
+            String error = failure.getCause() != null ? failure.getCause().getMessage() : failure.getMessage();
+            deadLetterRepository.save(DeadLetterMessage.builder()
+                .toPhoneNumber(toPhoneNumber)
+                .body(messageBody)
+                .attempts(failure.getAttempts())
+                .errorCode(failure.getStatusCode())
+                .lastError(truncate(error))
+                .build());
+            meterRegistry.counter("barbershop.twilio.dead_letter").increment();
+            log.warn("Stored dead letter for {} after {} attempt(s)", toPhoneNumber, failure.getAttempts());
         } catch (Exception e) {
-            log.error("Failed to send WhatsApp message to {}: {}", toPhoneNumber, e.getMessage(), e);
-            throw new RuntimeException("Failed to send WhatsApp message", e);
+            log.error("Failed to store dead letter for {}: {}", toPhoneNumber, e.getMessage(), e);
+        }
+    }
+
+    static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    /**
+     * Thrown when a message could not be delivered after all attempts
+     */
+    @Getter
+    public static class SendFailedException extends RuntimeException {
+
+        private final Integer statusCode;
+        private final boolean connectFailure;
+        private final int attempts;
+
+        public SendFailedException(String message, Integer statusCode, boolean connectFailure, int attempts,
+                                   Throwable cause) {
+            super(message, cause);
+            this.statusCode = statusCode;
+            this.connectFailure = connectFailure;
+            this.attempts = attempts;
+        }
+
+        /**
+         * Same rule as a single attempt: throttling, server errors and connection failures.
+         * A failure without a status that may have reached the provider is not retried.
+         */
+        public boolean isRetryable() {
+            return WhatsAppService.isRetryable(statusCode, connectFailure);
         }
     }
 }
@@ -0,0 +1,61 @@
+package com.banda.barbershop.template;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * Shared formatters and small value formats for outbound messages.
+ * DateTimeFormatter is immutable and thread-safe, so one instance per pattern is enough.
+ */
+public final class MessageFormats {
+
+    public static final DateTimeFormatter DAY_DATE = DateTimeFormatter.ofPattern("EEE dd MMM");  // Mon 21 Oct
+    public static final DateTimeFormatter SHORT_DATE = DateTimeFormatter.ofPattern("dd MMM");    // 21 Oct
+    public static final DateTimeFormatter WEEKDAY = DateTimeFormatter.ofPattern("EEE");          // Mon
+    public static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("h:mm a");          // 9:30 AM
+
+    // Number emoji (1️⃣) is the digit followed by the variation selector and keycap
+    private static final String KEYCAP = "️⃣";
+
+    private MessageFormats() {
+    }
+
+    /**
+     * TODAY / TOMORROW, otherwise the weekday name (WEDNESDAY)
+     */
+    public static String dayLabel(LocalDate date) {
+        LocalDate today = LocalDate.now();
+        if (date.equals(today)) {
+            return "TODAY";
+        }
+        if (date.equals(today.plusDays(1))) {
+            return "TOMORROW";
+        }
+        return date.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH).toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Whole euros, same rounding as "%.0f"
+     */
+    public static String price(BigDecimal price) {
+        return price.setScale(0, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * One decimal place, same rounding as "%.1f"
+     */
+    public static String rating(Double rating) {
+        return BigDecimal.valueOf(rating).setScale(1, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * Menu option number as rendered by "%d️⃣"
+     */
+    public static String option(int number) {
+        return number + KEYCAP;
+    }
+}
@@ -0,0 +1,85 @@
+package com.banda.barbershop.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs outgoing text into as few WhatsApp messages as the body length limit allows.
+ * Breaks at blank lines first, then at line ends, and only cuts inside a line that is
+ * longer than the limit on its own (never between the two halves of a surrogate pair).
+ */
+public final class MessageSplitter {
+
+    private static final String PARAGRAPH = "\n\n";
+
+    private MessageSplitter() {
+    }
+
+    /**
+     * Join the parts into one message, blank line between them
+     */
+    public static String join(List<String> parts) {
+        return String.join(PARAGRAPH, parts.stream().map(String::strip).filter(part -> !part.isEmpty()).toList());
+    }
+
+    public static List<String> split(String text, int maxLength) {
+        if (text.length() <= maxLength) {
+            return List.of(text);
+        }
+
+        List<String> messages = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String paragraph : text.split(PARAGRAPH)) {
+            append(messages, current, paragraph, PARAGRAPH, maxLength);
+        }
+        flush(messages, current);
+        return messages;
+    }
+
+    private static void append(List<String> messages, StringBuilder current, String piece,
+                               String separator, int maxLength) {
+        if (fits(current, piece, separator, maxLength)) {
+            if (!current.isEmpty()) {
+                current.append(separator);
+            }
+            current.append(piece);
+            return;
+        }
+
+        flush(messages, current);
+        if (piece.length() <= maxLength) {
+            current.append(piece);
+        } else if (separator.equals(PARAGRAPH)) {
+            for (String line : piece.split("\n")) {
+                append(messages, current, line, "\n", maxLength);
+            }
+        } else {
+            cut(messages, current, piece, maxLength);
+        }
+    }
+
+    private static void cut(List<String> messages, StringBuilder current, String line, int maxLength) {
+        int start = 0;
+        while (line.length() - start > maxLength) {
+            int end = start + maxLength;
+            if (Character.isHighSurrogate(line.charAt(end - 1))) {
+                end--;
+            }
+            messages.add(line.substring(start, end));
+            start = end;
+        }
+        current.append(line, start, line.length());
+    }
+
+    private static boolean fits(StringBuilder current, String piece, String separator, int maxLength) {
+        int extra = current.isEmpty() ? 0 : separator.length();
+        return current.length() + extra + piece.length() <= maxLength;
+    }
+
+    private static void flush(List<String> messages, StringBuilder current) {
+        if (!current.isEmpty()) {
+            messages.add(current.toString());
+            current.setLength(0);
+        }
+    }
+}
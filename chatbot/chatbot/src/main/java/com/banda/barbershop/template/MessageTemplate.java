@@ -0,0 +1,102 @@
+package com.banda.barbershop.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbound message text with indexed placeholders ({0}, {1}, ...).
+ *
+ * The text is split into literal and placeholder segments once, when the template is
+ * compiled (templates are static constants, so at class load). Rendering then only
+ * appends segments to a StringBuilder - no format-string parsing, no Formatter and no
+ * intermediate strings per call, which String.format pays every time.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;      // literals[i] precedes placeholder i; last one trails
+    private final int[] argIndexes;       // Argument index of each placeholder
+    private final int arity;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, int[] argIndexes) {
+        this.literals = literals;
+        this.argIndexes = argIndexes;
+
+        int maxIndex = -1;
+        for (int index : argIndexes) {
+            maxIndex = Math.max(maxIndex, index);
+        }
+        this.arity = maxIndex + 1;
+
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parse a template. '{n}' is a placeholder; any other brace is literal text.
+     */
+    public static MessageTemplate compile(String text) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argIndexes = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            int close = c == '{' ? text.indexOf('}', i + 1) : -1;
+            if (close > i + 1 && isDigits(text, i + 1, close)) {
+                literals.add(literal.toString());
+                argIndexes.add(Integer.parseInt(text, i + 1, close, 10));
+                literal.setLength(0);
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(
+            literals.toArray(String[]::new),
+            argIndexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Render into an existing builder, e.g. one line of a list message
+     */
+    public StringBuilder renderTo(StringBuilder out, Object... args) {
+        if (args.length < arity) {
+            throw new IllegalArgumentException(
+                "Template needs " + arity + " arguments, got " + args.length);
+        }
+
+        for (int i = 0; i < argIndexes.length; i++) {
+            out.append(literals[i]);
+            out.append(args[argIndexes[i]]);
+        }
+        return out.append(literals[literals.length - 1]);
+    }
+
+    public String render(Object... args) {
+        return renderTo(new StringBuilder(estimatedLength()), args).toString();
+    }
+
+    /**
+     * Literal text plus a typical placeholder width - a capacity hint for builders
+     */
+    public int estimatedLength() {
+        return literalLength + argIndexes.length * 16;
+    }
+
+    private static boolean isDigits(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (!Character.isDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package com.banda.barbershop.transport;
+
+import com.banda.barbershop.config.OutboundConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps sent messages in memory instead of calling Twilio, for tests and load runs.
+ * An optional fixed latency stands in for the provider round trip. Only the most recent
+ * messages are kept.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbound.transport", name = "type", havingValue = "in-memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryMessageTransport implements MessageTransport {
+
+    private static final int MAX_KEPT = 1000;
+
+    private final OutboundConfig outboundConfig;
+
+    private final Deque<SentMessage> sent = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public String getName() {
+        return "in-memory";
+    }
+
+    @Override
+    public String send(String toPhoneNumber, String body) {
+        long latencyMs = outboundConfig.getTransport().getInMemoryLatencyMs();
+        if (latencyMs > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransportException("Interrupted", null, e);
+            }
+        }
+
+        String sid = "MM%032d".formatted(sequence.incrementAndGet());
+        lock.lock();
+        try {
+            if (sent.size() == MAX_KEPT) {
+                sent.removeFirst();
+            }
+            sent.addLast(new SentMessage(sid, toPhoneNumber, body, LocalDateTime.now()));
+        } finally {
+            lock.unlock();
+        }
+        log.debug("In-memory send {} to {}", sid, toPhoneNumber);
+        return sid;
+    }
+
+    /**
+     * Most recent messages, oldest first
+     */
+    public List<SentMessage> getSent() {
+        lock.lock();
+        try {
+            return List.copyOf(sent);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            sent.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public record SentMessage(String sid, String toPhoneNumber, String body, LocalDateTime sentAt) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.banda.barbershop.transport;
+
+/**
+ * Delivers one WhatsApp message, with no retries or pacing of its own (WhatsAppService
+ * adds those). The implementation is picked by outbound.transport.type.
+ */
+public interface MessageTransport {
+
+    /**
+     * Name used to tag metrics (twilio, in-memory)
+     */
+    String getName();
+
+    /**
+     * Send one message
+     *
+     * @return the provider's message id
+     * @throws TransportException when the provider rejects the message or cannot be reached
+     */
+    String send(String toPhoneNumber, String body);
+}
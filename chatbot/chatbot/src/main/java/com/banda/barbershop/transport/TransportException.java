@@ -0,0 +1,26 @@
+package com.banda.barbershop.transport;
+
+import lombok.Getter;
+
+/**
+ * A send that failed in the transport. statusCode is the provider's HTTP status,
+ * null when no response was received (connection or timeout failure). connectFailure is
+ * set only when the request never left: the connection could not be opened or leased, so
+ * the provider cannot have accepted the message. A read timeout is not a connect failure.
+ */
+@Getter
+public class TransportException extends RuntimeException {
+
+    private final Integer statusCode;
+    private final boolean connectFailure;
+
+    public TransportException(String message, Integer statusCode, Throwable cause) {
+        this(message, statusCode, false, cause);
+    }
+
+    public TransportException(String message, Integer statusCode, boolean connectFailure, Throwable cause) {
+        super(message, cause);
+        this.statusCode = statusCode;
+        this.connectFailure = connectFailure;
+    }
+}
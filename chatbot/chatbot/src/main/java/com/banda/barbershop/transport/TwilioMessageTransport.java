@@ -0,0 +1,195 @@
+package com.banda.barbershop.transport;
+
+import com.banda.barbershop.config.OutboundConfig;
+import com.banda.barbershop.config.TwilioConfig;
+import com.twilio.exception.ApiException;
+import com.twilio.http.NetworkHttpClient;
+import com.twilio.http.Request;
+import com.twilio.http.Response;
+import com.twilio.http.TwilioRestClient;
+import com.twilio.rest.api.v2010.account.Message;
+import com.twilio.type.PhoneNumber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sends through the Twilio REST API on a client of our own instead of the static Twilio.init()
+ * holder: a pooled httpclient5 connection manager sized to the sender's throughput, explicit
+ * connect/read/pool-wait timeouts, and idle keep-alive connections reused across reminder
+ * bursts. The SDK's built-in retry loop is bypassed; WhatsAppService owns retries.
+ *
+ * The send path is lock-based or monitor-free, so it does not pin virtual threads.
+ * Connection reuse shows as barbershop.transport.connections (opened) against the send count,
+ * pool occupancy as barbershop.transport.pool.
+ *
+ * The client is built on a background thread once the application is ready (or by the first
+ * send, whichever comes first), keeping Twilio SDK and httpclient class loading off startup.
+ */
+@Component
+@ConditionalOnProperty(prefix = "outbound.transport", name = "type", havingValue = "twilio", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TwilioMessageTransport implements MessageTransport {
+
+    private final TwilioConfig twilioConfig;
+    private final OutboundConfig outboundConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock initLock = new ReentrantLock();
+    private PoolingHttpClientConnectionManager connectionManager;
+    private volatile TwilioRestClient restClient;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        Thread.ofPlatform().name("twilio-warmup").daemon().start(this::client);
+    }
+
+    private TwilioRestClient client() {
+        TwilioRestClient client = restClient;
+        if (client != null) {
+            return client;
+        }
+        initLock.lock();
+        try {
+            if (restClient == null) {
+                init();
+            }
+            return restClient;
+        } finally {
+            initLock.unlock();
+        }
+    }
+
+    private void init() {
+        OutboundConfig.Transport transport = outboundConfig.getTransport();
+        Counter opened = meterRegistry.counter("barbershop.transport.connections", "transport", getName());
+
+        connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setMaxConnTotal(transport.getMaxConnections())
+            .setMaxConnPerRoute(transport.getMaxConnections())
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(transport.getConnectTimeoutMs()))
+                .setSocketTimeout(Timeout.ofMilliseconds(transport.getSocketTimeoutMs()))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build())
+            .setConnectionFactory(socket -> {
+                opened.increment();
+                return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+            })
+            .build();
+
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(transport.getConnectionRequestTimeoutMs()))
+                .setResponseTimeout(Timeout.ofMilliseconds(transport.getSocketTimeoutMs()))
+                .build())
+            .setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(transport.getKeepAliveSeconds()))
+            .evictIdleConnections(TimeValue.ofSeconds(transport.getKeepAliveSeconds()))
+            .evictExpiredConnections();
+
+        restClient = new TwilioRestClient.Builder(twilioConfig.getAccountSid(), twilioConfig.getAuthToken())
+            .httpClient(new SingleAttemptHttpClient(httpClientBuilder))
+            .build();
+
+        registerPoolGauge("leased", self -> self.connectionManager.getTotalStats().getLeased());
+        registerPoolGauge("available", self -> self.connectionManager.getTotalStats().getAvailable());
+        registerPoolGauge("pending", self -> self.connectionManager.getTotalStats().getPending());
+
+        log.info("Twilio transport initialized: {} pooled connections, connect {} ms, read {} ms",
+                 transport.getMaxConnections(), transport.getConnectTimeoutMs(), transport.getSocketTimeoutMs());
+    }
+
+    @Override
+    public String getName() {
+        return "twilio";
+    }
+
+    @Override
+    public String send(String toPhoneNumber, String body) {
+        try {
+            Message message = Message.creator(
+                new PhoneNumber("whatsapp:" + toPhoneNumber),
+                new PhoneNumber("whatsapp:" + twilioConfig.getPhoneNumber()),
+                body
+            ).create(client());
+            return message.getSid();
+        } catch (ApiException e) {
+            throw new TransportException(e.getMessage(), e.getStatusCode(), e);
+        } catch (RuntimeException e) {
+            throw new TransportException(e.getMessage(), null, failedToConnect(e), e);
+        }
+    }
+
+    /**
+     * The request never reached Twilio: no route, refused, connect timeout, or no pooled
+     * connection free in time. A read timeout or reset after sending is not included, the
+     * message may have been accepted.
+     */
+    static boolean failedToConnect(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException
+                    || cause instanceof ConnectTimeoutException
+                    || cause instanceof ConnectionRequestTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void registerPoolGauge(String state, ToDoubleFunction<TwilioMessageTransport> value) {
+        Gauge.builder("barbershop.transport.pool", this, value)
+            .tag("transport", getName())
+            .tag("state", state)
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+    }
+
+    /**
+     * One HTTP call per send: the SDK's reliableRequest retries 5xx responses with its own
+     * fixed sleep, which would multiply with WhatsAppService's jittered retries
+     */
+    private static class SingleAttemptHttpClient extends NetworkHttpClient {
+
+        SingleAttemptHttpClient(HttpClientBuilder builder) {
+            super(builder);
+        }
+
+        @Override
+        public Response reliableRequest(Request request) {
+            return makeRequest(request);
+        }
+    }
+}
@@ -0,0 +1,2 @@
+-- A replay claims its dead letter (status REPLAYING) before sending, so two replays never send it twice
+ALTER TABLE dead_letter_messages ADD COLUMN claimed_at DATETIME(6);
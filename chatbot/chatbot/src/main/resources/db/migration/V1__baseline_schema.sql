@@ -0,0 +1,103 @@
+-- Schema as Hibernate created it with ddl-auto: update (MySQL dialect) before the migrations
+-- took over, including its generated constraint names. Databases created that way are
+-- baselined at this version and start at V2.
+
+CREATE TABLE barbers (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    active BIT NOT NULL,
+    completed_bookings INTEGER NOT NULL,
+    display_order INTEGER NOT NULL,
+    rating FLOAT(53),
+    total_bookings INTEGER NOT NULL,
+    total_ratings INTEGER,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    bio TEXT,
+    name VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_date DATE NOT NULL,
+    day_before_reminder_sent BIT NOT NULL,
+    end_time TIME(6) NOT NULL,
+    one_hour_reminder_sent BIT NOT NULL,
+    start_time TIME(6) NOT NULL,
+    barber_id BIGINT,
+    cancelled_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    day_before_reminder_sent_at DATETIME(6),
+    one_hour_reminder_sent_at DATETIME(6),
+    service_id BIGINT NOT NULL,
+    booking_code VARCHAR(10) NOT NULL,
+    customer_phone VARCHAR(255) NOT NULL,
+    status ENUM('CANCELLED','COMPLETED','CONFIRMED','NO_SHOW') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE conversation_states (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    last_activity DATETIME(6) NOT NULL,
+    context_data TEXT,
+    phone_number VARCHAR(255) NOT NULL,
+    current_step ENUM('BOOKING_CONFIRMED','CANCEL_BOOKING_CONFIRM','CANCEL_BOOKING_INPUT','CONFIRM_BOOKING','FAQ','MAIN_MENU','SELECT_BARBER','SELECT_SERVICE','VIEW_MY_BOOKINGS','VIEW_SERVICES','VIEW_TODAY_SLOTS','VIEW_TOMORROW_SLOTS') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE customers (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    birthday DATE,
+    birthday_day INTEGER,
+    birthday_month INTEGER,
+    cancelled_bookings INTEGER NOT NULL,
+    completed_bookings INTEGER NOT NULL,
+    first_visit DATE,
+    last_birthday_message_sent DATE,
+    last_loyalty_reward_date DATE,
+    last_visit DATE,
+    lifetime_loyalty_points INTEGER,
+    loyalty_points INTEGER NOT NULL,
+    no_show_bookings INTEGER NOT NULL,
+    preferred_barber_count INTEGER,
+    preferred_service_count INTEGER,
+    total_bookings INTEGER NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    preferred_barber_id BIGINT,
+    preferred_service_id BIGINT,
+    updated_at DATETIME(6),
+    name VARCHAR(100),
+    phone_number VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE services (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    active BIT NOT NULL,
+    display_order INTEGER NOT NULL,
+    duration_minutes INTEGER NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    description TEXT,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_barber_active ON barbers (active);
+CREATE INDEX idx_barber_phone ON barbers (phone_number);
+ALTER TABLE barbers ADD CONSTRAINT UKgv1013m9i3o3c7sp7dh468dvh UNIQUE (phone_number);
+CREATE INDEX idx_booking_date_status ON bookings (booking_date, status);
+CREATE INDEX idx_customer_phone ON bookings (customer_phone);
+CREATE INDEX idx_booking_code ON bookings (booking_code);
+CREATE INDEX idx_barber_date ON bookings (barber_id, booking_date);
+ALTER TABLE bookings ADD CONSTRAINT UK8l3brvja7ljuffjsfdepe0yef UNIQUE (booking_code);
+ALTER TABLE conversation_states ADD CONSTRAINT UKo34he2kyix7iiwrsj4tdnwhyf UNIQUE (phone_number);
+CREATE INDEX idx_phone_number ON customers (phone_number);
+CREATE INDEX idx_birthday_month ON customers (birthday_month);
+CREATE INDEX idx_loyalty_points ON customers (loyalty_points);
+ALTER TABLE customers ADD CONSTRAINT UK6v6x92wb400iwh6unf5rwiim4 UNIQUE (phone_number);
+
+ALTER TABLE bookings ADD CONSTRAINT FK6osayelf1dyyrh6p0y0sm0ii2 FOREIGN KEY (barber_id) REFERENCES barbers (id);
+ALTER TABLE bookings ADD CONSTRAINT FKjcwbou2jlblfwu14uoxs65b25 FOREIGN KEY (service_id) REFERENCES services (id);
+ALTER TABLE customers ADD CONSTRAINT FKiyjkd7vvg91lnxslme33htwqf FOREIGN KEY (preferred_barber_id) REFERENCES barbers (id);
+ALTER TABLE customers ADD CONSTRAINT FKt20yj5fcyst5s5qefbh3s7yi8 FOREIGN KEY (preferred_service_id) REFERENCES services (id);
@@ -0,0 +1,12 @@
+-- Webhook retry dedup: one row per handled Twilio MessageSid with the reply that was sent
+CREATE TABLE processed_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    received_at DATETIME(6) NOT NULL,
+    message_sid VARCHAR(64) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    response TEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE processed_messages ADD CONSTRAINT UKkhvecix4reelw1vx0phkqbddq UNIQUE (message_sid);
+CREATE INDEX idx_processed_received_at ON processed_messages (received_at);
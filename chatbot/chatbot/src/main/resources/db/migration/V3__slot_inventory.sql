@@ -0,0 +1,13 @@
+-- Materialized slot inventory: one row per barber, day and slot start with the places left
+CREATE TABLE slot_inventory (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    capacity INTEGER NOT NULL,
+    remaining INTEGER NOT NULL,
+    slot_date DATE NOT NULL,
+    slot_start TIME(6) NOT NULL,
+    barber_id BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE slot_inventory ADD CONSTRAINT uk_slot_inventory_slot UNIQUE (barber_id, slot_date, slot_start);
+CREATE INDEX idx_slot_inventory_date ON slot_inventory (slot_date);
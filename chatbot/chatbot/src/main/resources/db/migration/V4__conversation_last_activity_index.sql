@@ -0,0 +1,2 @@
+-- Idle conversation reset and purge select by last activity
+CREATE INDEX idx_conversation_last_activity ON conversation_states (last_activity);
@@ -0,0 +1,22 @@
+-- Finished bookings moved out of the hot table; ids are kept from bookings
+CREATE TABLE bookings_archive (
+    id BIGINT NOT NULL,
+    booking_date DATE NOT NULL,
+    end_time TIME(6) NOT NULL,
+    start_time TIME(6) NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    barber_id BIGINT,
+    cancelled_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    service_id BIGINT NOT NULL,
+    booking_code VARCHAR(10) NOT NULL,
+    customer_phone VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_archive_date ON bookings_archive (booking_date);
+CREATE INDEX idx_archive_customer_phone ON bookings_archive (customer_phone);
+CREATE INDEX idx_archive_barber_date ON bookings_archive (barber_id, booking_date);
+ALTER TABLE bookings_archive ADD CONSTRAINT FKkiyp4iouv4ohjo4g6vw154sky FOREIGN KEY (barber_id) REFERENCES barbers (id);
+ALTER TABLE bookings_archive ADD CONSTRAINT FKbpsgmndj37xfx18l5tfwomkth FOREIGN KEY (service_id) REFERENCES services (id);
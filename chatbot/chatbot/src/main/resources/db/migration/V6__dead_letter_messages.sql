@@ -0,0 +1,15 @@
+-- Sends that failed after their retries, kept for replay from the admin API
+CREATE TABLE dead_letter_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    attempts INTEGER NOT NULL,
+    error_code INTEGER,
+    created_at DATETIME(6) NOT NULL,
+    replayed_at DATETIME(6),
+    last_error VARCHAR(500),
+    body TEXT NOT NULL,
+    to_phone_number VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_dead_letter_status ON dead_letter_messages (status, created_at);
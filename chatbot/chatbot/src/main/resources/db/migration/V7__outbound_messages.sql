@@ -0,0 +1,19 @@
+-- Transactional outbox for notifications, drained by the relay
+CREATE TABLE outbound_messages (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    attempts INTEGER NOT NULL,
+    claimed_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    claim_token VARCHAR(36),
+    last_error VARCHAR(500),
+    body TEXT NOT NULL,
+    to_phone_number VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    type VARCHAR(30) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_outbound_due ON outbound_messages (status, next_attempt_at);
+CREATE INDEX idx_outbound_claim ON outbound_messages (claim_token);
@@ -0,0 +1,22 @@
+-- Customers waiting for a slot with a barber (or any) within a date window
+CREATE TABLE waitlist_entries (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    from_date DATE NOT NULL,
+    offer_date DATE,
+    offer_time TIME(6),
+    to_date DATE NOT NULL,
+    barber_id BIGINT,
+    created_at DATETIME(6) NOT NULL,
+    offer_barber_id BIGINT,
+    offer_expires_at DATETIME(6),
+    service_id BIGINT NOT NULL,
+    customer_phone VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_waitlist_match ON waitlist_entries (barber_id, from_date, status);
+CREATE INDEX idx_waitlist_customer ON waitlist_entries (customer_phone, status);
+CREATE INDEX idx_waitlist_offer_expiry ON waitlist_entries (status, offer_expires_at);
+ALTER TABLE waitlist_entries ADD CONSTRAINT FKk0fvkx5msoa3dje4ckhn8qric FOREIGN KEY (barber_id) REFERENCES barbers (id);
+ALTER TABLE waitlist_entries ADD CONSTRAINT FK8djpx5jesl7gds0lm8lkvxel9 FOREIGN KEY (service_id) REFERENCES services (id);
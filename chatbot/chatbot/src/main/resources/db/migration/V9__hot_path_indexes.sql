@@ -0,0 +1,43 @@
+-- Enumerated columns of the original tables become VARCHAR: the ENUM lists ddl-auto: update
+-- created never gained the steps and statuses added since, and a new constant no longer needs
+-- a schema change (the later tables were created with VARCHAR)
+ALTER TABLE bookings MODIFY status VARCHAR(20) NOT NULL;
+ALTER TABLE conversation_states MODIFY current_step VARCHAR(50) NOT NULL;
+
+-- bookings
+-- Slot checks and schedules (countBarberBookingsAtSlot, findByBarberAndDate, findBookedIntervals)
+-- answered from the index alone; created before idx_barber_date goes so the barber foreign key
+-- always has an index
+CREATE INDEX idx_booking_barber_slot ON bookings (barber_id, booking_date, status, start_time, end_time);
+DROP INDEX idx_barber_date ON bookings;
+
+-- Day scans: overlaps, reminders, close-out and archiving
+CREATE INDEX idx_booking_day_slot ON bookings (booking_date, status, start_time, end_time);
+DROP INDEX idx_booking_date_status ON bookings;
+
+-- The one-hour reminder poll runs every few minutes: today's confirmed, unreminded bookings in a
+-- start-time window
+CREATE INDEX idx_booking_one_hour_reminder ON bookings (booking_date, status, one_hour_reminder_sent, start_time);
+
+-- A customer's bookings by status, newest first (findByCustomerPhoneAndStatusIn)
+CREATE INDEX idx_booking_customer_status ON bookings (customer_phone, status, booking_date);
+DROP INDEX idx_customer_phone ON bookings;
+
+-- Duplicates of the unique constraint's index
+DROP INDEX idx_booking_code ON bookings;
+
+-- customers
+CREATE INDEX idx_customer_birthday ON customers (birthday_month, birthday_day);
+DROP INDEX idx_birthday_month ON customers;
+CREATE INDEX idx_customer_completed ON customers (completed_bookings);
+CREATE INDEX idx_customer_last_visit ON customers (last_visit);
+DROP INDEX idx_phone_number ON customers;
+
+-- barbers
+DROP INDEX idx_barber_phone ON barbers;
+
+-- outbound_messages: retention purge of sent rows
+CREATE INDEX idx_outbound_sent ON outbound_messages (status, sent_at);
+
+-- waitlist_entries: nightly expiry of windows that have passed
+CREATE INDEX idx_waitlist_window ON waitlist_entries (status, to_date);
@@ -0,0 +1,102 @@
+package com.banda.barbershop.assignment;
+
+import com.banda.barbershop.dto.BookedInterval;
+import com.banda.barbershop.dto.CustomerProfile;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.repository.BookingRepository;
+import com.banda.barbershop.service.CustomerService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BarberAssignmentPolicyTest {
+
+    private static final String PHONE = "+353870000000";
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 10);
+
+    private final Barber mike = Barber.builder().id(1L).name("Mike").build();
+    private final Barber john = Barber.builder().id(2L).name("John").build();
+    private final Barber steve = Barber.builder().id(3L).name("Steve").build();
+    private final List<Barber> free = List.of(mike, john, steve);
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final CustomerService customerService = mock(CustomerService.class);
+    private final LeastUtilizedAssignmentPolicy leastUtilized = new LeastUtilizedAssignmentPolicy(bookingRepository);
+
+    @Test
+    void leastUtilizedPicksTheBarberWithFewestBookedMinutes() {
+        booked(booking(mike, "09:00", "11:00"), booking(john, "09:00", "10:00"), booking(john, "14:00", "14:15"),
+            booking(steve, "12:00", "13:30"));
+
+        assertThat(leastUtilized.assign(free, PHONE, DATE)).isEqualTo(john);
+    }
+
+    @Test
+    void leastUtilizedBreaksTiesInDisplayOrder() {
+        booked(booking(mike, "09:00", "10:00"), booking(steve, "15:00", "16:00"));
+
+        assertThat(leastUtilized.assign(free, PHONE, DATE)).isEqualTo(john);
+        booked();
+        assertThat(leastUtilized.assign(free, PHONE, DATE)).isEqualTo(mike);
+    }
+
+    @Test
+    void preferredFirstTakesTheUsualBarberWhenFree() {
+        PreferredBarberAssignmentPolicy policy = new PreferredBarberAssignmentPolicy(customerService, leastUtilized);
+        booked(booking(steve, "09:00", "17:00"));
+        preferredBarber(steve);
+
+        assertThat(policy.assign(free, PHONE, DATE)).isEqualTo(steve);
+    }
+
+    @Test
+    void preferredFirstFallsBackToLeastUtilized() {
+        PreferredBarberAssignmentPolicy policy = new PreferredBarberAssignmentPolicy(customerService, leastUtilized);
+        booked(booking(mike, "09:00", "10:00"));
+
+        preferredBarber(steve);
+        assertThat(policy.assign(List.of(mike, john), PHONE, DATE)).isEqualTo(john);
+
+        when(customerService.getProfile(PHONE)).thenReturn(CustomerProfile.unknown(PHONE));
+        assertThat(policy.assign(List.of(mike, john), PHONE, DATE)).isEqualTo(john);
+    }
+
+    @Test
+    void roundRobinSpreadsBookingsEvenly() {
+        RoundRobinAssignmentPolicy policy = new RoundRobinAssignmentPolicy();
+
+        Map<Barber, Long> assigned = IntStream.range(0, 300)
+            .mapToObj(i -> policy.assign(free, PHONE, DATE))
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertThat(assigned).containsOnlyKeys(mike, john, steve).allSatisfy((barber, count) -> assertThat(count).isEqualTo(100));
+    }
+
+    private void booked(BookedInterval... intervals) {
+        when(bookingRepository.findBookedIntervals(anyCollection(), eq(DATE), eq(DATE))).thenReturn(List.of(intervals));
+    }
+
+    private static BookedInterval booking(Barber barber, String start, String end) {
+        return new BookedInterval(barber.getId(), DATE, LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    private void preferredBarber(Barber barber) {
+        when(customerService.getProfile(PHONE)).thenReturn(CustomerProfile.builder()
+            .phoneNumber(PHONE)
+            .known(true)
+            .preferredBarberId(barber.getId())
+            .build());
+    }
+}
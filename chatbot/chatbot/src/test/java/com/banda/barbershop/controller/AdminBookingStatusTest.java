@@ -0,0 +1,229 @@
+package com.banda.barbershop.controller;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.Customer;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.BookingRepository;
+import com.banda.barbershop.repository.CustomerRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.CustomerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Close-out and the single-booking status endpoints count each booking once, however often
+ * they are called and whatever status the listed bookings are already in
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminBookingStatusTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final Duration EVENT_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BarberRepository barberRepository;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private CustomerService customerService;
+
+    private Service service;
+    private Barber barber;
+    private String phone;
+    private LocalDate yesterday;
+
+    @BeforeEach
+    void customerWithAPastDay() {
+        service = serviceRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        barber = barberRepository.findAllActiveBarbers().getLast();
+        phone = "+35383%07d".formatted(SEQUENCE.incrementAndGet());
+        customerService.getOrCreateCustomer(phone);
+        yesterday = LocalDate.now().minusDays(1);
+    }
+
+    @Test
+    void closeOutCountsOnlyBookingsItMoves() throws Exception {
+        Booking noShow = booking(BookingStatus.CONFIRMED, LocalTime.of(9, 0));
+        Booking completed = booking(BookingStatus.CONFIRMED, LocalTime.of(10, 0));
+        Booking cancelled = booking(BookingStatus.CANCELLED, LocalTime.of(11, 0));
+        String request = """
+            {"noShows": ["%s"], "completed": ["%s", "%s"]}
+            """.formatted(noShow.getBookingCode(), completed.getBookingCode(), cancelled.getBookingCode());
+        int barberCompletedBefore = barberCompleted();
+
+        closeOut(request, 1, 1);
+
+        assertThat(statusOf(noShow)).isEqualTo(BookingStatus.NO_SHOW);
+        assertThat(statusOf(completed)).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(statusOf(cancelled)).isEqualTo(BookingStatus.CANCELLED);
+        assertCustomerCounts(1, 1);
+        assertThat(customer().getLastVisit()).isEqualTo(yesterday);
+        assertThat(barberCompleted()).isEqualTo(barberCompletedBefore + 1);
+
+        // Sent again (a retried request): nothing left in CONFIRMED, nothing counted twice
+        closeOut(request, 0, 0);
+        assertCustomerCounts(1, 1);
+        assertThat(barberCompleted()).isEqualTo(barberCompletedBefore + 1);
+    }
+
+    @Test
+    void closeOutCompletesRemainingEndedBookingsOfTheDay() throws Exception {
+        Booking noShow = booking(BookingStatus.CONFIRMED, LocalTime.of(9, 0));
+        Booking remaining = booking(BookingStatus.CONFIRMED, LocalTime.of(12, 0));
+
+        closeOut("""
+            {"date": "%s", "noShows": ["%s"], "completeRemaining": true}
+            """.formatted(yesterday, noShow.getBookingCode()), -1, 1);
+
+        assertThat(statusOf(noShow)).isEqualTo(BookingStatus.NO_SHOW);
+        assertThat(statusOf(remaining)).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(customer().getCompletedBookings()).isEqualTo(1);
+    }
+
+    @Test
+    void countersSkipBookingsNotInTheNewStatus() {
+        Booking cancelled = booking(BookingStatus.CANCELLED, LocalTime.of(13, 0));
+        Booking confirmed = booking(BookingStatus.CONFIRMED, LocalTime.of(14, 0));
+
+        assertThat(customerService.recordCompletedBookings(List.of(cancelled.getId(), confirmed.getId()))).isZero();
+        assertThat(customerService.recordNoShows(List.of(cancelled.getId(), confirmed.getId()))).isZero();
+        assertCustomerCounts(0, 0);
+    }
+
+    @Test
+    void markingANoShowTwiceCountsItOnce() throws Exception {
+        // No barber, so the events leave the barber counters other cases check alone
+        Booking noShow = booking(BookingStatus.CONFIRMED, LocalTime.of(15, 0), null);
+        Booking later = booking(BookingStatus.CONFIRMED, LocalTime.of(16, 0), null);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(put("/api/admin/bookings/{code}/no-show", noShow.getBookingCode()))
+                .andExpect(status().isOk());
+        }
+        // One customer's events arrive in order: once this one is counted, the no-shows are too
+        mockMvc.perform(put("/api/admin/bookings/{code}/complete", later.getBookingCode()))
+            .andExpect(status().isOk());
+        awaitCompletedBookings(1);
+
+        assertThat(statusOf(noShow)).isEqualTo(BookingStatus.NO_SHOW);
+        assertThat(customer().getNoShowBookings()).isEqualTo(1);
+    }
+
+    @Test
+    void remarkingAClosedBookingCountsNothing() throws Exception {
+        Booking completed = booking(BookingStatus.CONFIRMED, LocalTime.of(17, 0));
+        Booking cancelled = booking(BookingStatus.CANCELLED, LocalTime.of(18, 0), null);
+        Booking later = booking(BookingStatus.CONFIRMED, LocalTime.of(19, 0), null);
+        int barberCompletedBefore = barberCompleted();
+
+        mark(completed, "complete");
+        awaitCompletedBookings(1);
+
+        mark(completed, "no-show");
+        mark(completed, "complete");
+        mark(cancelled, "complete");
+        mark(cancelled, "no-show");
+        // Counted after any events the marks above could have published
+        mark(later, "complete");
+        awaitCompletedBookings(2);
+
+        assertThat(statusOf(completed)).isEqualTo(BookingStatus.COMPLETED);
+        assertThat(statusOf(cancelled)).isEqualTo(BookingStatus.CANCELLED);
+        assertCustomerCounts(2, 0);
+        assertThat(barberCompleted()).isEqualTo(barberCompletedBefore + 1);
+    }
+
+    @Test
+    void unknownBookingIsNotFound() throws Exception {
+        mockMvc.perform(put("/api/admin/bookings/{code}/no-show", "NOPE999"))
+            .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/admin/bookings/{code}/complete", "NOPE999"))
+            .andExpect(status().isNotFound());
+    }
+
+    private void mark(Booking booking, String status) throws Exception {
+        mockMvc.perform(put("/api/admin/bookings/{code}/" + status, booking.getBookingCode()))
+            .andExpect(status().isOk());
+    }
+
+    /**
+     * Expected counts of -1 are not checked
+     */
+    private void closeOut(String request, int completed, int noShows) throws Exception {
+        var result = mockMvc.perform(post("/api/admin/bookings/close-out")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request))
+            .andExpect(status().isOk());
+        if (completed >= 0) {
+            result.andExpect(jsonPath("$.completed").value(completed));
+        }
+        result.andExpect(jsonPath("$.noShows").value(noShows));
+    }
+
+    private Booking booking(BookingStatus status, LocalTime start) {
+        return booking(status, start, barber);
+    }
+
+    private Booking booking(BookingStatus status, LocalTime start, Barber barber) {
+        return bookingRepository.save(Booking.builder()
+            .bookingCode("CX%05d".formatted(SEQUENCE.incrementAndGet()))
+            .customerPhone(phone)
+            .service(service)
+            .barber(barber)
+            .bookingDate(yesterday)
+            .startTime(start)
+            .endTime(start.plusMinutes(service.getDurationMinutes()))
+            .status(status)
+            .build());
+    }
+
+    private BookingStatus statusOf(Booking booking) {
+        return bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+    }
+
+    private Customer customer() {
+        return customerRepository.findByPhoneNumber(phone).orElseThrow();
+    }
+
+    private void assertCustomerCounts(int completed, int noShows) {
+        Customer customer = customer();
+        assertThat(customer.getCompletedBookings()).isEqualTo(completed);
+        assertThat(customer.getNoShowBookings()).isEqualTo(noShows);
+    }
+
+    private int barberCompleted() {
+        return barberRepository.findById(barber.getId()).orElseThrow().getCompletedBookings();
+    }
+
+    private void awaitCompletedBookings(int count) {
+        long deadline = System.nanoTime() + EVENT_TIMEOUT.toNanos();
+        while (customer().getCompletedBookings() < count && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+        assertThat(customer().getCompletedBookings()).isEqualTo(count);
+    }
+}
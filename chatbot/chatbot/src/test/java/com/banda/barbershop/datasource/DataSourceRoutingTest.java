@@ -0,0 +1,124 @@
+package com.banda.barbershop.datasource;
+
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.AdminService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing against two in-memory H2 databases. The replica gets the primary's schema but
+ * none of its data, so every read shows which database served it.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL",
+    "datasource-routing.enabled=true",
+    "datasource-routing.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1",
+    "datasource-routing.replica.username=sa",
+    "datasource-routing.replica.password=",
+    "datasource-routing.replica.driver-class-name=org.h2.Driver",
+    "datasource-routing.max-replica-lag-ms=60000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DataSourceRoutingTest {
+
+    private static final String ADMIN = "10.0.0.1";
+    private static final String OTHER_ADMIN = "10.0.0.2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        replica = new JdbcTemplate(replicaDataSource);
+        Integer tables = replica.queryForObject(
+            "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'SERVICES'", Integer.class);
+        if (tables != null && tables > 0) {
+            return;
+        }
+
+        List<String> ddl = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA NOSETTINGS", String.class);
+        ddl.stream()
+            .filter(statement -> !statement.startsWith("CREATE USER"))
+            .forEach(replica::execute);
+        replica.update("INSERT INTO services (name, price, duration_minutes, active, display_order) " +
+                       "VALUES ('Replica Cut', 10.00, 30, TRUE, 1)");
+    }
+
+    @Test
+    void adminReadsGoToReplica() throws Exception {
+        mockMvc.perform(get("/api/admin/services").with(from(OTHER_ADMIN)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].name").value("Replica Cut"));
+    }
+
+    @Test
+    void nonAdminReadsStayOnPrimary() {
+        // Repository reads are read-only transactions too, but run outside an admin request
+        assertThat(serviceRepository.findAll())
+            .extracting(service -> service.getName())
+            .isNotEmpty()
+            .doesNotContain("Replica Cut");
+        assertThat(adminService.getAllServices())
+            .extracting(service -> service.getName())
+            .doesNotContain("Replica Cut");
+    }
+
+    @Test
+    void adminSeesOwnWritesWhileReplicaLags() throws Exception {
+        mockMvc.perform(post("/api/admin/services").with(from(ADMIN))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Primary Fade\",\"price\":25,\"durationMinutes\":45,\"active\":true,\"displayOrder\":9}"))
+            .andExpect(status().isOk());
+
+        // The writer reads from the primary within the lag window...
+        mockMvc.perform(get("/api/admin/services").with(from(ADMIN)))
+            .andExpect(jsonPath("$[?(@.name == 'Primary Fade')]").exists());
+
+        // ...while other admins keep reading the (lagging) replica
+        mockMvc.perform(get("/api/admin/services").with(from(OTHER_ADMIN)))
+            .andExpect(jsonPath("$[?(@.name == 'Primary Fade')]").doesNotExist());
+    }
+
+    private static RequestPostProcessor from(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
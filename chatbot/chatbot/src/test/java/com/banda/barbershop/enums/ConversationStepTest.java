@@ -0,0 +1,34 @@
+package com.banda.barbershop.enums;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversationStepTest {
+
+    @ParameterizedTest
+    @CsvSource({
+        "VIEW_TODAY_SLOTS,    SELECT_BARBER",
+        "VIEW_TOMORROW_SLOTS, SELECT_BARBER",
+        "VIEW_EARLIEST_SLOTS, SELECT_BARBER"
+    })
+    void backGoesToTheParentStep(ConversationStep step, ConversationStep parent) {
+        assertThat(step.getParentState()).isEqualTo(parent);
+    }
+
+    @ParameterizedTest
+    @EnumSource(names = {"SELECT_BARBER", "VIEW_TODAY_SLOTS", "VIEW_TOMORROW_SLOTS", "VIEW_EARLIEST_SLOTS",
+        "CONFIRM_BOOKING"})
+    void bookingStepsAfterTheServiceNeedTheirContext(ConversationStep step) {
+        assertThat(step.requiresContext()).isTrue();
+    }
+
+    @ParameterizedTest
+    @EnumSource(names = {"MAIN_MENU", "VIEW_SERVICES", "FAQ", "SELECT_SERVICE", "QUICK_REBOOK"})
+    void entrySteps(ConversationStep step) {
+        assertThat(step.requiresContext()).isFalse();
+        assertThat(step.getParentState()).isEqualTo(ConversationStep.MAIN_MENU);
+    }
+}
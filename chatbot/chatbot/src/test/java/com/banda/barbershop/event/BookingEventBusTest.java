@@ -0,0 +1,256 @@
+package com.banda.barbershop.event;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.Customer;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.event.BookingEvent.BookingCancelled;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.CustomerRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.AvailabilityService;
+import com.banda.barbershop.service.BookingService;
+import com.banda.barbershop.service.CustomerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Events reach listeners only once the publishing transaction commits, one customer's events
+ * arrive in order, and listener writes land in their own transaction. Runs with async lanes;
+ * {@link InlineBookingEventBusTest} repeats every case with inline delivery.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(BookingEventBusTest.RecordingListener.class)
+class BookingEventBusTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+    private static final AtomicInteger BOOKING_IDS = new AtomicInteger(1_000_000);
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired private BookingEventBus eventBus;
+    @Autowired private RecordingListener recorder;
+    @Autowired private BarberShopConfig shopConfig;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private BookingService bookingService;
+    @Autowired private CustomerService customerService;
+    @Autowired private AvailabilityService availabilityService;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private BarberRepository barberRepository;
+    @Autowired private CustomerRepository customerRepository;
+
+    @Test
+    void eachCustomersEventsArriveInPublishOrder() throws Exception {
+        List<String> phones = List.of(newPhone(), newPhone(), newPhone(), newPhone(), newPhone());
+        int eventsPerPhone = 100;
+        Map<String, List<Long>> published = new ConcurrentHashMap<>();
+
+        ExecutorService publishers = Executors.newFixedThreadPool(phones.size());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String phone : phones) {
+                futures.add(publishers.submit(() -> {
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < eventsPerPhone; i++) {
+                        ids.add(publish(phone));
+                    }
+                    published.put(phone, ids);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            publishers.shutdown();
+        }
+
+        for (String phone : phones) {
+            awaitDelivered(phone, eventsPerPhone);
+            assertThat(recorder.bookingIds(phone)).containsExactlyElementsOf(published.get(phone));
+            assertThat(recorder.threads(phone)).hasSize(1);
+        }
+    }
+
+    @Test
+    void eventIsDeliveredOnlyAfterCommit() throws Exception {
+        String phone = newPhone();
+        long[] ids = new long[2];
+
+        inTransaction().executeWithoutResult(tx -> {
+            ids[0] = publish(phone);
+            // A later event published outside the transaction overtakes the uncommitted one
+            ids[1] = publishFromAnotherThread(phone);
+            awaitDelivered(phone, 1);
+            assertThat(recorder.bookingIds(phone)).containsExactly(ids[1]);
+        });
+
+        awaitDelivered(phone, 2);
+        assertThat(recorder.bookingIds(phone)).containsExactly(ids[1], ids[0]);
+    }
+
+    @Test
+    void rolledBackTransactionPublishesNothing() {
+        String phone = newPhone();
+
+        inTransaction().executeWithoutResult(tx -> {
+            publish(phone);
+            tx.setRollbackOnly();
+        });
+        // Same lane as the rolled back event, so once it is seen the other would have been too
+        long marker = publish(phone);
+
+        awaitDelivered(phone, 1);
+        assertThat(recorder.bookingIds(phone)).containsExactly(marker);
+    }
+
+    @Test
+    void listenerWritesArePersistedInTheirOwnTransaction() {
+        Service service = serviceRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        Barber barber = barberRepository.findAllActiveBarbers().getFirst();
+        LocalDate date = LocalDate.now().plusDays(4);
+        while (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            date = date.plusDays(1);
+        }
+        LocalTime time = availabilityService.getAvailableSlotsForBarber(service, barber.getId(), date).getFirst();
+        int barberBookingsBefore = barberRepository.findById(barber.getId()).orElseThrow().getTotalBookings();
+        String phone = newPhone();
+
+        Booking booking = bookingService.createBooking(phone, service, barber.getId(), date, time);
+
+        eventually(() -> {
+            Customer customer = customerRepository.findWithPreferredServiceByPhoneNumber(phone).orElse(null);
+            assertThat(customer).isNotNull();
+            assertThat(customer.getTotalBookings()).isEqualTo(1);
+            assertThat(customer.getFirstVisit()).isEqualTo(LocalDate.now());
+            assertThat(customer.getPreferredService().getId()).isEqualTo(service.getId());
+            assertThat(barberRepository.findById(barber.getId()).orElseThrow().getTotalBookings())
+                .isGreaterThan(barberBookingsBefore);
+        });
+        assertThat(recorder.bookingIds(phone)).containsExactly(booking.getId());
+    }
+
+    @Test
+    void customerCountersDoNotLoseConcurrentUpdates() throws Exception {
+        String phone = newPhone();
+        customerService.getOrCreateCustomer(phone);
+        int rounds = 50;
+        int pointsPerAward = 5;
+        int pointsBefore = customerRepository.findByPhoneNumber(phone).orElseThrow().getLoyaltyPoints();
+
+        ExecutorService birthdayJob = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> awards = birthdayJob.submit(() -> {
+                for (int i = 0; i < rounds; i++) {
+                    customerService.awardLoyaltyPoints(phone, pointsPerAward);
+                }
+            });
+            for (int i = 0; i < rounds; i++) {
+                publish(phone);
+            }
+            awards.get();
+        } finally {
+            birthdayJob.shutdown();
+        }
+
+        eventually(() -> {
+            Customer customer = customerRepository.findByPhoneNumber(phone).orElseThrow();
+            assertThat(customer.getCancelledBookings()).isEqualTo(rounds);
+            assertThat(customer.getLoyaltyPoints()).isEqualTo(pointsBefore + rounds * pointsPerAward);
+        });
+    }
+
+    private long publish(String phone) {
+        long bookingId = BOOKING_IDS.incrementAndGet();
+        eventBus.publish(new BookingCancelled(bookingId, phone, null));
+        return bookingId;
+    }
+
+    private long publishFromAnotherThread(String phone) {
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        try {
+            return other.submit(() -> publish(phone)).get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            other.shutdown();
+        }
+    }
+
+    private TransactionTemplate inTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private void awaitDelivered(String phone, int count) {
+        eventually(() -> assertThat(recorder.bookingIds(phone)).hasSizeGreaterThanOrEqualTo(count));
+    }
+
+    /**
+     * Inline delivery is over by the time publish (or the commit) returns, so the assertion must
+     * hold at once; lanes get a grace period
+     */
+    private void eventually(Runnable assertion) {
+        long deadline = System.nanoTime() + DELIVERY_TIMEOUT.toNanos();
+        while (shopConfig.getEvents().isAsync() && System.nanoTime() < deadline) {
+            try {
+                assertion.run();
+                return;
+            } catch (AssertionError notYet) {
+                LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+            }
+        }
+        assertion.run();
+    }
+
+    private static String newPhone() {
+        return "+35385%07d".formatted(PHONES.incrementAndGet());
+    }
+
+    /**
+     * Records what each customer's events looked like when they reached a listener
+     */
+    static class RecordingListener implements BookingEventListener {
+
+        private final Map<String, List<Long>> bookingIds = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> threads = new ConcurrentHashMap<>();
+
+        @Override
+        public void onEvent(BookingEvent event) {
+            threads.computeIfAbsent(event.customerPhone(), phone -> ConcurrentHashMap.newKeySet())
+                .add(Thread.currentThread().getName());
+            bookingIds.computeIfAbsent(event.customerPhone(), phone -> new CopyOnWriteArrayList<>())
+                .add(event.bookingId());
+        }
+
+        List<Long> bookingIds(String phone) {
+            return bookingIds.getOrDefault(phone, List.of());
+        }
+
+        Set<String> threads(String phone) {
+            return threads.getOrDefault(phone, Set.of());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.banda.barbershop.event;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * The same cases with events.async=false: listeners run on the committing thread, after the
+ * publisher's transaction has completed but while its resources may still be bound
+ */
+@TestPropertySource(properties = "barbershop.events.async=false")
+class InlineBookingEventBusTest extends BookingEventBusTest {
+}
@@ -0,0 +1,146 @@
+package com.banda.barbershop.handler;
+
+import com.banda.barbershop.dto.CustomerProfile;
+import com.banda.barbershop.dto.HandlerRequest;
+import com.banda.barbershop.dto.HandlerResponse;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.service.CustomerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuickRebookHandlerTest {
+
+    private static final String PHONE = "+353870000000";
+
+    private final CustomerService customerService = mock(CustomerService.class);
+    private final ServiceRepository serviceRepository = mock(ServiceRepository.class);
+    private final BarberRepository barberRepository = mock(BarberRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final QuickRebookHandler handler =
+        new QuickRebookHandler(customerService, serviceRepository, barberRepository, objectMapper);
+
+    @Test
+    void usualServiceAndBarberGoStraightToTheirEarliestSlots() throws Exception {
+        usual(1L, 2L);
+        service(1L, true);
+        barber(2L, true);
+
+        HandlerResponse response = handler.handle(request(ConversationStep.QUICK_REBOOK, ""));
+
+        assertThat(response.getNextStep()).isEqualTo(ConversationStep.VIEW_EARLIEST_SLOTS);
+        assertThat(response.getMessage()).isEmpty();
+        assertThat(objectMapper.readValue(response.getContextData(), Map.class))
+            .containsOnly(Map.entry("service_id", 1), Map.entry("barber_id", 2));
+    }
+
+    @Test
+    void usualBarberWhoLeftFallsBackToAnyBarber() throws Exception {
+        usual(1L, 2L);
+        service(1L, true);
+        barber(2L, false);
+
+        HandlerResponse response = handler.handle(request(ConversationStep.QUICK_REBOOK, ""));
+
+        assertThat(response.getNextStep()).isEqualTo(ConversationStep.VIEW_EARLIEST_SLOTS);
+        assertThat(objectMapper.readValue(response.getContextData(), Map.class))
+            .containsOnly(Map.entry("service_id", 1));
+    }
+
+    @Test
+    void usualServiceNoLongerOfferedFallsBackToTheServiceMenu() {
+        usual(1L, 2L);
+        service(1L, false);
+
+        HandlerResponse response = handler.handle(request(ConversationStep.QUICK_REBOOK, ""));
+
+        assertThat(response.getNextStep()).isEqualTo(ConversationStep.SELECT_SERVICE);
+        assertThat(response.getContextData()).isEqualTo("show_initial");
+    }
+
+    @Test
+    void noUsualServiceFallsBackToTheServiceMenu() {
+        when(customerService.getProfile(PHONE)).thenReturn(CustomerProfile.unknown(PHONE));
+
+        HandlerResponse response = handler.handle(request(ConversationStep.QUICK_REBOOK, ""));
+
+        assertThat(response.getNextStep()).isEqualTo(ConversationStep.SELECT_SERVICE);
+    }
+
+    @Test
+    void mainMenuOffersRebookOnlyToCustomersWithAUsual() {
+        MainMenuHandler mainMenu = new MainMenuHandler(customerService);
+
+        when(customerService.getPreferredServiceId(PHONE)).thenReturn(Optional.of(1L));
+        assertThat(mainMenu.handle(request(ConversationStep.MAIN_MENU, "hi", null)).getMessage())
+            .contains("5️⃣ FAQ / Help\n6️⃣ Rebook My Usual\n\nReply with a number (1-6)");
+        assertThat(mainMenu.handle(request(ConversationStep.MAIN_MENU, "6", "ready")).getNextStep())
+            .isEqualTo(ConversationStep.QUICK_REBOOK);
+
+        when(customerService.getPreferredServiceId(PHONE)).thenReturn(Optional.empty());
+        assertThat(mainMenu.handle(request(ConversationStep.MAIN_MENU, "hi", null)).getMessage())
+            .doesNotContain("Rebook My Usual")
+            .contains("5️⃣ FAQ / Help\n\nReply with a number (1-5)");
+        assertThat(mainMenu.handle(request(ConversationStep.MAIN_MENU, "6", "ready")).getNextStep())
+            .isEqualTo(ConversationStep.MAIN_MENU);
+    }
+
+    @Test
+    void usualFromTheServiceMenuStartsAQuickRebook() {
+        SelectServiceHandler selectService = new SelectServiceHandler(serviceRepository, customerService, objectMapper);
+        when(serviceRepository.findByActiveOrderByDisplayOrder(true))
+            .thenReturn(List.of(Service.builder().id(1L).name("Skin Fade").active(true).build()));
+
+        HandlerResponse response = selectService.handle(request(ConversationStep.SELECT_SERVICE, " usual ", null));
+
+        assertThat(response.getNextStep()).isEqualTo(ConversationStep.QUICK_REBOOK);
+        assertThat(response.isClearContext()).isTrue();
+    }
+
+    private void usual(Long serviceId, Long barberId) {
+        when(customerService.getProfile(PHONE)).thenReturn(CustomerProfile.builder()
+            .phoneNumber(PHONE)
+            .known(true)
+            .preferredServiceId(serviceId)
+            .preferredBarberId(barberId)
+            .builtOn(LocalDate.now())
+            .build());
+    }
+
+    private void service(Long id, boolean active) {
+        when(serviceRepository.findById(id))
+            .thenReturn(Optional.of(Service.builder().id(id).name("Skin Fade").active(active).build()));
+    }
+
+    private void barber(Long id, boolean active) {
+        when(barberRepository.findById(id))
+            .thenReturn(Optional.of(Barber.builder().id(id).name("Mike").active(active).build()));
+    }
+
+    private static HandlerRequest request(ConversationStep step, String input) {
+        return request(step, input, null);
+    }
+
+    private static HandlerRequest request(ConversationStep step, String input, String contextData) {
+        return HandlerRequest.builder()
+            .phoneNumber(PHONE)
+            .userInput(input)
+            .parsedChoice(input.trim().matches("\\d+") ? Integer.valueOf(input.trim()) : null)
+            .currentStep(step)
+            .contextData(contextData)
+            .build();
+    }
+}
@@ -0,0 +1,171 @@
+package com.banda.barbershop.intent;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntentParserTest {
+
+    private static final long STANDARD_CUT = 1;
+    private static final long SKIN_FADE = 2;
+    private static final long BEARD_TRIM = 3;
+    private static final long CUT_AND_BEARD = 4;
+    private static final long MIKE = 10;
+    private static final long JOHN = 11;
+
+    private final BookingIntentParser parser = parser();
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "-", value = {
+        "skin fade 3pm,              15:00",
+        "skin fade 3 pm,             15:00",
+        "skin fade 3:30pm,           15:30",
+        "skin fade 3.30 pm,          15:30",
+        "skin fade 11am,             11:00",
+        "skin fade 12pm,             12:00",
+        "skin fade 15:00,            15:00",
+        "skin fade 10:30,            10:30",
+        "skin fade 4:15,             16:15",
+        "skin fade at 10,            10:00",
+        "skin fade at 3,             15:00",
+        "skin fade at noon,          12:00",
+        "skin fade midday,           12:00",
+        "skin fade tomorrow afternoon, -",
+        "skin fade this afternoon,   -",
+        "skin fade afternoon at 4,   16:00",
+        "skin fade 13pm,             -",
+        "skin fade,                  -"
+    })
+    void timePhrases(String text, LocalTime expected) {
+        assertThat(parser.parse(text)).hasValueSatisfying(intent -> assertThat(intent.time()).isEqualTo(expected));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "-", value = {
+        "skin fade today,     0",
+        "skin fade tonight,   0",
+        "skin fade tomorrow,  1",
+        "skin fade tmrw,      1",
+        "skin fade tomoz,     1",
+        "skin fade,           -"
+    })
+    void relativeDays(String text, Integer daysAhead) {
+        LocalDate expected = daysAhead == null ? null : LocalDate.now().plusDays(daysAhead);
+        assertThat(parser.parse(text)).hasValueSatisfying(intent -> assertThat(intent.date()).isEqualTo(expected));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "skin fade saturday, SATURDAY",
+        "skin fade sat,      SATURDAY",
+        "skin fade on tues,  TUESDAY",
+        "skin fade thurs,    THURSDAY",
+        "skin fade weds,     WEDNESDAY",
+        "skin fade Monday,   MONDAY"
+    })
+    void weekdaysMeanTheNextOneTodayIncluded(String text, DayOfWeek day) {
+        LocalDate expected = LocalDate.now().with(TemporalAdjusters.nextOrSame(day));
+        assertThat(parser.parse(text)).hasValueSatisfying(intent -> assertThat(intent.date()).isEqualTo(expected));
+    }
+
+    @ParameterizedTest
+    @CsvSource(nullValues = "-", value = {
+        "skin fade,                        2, -",
+        "a fade please,                    2, -",
+        "Skin Fade with Mike tomorrow 3pm, 2, 10",
+        "cut and beard with john,          4, 11",
+        "cut & beard,                      4, -",
+        "cut n beard,                      4, -",
+        "standard cut,                     1, -",
+        "beard trim friday,                3, -",
+        "trim,                             3, -"
+    })
+    void serviceAndBarberPhrases(String text, long serviceId, Long barberId) {
+        assertThat(parser.parse(text)).hasValueSatisfying(intent -> {
+            assertThat(intent.serviceId()).isEqualTo(serviceId);
+            assertThat(intent.barberId()).isEqualTo(barberId);
+            assertThat(intent.usual()).isFalse();
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"book my usual", "the regular tomorrow", "same again saturday 3pm"})
+    void usualWithoutAService(String text) {
+        assertThat(parser.parse(text)).hasValueSatisfying(intent -> {
+            assertThat(intent.usual()).isTrue();
+            assertThat(intent.serviceId()).isNull();
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "cancel my fade tomorrow",
+        "I need to cancel the skin fade on saturday",
+        "reschedule my cut and beard to friday",
+        "can I move my fade to 4pm",
+        "change my beard trim to tomorrow",
+        "hi",
+        "what time do you open tomorrow",
+        "3pm tomorrow",
+        "cut"
+    })
+    void notABookingRequest(String text) {
+        assertThat(parser.parse(text)).isEmpty();
+    }
+
+    @Test
+    void renamedServiceIsRecognizedOnceTheChangeCommits() {
+        ServiceRepository serviceRepository = mock(ServiceRepository.class);
+        BarberRepository barberRepository = mock(BarberRepository.class);
+        when(serviceRepository.findByActiveOrderByDisplayOrder(true))
+            .thenReturn(List.of(Service.builder().id(SKIN_FADE).name("Skin Fade").build()));
+        BookingIntentParser parser = new BookingIntentParser(serviceRepository, barberRepository);
+        assertThat(parser.parse("buzz cut tomorrow")).isEmpty();
+
+        when(serviceRepository.findByActiveOrderByDisplayOrder(true))
+            .thenReturn(List.of(Service.builder().id(SKIN_FADE).name("Buzz Cut").build()));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            parser.refresh();
+            assertThat(parser.parse("buzz cut tomorrow")).as("not before the commit").isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(parser.parse("buzz cut tomorrow"))
+            .hasValueSatisfying(intent -> assertThat(intent.serviceId()).isEqualTo(SKIN_FADE));
+    }
+
+    private static BookingIntentParser parser() {
+        ServiceRepository serviceRepository = mock(ServiceRepository.class);
+        BarberRepository barberRepository = mock(BarberRepository.class);
+        when(serviceRepository.findByActiveOrderByDisplayOrder(true)).thenReturn(List.of(
+            Service.builder().id(STANDARD_CUT).name("Standard Cut").build(),
+            Service.builder().id(SKIN_FADE).name("Skin Fade").build(),
+            Service.builder().id(BEARD_TRIM).name("Beard Trim").build(),
+            Service.builder().id(CUT_AND_BEARD).name("Cut & Beard").build()));
+        when(barberRepository.findByActiveOrderByDisplayOrder(true)).thenReturn(List.of(
+            Barber.builder().id(MIKE).name("Mike").build(),
+            Barber.builder().id(JOHN).name("John").build()));
+        return new BookingIntentParser(serviceRepository, barberRepository);
+    }
+}
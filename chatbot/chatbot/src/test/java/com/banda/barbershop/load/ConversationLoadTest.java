@@ -0,0 +1,356 @@
+package com.banda.barbershop.load;
+
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.transport.InMemoryMessageTransport;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Synthetic conversation load generator.
+ *
+ * Simulates virtual WhatsApp customers walking realistic paths through the conversation
+ * (book, book-then-cancel, FAQ, browse services) by POSTing to /webhook/whatsapp. Replies are
+ * captured at the in-memory transport, so messages the outbox relay delivers (booking
+ * confirmations and cancellations) are seen as well as direct replies; the send rate limit is
+ * off so the run measures the application rather than the Twilio pacing. Reports throughput,
+ * p50/p95/p99 per conversation step, DB statements per message and error rates to stdout and
+ * target/load-report.txt.
+ *
+ * Run: mvn test -Pload-test -Dload.customers=1000 -Dload.concurrency=200
+ * Against local MySQL add -Dspring.datasource.url=... -Dspring.datasource.username=...
+ * Virtual threads: add -Dspring.threads.virtual.enabled=true
+ * Compare the two thread modes with the same customers and concurrency, started on the same
+ * day: today's free slots (and so the booking outcomes) depend on the time of day.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "outbound.rate-limit.enabled=false",
+    "logging.level.com.banda.barbershop=WARN",
+    "logging.level.org.hibernate=WARN"
+})
+@ActiveProfiles("test")
+class ConversationLoadTest {
+
+    private static final int CUSTOMERS = Integer.getInteger("load.customers", 1000);
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 200);
+    private static final long THINK_TIME_MS = Long.getLong("load.thinkTimeMs", 0L);
+    private static final double MAX_ERROR_RATE = Double.parseDouble(System.getProperty("load.maxErrorRate", "0.01"));
+
+    private static final long OUTBOX_WAIT_MS = Long.getLong("load.outboxWaitMs", 30_000L);
+
+    private static final Pattern BOOKING_CODE = Pattern.compile("#(BK\\d{4})");
+
+    @LocalServerPort
+    private int port;
+
+    @MockitoSpyBean
+    private InMemoryMessageTransport transport;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Map<String, BlockingQueue<String>> replies = new ConcurrentHashMap<>();
+    private final Map<ConversationStep, Queue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong messageCount = new AtomicLong();
+    private final AtomicLong messageSids = new AtomicLong();
+    private final AtomicLong httpErrors = new AtomicLong();
+    private final AtomicLong handlerErrors = new AtomicLong();
+
+    private HttpClient http;
+
+    @BeforeEach
+    void setUp() {
+        http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+        // Capture everything sent to a customer, directly or by the relay, so journeys can react to it
+        doAnswer(invocation -> {
+            inbox(invocation.getArgument(0)).add(invocation.getArgument(1));
+            return invocation.callRealMethod();
+        }).when(transport).send(anyString(), anyString());
+    }
+
+    @Test
+    void simulateConcurrentCustomers() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Semaphore activeCustomers = new Semaphore(CONCURRENCY);
+        long started = System.nanoTime();
+
+        try (ExecutorService customers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CUSTOMERS; i++) {
+                String phone = String.format("+35389%07d", i);
+                activeCustomers.acquire();
+                customers.submit(() -> {
+                    try {
+                        runJourney(phone, ThreadLocalRandom.current());
+                    } catch (Exception e) {
+                        outcome("aborted");
+                    } finally {
+                        activeCustomers.release();
+                    }
+                });
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - started;
+        String report = buildReport(elapsedNanos, statistics.getPrepareStatementCount());
+        System.out.println(report);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "load-report.txt"), report);
+
+        double errorRate = (double) (httpErrors.get() + handlerErrors.get()) / Math.max(1, messageCount.get());
+        assertThat(errorRate).isLessThanOrEqualTo(MAX_ERROR_RATE);
+        assertThat(outcomes.getOrDefault("booked", new AtomicLong()).get())
+            .as("bookings confirmed, outcomes %s", outcomes)
+            .isPositive();
+    }
+
+    // ==================== Journeys ====================
+
+    private void runJourney(String phone, Random random) throws Exception {
+        double roll = random.nextDouble();
+        if (roll < 0.60) {
+            book(phone, random);
+        } else if (roll < 0.75) {
+            String bookingCode = book(phone, random);
+            if (bookingCode != null) {
+                cancel(phone, bookingCode);
+            }
+        } else if (roll < 0.90) {
+            browseFaq(phone, random);
+        } else {
+            browseServices(phone);
+        }
+    }
+
+    /**
+     * menu → service → barber → slots → confirm; returns the booking code if booked
+     */
+    private String book(String phone, Random random) throws Exception {
+        send(phone, ConversationStep.MAIN_MENU, "hi");
+        send(phone, ConversationStep.MAIN_MENU, "2");
+        send(phone, ConversationStep.SELECT_SERVICE, String.valueOf(1 + random.nextInt(4)));
+        // 1-4 picks a barber, 5 is "any available barber"
+        String slots = send(phone, ConversationStep.SELECT_BARBER, String.valueOf(1 + random.nextInt(5)));
+
+        if (slots.contains("fully booked")) {
+            outcome("fully_booked");
+            return null;
+        }
+
+        ConversationStep slotStep = slots.contains("TOMORROW (")
+            ? ConversationStep.VIEW_TOMORROW_SLOTS
+            : ConversationStep.VIEW_TODAY_SLOTS;
+        String prompt = send(phone, slotStep, String.valueOf(1 + random.nextInt(3)));
+        if (!prompt.contains("Confirm Your Booking")) {
+            outcome("no_slot_selected");
+            return null;
+        }
+
+        // The confirmation is queued in the outbox and arrives from the relay
+        String confirmation = sendAwaitingOutbox(phone, ConversationStep.CONFIRM_BOOKING, "YES", "BOOKING CONFIRMED");
+        Matcher code = BOOKING_CODE.matcher(confirmation);
+        if (confirmation.contains("BOOKING CONFIRMED") && code.find()) {
+            outcome("booked");
+            return code.group(1);
+        }
+
+        outcome("slot_taken");
+        return null;
+    }
+
+    private void cancel(String phone, String bookingCode) throws Exception {
+        send(phone, ConversationStep.MAIN_MENU, "menu");
+        send(phone, ConversationStep.MAIN_MENU, "4");
+        send(phone, ConversationStep.CANCEL_BOOKING_INPUT, bookingCode);
+        String result = sendAwaitingOutbox(phone, ConversationStep.CANCEL_BOOKING_CONFIRM, "YES", "Booking Cancelled");
+        outcome(result.contains("Booking Cancelled") ? "cancelled" : "cancel_failed");
+    }
+
+    private void browseFaq(String phone, Random random) throws Exception {
+        send(phone, ConversationStep.MAIN_MENU, "hi");
+        send(phone, ConversationStep.MAIN_MENU, "5");
+        send(phone, ConversationStep.FAQ, String.valueOf(1 + random.nextInt(5)));
+        send(phone, ConversationStep.FAQ, "0");
+        outcome("faq");
+    }
+
+    private void browseServices(String phone) throws Exception {
+        send(phone, ConversationStep.MAIN_MENU, "hi");
+        send(phone, ConversationStep.MAIN_MENU, "1");
+        send(phone, ConversationStep.VIEW_SERVICES, "0");
+        outcome("browsed_services");
+    }
+
+    // ==================== Transport ====================
+
+    /**
+     * POST one inbound message and return the replies sent back during the request (empty if none)
+     */
+    private String send(String phone, ConversationStep step, String body) throws Exception {
+        BlockingQueue<String> inbox = inbox(phone);
+        inbox.clear();
+        post(phone, step, body);
+
+        List<String> sent = new ArrayList<>();
+        inbox.drainTo(sent);
+        return checkReply(String.join("\n", sent));
+    }
+
+    /**
+     * POST one inbound message whose answer is queued in the outbox; waits for the relay to
+     * deliver a message containing the expected text, or returns whatever arrived by then
+     */
+    private String sendAwaitingOutbox(String phone, ConversationStep step, String body, String expected)
+            throws Exception {
+        BlockingQueue<String> inbox = inbox(phone);
+        inbox.clear();
+        post(phone, step, body);
+
+        StringBuilder received = new StringBuilder();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(OUTBOX_WAIT_MS);
+        while (!received.toString().contains(expected)) {
+            String message = inbox.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (message == null) {
+                break;
+            }
+            received.append(message).append('\n');
+        }
+        return checkReply(received.toString());
+    }
+
+    private void post(String phone, ConversationStep step, String body) throws Exception {
+        if (THINK_TIME_MS > 0) {
+            Thread.sleep(THINK_TIME_MS);
+        }
+
+        String form = "From=" + encode("whatsapp:" + phone)
+            + "&Body=" + encode(body)
+            + "&MessageSid=" + encode("SMLOAD" + messageSids.incrementAndGet());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/webhook/whatsapp"))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .timeout(Duration.ofSeconds(60))
+            .POST(HttpRequest.BodyPublishers.ofString(form))
+            .build();
+
+        long started = System.nanoTime();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        long elapsed = System.nanoTime() - started;
+
+        messageCount.incrementAndGet();
+        latencies.computeIfAbsent(step, s -> new ConcurrentLinkedQueue<>()).add(elapsed);
+
+        if (response.statusCode() != 200) {
+            httpErrors.incrementAndGet();
+        }
+    }
+
+    private String checkReply(String reply) {
+        if (reply.contains("Something went wrong") || reply.contains("technical difficulties")) {
+            handlerErrors.incrementAndGet();
+        }
+        return reply;
+    }
+
+    private BlockingQueue<String> inbox(String phone) {
+        return replies.computeIfAbsent(phone, p -> new LinkedBlockingQueue<>());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private void outcome(String name) {
+        outcomes.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+    }
+
+    // ==================== Report ====================
+
+    private String buildReport(long elapsedNanos, long statements) {
+        long messages = messageCount.get();
+        double seconds = elapsedNanos / 1_000_000_000.0;
+
+        StringBuilder report = new StringBuilder();
+        report.append("\n==================== Conversation Load Report ====================\n");
+        report.append(String.format("Customers: %d  Concurrency: %d  Virtual threads: %s%n",
+            CUSTOMERS, CONCURRENCY, System.getProperty("spring.threads.virtual.enabled",
+                System.getenv().getOrDefault("VIRTUAL_THREADS_ENABLED", "false"))));
+        report.append(String.format("Messages: %d in %.1fs  Throughput: %.1f msg/s%n",
+            messages, seconds, messages / seconds));
+        report.append(String.format("DB statements: %d  (%.1f per message)%n",
+            statements, (double) statements / Math.max(1, messages)));
+        report.append(String.format("HTTP errors: %d  Handler errors: %d  Error rate: %.2f%%%n%n",
+            httpErrors.get(), handlerErrors.get(),
+            100.0 * (httpErrors.get() + handlerErrors.get()) / Math.max(1, messages)));
+
+        report.append(String.format("%-24s %8s %9s %9s %9s %9s%n", "Step", "Count", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        Map<ConversationStep, Queue<Long>> ordered = new EnumMap<>(ConversationStep.class);
+        ordered.putAll(latencies);
+        ordered.forEach((step, samples) -> {
+            long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            report.append(String.format("%-24s %8d %9.1f %9.1f %9.1f %9.1f%n",
+                step, sorted.length,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                sorted[sorted.length - 1] / 1_000_000.0));
+        });
+
+        report.append("\nOutcomes: ").append(new TreeMap<>(outcomes)).append('\n');
+        return report.toString();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+}
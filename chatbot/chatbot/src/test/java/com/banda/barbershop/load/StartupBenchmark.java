@@ -0,0 +1,121 @@
+package com.banda.barbershop.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time from process launch to the first answered webhook, for the plain jar against the
+ * fast-startup build (Spring AOT + AppCDS archive in target/application). Each run starts a
+ * fresh JVM on the test profile and POSTs to /webhook/whatsapp until it gets a 200.
+ *
+ * Run: mvn package -Pfast-startup -DskipTests -Dspring-boot.aot.jvmArguments="-Doutbound.transport.type=in-memory"
+ *      mvn test -Pbenchmark -Dtest=StartupBenchmark -Dstartup.runs=5
+ * Without the fast-startup build only the plain jar is measured. Results also go to
+ * target/startup-report.txt.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+    private static final String JAR = "barbershop-booking-0.0.1-SNAPSHOT.jar";
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofMillis(200))
+        .build();
+
+    @Test
+    void timeToFirstWebhook() throws Exception {
+        int runs = Integer.getInteger("startup.runs", 3);
+        Path fastDir = TARGET.resolve("application");
+        assertThat(TARGET.resolve(JAR)).as("run mvn package first").exists();
+
+        StringBuilder report = new StringBuilder("Time to first webhook served (ms, median of " + runs + ")\n");
+        long plain = median(runs, TARGET, List.of("-jar", JAR));
+        report.append(String.format("  plain jar            %6d%n", plain));
+
+        if (Files.exists(fastDir.resolve("application.jsa"))) {
+            long fast = median(runs, fastDir, List.of(
+                "-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true", "-jar", JAR));
+            report.append(String.format("  AOT + AppCDS         %6d  (%.0f%% faster)%n",
+                fast, 100.0 * (plain - fast) / plain));
+        } else {
+            report.append("  AOT + AppCDS         not built (mvn package -Pfast-startup)\n");
+        }
+
+        System.out.println(report);
+        Files.writeString(TARGET.resolve("startup-report.txt"), report);
+    }
+
+    private long median(int runs, Path workingDir, List<String> launch) throws Exception {
+        List<Long> times = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            times.add(timeToFirstWebhook(workingDir, launch));
+        }
+        times.sort(null);
+        return times.get(times.size() / 2);
+    }
+
+    private long timeToFirstWebhook(Path workingDir, List<String> launch) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(launch);
+        command.add("--spring.profiles.active=test");
+        command.add("--spring.jpa.show-sql=false");
+        command.add("--outbound.transport.type=in-memory");
+        command.add("--server.port=" + port);
+
+        HttpRequest webhook = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/webhook/whatsapp"))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString("From=whatsapp%3A%2B353870000001&Body=hi"))
+            .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .directory(workingDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+            .start();
+        try {
+            while (System.nanoTime() - start < START_TIMEOUT.toNanos()) {
+                assertThat(process.isAlive()).as("application exited during startup").isTrue();
+                try {
+                    if (http.send(webhook, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException notListeningYet) {
+                    // Connection refused until Tomcat is up
+                }
+                Thread.sleep(10);
+            }
+            throw new AssertionError("No webhook answered within " + START_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.DeadLetterMessage.DeadLetterStatus;
+import com.banda.barbershop.entity.OutboundMessage.OutboundStatus;
+import com.banda.barbershop.entity.WaitlistEntry.WaitlistStatus;
+import com.banda.barbershop.enums.ConversationStep;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every query method of the repositories against the migrated schema, records the SQL
+ * Hibernate issues for them and EXPLAINs each statement on H2: no statement may scan a whole
+ * table. The catalog tables (services, barbers) hold a handful of rows and are read whole on
+ * purpose; inherited CRUD methods go by primary key and are not listed.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "com.banda.barbershop.repository.RepositoryIndexUsageTest$RecordingInspector")
+@ActiveProfiles("test")
+@Transactional
+class RepositoryIndexUsageTest {
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("/\\* \\w+\\.(\\w+)\\.tableScan");
+    private static final Set<String> CATALOG_TABLES = Set.of("SERVICES", "BARBERS");
+
+    private static final LocalDate DATE = LocalDate.of(2026, 6, 1);
+    private static final LocalTime START = LocalTime.of(10, 0);
+    private static final LocalTime END = LocalTime.of(11, 0);
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 9, 0);
+    private static final List<Long> IDS = List.of(1L, 2L, 3L);
+    private static final String PHONE = "+353870000000";
+
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ArchivedBookingRepository archivedBookingRepository;
+    @Autowired private BookingRecordRepository bookingRecordRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BarberRepository barberRepository;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private ConversationStateRepository conversationStateRepository;
+    @Autowired private ProcessedMessageRepository processedMessageRepository;
+    @Autowired private OutboundMessageRepository outboundMessageRepository;
+    @Autowired private DeadLetterMessageRepository deadLetterMessageRepository;
+    @Autowired private SlotInventoryRepository slotInventoryRepository;
+    @Autowired private WaitlistEntryRepository waitlistEntryRepository;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws Exception {
+        RecordingInspector.start();
+        try {
+            runRepositoryQueries();
+        } finally {
+            RecordingInspector.stop();
+        }
+
+        List<String> statements = List.copyOf(RecordingInspector.STATEMENTS);
+        assertThat(statements).hasSizeGreaterThan(60);
+
+        List<String> scans = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : statements) {
+                String plan = explain(connection, sql);
+                Matcher scan = TABLE_SCAN.matcher(plan);
+                while (scan.find()) {
+                    if (!CATALOG_TABLES.contains(scan.group(1).toUpperCase())) {
+                        scans.add(scan.group(1) + " scanned by:\n" + plan);
+                    }
+                }
+            }
+        }
+        assertThat(scans).as("full table scans").isEmpty();
+    }
+
+    private void runRepositoryQueries() {
+        bookingRepository.findByBookingCode("BK1234");
+        bookingRepository.findByCustomerPhoneAndStatusOrderByBookingDateDesc(PHONE, BookingStatus.CONFIRMED);
+        bookingRepository.findByCustomerPhoneAndStatusIn(PHONE, List.of(BookingStatus.CONFIRMED, BookingStatus.COMPLETED));
+        bookingRepository.findOverlappingBookings(DATE, START, END);
+        bookingRepository.countBookingsAtSlot(DATE, START, END);
+        bookingRepository.findByBookingDateAndStatus(DATE, BookingStatus.CONFIRMED);
+        bookingRepository.findDayBeforeReminderDue(DATE);
+        bookingRepository.findOneHourReminderDue(DATE, START, END);
+        bookingRepository.countBarberBookingsAtSlot(1L, DATE, START, END);
+        bookingRepository.findByBarberAndDate(1L, DATE);
+        bookingRepository.findByBarberIdOrderByBookingDateDesc(1L);
+        bookingRepository.findBookedIntervals(IDS, DATE, DATE.plusDays(14));
+        bookingRepository.findArchivableIds(DATE, List.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED), Limit.of(500));
+        bookingRepository.findIdsByCodesAndStatus(List.of("BK1234", "BK5678"), BookingStatus.CONFIRMED);
+        bookingRepository.findEndedIds(DATE.minusDays(1), DATE, BookingStatus.CONFIRMED, DATE, START);
+        bookingRepository.updateStatus(IDS, BookingStatus.CONFIRMED, BookingStatus.COMPLETED);
+        bookingRepository.findCustomerPhonesByIds(IDS);
+        bookingRepository.findIntervalsByIds(IDS);
+        archivedBookingRepository.copyFromBookings(IDS, NOW);
+        bookingRepository.deleteByIds(IDS);
+        bookingRecordRepository.findByBookingDateOrderByStartTime(DATE);
+        bookingRecordRepository.findByBookingDateGreaterThanEqual(DATE);
+
+        customerRepository.findByPhoneNumber(PHONE);
+        customerRepository.findWithPreferredServiceByPhoneNumber(PHONE);
+        customerRepository.findBirthdaysToday(6, 1, 2026);
+        customerRepository.findByLoyaltyPointsGreaterThanEqual(100);
+        customerRepository.findTop10ByCompletedBookingsGreaterThanOrderByCompletedBookingsDesc(0);
+        customerRepository.findInactiveCustomers(DATE);
+        customerRepository.addCompletedBookings(IDS, NOW);
+        customerRepository.addNoShowBookings(IDS, NOW);
+        customerRepository.addBooking(PHONE, 10, 50, DATE, NOW);
+        customerRepository.incrementCompletedBookings(PHONE, DATE, NOW);
+        customerRepository.incrementCancelledBookings(PHONE, NOW);
+        customerRepository.incrementNoShowBookings(PHONE, NOW);
+        customerRepository.addLoyaltyPoints(PHONE, 50, NOW);
+        customerRepository.setPreferredService(PHONE, null, 3);
+        customerRepository.setPreferredBarber(PHONE, null, 3);
+        customerRepository.markBirthdayMessageSent(PHONE, DATE);
+
+        barberRepository.findByActiveOrderByDisplayOrder(true);
+        barberRepository.findByPhoneNumber(PHONE);
+        barberRepository.findAllActiveBarbers();
+        barberRepository.addCompletedBookings(IDS, NOW);
+        barberRepository.incrementTotalBookings(1L, NOW);
+        barberRepository.incrementCompletedBookings(1L, NOW);
+        serviceRepository.findByActiveOrderByDisplayOrder(true);
+
+        conversationStateRepository.findByPhoneNumber(PHONE);
+        conversationStateRepository.findIdleIds(NOW, Limit.of(500));
+        conversationStateRepository.findIdleIdsNotAt(NOW, ConversationStep.MAIN_MENU, Limit.of(500));
+        conversationStateRepository.resetIdle(IDS, NOW, ConversationStep.MAIN_MENU, null);
+        conversationStateRepository.deleteIdle(IDS, NOW);
+        conversationStateRepository.updateTransition(1L, ConversationStep.MAIN_MENU, null, NOW);
+
+        processedMessageRepository.findByMessageSid("SM1");
+        processedMessageRepository.updateResponse("SM1", "");
+        processedMessageRepository.deleteByMessageSid("SM1");
+        processedMessageRepository.deleteReceivedBefore(NOW);
+
+        outboundMessageRepository.findDueIds(OutboundStatus.PENDING, NOW, Limit.of(50));
+        outboundMessageRepository.claim(IDS, "token", NOW, OutboundStatus.SENDING, OutboundStatus.PENDING);
+        outboundMessageRepository.findByClaimTokenOrderById("token");
+        outboundMessageRepository.markSent(1L, "token", NOW, OutboundStatus.SENT);
+        outboundMessageRepository.release(1L, "token", OutboundStatus.PENDING, NOW, "error");
+        outboundMessageRepository.releaseStale(NOW, OutboundStatus.SENDING, OutboundStatus.PENDING);
+        outboundMessageRepository.findSentBefore(OutboundStatus.SENT, NOW, Limit.of(1250));
+        outboundMessageRepository.deleteByIds(IDS);
+        outboundMessageRepository.countByStatus(OutboundStatus.PENDING);
+        deadLetterMessageRepository.findReplayable(DeadLetterStatus.PENDING, DeadLetterStatus.REPLAYING, NOW);
+        deadLetterMessageRepository.claim(1L, NOW, NOW, DeadLetterStatus.PENDING, DeadLetterStatus.REPLAYING);
+
+        slotInventoryRepository.findAvailable(IDS, DATE, DATE.plusDays(14));
+        slotInventoryRepository.countAvailable(1L, DATE, START, END);
+        slotInventoryRepository.decrement(1L, DATE, START, END);
+        slotInventoryRepository.increment(1L, DATE, START, END);
+        slotInventoryRepository.reconcile(DATE, DATE.plusDays(21));
+        slotInventoryRepository.existsByBarberIdAndSlotDate(1L, DATE);
+        slotInventoryRepository.deleteBefore(DATE);
+
+        waitlistEntryRepository.findMatchingIds(1L, DATE, WaitlistStatus.WAITING, 0L, Limit.of(20));
+        waitlistEntryRepository.findFirstByCustomerPhoneAndServiceIdAndStatus(PHONE, 1L, WaitlistStatus.WAITING);
+        waitlistEntryRepository.findFirstByCustomerPhoneAndStatusAndOfferExpiresAtAfterOrderById(PHONE, WaitlistStatus.OFFERED, NOW);
+        waitlistEntryRepository.findExpiredOfferIds(WaitlistStatus.OFFERED, NOW, Limit.of(200));
+        waitlistEntryRepository.findPastWindowIds(WaitlistStatus.WAITING, DATE, Limit.of(200));
+        waitlistEntryRepository.expireWaiting(IDS, WaitlistStatus.WAITING, WaitlistStatus.EXPIRED);
+        waitlistEntryRepository.countByStatus(WaitlistStatus.WAITING);
+    }
+
+    /**
+     * H2 plans a prepared statement before its parameters are bound, so nulls do for them
+     */
+    private String explain(Connection connection, String sql) throws Exception {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+            int parameters = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                explain.setNull(i, Types.NULL);
+            }
+            try (ResultSet plan = explain.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        }
+    }
+
+    /**
+     * Collects the SQL of statements prepared on the test thread while recording
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final Set<String> STATEMENTS = Collections.synchronizedSet(new LinkedHashSet<>());
+        private static volatile Thread recordingThread;
+
+        static void start() {
+            STATEMENTS.clear();
+            recordingThread = Thread.currentThread();
+        }
+
+        static void stop() {
+            recordingThread = null;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == recordingThread) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.banda.barbershop.repository;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.ConversationState;
+import com.banda.barbershop.entity.Customer;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.entity.WaitlistEntry;
+import com.banda.barbershop.enums.ConversationStep;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the application on a database that ddl-auto: update created before the migrations
+ * existed: it is baselined at V1, every later migration runs on it, the existing rows survive
+ * and the entities validate against the result.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class SchemaUpgradeTest {
+
+    private static final String URL = "jdbc:h2:mem:pre_migration_upgrade;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @DynamicPropertySource
+    static void preMigrationDatabase(DynamicPropertyRegistry registry) throws Exception {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "")) {
+            connection.createStatement().execute("RUNSCRIPT FROM 'classpath:db/pre-migration-schema.sql'");
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private CustomerRepository customerRepository;
+    @Autowired private BarberRepository barberRepository;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private ConversationStateRepository conversationStateRepository;
+    @Autowired private WaitlistEntryRepository waitlistEntryRepository;
+
+    @Test
+    void existingDatabaseIsBaselinedAndUpgraded() {
+        List<String> applied = jdbcTemplate.queryForList(
+            "SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"",
+            String.class);
+        assertThat(applied).containsExactly("1", "2", "3", "4", "5", "6", "7", "8", "9", "10");
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT \"type\" FROM \"flyway_schema_history\" WHERE \"version\" = '1'", String.class))
+            .isEqualTo("BASELINE");
+    }
+
+    @Test
+    void existingRowsSurviveTheUpgrade() {
+        assertThat(bookingRepository.findByBookingCode("BK0001"))
+            .hasValueSatisfying(booking -> assertThat(booking.getStatus()).isEqualTo(BookingStatus.COMPLETED));
+
+        Customer customer = customerRepository.findByPhoneNumber("+353870000001").orElseThrow();
+        assertThat(customer.getLoyaltyPoints()).isEqualTo(60);
+        assertThat(customer.getPreferredBarber().getName()).isEqualTo("Mike");
+
+        assertThat(conversationStateRepository.findByPhoneNumber("+353870000001"))
+            .hasValueSatisfying(state -> assertThat(state.getCurrentStep()).isEqualTo(ConversationStep.MAIN_MENU));
+    }
+
+    @Test
+    void stepsAndTablesAddedSinceTheOldSchemaCanBeWritten() {
+        // The old column was an ENUM of the steps that existed then
+        ConversationState state = conversationStateRepository.findByPhoneNumber("+353870000001").orElseThrow();
+        for (ConversationStep step : List.of(ConversationStep.VIEW_EARLIEST_SLOTS, ConversationStep.QUICK_REBOOK)) {
+            state.setCurrentStep(step);
+            conversationStateRepository.saveAndFlush(state);
+            assertThat(jdbcTemplate.queryForObject(
+                "SELECT current_step FROM conversation_states WHERE id = 1", String.class))
+                .isEqualTo(step.name());
+        }
+
+        state.setCurrentStep(ConversationStep.WAITLIST_OFFER);
+        conversationStateRepository.saveAndFlush(state);
+
+        Service service = serviceRepository.findById(1L).orElseThrow();
+        Barber barber = barberRepository.findById(1L).orElseThrow();
+        waitlistEntryRepository.saveAndFlush(WaitlistEntry.builder()
+            .customerPhone("+353870000001")
+            .service(service)
+            .barber(barber)
+            .fromDate(LocalDate.now())
+            .toDate(LocalDate.now().plusDays(7))
+            .build());
+
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT current_step FROM conversation_states WHERE id = 1", String.class))
+            .isEqualTo("WAITLIST_OFFER");
+        assertThat(waitlistEntryRepository.countByStatus(WaitlistEntry.WaitlistStatus.WAITING)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM processed_messages WHERE received_at < ?", Long.class, LocalDateTime.now()))
+            .isZero();
+    }
+}
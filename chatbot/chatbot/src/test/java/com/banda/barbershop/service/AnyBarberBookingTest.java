@@ -0,0 +1,82 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * "Any available barber" bookings go to a barber free for the whole slot, by the configured
+ * policy (least utilized in the test profile), until every barber is taken
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AnyBarberBookingTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+
+    @Autowired private BookingService bookingService;
+    @Autowired private AvailabilityService availabilityService;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private BarberRepository barberRepository;
+
+    @Test
+    void eachBookingGoesToAFreeBarberUntilTheSlotIsFull() {
+        Service service = serviceRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        List<Barber> barbers = barberRepository.findByActiveOrderByDisplayOrder(true);
+        LocalDate date = openDay(9);
+        LocalTime time = LocalTime.of(16, 0);
+
+        List<Long> assigned = new ArrayList<>();
+        for (int i = 0; i < barbers.size(); i++) {
+            Booking booking = bookingService.createBooking(newPhone(), service, null, date, time);
+            assertThat(booking.getBarber()).isNotNull();
+            assigned.add(booking.getBarber().getId());
+        }
+
+        assertThat(assigned).containsExactlyInAnyOrderElementsOf(barbers.stream().map(Barber::getId).toList());
+        assertThat(availabilityService.getFreeBarbersAt(date, time, service)).isEmpty();
+        assertThatThrownBy(() -> bookingService.createBooking(newPhone(), service, null, date, time))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void busiestBarberIsAssignedLast() {
+        Service service = serviceRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        Barber busy = barberRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        LocalDate date = openDay(11);
+        bookingService.createBooking(newPhone(), service, busy.getId(), date, LocalTime.of(9, 0));
+        bookingService.createBooking(newPhone(), service, busy.getId(), date, LocalTime.of(10, 0));
+
+        Booking booking = bookingService.createBooking(newPhone(), service, null, date, LocalTime.of(15, 0));
+
+        assertThat(booking.getBarber().getId()).isNotEqualTo(busy.getId());
+    }
+
+    private static LocalDate openDay(int daysAhead) {
+        LocalDate date = LocalDate.now().plusDays(daysAhead);
+        while (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            date = date.plusDays(1);
+        }
+        return date;
+    }
+
+    private static String newPhone() {
+        return "+35381%07d".formatted(PHONES.incrementAndGet());
+    }
+}
@@ -0,0 +1,163 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.dto.AvailableSlot;
+import com.banda.barbershop.dto.BookedInterval;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.BookingRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The earliest-available search walks the horizon day by day from one range query: full and
+ * closed days are skipped, each time is offered once with the first free barber, and a slot
+ * only counts if the whole service fits
+ */
+class AvailabilityServiceTest {
+
+    private static final LocalTime OPENING = LocalTime.of(9, 0);
+    private static final LocalTime CLOSING = LocalTime.of(18, 0);
+    private static final int HORIZON_DAYS = 7;
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate CLOSED_DAY = TODAY.plusDays(2);
+    private static final LocalDate FIRST_OPEN_DAY = TODAY.plusDays(3);
+
+    private final Barber mike = Barber.builder().id(1L).name("Mike").build();
+    private final Barber john = Barber.builder().id(2L).name("John").build();
+    private final Service cut = Service.builder().id(1L).name("Standard Cut").durationMinutes(30).build();
+    private final Service cutAndBeard = Service.builder().id(4L).name("Cut & Beard").durationMinutes(60).build();
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BarberRepository barberRepository = mock(BarberRepository.class);
+    private final List<BookedInterval> booked = new ArrayList<>();
+
+    private AvailabilityService availabilityService;
+
+    @BeforeEach
+    void todayAndTomorrowFullyBooked() {
+        BarberShopConfig.Hours hours = new BarberShopConfig.Hours();
+        hours.setOpeningTime(OPENING);
+        hours.setClosingTime(CLOSING);
+        hours.setClosedDays(List.of(CLOSED_DAY.getDayOfWeek()));
+        BarberShopConfig shopConfig = new BarberShopConfig();
+        shopConfig.setOperatingHours(hours);
+        shopConfig.setSlotIntervalMinutes(30);
+        shopConfig.setMinimumAdvanceBookingHours(2);
+        shopConfig.setSearchHorizonDays(HORIZON_DAYS);
+
+        when(barberRepository.findByActiveOrderByDisplayOrder(true)).thenReturn(List.of(mike, john));
+        when(barberRepository.findById(mike.getId())).thenReturn(Optional.of(mike));
+        when(barberRepository.findById(john.getId())).thenReturn(Optional.of(john));
+        when(barberRepository.findById(99L)).thenReturn(Optional.empty());
+        // Rows come back ordered by barber, date, start time, like the query
+        when(bookingRepository.findBookedIntervals(anyCollection(), any(), any())).thenAnswer(invocation ->
+            booked.stream()
+                .sorted(Comparator.comparing(BookedInterval::getBarberId)
+                    .thenComparing(BookedInterval::getDate)
+                    .thenComparing(BookedInterval::getStartTime))
+                .toList());
+
+        availabilityService = new AvailabilityService(shopConfig, bookingRepository, barberRepository,
+            mock(SlotInventoryService.class), new SimpleMeterRegistry());
+
+        for (LocalDate day = TODAY; day.isBefore(CLOSED_DAY); day = day.plusDays(1)) {
+            book(mike, day, OPENING, CLOSING);
+            book(john, day, OPENING, CLOSING);
+        }
+    }
+
+    @Test
+    void anyBarberSearchSkipsFullAndClosedDaysAndOffersEachTimeOnce() {
+        book(mike, FIRST_OPEN_DAY, OPENING, LocalTime.of(10, 0));
+
+        assertThat(availabilityService.findNextAvailableSlots(cut, null, 4))
+            .extracting(AvailableSlot::getDate, AvailableSlot::getStartTime, AvailableSlot::getBarberName)
+            .containsExactly(
+                tuple(FIRST_OPEN_DAY, LocalTime.of(9, 0), "John"),
+                tuple(FIRST_OPEN_DAY, LocalTime.of(9, 30), "John"),
+                tuple(FIRST_OPEN_DAY, LocalTime.of(10, 0), "Mike"),
+                tuple(FIRST_OPEN_DAY, LocalTime.of(10, 30), "Mike"));
+        verify(bookingRepository).findBookedIntervals(List.of(mike.getId(), john.getId()),
+            TODAY, TODAY.plusDays(HORIZON_DAYS - 1));
+    }
+
+    @Test
+    void singleBarberSearchContinuesIntoTheNextDay() {
+        book(john, FIRST_OPEN_DAY, OPENING, LocalTime.of(17, 30));
+
+        assertThat(availabilityService.findNextAvailableSlots(cut, john.getId(), 3))
+            .extracting(AvailableSlot::getDate, AvailableSlot::getStartTime, AvailableSlot::getBarberName)
+            .containsExactly(
+                tuple(FIRST_OPEN_DAY, LocalTime.of(17, 30), "John"),
+                tuple(FIRST_OPEN_DAY.plusDays(1), LocalTime.of(9, 0), "John"),
+                tuple(FIRST_OPEN_DAY.plusDays(1), LocalTime.of(9, 30), "John"));
+    }
+
+    @Test
+    void gapShorterThanTheServiceIsNotOffered() {
+        for (Barber barber : List.of(mike, john)) {
+            book(barber, FIRST_OPEN_DAY, OPENING, LocalTime.of(10, 0));
+            book(barber, FIRST_OPEN_DAY, LocalTime.of(10, 30), CLOSING);
+        }
+
+        assertThat(availabilityService.findNextAvailableSlots(cut, null, 1))
+            .extracting(AvailableSlot::getDate, AvailableSlot::getStartTime)
+            .containsExactly(tuple(FIRST_OPEN_DAY, LocalTime.of(10, 0)));
+        assertThat(availabilityService.findNextAvailableSlots(cutAndBeard, null, 1))
+            .extracting(AvailableSlot::getDate, AvailableSlot::getStartTime)
+            .containsExactly(tuple(FIRST_OPEN_DAY.plusDays(1), LocalTime.of(9, 0)));
+    }
+
+    @Test
+    void overlappingBookingsAreMergedIntoOneBusyStretch() {
+        book(mike, FIRST_OPEN_DAY, OPENING, LocalTime.of(11, 0));
+        book(mike, FIRST_OPEN_DAY, LocalTime.of(10, 0), LocalTime.of(12, 0));
+        book(mike, FIRST_OPEN_DAY, LocalTime.of(10, 30), LocalTime.of(11, 30));
+
+        assertThat(availabilityService.findNextAvailableSlots(cut, mike.getId(), 1))
+            .extracting(AvailableSlot::getDate, AvailableSlot::getStartTime)
+            .containsExactly(tuple(FIRST_OPEN_DAY, LocalTime.of(12, 0)));
+    }
+
+    @Test
+    void fullyBookedHorizonUnknownBarberAndZeroLimitFindNothing() {
+        for (LocalDate day = FIRST_OPEN_DAY; day.isBefore(TODAY.plusDays(HORIZON_DAYS)); day = day.plusDays(1)) {
+            book(john, day, OPENING, CLOSING);
+        }
+
+        assertThat(availabilityService.findNextAvailableSlots(cut, john.getId(), 5)).isEmpty();
+        assertThat(availabilityService.findNextAvailableSlots(cut, 99L, 5)).isEmpty();
+        assertThat(availabilityService.findNextAvailableSlots(cut, null, 0)).isEmpty();
+    }
+
+    @Test
+    void deactivatedBarberIsNotOffered() {
+        Barber steve = Barber.builder().id(3L).name("Steve").active(false).build();
+        when(barberRepository.findById(steve.getId())).thenReturn(Optional.of(steve));
+
+        assertThat(availabilityService.findNextAvailableSlots(cut, steve.getId(), 5)).isEmpty();
+    }
+
+    private void book(Barber barber, LocalDate date, LocalTime start, LocalTime end) {
+        booked.add(new BookedInterval(barber.getId(), date, start, end));
+    }
+}
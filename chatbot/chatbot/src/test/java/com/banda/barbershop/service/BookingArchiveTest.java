@@ -0,0 +1,163 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.dto.BookingDTO;
+import com.banda.barbershop.dto.DashboardStatsDTO;
+import com.banda.barbershop.entity.ArchivedBooking;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.ArchivedBookingRepository;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.BookingRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Archival moves finished bookings out of the hot table in batches, and reporting reads
+ * them back through the BookingRecord union as if they had never moved. The small batch size
+ * makes one run take several batches.
+ */
+@SpringBootTest(properties = "barbershop.archive.batch-size=3")
+@ActiveProfiles("test")
+class BookingArchiveTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    // Archived rows keep their hot id; these are far above anything the tests insert
+    private static final AtomicInteger ARCHIVED_IDS = new AtomicInteger(8_000_000);
+
+    @Autowired private BookingArchiveService archiveService;
+    @Autowired private AdminService adminService;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ArchivedBookingRepository archivedBookingRepository;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private BarberRepository barberRepository;
+
+    private Service service;
+    private Barber barber;
+
+    @BeforeEach
+    void catalog() {
+        service = serviceRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        barber = barberRepository.findAllActiveBarbers().getFirst();
+    }
+
+    @Test
+    void finishedBookingsMoveInBatchesAndStayReportable() {
+        // Older than anything else the tests book, so the run only moves these
+        LocalDate day = LocalDate.now().minusDays(400);
+        List<Booking> finished = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            finished.add(booking(day, LocalTime.of(9 + i, 0), BookingStatus.COMPLETED));
+        }
+        finished.add(booking(day, LocalTime.of(14, 0), BookingStatus.CANCELLED));
+        finished.add(booking(day, LocalTime.of(15, 0), BookingStatus.NO_SHOW));
+        Booking stillConfirmed = booking(day, LocalTime.of(16, 0), BookingStatus.CONFIRMED);
+
+        List<Integer> batches = new ArrayList<>();
+        int moved;
+        do {
+            moved = archiveService.archiveBatch(day.plusDays(1));
+            batches.add(moved);
+        } while (moved == archiveService.getBatchSize());
+
+        assertThat(batches).containsExactly(3, 3, 1);
+        assertThat(finished).allSatisfy(booking -> {
+            assertThat(bookingRepository.findById(booking.getId())).isEmpty();
+            assertThat(archivedBookingRepository.findById(booking.getId()))
+                .hasValueSatisfying(archived -> {
+                    assertThat(archived.getBookingCode()).isEqualTo(booking.getBookingCode());
+                    assertThat(archived.getStatus()).isEqualTo(booking.getStatus());
+                    assertThat(archived.getArchivedAt()).isNotNull();
+                });
+        });
+        assertThat(bookingRepository.findById(stillConfirmed.getId())).isPresent();
+
+        List<BookingDTO> reported = adminService.getBookingsByDate(day);
+        assertThat(reported).extracting(BookingDTO::getId)
+            .containsExactlyElementsOf(ids(finished, stillConfirmed));
+        assertThat(reported).extracting(BookingDTO::getServiceName).containsOnly(service.getName());
+    }
+
+    @Test
+    void nothingInsideTheRetentionWindowIsArchived() {
+        Booking recent = booking(LocalDate.now().minusDays(2), LocalTime.of(9, 0), BookingStatus.COMPLETED);
+
+        archiveService.archiveBatch(archiveService.cutoff());
+
+        assertThat(bookingRepository.findById(recent.getId())).isPresent();
+        assertThat(archiveService.cutoff()).isBefore(LocalDate.now().minusDays(179)).hasDayOfMonth(1);
+    }
+
+    @Test
+    void dashboardCountsArchivedBookingsInsideItsWindowOnly() {
+        DashboardStatsDTO before = adminService.getDashboardStats();
+
+        archived(LocalDate.now().minusDays(10), BookingStatus.COMPLETED);
+        archived(LocalDate.now().minusDays(40), BookingStatus.COMPLETED);
+
+        DashboardStatsDTO after = adminService.getDashboardStats();
+        double price = service.getPrice().doubleValue();
+        assertThat(after.getMonthBookings()).isEqualTo(before.getMonthBookings() + 1);
+        assertThat(after.getMonthRevenue()).isEqualTo(before.getMonthRevenue() + price);
+        assertThat(after.getWeekBookings()).isEqualTo(before.getWeekBookings());
+        assertThat(popularCount(after)).isEqualTo(popularCount(before) + 1);
+    }
+
+    private Booking booking(LocalDate date, LocalTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+            .bookingCode("AR%05d".formatted(SEQUENCE.incrementAndGet()))
+            .customerPhone("+35379%07d".formatted(SEQUENCE.get()))
+            .service(service)
+            .barber(barber)
+            .bookingDate(date)
+            .startTime(start)
+            .endTime(start.plusMinutes(service.getDurationMinutes()))
+            .status(status)
+            .build());
+    }
+
+    private void archived(LocalDate date, BookingStatus status) {
+        LocalTime start = LocalTime.of(11, 0);
+        archivedBookingRepository.save(ArchivedBooking.builder()
+            .id((long) ARCHIVED_IDS.incrementAndGet())
+            .bookingCode("AR%05d".formatted(SEQUENCE.incrementAndGet()))
+            .customerPhone("+35379%07d".formatted(SEQUENCE.get()))
+            .service(service)
+            .barber(barber)
+            .bookingDate(date)
+            .startTime(start)
+            .endTime(start.plusMinutes(service.getDurationMinutes()))
+            .status(status)
+            .createdAt(date.atStartOfDay())
+            .archivedAt(LocalDateTime.now())
+            .build());
+    }
+
+    private long popularCount(DashboardStatsDTO stats) {
+        return stats.getPopularServices().stream()
+            .filter(popular -> popular.getServiceName().equals(service.getName()))
+            .mapToLong(DashboardStatsDTO.ServiceStatsDTO::getBookingCount)
+            .findFirst()
+            .orElse(0L);
+    }
+
+    private static List<Long> ids(List<Booking> finished, Booking confirmed) {
+        List<Long> ids = new ArrayList<>(finished.stream().map(Booking::getId).toList());
+        ids.add(confirmed.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,114 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.entity.ConversationState;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.repository.ConversationStateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mid-flow conversations idle past the reset window restart at the main menu, long-idle ones
+ * are deleted, and both jobs work through more rows than one batch holds. A small batch size
+ * makes every run take several batches.
+ */
+@SpringBootTest(properties = "conversation.expiry.batch-size=2")
+@ActiveProfiles("test")
+class ConversationExpiryTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+    private static final String CONTEXT = "{\"service_id\":1}";
+
+    @Autowired private ConversationStateService stateService;
+    @Autowired private ConversationStateRepository repository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idleMidFlowConversationsRestartAtTheMainMenu() {
+        List<String> idle = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            idle.add(conversation(ConversationStep.SELECT_BARBER, Duration.ofHours(2)));
+        }
+        String active = conversation(ConversationStep.SELECT_BARBER, Duration.ofMinutes(5));
+        String atMenu = conversation(ConversationStep.MAIN_MENU, Duration.ofHours(2));
+
+        assertThat(stateService.resetIdleConversations()).isGreaterThanOrEqualTo(idle.size());
+
+        assertThat(idle).allSatisfy(phone -> {
+            assertThat(state(phone).getCurrentStep()).isEqualTo(ConversationStep.MAIN_MENU);
+            assertThat(state(phone).getContextData()).isEqualTo("show_initial");
+        });
+        assertThat(state(active).getCurrentStep()).isEqualTo(ConversationStep.SELECT_BARBER);
+        assertThat(state(active).getContextData()).isEqualTo(CONTEXT);
+        assertThat(state(atMenu).getContextData()).isEqualTo(CONTEXT);
+        assertThat(stateService.resetIdleConversations()).isZero();
+    }
+
+    @Test
+    void longIdleConversationsArePurged() {
+        List<String> abandoned = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            abandoned.add(conversation(ConversationStep.MAIN_MENU, Duration.ofDays(91)));
+        }
+        String recent = conversation(ConversationStep.MAIN_MENU, Duration.ofDays(89));
+
+        assertThat(stateService.purgeIdleConversations()).isGreaterThanOrEqualTo(abandoned.size());
+
+        assertThat(abandoned).allSatisfy(phone -> assertThat(repository.findByPhoneNumber(phone)).isEmpty());
+        assertThat(repository.findByPhoneNumber(recent)).isPresent();
+        assertThat(stateService.purgeIdleConversations()).isZero();
+    }
+
+    @Test
+    void staleConversationIsRestartedWhenTheCustomerComesBack() {
+        String phone = conversation(ConversationStep.CONFIRM_BOOKING, Duration.ofHours(2));
+
+        ConversationState state = stateService.getOrCreate(phone);
+
+        assertThat(state.getCurrentStep()).isEqualTo(ConversationStep.MAIN_MENU);
+        assertThat(state.getContextData()).isEqualTo("show_initial");
+    }
+
+    @Test
+    void purgedConversationStartsAgainOnTheNextMessage() {
+        String phone = conversation(ConversationStep.SELECT_SERVICE, Duration.ofDays(91));
+        ConversationState loaded = stateService.getOrCreate(phone);
+        stateService.purgeIdleConversations();
+
+        // The message being processed still gets its transition saved
+        stateService.saveTransition(loaded, ConversationStep.SELECT_BARBER, CONTEXT);
+
+        assertThat(state(phone).getCurrentStep()).isEqualTo(ConversationStep.SELECT_BARBER);
+        assertThat(state(phone).getContextData()).isEqualTo(CONTEXT);
+    }
+
+    /**
+     * Conversation at the step, last active the given time ago (set behind the entity's back,
+     * which would stamp it with now)
+     */
+    private String conversation(ConversationStep step, Duration idleFor) {
+        String phone = "+35380%07d".formatted(PHONES.incrementAndGet());
+        ConversationState state = repository.save(ConversationState.builder()
+            .phoneNumber(phone)
+            .currentStep(step)
+            .contextData(CONTEXT)
+            .build());
+        jdbcTemplate.update("UPDATE conversation_states SET last_activity = ? WHERE id = ?",
+            LocalDateTime.now().minus(idleFor), state.getId());
+        return phone;
+    }
+
+    private ConversationState state(String phone) {
+        return repository.findByPhoneNumber(phone).orElseThrow();
+    }
+}
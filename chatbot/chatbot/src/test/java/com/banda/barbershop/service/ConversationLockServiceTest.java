@@ -0,0 +1,149 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.WebhookConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversationLockServiceTest {
+
+    private static final String HOT_PHONE = "+353870000000";
+
+    private final ConversationLockService lockService = new ConversationLockService(new WebhookConfig());
+
+    @Test
+    void hammeringOnePhoneNeverRunsConcurrently() throws Exception {
+        int threads = 32;
+        int messagesPerThread = 500;
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        int[] unsafeCounter = {0};
+
+        runConcurrently(threads, i -> {
+            for (int m = 0; m < messagesPerThread; m++) {
+                lockService.withLock(HOT_PHONE, () -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    unsafeCounter[0]++;
+                    active.decrementAndGet();
+                    return null;
+                });
+            }
+        });
+
+        assertThat(maxActive.get()).isEqualTo(1);
+        assertThat(unsafeCounter[0]).isEqualTo(threads * messagesPerThread);
+    }
+
+    @Test
+    void differentPhonesRunInParallel() throws Exception {
+        List<String> phones = phonesOnDistinctStripes(16);
+        CyclicBarrier allInside = new CyclicBarrier(phones.size());
+
+        // Every phone waits inside its lock for all the others; serialized locks would time out
+        runConcurrently(phones.size(), i -> lockService.withLock(phones.get(i), () -> {
+            try {
+                allInside.await(5, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                throw new IllegalStateException("Phones were not processed in parallel", e);
+            }
+            return null;
+        }));
+    }
+
+    @Test
+    void hotPhoneAndManyPhonesSimultaneously() throws Exception {
+        List<String> phones = new ArrayList<>();
+        phones.add(HOT_PHONE);
+        for (int i = 1; i <= 200; i++) {
+            phones.add(String.format("+35387%07d", i));
+        }
+
+        Map<String, AtomicInteger> activePerPhone = new ConcurrentHashMap<>();
+        Map<String, int[]> processedPerPhone = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger globalActive = new AtomicInteger();
+        AtomicInteger globalMaxActive = new AtomicInteger();
+        phones.forEach(phone -> {
+            activePerPhone.put(phone, new AtomicInteger());
+            processedPerPhone.put(phone, new int[1]);
+        });
+
+        int threads = 64;
+        int messagesPerThread = 400;
+        runConcurrently(threads, t -> {
+            for (int m = 0; m < messagesPerThread; m++) {
+                // Half of all traffic goes to the hot phone, the rest is spread out
+                String phone = m % 2 == 0 ? HOT_PHONE : phones.get(1 + (t * messagesPerThread + m) % 200);
+                lockService.withLock(phone, () -> {
+                    if (activePerPhone.get(phone).incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    globalMaxActive.accumulateAndGet(globalActive.incrementAndGet(), Math::max);
+                    processedPerPhone.get(phone)[0]++;
+                    LockSupport.parkNanos(20_000); // Simulated handler work
+                    globalActive.decrementAndGet();
+                    activePerPhone.get(phone).decrementAndGet();
+                    return null;
+                });
+            }
+        });
+
+        int total = processedPerPhone.values().stream().mapToInt(count -> count[0]).sum();
+        assertThat(overlaps.get()).isZero();
+        assertThat(total).isEqualTo(threads * messagesPerThread);
+        assertThat(processedPerPhone.get(HOT_PHONE)[0]).isEqualTo(threads * messagesPerThread / 2);
+        assertThat(globalMaxActive.get()).isGreaterThan(1);
+    }
+
+    private List<String> phonesOnDistinctStripes(int count) {
+        List<String> phones = new ArrayList<>();
+        Set<Integer> usedStripes = new HashSet<>();
+        for (int i = 0; phones.size() < count; i++) {
+            String phone = String.format("+35386%07d", i);
+            if (usedStripes.add(lockService.stripeFor(phone))) {
+                phones.add(phone);
+            }
+        }
+        return phones;
+    }
+
+    private void runConcurrently(int threads, ThrowingTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CyclicBarrier start = new CyclicBarrier(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(index);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingTask {
+        void run(int index) throws Exception;
+    }
+}
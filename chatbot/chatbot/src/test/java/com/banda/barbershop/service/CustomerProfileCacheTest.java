@@ -0,0 +1,131 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.dto.CustomerProfile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerProfileCacheTest {
+
+    private static final String PHONE = "+353870000000";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void profileIsLoadedOnceAndServedFromTheCache() {
+        CustomerProfileCache cache = cache(10, true);
+
+        CustomerProfile first = cache.get(PHONE, loader(LocalDate.now()));
+        CustomerProfile second = cache.get(PHONE, loader(LocalDate.now()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictionOutsideATransactionDropsTheProfileAtOnce() {
+        CustomerProfileCache cache = cache(10, true);
+        cache.get(PHONE, loader(LocalDate.now()));
+
+        cache.evict(PHONE);
+        cache.get(PHONE, loader(LocalDate.now()));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictionInsideATransactionWaitsForTheCommit() {
+        CustomerProfileCache cache = cache(10, true);
+        cache.get(PHONE, loader(LocalDate.now()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict(PHONE);
+        cache.get(PHONE, loader(LocalDate.now()));
+        assertThat(loads).as("still cached before commit").hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.get(PHONE, loader(LocalDate.now()));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void loadRacedByAnEvictionIsNotCached() {
+        CustomerProfileCache cache = cache(10, true);
+
+        // A commit for the phone lands while its profile is being read
+        cache.get(PHONE, () -> {
+            cache.evict(PHONE);
+            return loader(LocalDate.now()).get();
+        });
+        cache.get(PHONE, loader(LocalDate.now()));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void profileBuiltOnAnEarlierDayIsRebuilt() {
+        CustomerProfileCache cache = cache(10, true);
+        cache.get(PHONE, loader(LocalDate.now().minusDays(1)));
+
+        cache.get(PHONE, loader(LocalDate.now()));
+        cache.get(PHONE, loader(LocalDate.now()));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void leastRecentlyUsedPhoneIsDroppedPastTheBound() {
+        CustomerProfileCache cache = cache(2, true);
+        cache.get("+353870000001", loader(LocalDate.now()));
+        cache.get("+353870000002", loader(LocalDate.now()));
+        cache.get("+353870000001", loader(LocalDate.now()));
+
+        cache.get("+353870000003", loader(LocalDate.now()));
+        assertThat(loads).hasValue(3);
+
+        cache.get("+353870000001", loader(LocalDate.now()));
+        assertThat(loads).as("recently used phone kept").hasValue(3);
+        cache.get("+353870000002", loader(LocalDate.now()));
+        assertThat(loads).as("eldest phone dropped").hasValue(4);
+    }
+
+    @Test
+    void disabledCacheAlwaysLoads() {
+        CustomerProfileCache cache = cache(10, false);
+
+        cache.get(PHONE, loader(LocalDate.now()));
+        cache.get(PHONE, loader(LocalDate.now()));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private Supplier<CustomerProfile> loader(LocalDate builtOn) {
+        return () -> {
+            loads.incrementAndGet();
+            return CustomerProfile.builder().phoneNumber(PHONE).known(true).builtOn(builtOn).build();
+        };
+    }
+
+    private static CustomerProfileCache cache(int maxEntries, boolean enabled) {
+        BarberShopConfig config = new BarberShopConfig();
+        config.getProfileCache().setMaxEntries(maxEntries);
+        config.getProfileCache().setEnabled(enabled);
+        return new CustomerProfileCache(config, new SimpleMeterRegistry());
+    }
+}
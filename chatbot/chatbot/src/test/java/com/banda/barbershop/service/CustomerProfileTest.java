@@ -0,0 +1,78 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.dto.CustomerProfile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cached profiles follow committed customer changes and ignore rolled back ones
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CustomerProfileTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+
+    @Autowired private CustomerService customerService;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Test
+    void profileOfANewPhoneIsUnknownUntilTheCustomerIsCreated() {
+        String phone = newPhone();
+        assertThat(customerService.getProfile(phone).isKnown()).isFalse();
+
+        customerService.getOrCreateCustomer(phone);
+
+        CustomerProfile profile = customerService.getProfile(phone);
+        assertThat(profile.isKnown()).isTrue();
+        assertThat(profile.getGreeting()).isNull();
+    }
+
+    @Test
+    void committedChangeReplacesTheCachedProfile() {
+        String phone = newPhone();
+        customerService.getOrCreateCustomer(phone);
+        int pointsBefore = customerService.getProfile(phone).getLoyaltyPoints();
+
+        customerService.awardLoyaltyPoints(phone, 25);
+
+        assertThat(customerService.getProfile(phone).getLoyaltyPoints()).isEqualTo(pointsBefore + 25);
+    }
+
+    @Test
+    void rolledBackChangeLeavesTheCachedProfile() {
+        String phone = newPhone();
+        customerService.getOrCreateCustomer(phone);
+        CustomerProfile cached = customerService.getProfile(phone);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            customerService.awardLoyaltyPoints(phone, 25);
+            tx.setRollbackOnly();
+        });
+
+        assertThat(customerService.getProfile(phone)).isSameAs(cached);
+    }
+
+    @Test
+    void bookingOutcomesReachTheCachedProfile() {
+        String phone = newPhone();
+        customerService.getOrCreateCustomer(phone);
+        assertThat(customerService.getProfile(phone).getCompletedBookings()).isZero();
+
+        customerService.recordCompletedBooking(phone);
+
+        assertThat(customerService.getProfile(phone).getCompletedBookings()).isEqualTo(1);
+    }
+
+    private static String newPhone() {
+        return "+35378%07d".formatted(PHONES.incrementAndGet());
+    }
+}
@@ -0,0 +1,118 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.entity.DeadLetterMessage;
+import com.banda.barbershop.entity.DeadLetterMessage.DeadLetterStatus;
+import com.banda.barbershop.repository.DeadLetterMessageRepository;
+import com.banda.barbershop.transport.InMemoryMessageTransport;
+import com.banda.barbershop.transport.TransportException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * A dead letter is claimed before it is sent, so overlapping replays deliver it once
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DeadLetterServiceTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+
+    @MockitoSpyBean private InMemoryMessageTransport transport;
+    @Autowired private DeadLetterService deadLetterService;
+    @Autowired private DeadLetterMessageRepository repository;
+
+    @Test
+    void overlappingReplaysSendOnce() throws Exception {
+        DeadLetterMessage deadLetter = deadLetter(DeadLetterStatus.PENDING, null);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            sending.countDown();
+            assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+            return invocation.callRealMethod();
+        }).when(transport).send(eq(deadLetter.getToPhoneNumber()), anyString());
+
+        ExecutorService admin = Executors.newSingleThreadExecutor();
+        try {
+            Future<DeadLetterMessage> first = admin.submit(() -> deadLetterService.replay(deadLetter.getId()).orElseThrow());
+            assertThat(sending.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // A second replay and replay-all while the first is still sending
+            assertThat(deadLetterService.replay(deadLetter.getId()))
+                .hasValueSatisfying(other -> assertThat(other.getStatus()).isEqualTo(DeadLetterStatus.REPLAYING));
+            assertThat(deadLetterService.getPending()).extracting(DeadLetterMessage::getId).doesNotContain(deadLetter.getId());
+            deadLetterService.replayPending();
+
+            release.countDown();
+            assertThat(first.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo(DeadLetterStatus.REPLAYED);
+        } finally {
+            admin.shutdown();
+        }
+
+        verify(transport, times(1)).send(eq(deadLetter.getToPhoneNumber()), anyString());
+        assertThat(deadLetterService.replay(deadLetter.getId()))
+            .hasValueSatisfying(replayed -> assertThat(replayed.getStatus()).isEqualTo(DeadLetterStatus.REPLAYED));
+        verify(transport, times(1)).send(eq(deadLetter.getToPhoneNumber()), anyString());
+    }
+
+    @Test
+    void failedReplayReturnsTheDeadLetterToPending() {
+        DeadLetterMessage deadLetter = deadLetter(DeadLetterStatus.PENDING, null);
+        doThrow(new TransportException("Invalid 'To' number", 400, null))
+            .when(transport).send(eq(deadLetter.getToPhoneNumber()), anyString());
+
+        DeadLetterMessage failed = deadLetterService.replay(deadLetter.getId()).orElseThrow();
+
+        assertThat(failed.getStatus()).isEqualTo(DeadLetterStatus.PENDING);
+        assertThat(failed.getAttempts()).isEqualTo(deadLetter.getAttempts() + 1);
+        assertThat(failed.getErrorCode()).isEqualTo(400);
+        assertThat(failed.getClaimedAt()).isNull();
+        assertThat(deadLetterService.getPending()).extracting(DeadLetterMessage::getId).contains(deadLetter.getId());
+    }
+
+    @Test
+    void claimLeftByADeadReplayIsReplayedAfterTheTimeout() {
+        DeadLetterMessage stale = deadLetter(DeadLetterStatus.REPLAYING, LocalDateTime.now().minusHours(1));
+        DeadLetterMessage fresh = deadLetter(DeadLetterStatus.REPLAYING, LocalDateTime.now());
+
+        assertThat(deadLetterService.getPending()).extracting(DeadLetterMessage::getId)
+            .contains(stale.getId())
+            .doesNotContain(fresh.getId());
+
+        assertThat(deadLetterService.replay(stale.getId()))
+            .hasValueSatisfying(replayed -> assertThat(replayed.getStatus()).isEqualTo(DeadLetterStatus.REPLAYED));
+        assertThat(deadLetterService.replay(fresh.getId()))
+            .hasValueSatisfying(held -> assertThat(held.getStatus()).isEqualTo(DeadLetterStatus.REPLAYING));
+        verify(transport, times(0)).send(eq(fresh.getToPhoneNumber()), anyString());
+    }
+
+    private DeadLetterMessage deadLetter(DeadLetterStatus status, LocalDateTime claimedAt) {
+        return repository.save(DeadLetterMessage.builder()
+            .toPhoneNumber("+35382%07d".formatted(PHONES.incrementAndGet()))
+            .body("Your booking is confirmed")
+            .attempts(3)
+            .errorCode(503)
+            .status(status)
+            .claimedAt(claimedAt)
+            .build());
+    }
+}
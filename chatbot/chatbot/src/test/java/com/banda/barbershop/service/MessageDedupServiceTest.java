@@ -0,0 +1,89 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.repository.ProcessedMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+/**
+ * A MessageSid is answered as a duplicate from memory, or from processed_messages once the
+ * in-memory window has dropped it, and a claim that failed to store does not swallow the retry
+ */
+@SpringBootTest(properties = "webhook.dedup.window-size=2")
+@ActiveProfiles("test")
+class MessageDedupServiceTest {
+
+    private static final AtomicInteger SIDS = new AtomicInteger();
+    private static final String PHONE = "+353760000000";
+    private static final String PROVISIONAL = "<Response/>";
+
+    @Autowired private MessageDedupService dedupService;
+    @Autowired private MeterRegistry meterRegistry;
+    @MockitoSpyBean private ProcessedMessageRepository repository;
+
+    @Test
+    void retryIsAnsweredFromMemory() {
+        String sid = newSid();
+        double misses = count("miss");
+        double memoryHits = count("hit_memory");
+
+        assertThat(dedupService.claim(sid, PHONE, PROVISIONAL)).isEmpty();
+        dedupService.recordResponse(sid, "<Response>menu</Response>");
+
+        assertThat(dedupService.claim(sid, PHONE, PROVISIONAL)).contains("<Response>menu</Response>");
+        assertThat(count("miss")).isEqualTo(misses + 1);
+        assertThat(count("hit_memory")).isEqualTo(memoryHits + 1);
+    }
+
+    @Test
+    void retryAfterTheWindowRolledOverIsAnsweredFromTheDatabase() {
+        String sid = newSid();
+        double databaseHits = count("hit_database");
+        dedupService.claim(sid, PHONE, PROVISIONAL);
+        dedupService.recordResponse(sid, "<Response>slots</Response>");
+
+        // Window of two: these push the first Sid out of memory
+        dedupService.claim(newSid(), PHONE, PROVISIONAL);
+        dedupService.claim(newSid(), PHONE, PROVISIONAL);
+
+        assertThat(dedupService.claim(sid, PHONE, PROVISIONAL)).contains("<Response>slots</Response>");
+        assertThat(count("hit_database")).isEqualTo(databaseHits + 1);
+
+        // And is remembered again
+        double memoryHits = count("hit_memory");
+        assertThat(dedupService.claim(sid, PHONE, PROVISIONAL)).contains("<Response>slots</Response>");
+        assertThat(count("hit_memory")).isEqualTo(memoryHits + 1);
+    }
+
+    @Test
+    void failedClaimLeavesTheRetryToBeProcessed() {
+        String sid = newSid();
+        doThrow(new DataAccessResourceFailureException("Connection is closed"))
+            .when(repository).saveAndFlush(any());
+        assertThatThrownBy(() -> dedupService.claim(sid, PHONE, PROVISIONAL))
+            .isInstanceOf(DataAccessResourceFailureException.class);
+        reset(repository);
+
+        assertThat(dedupService.claim(sid, PHONE, PROVISIONAL)).isEmpty();
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("barbershop.webhook.dedup", "result", result).count();
+    }
+
+    private static String newSid() {
+        return "SMdedup%08d".formatted(SIDS.incrementAndGet());
+    }
+}
@@ -0,0 +1,100 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.OutboundConfig;
+import com.banda.barbershop.entity.OutboundMessage;
+import com.banda.barbershop.entity.OutboundMessage.MessageType;
+import com.banda.barbershop.entity.OutboundMessage.OutboundStatus;
+import com.banda.barbershop.repository.DeadLetterMessageRepository;
+import com.banda.barbershop.repository.OutboundMessageRepository;
+import com.banda.barbershop.transport.MessageTransport;
+import com.banda.barbershop.transport.TransportException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OutboxRelayTest {
+
+    private static final String PHONE = "+353870000000";
+    private static final String TOKEN = "token";
+
+    private final OutboundMessageRepository repository = mock(OutboundMessageRepository.class);
+    private final DeadLetterMessageRepository deadLetterRepository = mock(DeadLetterMessageRepository.class);
+    private final MessageTransport transport = mock(MessageTransport.class);
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        OutboundConfig config = new OutboundConfig();
+        config.getRateLimit().setEnabled(false);
+        config.getRetry().setMaxAttempts(3);
+        config.getRetry().setInitialBackoffMs(1);
+        config.getRetry().setMaxBackoffMs(1);
+        config.getOutbox().setMaxAttempts(5);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(transport.getName()).thenReturn("mock");
+        WhatsAppService whatsAppService = new WhatsAppService(transport, config,
+            new SendRateLimiter(config, meterRegistry), deadLetterRepository, meterRegistry);
+        relay = new OutboxRelay(repository, whatsAppService, config, meterRegistry,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        OutboundMessage message = OutboundMessage.builder()
+            .id(1L)
+            .toPhoneNumber(PHONE)
+            .body("Your booking is confirmed")
+            .type(MessageType.BOOKING_CONFIRMATION)
+            .status(OutboundStatus.SENDING)
+            .attempts(1)
+            .claimToken(TOKEN)
+            .nextAttemptAt(LocalDateTime.now())
+            .createdAt(LocalDateTime.now())
+            .build();
+        when(repository.findDueIds(eq(OutboundStatus.PENDING), any(), any()))
+            .thenReturn(List.of(1L))
+            .thenReturn(List.of());
+        when(repository.claim(anyCollection(), anyString(), any(), eq(OutboundStatus.SENDING), eq(OutboundStatus.PENDING)))
+            .thenReturn(1);
+        when(repository.findByClaimTokenOrderById(anyString())).thenReturn(List.of(message));
+    }
+
+    @Test
+    void readTimeoutIsDeadLetteredNotSentAgain() {
+        when(transport.send(anyString(), anyString()))
+            .thenThrow(new TransportException("Read timed out", null, new SocketTimeoutException("Read timed out")));
+
+        assertThat(relay.drain()).isZero();
+
+        verify(transport, times(1)).send(anyString(), anyString());
+        verify(repository).release(eq(1L), eq(TOKEN), eq(OutboundStatus.FAILED), any(), anyString());
+        verify(deadLetterRepository).save(any());
+    }
+
+    @Test
+    void failureToConnectGoesBackToTheQueue() {
+        when(transport.send(anyString(), anyString()))
+            .thenThrow(new TransportException("Connection refused", null, true, new ConnectException("Connection refused")));
+
+        assertThat(relay.drain()).isZero();
+
+        verify(transport, times(3)).send(anyString(), anyString());
+        verify(repository).release(eq(1L), eq(TOKEN), eq(OutboundStatus.PENDING), any(), anyString());
+        verify(deadLetterRepository, never()).save(any());
+    }
+}
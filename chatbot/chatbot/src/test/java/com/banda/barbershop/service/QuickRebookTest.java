@@ -0,0 +1,112 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.controller.WhatsAppWebhookController;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.ConversationState;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.BookingRepository;
+import com.banda.barbershop.repository.ConversationStateRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A returning customer rebooks their usual service and barber from the main menu in three
+ * messages: the menu option, a time from the earliest slots, and YES
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QuickRebookTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+
+    @Autowired private WhatsAppWebhookController webhook;
+    @Autowired private CustomerService customerService;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private BarberRepository barberRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private ConversationStateRepository conversationStateRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    private Service service;
+    private Barber barber;
+    private String phone;
+
+    @BeforeEach
+    void customerWithAUsual() {
+        service = serviceRepository.findByActiveOrderByDisplayOrder(true).getLast();
+        barber = barberRepository.findAllActiveBarbers().getLast();
+        phone = "+35377%07d".formatted(PHONES.incrementAndGet());
+        customerService.getOrCreateCustomer(phone);
+        jdbcTemplate.update("""
+            UPDATE customers SET preferred_service_id = ?, preferred_service_count = 3, preferred_barber_id = ?
+            WHERE phone_number = ?
+            """, service.getId(), barber.getId(), phone);
+    }
+
+    @Test
+    void usualIsRebookedWithoutTheServiceAndBarberMenus() throws Exception {
+        message("hi");
+        message("6");
+
+        ConversationState offered = state();
+        assertThat(offered.getCurrentStep()).isEqualTo(ConversationStep.VIEW_EARLIEST_SLOTS);
+        assertThat(context(offered))
+            .containsEntry("service_id", service.getId().intValue())
+            .containsEntry("barber_id", barber.getId().intValue());
+
+        message("1");
+        Map<String, Object> chosen = context(state());
+        assertThat(state().getCurrentStep()).isEqualTo(ConversationStep.CONFIRM_BOOKING);
+        message("YES");
+
+        assertThat(bookingRepository.findByCustomerPhoneAndStatusIn(phone, List.of(BookingStatus.CONFIRMED)))
+            .singleElement()
+            .satisfies(booking -> {
+                assertThat(booking.getService().getId()).isEqualTo(service.getId());
+                assertThat(booking.getBarber().getId()).isEqualTo(barber.getId());
+                assertThat(booking.getBookingDate()).isEqualTo(LocalDate.parse((String) chosen.get("booking_date")));
+                assertThat(booking.getStartTime()).isEqualTo(LocalTime.parse((String) chosen.get("booking_time")));
+            });
+    }
+
+    @Test
+    void usualFromTheServiceMenuGoesToTheEarliestSlots() throws Exception {
+        message("hi");
+        message("2");
+        message("USUAL");
+
+        assertThat(state().getCurrentStep()).isEqualTo(ConversationStep.VIEW_EARLIEST_SLOTS);
+        assertThat(context(state())).containsEntry("barber_id", barber.getId().intValue());
+    }
+
+    private void message(String body) {
+        webhook.receiveMessage("whatsapp:" + phone, body, null);
+    }
+
+    private ConversationState state() {
+        return conversationStateRepository.findByPhoneNumber(phone).orElseThrow();
+    }
+
+    private Map<String, Object> context(ConversationState state) throws Exception {
+        return objectMapper.readValue(state.getContextData(), new TypeReference<>() {});
+    }
+}
@@ -0,0 +1,124 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reconcile puts drifted rows back to capacity minus confirmed bookings, and running it while
+ * customers book and cancel never overwrites their decrements and increments
+ */
+@SpringBootTest(properties = "barbershop.inventory.enabled=true")
+@ActiveProfiles("test")
+class SlotInventoryServiceTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+
+    private static final String DRIFTED_ROWS = """
+        SELECT COUNT(*) FROM slot_inventory s WHERE s.remaining <> s.capacity - (
+            SELECT COUNT(*) FROM bookings b WHERE b.barber_id = s.barber_id AND b.booking_date = s.slot_date
+            AND b.status = 'CONFIRMED' AND b.start_time <= s.slot_start AND b.end_time > s.slot_start)
+        """;
+
+    @Autowired private SlotInventoryService inventoryService;
+    @Autowired private BookingService bookingService;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private BarberRepository barberRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Service service;
+    private Barber barber;
+    private LocalDate date;
+
+    @BeforeEach
+    void inventoryForAnOpenDay() {
+        inventoryService.extendHorizon();
+        service = serviceRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        barber = barberRepository.findAllActiveBarbers().getFirst();
+        date = LocalDate.now().plusDays(5);
+        while (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            date = date.plusDays(1);
+        }
+    }
+
+    @Test
+    void reconcileFixesRowsThatDriftedEitherWay() {
+        LocalTime booked = LocalTime.of(10, 0);
+        LocalTime free = LocalTime.of(15, 0);
+        bookingService.createBooking(newPhone(), service, barber.getId(), date, booked);
+        setRemaining(booked, 1);
+        setRemaining(free, 0);
+
+        assertThat(inventoryService.reconcile()).isEqualTo(2);
+
+        assertThat(remaining(booked)).isZero();
+        assertThat(remaining(free)).isEqualTo(1);
+        assertThat(inventoryService.reconcile()).isZero();
+    }
+
+    @Test
+    void reconcileWhileBookingAndCancellingLosesNoUpdate() throws Exception {
+        LocalTime time = LocalTime.of(12, 0);
+        AtomicBoolean customersDone = new AtomicBoolean();
+
+        ExecutorService nightlyJob = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> reconciles = nightlyJob.submit(() -> {
+                int runs = 0;
+                while (!customersDone.get()) {
+                    inventoryService.reconcile();
+                    runs++;
+                }
+                return runs;
+            });
+
+            for (int i = 0; i < 30; i++) {
+                Booking booking = bookingService.createBooking(newPhone(), service, barber.getId(), date, time);
+                assertThat(bookingService.cancelBooking(booking.getBookingCode(), booking.getCustomerPhone())).isTrue();
+            }
+            bookingService.createBooking(newPhone(), service, barber.getId(), date, time);
+            customersDone.set(true);
+
+            assertThat(reconciles.get()).isPositive();
+        } finally {
+            nightlyJob.shutdown();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(DRIFTED_ROWS, Long.class)).isZero();
+        assertThat(remaining(time)).isZero();
+    }
+
+    private void setRemaining(LocalTime slotStart, int remaining) {
+        jdbcTemplate.update("UPDATE slot_inventory SET remaining = ? WHERE barber_id = ? AND slot_date = ? AND slot_start = ?",
+            remaining, barber.getId(), date, slotStart);
+    }
+
+    private int remaining(LocalTime slotStart) {
+        return jdbcTemplate.queryForObject(
+            "SELECT remaining FROM slot_inventory WHERE barber_id = ? AND slot_date = ? AND slot_start = ?",
+            Integer.class, barber.getId(), date, slotStart);
+    }
+
+    private static String newPhone() {
+        return "+35384%07d".formatted(PHONES.incrementAndGet());
+    }
+}
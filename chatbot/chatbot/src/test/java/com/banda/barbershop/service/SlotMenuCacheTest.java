@@ -0,0 +1,64 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.BarberShopConfig;
+import com.banda.barbershop.service.SlotMenuCache.SlotMenu;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Today's menus expire when their earliest slot drops inside the minimum-advance window
+ */
+class SlotMenuCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+    private static final LocalDateTime MIDNIGHT = TODAY.plusDays(1).atStartOfDay();
+
+    private final SlotMenuCache cache = new SlotMenuCache(shopConfig(), new SimpleMeterRegistry());
+
+    @Test
+    void todaysMenuExpiresWhenItsFirstSlotIsNoLongerBookable() {
+        assertThat(cache.expiryFor(TODAY, menu("12:30", "13:00"), TODAY.atTime(10, 5)))
+            .isEqualTo(TODAY.atTime(10, 30));
+    }
+
+    @Test
+    void bookedEarlierSlotsDoNotShortenTheExpiry() {
+        // 12:30 to 14:30 are taken, so nothing on this menu changes until 15:00 drops
+        assertThat(cache.expiryFor(TODAY, menu("15:00", "15:30"), TODAY.atTime(10, 5)))
+            .isEqualTo(TODAY.atTime(13, 0));
+    }
+
+    @Test
+    void menuFetchedBeforeOpeningLastsUntilTheOpeningSlotDrops() {
+        assertThat(cache.expiryFor(TODAY, menu("09:00", "09:30"), TODAY.atTime(5, 0)))
+            .isEqualTo(TODAY.atTime(7, 0));
+    }
+
+    @Test
+    void emptyMenuAndOtherDaysLastUntilMidnight() {
+        assertThat(cache.expiryFor(TODAY, menu(), TODAY.atTime(17, 0))).isEqualTo(MIDNIGHT);
+        assertThat(cache.expiryFor(TODAY.plusDays(1), menu("09:00"), TODAY.atTime(17, 0))).isEqualTo(MIDNIGHT);
+    }
+
+    private static SlotMenu menu(String... times) {
+        return new SlotMenu(List.of(times).stream().map(LocalTime::parse).toList(), "menu");
+    }
+
+    private static BarberShopConfig shopConfig() {
+        BarberShopConfig.Hours hours = new BarberShopConfig.Hours();
+        hours.setOpeningTime(LocalTime.of(9, 0));
+        hours.setClosingTime(LocalTime.of(18, 0));
+        BarberShopConfig config = new BarberShopConfig();
+        config.setOperatingHours(hours);
+        config.setSlotIntervalMinutes(30);
+        config.setMinimumAdvanceBookingHours(2);
+        return config;
+    }
+}
@@ -0,0 +1,179 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.controller.WhatsAppWebhookController;
+import com.banda.barbershop.entity.Barber;
+import com.banda.barbershop.entity.Booking;
+import com.banda.barbershop.entity.Booking.BookingStatus;
+import com.banda.barbershop.entity.Service;
+import com.banda.barbershop.entity.WaitlistEntry;
+import com.banda.barbershop.entity.WaitlistEntry.WaitlistStatus;
+import com.banda.barbershop.enums.ConversationStep;
+import com.banda.barbershop.repository.BarberRepository;
+import com.banda.barbershop.repository.BookingRepository;
+import com.banda.barbershop.repository.ConversationStateRepository;
+import com.banda.barbershop.repository.ServiceRepository;
+import com.banda.barbershop.repository.WaitlistEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A waitlist offer is answered by the waiter's YES/NO whatever step their conversation is at,
+ * and making the offer leaves that conversation alone
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class WaitlistOfferTest {
+
+    private static final AtomicInteger PHONES = new AtomicInteger();
+
+    @Autowired private WhatsAppWebhookController webhook;
+    @Autowired private BookingService bookingService;
+    @Autowired private WaitlistService waitlistService;
+    @Autowired private AvailabilityService availabilityService;
+    @Autowired private ServiceRepository serviceRepository;
+    @Autowired private BarberRepository barberRepository;
+    @Autowired private BookingRepository bookingRepository;
+    @Autowired private WaitlistEntryRepository waitlistEntryRepository;
+    @Autowired private ConversationStateRepository conversationStateRepository;
+
+    private Service service;
+    private Barber barber;
+    private LocalDate date;
+    private LocalTime time;
+    private Booking booked;
+
+    @BeforeEach
+    void bookASlotThatWillBeCancelled() {
+        service = serviceRepository.findByActiveOrderByDisplayOrder(true).getFirst();
+        barber = barberRepository.findAllActiveBarbers().getFirst();
+        date = LocalDate.now().plusDays(3);
+        while (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            date = date.plusDays(1);
+        }
+        time = availabilityService.getAvailableSlotsForBarber(service, barber.getId(), date).getFirst();
+        booked = bookingService.createBooking(newPhone(), service, barber.getId(), date, time);
+    }
+
+    @Test
+    void offerDoesNotOverwriteTheWaitersConversation() {
+        String waiter = newPhone();
+        waitFor(waiter);
+        message(waiter, "hi");
+        message(waiter, "1");
+
+        cancelBooked();
+
+        assertThat(entryOf(waiter).getStatus()).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(conversationStateRepository.findByPhoneNumber(waiter).orElseThrow().getCurrentStep())
+            .isEqualTo(ConversationStep.VIEW_SERVICES);
+    }
+
+    @Test
+    void yesBooksTheOfferFromWhateverStepTheWaiterIsAt() {
+        String waiter = newPhone();
+        waitFor(waiter);
+        message(waiter, "hi");
+        message(waiter, "2");
+
+        cancelBooked();
+        message(waiter, "YES");
+
+        assertThat(entryOf(waiter).getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+        assertThat(confirmedBookings(waiter))
+            .singleElement()
+            .satisfies(booking -> {
+                assertThat(booking.getBookingDate()).isEqualTo(date);
+                assertThat(booking.getStartTime()).isEqualTo(time);
+            });
+    }
+
+    @Test
+    void offerStaysOpenAfterGoingBackToTheMenu() {
+        String waiter = newPhone();
+        waitFor(waiter);
+
+        cancelBooked();
+        message(waiter, "MENU");
+        message(waiter, "1");
+        message(waiter, "YES");
+
+        assertThat(entryOf(waiter).getStatus()).isEqualTo(WaitlistStatus.BOOKED);
+        assertThat(confirmedBookings(waiter)).hasSize(1);
+    }
+
+    @Test
+    void noPassesTheSlotToTheNextWaiter() {
+        String first = newPhone();
+        String second = newPhone();
+        waitFor(first);
+        waitFor(second);
+
+        cancelBooked();
+        message(first, "NO");
+
+        assertThat(entryOf(first).getStatus()).isEqualTo(WaitlistStatus.WAITING);
+        assertThat(entryOf(second).getStatus()).isEqualTo(WaitlistStatus.OFFERED);
+    }
+
+    @Test
+    void yesWhileConfirmingOwnBookingConfirmsThatBooking() {
+        String waiter = newPhone();
+        waitFor(waiter);
+        message(waiter, "hi");
+        message(waiter, "2");
+        message(waiter, "1");
+        message(waiter, "1");
+
+        cancelBooked();
+        message(waiter, "1");
+        assertThat(waiterStep(waiter)).isEqualTo(ConversationStep.CONFIRM_BOOKING);
+        message(waiter, "YES");
+
+        assertThat(entryOf(waiter).getStatus()).isEqualTo(WaitlistStatus.OFFERED);
+        assertThat(confirmedBookings(waiter))
+            .singleElement()
+            .satisfies(booking -> assertThat(booking.getBookingDate()).isNotEqualTo(date));
+    }
+
+    private void waitFor(String phone) {
+        waitlistService.register(phone, service, barber.getId(), date, date);
+    }
+
+    private void cancelBooked() {
+        assertThat(bookingService.cancelBooking(booked.getBookingCode(), booked.getCustomerPhone())).isTrue();
+    }
+
+    private void message(String phone, String body) {
+        webhook.receiveMessage("whatsapp:" + phone, body, null);
+    }
+
+    private WaitlistEntry entryOf(String phone) {
+        return waitlistEntryRepository.findAll().stream()
+            .filter(entry -> entry.getCustomerPhone().equals(phone))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private ConversationStep waiterStep(String phone) {
+        return conversationStateRepository.findByPhoneNumber(phone).orElseThrow().getCurrentStep();
+    }
+
+    private List<Booking> confirmedBookings(String phone) {
+        return bookingRepository.findByCustomerPhoneAndStatusIn(phone, List.of(BookingStatus.CONFIRMED));
+    }
+
+    private static String newPhone() {
+        return "+35386%07d".formatted(PHONES.incrementAndGet());
+    }
+}
@@ -0,0 +1,134 @@
+package com.banda.barbershop.service;
+
+import com.banda.barbershop.config.OutboundConfig;
+import com.banda.barbershop.entity.DeadLetterMessage;
+import com.banda.barbershop.repository.DeadLetterMessageRepository;
+import com.banda.barbershop.transport.MessageTransport;
+import com.banda.barbershop.transport.TransportException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WhatsAppServiceTest {
+
+    private static final String PHONE = "+353870000000";
+
+    private final MessageTransport transport = mock(MessageTransport.class);
+    private final DeadLetterMessageRepository deadLetterRepository = mock(DeadLetterMessageRepository.class);
+    private WhatsAppService whatsAppService;
+
+    @BeforeEach
+    void setUp() {
+        OutboundConfig config = new OutboundConfig();
+        config.getRateLimit().setEnabled(false);
+        config.getRetry().setMaxAttempts(3);
+        config.getRetry().setInitialBackoffMs(1);
+        config.getRetry().setMaxBackoffMs(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        when(transport.getName()).thenReturn("mock");
+        whatsAppService = new WhatsAppService(transport, config, new SendRateLimiter(config, meterRegistry),
+            deadLetterRepository, meterRegistry);
+    }
+
+    @Test
+    void readTimeoutIsNotRetried() {
+        failWith(new TransportException("Read timed out", null, new SocketTimeoutException("Read timed out")));
+
+        assertAttempts(1);
+    }
+
+    @Test
+    void failureToConnectIsRetried() {
+        failWith(new TransportException("Connection refused", null, true, new ConnectException("Connection refused")));
+
+        assertAttempts(3);
+    }
+
+    @Test
+    void throttlingAndServerErrorsAreRetried() {
+        failWith(new TransportException("Too many requests", 429, null));
+        assertAttempts(3);
+
+        failWith(new TransportException("Service unavailable", 503, null));
+        assertAttempts(3);
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        failWith(new TransportException("Invalid 'To' number", 400, null));
+
+        assertAttempts(1);
+    }
+
+    @Test
+    void failureOutsideTheTransportIsNotRetried() {
+        failWith(new IllegalStateException("Unexpected"));
+
+        assertAttempts(1);
+    }
+
+    @Test
+    void retryStopsOnceASendGoesThrough() {
+        when(transport.send(anyString(), anyString()))
+            .thenThrow(new TransportException("Connection refused", null, true, new ConnectException()))
+            .thenReturn("SM1");
+
+        whatsAppService.sendWithRetry(PHONE, "hello");
+
+        verify(transport, times(2)).send(PHONE, "hello");
+    }
+
+    @Test
+    void sendMessageDeadLettersWhatItCouldNotDeliver() {
+        failWith(new TransportException("Invalid 'To' number", 400, null));
+
+        assertThatThrownBy(() -> whatsAppService.sendMessage(PHONE, "hello"))
+            .isInstanceOf(WhatsAppService.SendFailedException.class);
+
+        verify(deadLetterRepository).save(any(DeadLetterMessage.class));
+    }
+
+    @Test
+    void partsAfterAFailedOneAreDeadLetteredNotSent() {
+        when(transport.send(PHONE, "part 1")).thenReturn("SM1");
+        when(transport.send(PHONE, "part 2")).thenThrow(new TransportException("Invalid 'To' number", 400, null));
+        ArgumentCaptor<DeadLetterMessage> deadLetters = ArgumentCaptor.forClass(DeadLetterMessage.class);
+
+        assertThatThrownBy(() -> whatsAppService.sendMessages(PHONE, List.of("part 1", "part 2", "part 3")))
+            .isInstanceOf(WhatsAppService.SendFailedException.class);
+
+        verify(transport, never()).send(PHONE, "part 3");
+        verify(deadLetterRepository, times(2)).save(deadLetters.capture());
+        assertThat(deadLetters.getAllValues()).extracting(DeadLetterMessage::getBody)
+            .containsExactly("part 2", "part 3");
+    }
+
+    private void failWith(RuntimeException failure) {
+        reset(transport);
+        when(transport.getName()).thenReturn("mock");
+        when(transport.send(anyString(), anyString())).thenThrow(failure);
+    }
+
+    private void assertAttempts(int attempts) {
+        assertThatThrownBy(() -> whatsAppService.sendWithRetry(PHONE, "hello"))
+            .isInstanceOfSatisfying(WhatsAppService.SendFailedException.class,
+                failed -> assertThat(failed.getAttempts()).isEqualTo(attempts));
+        verify(transport, times(attempts)).send(PHONE, "hello");
+    }
+}
@@ -0,0 +1,65 @@
+package com.banda.barbershop.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageSplitterTest {
+
+    @Test
+    void textWithinTheLimitIsOneMessage() {
+        String text = "Hello\n\nPick a service:\n1️⃣ Skin Fade";
+
+        assertThat(MessageSplitter.split(text, text.length())).containsExactly(text);
+    }
+
+    @Test
+    void paragraphsArePackedIntoAsFewMessagesAsFit() {
+        assertThat(MessageSplitter.split("aaaa\n\nbbbb\n\ncccc", 10))
+            .containsExactly("aaaa\n\nbbbb", "cccc");
+    }
+
+    @Test
+    void paragraphLongerThanTheLimitBreaksAtLineEnds() {
+        assertThat(MessageSplitter.split("intro\n\n1 aaaa\n2 bbbb\n3 cccc", 13))
+            .containsExactly("intro", "1 aaaa\n2 bbbb", "3 cccc");
+    }
+
+    @Test
+    void lineLongerThanTheLimitIsCut() {
+        assertThat(MessageSplitter.split("abcdefghij\nxy", 4))
+            .containsExactly("abcd", "efgh", "ij", "xy");
+    }
+
+    @Test
+    void cutNeverSeparatesASurrogatePair() {
+        String emoji = "💈";
+        List<String> parts = MessageSplitter.split("abc" + emoji + "def", 4);
+
+        assertThat(parts).containsExactly("abc", emoji + "de", "f");
+        assertThat(parts).allSatisfy(part ->
+            assertThat(Character.isHighSurrogate(part.charAt(part.length() - 1))).isFalse());
+    }
+
+    @Test
+    void longMenuSplitsWithinTheLimitAndKeepsEveryLineInOrder() {
+        String menu = "📅 Available times\n\n" + IntStream.rangeClosed(1, 200)
+            .mapToObj(i -> i + "️⃣ " + (9 + i / 4) + ":" + (i % 4 * 15) + " with Mike")
+            .collect(Collectors.joining("\n")) + "\n\n0️⃣ Main Menu";
+
+        List<String> parts = MessageSplitter.split(menu, 1600);
+
+        assertThat(parts).hasSizeGreaterThan(1).allSatisfy(part -> assertThat(part).hasSizeLessThanOrEqualTo(1600));
+        assertThat(String.join("\n", parts).split("\n+")).containsExactly(menu.split("\n+"));
+    }
+
+    @Test
+    void joinSkipsBlankPartsAndSeparatesTheRestWithABlankLine() {
+        assertThat(MessageSplitter.join(List.of(" Booked! ", "", "  ", "See you soon\n")))
+            .isEqualTo("Booked!\n\nSee you soon");
+    }
+}
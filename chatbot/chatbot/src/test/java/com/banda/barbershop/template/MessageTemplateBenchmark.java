@@ -0,0 +1,154 @@
+package com.banda.barbershop.template;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allocation and time per rendered message: String.format with per-call formatters
+ * (the previous handler code) against precompiled templates with shared formatters.
+ *
+ * Run: mvn test -Pbenchmark   (see gc.alloc.rate.norm for bytes per message;
+ * results also written to target/jmh-template-results.json)
+ */
+@Tag("benchmark")
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+    private static final MessageTemplate HEADER = MessageTemplate.compile("🪒 *{0}* with *{1}*\n\n");
+    private static final MessageTemplate DAY_HEADER = MessageTemplate.compile("📅 *{0} ({1})*:\n");
+    private static final MessageTemplate SLOT_LINE = MessageTemplate.compile("{0} {1}\n");
+
+    private static final MessageTemplate CONFIRMATION_PROMPT = MessageTemplate.compile("""
+        ✅ *Confirm Your Booking*
+
+        🪒 {0}
+        👨‍🦲 With {1}
+        📅 {2} ({3}) at {4}
+        ⏱️ {5} minutes
+        💰 €{6}
+        📍 {7}
+
+        Reply *YES* to confirm or *CANCEL* to restart
+        """);
+
+    private List<LocalTime> slots;
+    private LocalDate date;
+    private BigDecimal price;
+
+    @Setup
+    public void setUp() {
+        slots = new ArrayList<>();
+        for (LocalTime slot = LocalTime.of(9, 0); slot.isBefore(LocalTime.of(19, 0)); slot = slot.plusMinutes(30)) {
+            slots.add(slot);
+        }
+        date = LocalDate.now().plusDays(1);
+        price = new BigDecimal("25.00");
+    }
+
+    @Benchmark
+    public String slotMenuStringFormat() {
+        StringBuilder message = new StringBuilder();
+        message.append(String.format("🪒 *%s* with *%s*\n\n", "Standard Cut", "Mike"));
+        String formattedDate = date.format(DateTimeFormatter.ofPattern("EEE dd MMM"));
+        message.append(String.format("📅 *%s (%s)*:\n", "TOMORROW", formattedDate));
+
+        for (int i = 0; i < slots.size(); i++) {
+            String formattedTime = slots.get(i).format(DateTimeFormatter.ofPattern("h:mm a"));
+            message.append(String.format("%d️⃣ %s\n", i + 1, formattedTime));
+        }
+
+        message.append("\nType number to book");
+        message.append("\n0️⃣ Main Menu");
+        return message.toString();
+    }
+
+    @Benchmark
+    public String slotMenuTemplate() {
+        StringBuilder message = new StringBuilder(512);
+        HEADER.renderTo(message, "Standard Cut", "Mike");
+        DAY_HEADER.renderTo(message, "TOMORROW", MessageFormats.DAY_DATE.format(date));
+
+        for (int i = 0; i < slots.size(); i++) {
+            SLOT_LINE.renderTo(message, MessageFormats.option(i + 1), MessageFormats.TIME.format(slots.get(i)));
+        }
+
+        message.append("\nType number to book");
+        message.append("\n0️⃣ Main Menu");
+        return message.toString();
+    }
+
+    @Benchmark
+    public String confirmationPromptStringFormat() {
+        return String.format("""
+            ✅ *Confirm Your Booking*
+
+            🪒 %s
+            👨‍🦲 With %s
+            📅 %s (%s) at %s
+            ⏱️ %d minutes
+            💰 €%.0f
+            📍 %s
+
+            Reply *YES* to confirm or *CANCEL* to restart
+            """,
+            "Standard Cut",
+            "Mike",
+            "TOMORROW",
+            date.format(DateTimeFormatter.ofPattern("EEE dd MMM")),
+            slots.get(3).format(DateTimeFormatter.ofPattern("h:mm a")),
+            30,
+            price,
+            "123 Main St, Dublin");
+    }
+
+    @Benchmark
+    public String confirmationPromptTemplate() {
+        return CONFIRMATION_PROMPT.render(
+            "Standard Cut",
+            "Mike",
+            "TOMORROW",
+            MessageFormats.DAY_DATE.format(date),
+            MessageFormats.TIME.format(slots.get(3)),
+            30,
+            MessageFormats.price(price),
+            "123 Main St, Dublin");
+    }
+
+    @Test
+    void runBenchmarks() throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(MessageTemplateBenchmark.class.getName())
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("target/jmh-template-results.json")
+            .build())
+            .run();
+    }
+}
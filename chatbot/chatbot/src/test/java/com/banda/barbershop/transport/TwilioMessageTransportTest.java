@@ -0,0 +1,42 @@
+package com.banda.barbershop.transport;
+
+import com.twilio.exception.ApiConnectionException;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.client5.http.HttpHostConnectException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
+import org.apache.hc.core5.http.NoHttpResponseException;
+import org.junit.jupiter.api.Test;
+
+import java.net.ConnectException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwilioMessageTransportTest {
+
+    @Test
+    void failuresBeforeTheRequestLeftAreConnectFailures() {
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new ConnectException("Connection refused")))).isTrue();
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new HttpHostConnectException("Connect to api.twilio.com failed")))).isTrue();
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new UnknownHostException("api.twilio.com")))).isTrue();
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new ConnectTimeoutException("Connect timed out")))).isTrue();
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new ConnectionRequestTimeoutException("Timeout waiting for connection")))).isTrue();
+    }
+
+    @Test
+    void failuresAfterTheRequestWasSentAreNot() {
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new SocketTimeoutException("Read timed out")))).isFalse();
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new NoHttpResponseException("api.twilio.com failed to respond")))).isFalse();
+        assertThat(TwilioMessageTransport.failedToConnect(wrapped(new SocketException("Connection reset")))).isFalse();
+        assertThat(TwilioMessageTransport.failedToConnect(new IllegalStateException("Unexpected"))).isFalse();
+    }
+
+    /**
+     * The SDK reports I/O failures as ApiConnectionException with the cause attached
+     */
+    private static RuntimeException wrapped(Exception cause) {
+        return new ApiConnectionException("IOException during API request to Twilio", cause);
+    }
+}
@@ -0,0 +1,31 @@
+-- Schema as ddl-auto: update created it before the Flyway migrations (Hibernate 6.6, MySQL dialect,
+-- entities of the pre-migration release), with a little data on it
+
+create table barbers (active bit not null, completed_bookings integer not null, display_order integer not null, rating float(53), total_bookings integer not null, total_ratings integer, created_at datetime(6) not null, id bigint not null auto_increment, updated_at datetime(6), bio TEXT, name varchar(255) not null, phone_number varchar(255), primary key (id)) engine=InnoDB;
+create table bookings (booking_date date not null, day_before_reminder_sent bit not null, end_time time(6) not null, one_hour_reminder_sent bit not null, start_time time(6) not null, barber_id bigint, cancelled_at datetime(6), created_at datetime(6) not null, day_before_reminder_sent_at datetime(6), id bigint not null auto_increment, one_hour_reminder_sent_at datetime(6), service_id bigint not null, booking_code varchar(10) not null, customer_phone varchar(255) not null, status enum ('CANCELLED','COMPLETED','CONFIRMED','NO_SHOW') not null, primary key (id)) engine=InnoDB;
+create table conversation_states (id bigint not null auto_increment, last_activity datetime(6) not null, context_data TEXT, phone_number varchar(255) not null, current_step enum ('BOOKING_CONFIRMED','CANCEL_BOOKING_CONFIRM','CANCEL_BOOKING_INPUT','CONFIRM_BOOKING','FAQ','MAIN_MENU','SELECT_BARBER','SELECT_SERVICE','VIEW_MY_BOOKINGS','VIEW_SERVICES','VIEW_TODAY_SLOTS','VIEW_TOMORROW_SLOTS') not null, primary key (id)) engine=InnoDB;
+create table customers (birthday date, birthday_day integer, birthday_month integer, cancelled_bookings integer not null, completed_bookings integer not null, first_visit date, last_birthday_message_sent date, last_loyalty_reward_date date, last_visit date, lifetime_loyalty_points integer, loyalty_points integer not null, no_show_bookings integer not null, preferred_barber_count integer, preferred_service_count integer, total_bookings integer not null, created_at datetime(6) not null, id bigint not null auto_increment, preferred_barber_id bigint, preferred_service_id bigint, updated_at datetime(6), name varchar(100), phone_number varchar(255) not null, primary key (id)) engine=InnoDB;
+create table services (active bit not null, display_order integer not null, duration_minutes integer not null, price decimal(10,2) not null, id bigint not null auto_increment, description TEXT, name varchar(255) not null, primary key (id)) engine=InnoDB;
+create index idx_barber_active on barbers (active);
+create index idx_barber_phone on barbers (phone_number);
+alter table barbers add constraint UKgv1013m9i3o3c7sp7dh468dvh unique (phone_number);
+create index idx_booking_date_status on bookings (booking_date, status);
+create index idx_customer_phone on bookings (customer_phone);
+create index idx_booking_code on bookings (booking_code);
+create index idx_barber_date on bookings (barber_id, booking_date);
+alter table bookings add constraint UK8l3brvja7ljuffjsfdepe0yef unique (booking_code);
+alter table conversation_states add constraint UKo34he2kyix7iiwrsj4tdnwhyf unique (phone_number);
+create index idx_phone_number on customers (phone_number);
+create index idx_birthday_month on customers (birthday_month);
+create index idx_loyalty_points on customers (loyalty_points);
+alter table customers add constraint UK6v6x92wb400iwh6unf5rwiim4 unique (phone_number);
+alter table bookings add constraint FK6osayelf1dyyrh6p0y0sm0ii2 foreign key (barber_id) references barbers (id);
+alter table bookings add constraint FKjcwbou2jlblfwu14uoxs65b25 foreign key (service_id) references services (id);
+alter table customers add constraint FKiyjkd7vvg91lnxslme33htwqf foreign key (preferred_barber_id) references barbers (id);
+alter table customers add constraint FKt20yj5fcyst5s5qefbh3s7yi8 foreign key (preferred_service_id) references services (id);
+
+insert into services (id, name, description, price, duration_minutes, active, display_order) values (1, 'Skin Fade', 'Precision fade with clean lines', 30.00, 45, 1, 1);
+insert into barbers (id, name, phone_number, active, display_order, total_bookings, completed_bookings, total_ratings, created_at) values (1, 'Mike', '+353870000101', 1, 1, 1, 1, 0, CURRENT_TIMESTAMP);
+insert into customers (id, phone_number, name, total_bookings, completed_bookings, cancelled_bookings, no_show_bookings, loyalty_points, lifetime_loyalty_points, preferred_service_id, preferred_service_count, preferred_barber_id, preferred_barber_count, last_visit, first_visit, created_at) values (1, '+353870000001', 'Aoife', 1, 1, 0, 0, 60, 60, 1, 1, 1, 1, CURRENT_DATE, CURRENT_DATE, CURRENT_TIMESTAMP);
+insert into bookings (id, booking_code, customer_phone, service_id, barber_id, booking_date, start_time, end_time, status, created_at, day_before_reminder_sent, one_hour_reminder_sent) values (1, 'BK0001', '+353870000001', 1, 1, CURRENT_DATE, '10:00:00', '10:45:00', 'COMPLETED', CURRENT_TIMESTAMP, 1, 1);
+insert into conversation_states (id, phone_number, current_step, context_data, last_activity) values (1, '+353870000001', 'MAIN_MENU', null, CURRENT_TIMESTAMP);